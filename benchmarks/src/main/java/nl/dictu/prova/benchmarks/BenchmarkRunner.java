@@ -0,0 +1,237 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Properties;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.annotations.Mode;
+
+/**
+ * Runs the benchmarks and compares the results with a baseline. Accepts all
+ * JMH command line options, e.g. a regular expression to select benchmarks:
+ * java -jar benchmarks/target/benchmarks.jar [options] [regexp]
+ * <p>
+ * The baseline is a properties file with the score and unit per benchmark
+ * (and parameters). A reference baseline is part of the repository. A result
+ * which is more than the tolerance worse than its baseline is reported as a
+ * regression and makes the run exit with code 1, as does a missing baseline
+ * file.
+ * <p>
+ * System properties:
+ * - prova.benchmarks.baseline: Baseline file (default:
+ * benchmarks/baseline.properties)
+ * - prova.benchmarks.tolerance: Allowed difference (default: 0.20 = 20%)
+ * - prova.benchmarks.updateBaseline: Store the results in the baseline,
+ * keeping the baseline of the benchmarks which didn't run
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BenchmarkRunner
+{
+  private final static Logger LOGGER = LogManager.getLogger(BenchmarkRunner.class.getName());
+
+  public final static String BASELINE = "prova.benchmarks.baseline";
+  public final static String TOLERANCE = "prova.benchmarks.tolerance";
+  public final static String UPDATE_BASELINE = "prova.benchmarks.updateBaseline";
+
+  private final static String DEFAULT_BASELINE = "benchmarks/baseline.properties";
+
+
+  /**
+   * Run the benchmarks selected by {@link args} and check the results
+   *
+   * @param args
+   * @throws Exception
+   */
+  public static void main(String[] args) throws Exception
+  {
+    File baselineFile = new File(System.getProperty(BASELINE, DEFAULT_BASELINE));
+    double tolerance = Double.parseDouble(System.getProperty(TOLERANCE, "0.20"));
+    boolean updateBaseline = Boolean.getBoolean(UPDATE_BASELINE);
+
+    // Fail before running the benchmarks, which takes minutes
+    if( !updateBaseline && !baselineFile.exists())
+    {
+      LOGGER.error("Baseline '{}' not found, set -D{}=true to create it",
+                   baselineFile.getPath(), UPDATE_BASELINE);
+      System.exit(1);
+    }
+
+    Collection<RunResult> results = new Runner(new OptionsBuilder()
+                                                .parent(new CommandLineOptions(args))
+                                                .build())
+                                        .run();
+
+    if(updateBaseline)
+    {
+      updateBaseline(baselineFile, results);
+
+      return;
+    }
+
+    LinkedList<String> regressions = compare(loadBaseline(baselineFile), results, tolerance);
+
+    for(String regression : regressions)
+    {
+      LOGGER.error("Regression: {}", regression);
+    }
+
+    if( !regressions.isEmpty())
+    {
+      System.exit(1);
+    }
+
+    LOGGER.info("No regressions compared to baseline '{}'", baselineFile.getPath());
+  }
+
+
+  /**
+   * Compare the {@link results} with the {@link baseline}. Returns a
+   * description of each result which is more than {@link tolerance} worse.
+   * Results without baseline or with a different unit are skipped.
+   *
+   * @param baseline
+   * @param results
+   * @param tolerance
+   * @return
+   */
+  public static LinkedList<String> compare(Properties baseline, Collection<RunResult> results,
+                                           double tolerance)
+  {
+    LinkedList<String> regressions = new LinkedList<>();
+
+    for(RunResult runResult : results)
+    {
+      String key = getKey(runResult.getParams());
+      Result result = runResult.getPrimaryResult();
+      String value = baseline.getProperty(key);
+
+      if(value == null)
+      {
+        LOGGER.warn("No baseline for '{}'", key);
+        continue;
+      }
+
+      String[] parts = value.split(" ", 2);
+      double base = Double.parseDouble(parts[0]);
+
+      if(parts.length < 2 || !parts[1].equals(result.getScoreUnit()))
+      {
+        LOGGER.warn("Unit of '{}' differs from baseline ({}), skipped", key, value);
+        continue;
+      }
+
+      // Throughput should not decrease, all other modes measure time
+      boolean higherIsBetter = (runResult.getParams().getMode() == Mode.Throughput);
+      double change = (result.getScore() - base) / base;
+
+      LOGGER.info("{}: {} {} (baseline: {}, change: {}%)", key,
+                  String.format("%.3f", result.getScore()), result.getScoreUnit(), parts[0],
+                  String.format("%+.1f", change * 100));
+
+      if(higherIsBetter ? change < -tolerance : change > tolerance)
+      {
+        regressions.add(key + ": " + String.format("%.3f", result.getScore()) + " "
+                        + result.getScoreUnit() + " (baseline: " + value + ")");
+      }
+    }
+
+    return regressions;
+  }
+
+
+  /**
+   * Return the key of a benchmark in the baseline: the benchmark name and its
+   * parameters.
+   *
+   * @param params
+   * @return
+   */
+  public static String getKey(BenchmarkParams params)
+  {
+    StringBuilder key = new StringBuilder(params.getBenchmark());
+
+    for(String param : params.getParamsKeys())
+    {
+      key.append(':').append(param).append('=').append(params.getParam(param));
+    }
+
+    return key.toString();
+  }
+
+
+  private static Properties loadBaseline(File baselineFile) throws IOException
+  {
+    Properties baseline = new Properties();
+
+    try(InputStream inputStream = new FileInputStream(baselineFile))
+    {
+      baseline.load(inputStream);
+    }
+
+    return baseline;
+  }
+
+
+  /**
+   * Store the {@link results} in the baseline. Entries of benchmarks which
+   * are not in the results are kept.
+   *
+   * @param baselineFile
+   * @param results
+   * @throws IOException
+   */
+  private static void updateBaseline(File baselineFile, Collection<RunResult> results)
+          throws IOException
+  {
+    Properties baseline = baselineFile.exists() ? loadBaseline(baselineFile) : new Properties();
+
+    for(RunResult runResult : results)
+    {
+      Result result = runResult.getPrimaryResult();
+
+      baseline.setProperty(getKey(runResult.getParams()),
+                           result.getScore() + " " + result.getScoreUnit());
+    }
+
+    try(OutputStream outputStream = new FileOutputStream(baselineFile))
+    {
+      baseline.store(outputStream, "Prova benchmark baseline");
+    }
+
+    LOGGER.info("Stored {} results in baseline '{}' ({} entries)", results.size(),
+                baselineFile.getPath(), baseline.size());
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.framework;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Test action without any behaviour, used to measure the overhead of the
+ * framework itself.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BenchmarkTestAction extends TestAction
+{
+  private final static Logger LOGGER = LogManager.getLogger(BenchmarkTestAction.class.getName());
+
+
+  public BenchmarkTestAction(Integer id)
+  {
+    super(LOGGER, id);
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return true;
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return "BenchmarkTestAction " + getId();
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.framework;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Getters of the framework model which log at trace level. Runs with log
+ * level INFO, so all measured time and allocations are overhead of disabled
+ * log statements. Use '-prof gc' to see the allocations per operation.
+ *
+ * @author Sjoerd Boerhout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprova.log.level=info", "-Dprova.log.dir=target/log"})
+@State(Scope.Benchmark)
+public class LoggingBenchmark
+{
+  private final static int DEPTH = 5;
+
+  private TestSuite testSuite;
+  private TestCase testCase;
+  private TestAction testAction;
+
+
+  @Setup
+  public void setUp()
+  {
+    testSuite = new TestSuite("TS-0");
+
+    for(int i = 1; i <= DEPTH; i++)
+    {
+      TestSuite subTestSuite = new TestSuite("TS-" + i);
+
+      testSuite.addTestSuite(subTestSuite);
+      testSuite = subTestSuite;
+    }
+
+    testCase = new TestCase("TC-1");
+    testAction = new BenchmarkTestAction(1);
+    testAction.setParent(testCase);
+    testAction.setAttribute("xpath", "//div");
+  }
+
+
+  @Benchmark
+  public String testSuiteGetId()
+  {
+    return testSuite.getId();
+  }
+
+
+  @Benchmark
+  public TestSuite testSuiteGetParent()
+  {
+    return testSuite.getParent();
+  }
+
+
+  @Benchmark
+  public TestSuite testSuiteGetRootParent()
+  {
+    return testSuite.getRootParent();
+  }
+
+
+  @Benchmark
+  public String testCaseGetId()
+  {
+    return testCase.getId();
+  }
+
+
+  @Benchmark
+  public TestStatus testCaseGetTestCaseStatus()
+  {
+    return testCase.getTestCaseStatus();
+  }
+
+
+  @Benchmark
+  public TestCase testActionGetParent()
+  {
+    return testAction.getParent();
+  }
+
+
+  @Benchmark
+  public String testActionGetAttribute()
+  {
+    return testAction.getAttribute("xpath");
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.framework;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Access to the attributes and return variables of a test action with a
+ * typical number of attributes.
+ *
+ * @author Sjoerd Boerhout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprova.log.level=info", "-Dprova.log.dir=target/log"})
+@State(Scope.Benchmark)
+public class TestActionBenchmark
+{
+  private final static String[] ATTRIBUTES = {"xpath", "text", "timeout", "negate", "caseSensitive"};
+
+  private TestAction testAction;
+
+
+  @Setup
+  public void setUp()
+  {
+    testAction = new BenchmarkTestAction(1);
+
+    for(String attribute : ATTRIBUTES)
+    {
+      testAction.setAttribute(attribute, "value-" + attribute);
+    }
+
+    testAction.setReturnVariable("result", "value-result");
+  }
+
+
+  @Benchmark
+  public String getAttribute()
+  {
+    return testAction.getAttribute("timeout");
+  }
+
+
+  @Benchmark
+  public boolean hasAttribute()
+  {
+    return testAction.hasAttribute("caseSensitive");
+  }
+
+
+  @Benchmark
+  public TestAction setAttribute()
+  {
+    testAction.setAttribute("text", "new value");
+
+    return testAction;
+  }
+
+
+  @Benchmark
+  public String getReturnVariable()
+  {
+    return testAction.getReturnVariables().getProperty("result");
+  }
+
+
+  @Benchmark
+  public TestAction createAndFill()
+  {
+    TestAction newTestAction = new BenchmarkTestAction(2);
+
+    for(String attribute : ATTRIBUTES)
+    {
+      newTestAction.setAttribute(attribute, attribute);
+    }
+
+    return newTestAction;
+  }
+}
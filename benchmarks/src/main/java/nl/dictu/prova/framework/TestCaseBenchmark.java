@@ -0,0 +1,114 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.framework;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filling the action lists and reading the headers and variables of a test
+ * case.
+ *
+ * @author Sjoerd Boerhout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprova.log.level=info", "-Dprova.log.dir=target/log"})
+@State(Scope.Benchmark)
+public class TestCaseBenchmark
+{
+  private TestCase testCase;
+
+
+  /**
+   * Test actions to add to a new test case
+   */
+  @State(Scope.Benchmark)
+  public static class TestActions
+  {
+    @Param({"10", "1000"})
+    private int numberOfActions;
+
+    private TestAction[] testActions;
+
+
+    @Setup
+    public void setUp()
+    {
+      testActions = new TestAction[numberOfActions];
+
+      for(int i = 0; i < numberOfActions; i++)
+      {
+        testActions[i] = new BenchmarkTestAction(i);
+      }
+    }
+  }
+
+
+  @Setup
+  public void setUp()
+  {
+    testCase = new TestCase("TC-1");
+    testCase.setHeader("description", "Benchmark test case");
+    testCase.setVariable("userName", "prova");
+  }
+
+
+  @Benchmark
+  public TestCase addTestActions(TestActions testActions)
+  {
+    TestCase newTestCase = new TestCase("TC-1");
+
+    for(TestAction testAction : testActions.testActions)
+    {
+      newTestCase.addTestAction(testAction);
+    }
+
+    return newTestCase;
+  }
+
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public String getHeader()
+  {
+    return testCase.getHeader("description");
+  }
+
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public String getVariable()
+  {
+    return testCase.getVariable("userName");
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.framework;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction of and lookups in a structure of test suites. Each test suite
+ * below the root has {@link #WIDTH} sub-test suites with one test case.
+ *
+ * @author Sjoerd Boerhout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dprova.log.level=info", "-Dprova.log.dir=target/log"})
+@State(Scope.Benchmark)
+public class TestSuiteBenchmark
+{
+  private final static int WIDTH = 10;
+
+  @Param({"100", "10000"})
+  private int size;
+
+  private TestSuite rootTestSuite;
+  private String[] testSuiteIds;
+  private String[] testCaseIds;
+  private int next = 0;
+
+
+  @Setup
+  public void setUp()
+  {
+    rootTestSuite = buildStructure(size);
+    testSuiteIds = new String[size];
+    testCaseIds = new String[size];
+
+    for(int i = 0; i < size; i++)
+    {
+      testSuiteIds[i] = "TS-" + i;
+      testCaseIds[i] = "TC-" + i;
+    }
+  }
+
+
+  /**
+   * Build a structure of {@link size} test suites below the root, adding each
+   * test suite to its parent before it is filled.
+   *
+   * @param size
+   * @return
+   */
+  private static TestSuite buildStructure(int size)
+  {
+    TestSuite[] testSuites = new TestSuite[size];
+    TestSuite root = new TestSuite("root");
+
+    for(int i = 0; i < size; i++)
+    {
+      testSuites[i] = new TestSuite("TS-" + i);
+
+      (i < WIDTH ? root : testSuites[(i / WIDTH) - 1]).addTestSuite(testSuites[i]);
+      testSuites[i].addTestCase(new TestCase("TC-" + i));
+    }
+
+    return root;
+  }
+
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public TestSuite buildStructure()
+  {
+    return buildStructure(size);
+  }
+
+
+  @Benchmark
+  public boolean hasTestSuite()
+  {
+    next = (next + 1) % size;
+
+    return rootTestSuite.hasTestSuite(testSuiteIds[next], true);
+  }
+
+
+  @Benchmark
+  public boolean hasTestCase()
+  {
+    next = (next + 1) % size;
+
+    return rootTestSuite.hasTestCase(testCaseIds[next], true);
+  }
+
+
+  @Benchmark
+  public int numberOfTestCases()
+  {
+    return rootTestSuite.numberOfTestCases(true);
+  }
+
+
+  @Benchmark
+  public int numberOfTestSuites()
+  {
+    return rootTestSuite.numberOfTestSuites(true);
+  }
+}
@@ -29,4 +29,37 @@ package nl.dictu.prova;
 public class Config
 {
 
+  /**
+   * Maximum number of test cases executed at the same time. Defaults to 1
+   * (sequential execution in the order of registration).
+   */
+  public final static String PROVA_EXEC_MAX_PARALLEL = "prova.execution.maxParallelTestCases";
+
+  /**
+   * Prefix for the maximum number of test cases of a single test type executed
+   * at the same time. The lower case name of the test type is appended, for
+   * example 'prova.execution.maxParallelTestCases.web'. The value is a number
+   * or 'cores' for the number of available processors.
+   */
+  public final static String PROVA_EXEC_MAX_PARALLEL_PREFIX = PROVA_EXEC_MAX_PARALLEL + ".";
+
+  /**
+   * Kind of threads used to execute test cases: 'platform' (default) or
+   * 'virtual' for one virtual thread per test case.
+   */
+  public final static String PROVA_EXEC_MODE = "prova.execution.mode";
+
+  /**
+   * Maximum number of platform threads used in 'virtual' mode when the JVM
+   * doesn't support virtual threads. Defaults to 256.
+   */
+  public final static String PROVA_EXEC_MAX_PLATFORM_THREADS = "prova.execution.maxPlatformThreads";
+
+  /**
+   * Maximum number of test cases of which the actions are loaded: ahead of
+   * their execution, running or waiting to be reported. Defaults to the
+   * maximum number of parallel test cases.
+   */
+  public final static String PROVA_EXEC_PREFETCH = "prova.execution.prefetchTestCases";
+
 }
@@ -20,9 +20,13 @@
 package nl.dictu.prova;
 
 import java.security.InvalidParameterException;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Properties;
+import nl.dictu.prova.execution.ExecutionEngine;
+import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.framework.TestSuite;
 import nl.dictu.prova.plugins.input.InputPlugin;
 import nl.dictu.prova.plugins.output.OutputPlugin;
@@ -45,9 +49,11 @@ public class Prova implements TestRunner
 
   LinkedHashMap<String, InputPlugin> inputPlugins;
   LinkedHashMap<String, OutputPlugin> outputPlugins;
+  EnumMap<TestType, LinkedList<OutputPlugin>> outputPluginsByTestType;
   LinkedHashMap<String, ReportingPlugin> reportingPlugins;
 
   TestSuite rootTestSuite;
+  LinkedHashMap<String, InputPlugin> testSuiteInputPlugins;
 
   Properties properties;
 
@@ -59,7 +65,13 @@ public class Prova implements TestRunner
    */
   public Prova()
   {
-
+    inputPlugins = new LinkedHashMap<>();
+    outputPlugins = new LinkedHashMap<>();
+    outputPluginsByTestType = new EnumMap<>(TestType.class);
+    reportingPlugins = new LinkedHashMap<>();
+    rootTestSuite = new TestSuite("Prova");
+    testSuiteInputPlugins = new LinkedHashMap<>();
+    properties = new Properties();
   }
 
 
@@ -92,13 +104,50 @@ public class Prova implements TestRunner
 
 
   /**
-   * Run the test suites
+   * Run the test suites. Test cases are executed by a pool of worker threads
+   * limited by {@link Config#PROVA_EXEC_MAX_PARALLEL} and the limits per test
+   * type. Reporting is done in the order of registration.
+   * <p>
+   * The test suites only hold the headers of their test cases. The actions of
+   * a test case are loaded by its input plug-in just before execution and
+   * removed after reporting (see {@link Config#PROVA_EXEC_PREFETCH}).
    *
    * @throws Exception
    */
   public void execute() throws Exception
   {
+    HashMap<TestCase, InputPlugin> testCaseInputPlugins = new HashMap<>();
+
+    for(TestSuite testSuite : rootTestSuite.getTestSuites().values())
+    {
+      addInputPlugin(testSuite, testSuiteInputPlugins.get(testSuite.getId()),
+                     testCaseInputPlugins);
+    }
+
+    new ExecutionEngine(this, testCaseInputPlugins).execute(rootTestSuite);
+  }
+
 
+  /**
+   * Register {@link inputPlugin} as the input plug-in of all test cases in
+   * {@link testSuite} and its sub-test suites
+   *
+   * @param testSuite
+   * @param inputPlugin
+   * @param testCaseInputPlugins
+   */
+  private void addInputPlugin(TestSuite testSuite, InputPlugin inputPlugin,
+                              HashMap<TestCase, InputPlugin> testCaseInputPlugins)
+  {
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      testCaseInputPlugins.put(testCase, inputPlugin);
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      addInputPlugin(subTestSuite, inputPlugin, testCaseInputPlugins);
+    }
   }
 
 
@@ -130,91 +179,159 @@ public class Prova implements TestRunner
   @Override
   public LinkedList<InputPlugin> getInputPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(inputPlugins.values());
   }
 
 
   @Override
   public LinkedList<OutputPlugin> getOutputPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(outputPlugins.values());
   }
 
 
   @Override
   public LinkedList<OutputPlugin> getOutputPlugins(TestType testType)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LinkedList<OutputPlugin> plugins = outputPluginsByTestType.get(testType);
+
+    return (plugins == null ? new LinkedList<>() : new LinkedList<>(plugins));
   }
 
 
   @Override
   public LinkedList<ReportingPlugin> getReportingPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(reportingPlugins.values());
   }
 
 
   @Override
   public void addInputPlugin(InputPlugin inputPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(inputPlugin == null)
+    {
+      throw new InvalidParameterException("Input plug-in can not be null");
+    }
+
+    LOGGER.debug("Add input plug-in '{}'", inputPlugin.getName());
+
+    inputPlugins.put(inputPlugin.getName(), inputPlugin);
   }
 
 
   @Override
   public void addOutputPlugin(OutputPlugin outputPlugin, TestType testType)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(outputPlugin == null || testType == null)
+    {
+      throw new InvalidParameterException("Output plug-in and test type can not be null");
+    }
+
+    LOGGER.debug("Add output plug-in '{}' for test type '{}'", outputPlugin.getName(), testType);
+
+    outputPlugins.put(outputPlugin.getName(), outputPlugin);
+    outputPluginsByTestType.computeIfAbsent(testType, (key) -> new LinkedList<>()).add(
+            outputPlugin);
   }
 
 
   @Override
   public void addReportingPlugin(ReportingPlugin reportingPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(reportingPlugin == null)
+    {
+      throw new InvalidParameterException("Reporting plug-in can not be null");
+    }
+
+    LOGGER.debug("Add reporting plug-in '{}'", reportingPlugin.getName());
+
+    reportingPlugins.put(reportingPlugin.getName(), reportingPlugin);
   }
 
 
   @Override
   public void addTestSuite(TestSuite testSuite, InputPlugin inputPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testSuite == null || inputPlugin == null)
+    {
+      throw new InvalidParameterException("Test suite and input plug-in can not be null");
+    }
+
+    LOGGER.debug("Add test suite '{}' from input plug-in '{}'", testSuite.getId(),
+                 inputPlugin.getName());
+
+    rootTestSuite.addTestSuite(testSuite);
+    testSuiteInputPlugins.put(testSuite.getId(), inputPlugin);
   }
 
 
   @Override
   public void setProperty(String key, String value) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.trace("Set property '{}' to '{}'", key, value);
+
+    properties.setProperty(key, value);
   }
 
 
   @Override
   public boolean hasProperty(String key)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return (key != null && properties.containsKey(key));
   }
 
 
   @Override
   public String getProperty(String key) throws InvalidParameterException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if( !hasProperty(key))
+    {
+      throw new InvalidParameterException("Property '" + key + "' not found");
+    }
+
+    return properties.getProperty(key);
   }
 
 
   @Override
   public void start()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Start test runner");
+
+    thread = new Thread(() ->
+    {
+      try
+      {
+        execute();
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Execution of the test run failed: {}", eX.getMessage());
+      }
+    }, "Prova");
+
+    thread.start();
   }
 
 
   @Override
   public void join()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(thread == null)
+    {
+      return;
+    }
+
+    try
+    {
+      thread.join();
+    }
+    catch(InterruptedException eX)
+    {
+      LOGGER.warn("Interrupted while waiting for the test runner to finish");
+      Thread.currentThread().interrupt();
+    }
   }
 
 }
@@ -94,7 +94,9 @@ public interface TestRunner
 
   /**
    * Adds the provided test suite to the test runner. Test suites
-   * are executed in the order of registration in the test runner
+   * are reported in the order of registration in the test runner. Their test
+   * cases may be executed in parallel, see
+   * {@link Config#PROVA_EXEC_MAX_PARALLEL}
    *
    * @param testSuite
    * @param inputPlugin
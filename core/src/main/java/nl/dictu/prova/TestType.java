@@ -27,6 +27,7 @@ package nl.dictu.prova;
 public enum TestType
 {
   DB,
+  IMAGE,
   SHELL,
   SOAP,
   WEB
@@ -0,0 +1,313 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Directed acyclic graph of the test cases in a structure of test suites.
+ * <p>
+ * A test case declares its prerequisites with the header
+ * {@link #HEADER_DEPENDS_ON}: a comma or semicolon separated list of test case
+ * id's. A test case is only executed when all its prerequisites passed.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DependencyGraph
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(DependencyGraph.class.
+          getName());
+
+  /**
+   * Name of the test case header with the id's of the prerequisites
+   */
+  public final static String HEADER_DEPENDS_ON = "dependsOn";
+
+  private final LinkedList<TestCase> testCases = new LinkedList<>();
+  private final HashMap<TestCase, LinkedList<TestCase>> prerequisites = new HashMap<>();
+  private final HashMap<TestCase, LinkedList<TestCase>> dependents = new HashMap<>();
+  private final LinkedList<TestCase> topologicalOrder = new LinkedList<>();
+
+
+  /**
+   * Constructor. Collects all test cases of {@link testSuite} and its sub-test
+   * suites and links them by their declared dependencies.
+   *
+   * @param testSuite
+   * @throws InvalidParameterException On unknown, ambiguous or circular
+   *                                   dependencies
+   */
+  public DependencyGraph(TestSuite testSuite) throws InvalidParameterException
+  {
+    if(testSuite == null)
+    {
+      throw new InvalidParameterException("Test suite can not be null");
+    }
+
+    collectTestCases(testSuite);
+    linkTestCases();
+    sortTestCases();
+  }
+
+
+  /**
+   * Add all test cases of the test suite structure in the order of the
+   * structure
+   *
+   * @param testSuite
+   */
+  private void collectTestCases(TestSuite testSuite)
+  {
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      testCases.add(testCase);
+      prerequisites.put(testCase, new LinkedList<>());
+      dependents.put(testCase, new LinkedList<>());
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      collectTestCases(subTestSuite);
+    }
+  }
+
+
+  /**
+   * Resolve the declared dependencies of all test cases
+   *
+   * @throws InvalidParameterException
+   */
+  private void linkTestCases() throws InvalidParameterException
+  {
+    HashMap<String, TestCase> testCasesById = new HashMap<>();
+    HashSet<String> duplicateIds = new HashSet<>();
+
+    for(TestCase testCase : testCases)
+    {
+      if(testCasesById.put(testCase.getId(), testCase) != null)
+      {
+        duplicateIds.add(testCase.getId());
+      }
+    }
+
+    for(TestCase testCase : testCases)
+    {
+      if( !testCase.hasHeader(HEADER_DEPENDS_ON))
+      {
+        continue;
+      }
+
+      for(String id : testCase.getHeader(HEADER_DEPENDS_ON).split("[,;]"))
+      {
+        id = id.trim();
+
+        if(id.isEmpty())
+        {
+          continue;
+        }
+
+        TestCase prerequisite = testCasesById.get(id);
+
+        if(prerequisite == null)
+        {
+          throw new InvalidParameterException("Test case '" + testCase.getId()
+                                              + "' depends on unknown test case '" + id + "'");
+        }
+
+        if(duplicateIds.contains(id))
+        {
+          throw new InvalidParameterException("Test case '" + testCase.getId()
+                                              + "' depends on ambiguous test case id '" + id
+                                              + "'");
+        }
+
+        if(prerequisite == testCase)
+        {
+          throw new InvalidParameterException("Test case '" + id + "' can not depend on itself");
+        }
+
+        if( !prerequisites.get(testCase).contains(prerequisite))
+        {
+          LOGGER.trace("Test case '{}' depends on '{}'", testCase.getId(), id);
+
+          prerequisites.get(testCase).add(prerequisite);
+          dependents.get(prerequisite).add(testCase);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Determine a topological order of the test cases and reject circular
+   * dependencies
+   *
+   * @throws InvalidParameterException
+   */
+  private void sortTestCases() throws InvalidParameterException
+  {
+    HashMap<TestCase, Integer> inDegree = new HashMap<>();
+    ArrayDeque<TestCase> ready = new ArrayDeque<>();
+
+    for(TestCase testCase : testCases)
+    {
+      inDegree.put(testCase, prerequisites.get(testCase).size());
+
+      if(prerequisites.get(testCase).isEmpty())
+      {
+        ready.add(testCase);
+      }
+    }
+
+    while( !ready.isEmpty())
+    {
+      TestCase testCase = ready.poll();
+      topologicalOrder.add(testCase);
+
+      for(TestCase dependent : dependents.get(testCase))
+      {
+        if(inDegree.merge(dependent, -1, Integer::sum) == 0)
+        {
+          ready.add(dependent);
+        }
+      }
+    }
+
+    if(topologicalOrder.size() < testCases.size())
+    {
+      LinkedList<String> ids = new LinkedList<>();
+
+      for(TestCase testCase : testCases)
+      {
+        if(inDegree.get(testCase) > 0)
+        {
+          ids.add(testCase.getId());
+        }
+      }
+
+      throw new InvalidParameterException("Circular dependency between test cases " + ids);
+    }
+  }
+
+
+  /**
+   * Return all test cases in the order of the test suite structure
+   *
+   * @return
+   */
+  public LinkedList<TestCase> getTestCases()
+  {
+    return testCases;
+  }
+
+
+  /**
+   * Return the test cases {@link testCase} depends on
+   *
+   * @param testCase
+   * @return
+   */
+  public LinkedList<TestCase> getPrerequisites(TestCase testCase)
+  {
+    LinkedList<TestCase> result = prerequisites.get(testCase);
+
+    return (result == null ? new LinkedList<>() : result);
+  }
+
+
+  /**
+   * Return the test cases which depend on {@link testCase}
+   *
+   * @param testCase
+   * @return
+   */
+  public LinkedList<TestCase> getDependents(TestCase testCase)
+  {
+    LinkedList<TestCase> result = dependents.get(testCase);
+
+    return (result == null ? new LinkedList<>() : result);
+  }
+
+
+  /**
+   * Return the longest chain of dependent test cases measured by the given
+   * execution times. The total of the execution times on this path is the
+   * minimal wall-clock time of the test run, regardless of the number of
+   * parallel test cases. Test cases without an execution time count as 0.
+   *
+   * @param executionTimes Execution time per test case
+   * @return Test cases on the critical path, prerequisites first
+   */
+  public LinkedList<TestCase> getCriticalPath(Map<TestCase, Long> executionTimes)
+  {
+    HashMap<TestCase, Long> pathLength = new HashMap<>();
+    HashMap<TestCase, TestCase> previous = new HashMap<>();
+    TestCase last = null;
+
+    for(TestCase testCase : topologicalOrder)
+    {
+      TestCase longestPrerequisite = null;
+
+      for(TestCase prerequisite : prerequisites.get(testCase))
+      {
+        if(longestPrerequisite == null
+           || pathLength.get(prerequisite) > pathLength.get(longestPrerequisite))
+        {
+          longestPrerequisite = prerequisite;
+        }
+      }
+
+      long length = executionTimes.getOrDefault(testCase, 0L);
+
+      if(longestPrerequisite != null)
+      {
+        length += pathLength.get(longestPrerequisite);
+        previous.put(testCase, longestPrerequisite);
+      }
+
+      pathLength.put(testCase, length);
+
+      if(last == null || length > pathLength.get(last))
+      {
+        last = testCase;
+      }
+    }
+
+    LinkedList<TestCase> criticalPath = new LinkedList<>();
+
+    for(TestCase testCase = last; testCase != null; testCase = previous.get(testCase))
+    {
+      criticalPath.addFirst(testCase);
+    }
+
+    return criticalPath;
+  }
+
+}
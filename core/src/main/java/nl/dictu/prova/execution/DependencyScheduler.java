@@ -0,0 +1,258 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Submits the test cases of a {@link DependencyGraph} to a
+ * {@link TestCaseScheduler} as soon as all their prerequisites are finished.
+ * Test cases with a prerequisite that didn't pass are not executed but get
+ * the status {@link TestStatus#BLOCKED}, as do their dependents. With a
+ * {@link TestCaseLoader} a test case is only handed to the scheduler after
+ * its actions are loaded, so waiting for a place in the window of the loader
+ * doesn't take a place in the scheduler.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DependencyScheduler
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(DependencyScheduler.class.
+          getName());
+
+  private final TestRunner testRunner;
+  private final DependencyGraph dependencyGraph;
+  private final TestCaseScheduler scheduler;
+  private final TestCaseLoader testCaseLoader;
+
+  private final LinkedHashMap<TestCase, CompletableFuture<TestStatus>> results =
+          new LinkedHashMap<>();
+  private final HashMap<TestCase, AtomicInteger> unfinishedPrerequisites = new HashMap<>();
+  private final ConcurrentHashMap<TestCase, Long> executionTimes = new ConcurrentHashMap<>();
+
+
+  /**
+   * Constructor
+   *
+   * @param testRunner
+   * @param dependencyGraph
+   * @param scheduler
+   * @throws InvalidParameterException
+   */
+  public DependencyScheduler(TestRunner testRunner, DependencyGraph dependencyGraph,
+                             TestCaseScheduler scheduler) throws InvalidParameterException
+  {
+    this(testRunner, dependencyGraph, scheduler, null);
+  }
+
+
+  /**
+   * Constructor with a loader for the actions of the test cases
+   *
+   * @param testRunner
+   * @param dependencyGraph
+   * @param scheduler
+   * @param testCaseLoader Loader or null when all test cases are loaded
+   * @throws InvalidParameterException
+   */
+  public DependencyScheduler(TestRunner testRunner, DependencyGraph dependencyGraph,
+                             TestCaseScheduler scheduler, TestCaseLoader testCaseLoader) throws
+          InvalidParameterException
+  {
+    if(testRunner == null || dependencyGraph == null || scheduler == null)
+    {
+      throw new InvalidParameterException("Test runner, graph and scheduler can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.dependencyGraph = dependencyGraph;
+    this.scheduler = scheduler;
+    this.testCaseLoader = testCaseLoader;
+
+    for(TestCase testCase : dependencyGraph.getTestCases())
+    {
+      results.put(testCase, new CompletableFuture<>());
+      unfinishedPrerequisites.put(testCase, new AtomicInteger(
+                                  dependencyGraph.getPrerequisites(testCase).size()));
+    }
+  }
+
+
+  /**
+   * Start all test cases without prerequisites. The other test cases are
+   * started when their prerequisites are finished.
+   *
+   * @return Future with the final status per test case, in the order of the
+   *         test suite structure
+   */
+  public LinkedHashMap<TestCase, CompletableFuture<TestStatus>> start()
+  {
+    for(TestCase testCase : dependencyGraph.getTestCases())
+    {
+      if(dependencyGraph.getPrerequisites(testCase).isEmpty())
+      {
+        submit(testCase);
+      }
+    }
+
+    return results;
+  }
+
+
+  /**
+   * Return the execution time in milliseconds of the finished test cases
+   *
+   * @return
+   */
+  public ConcurrentHashMap<TestCase, Long> getExecutionTimes()
+  {
+    return executionTimes;
+  }
+
+
+  /**
+   * Submit {@link testCase} to the scheduler, after its actions are loaded
+   *
+   * @param testCase
+   */
+  private void submit(TestCase testCase)
+  {
+    TestCaseRunner testCaseRunner = new TestCaseRunner(testRunner, testCase, testCaseLoader);
+
+    if(testCaseLoader == null)
+    {
+      schedule(testCase, testCaseRunner);
+    }
+    else
+    {
+      // A failed load is reported by the test case runner
+      testCaseLoader.request(testCase).whenComplete((loaded, eX) -> schedule(testCase,
+                                                                               testCaseRunner));
+    }
+  }
+
+
+  /**
+   * Hand {@link testCase} to the scheduler
+   *
+   * @param testCase
+   * @param testCaseRunner
+   */
+  private void schedule(TestCase testCase, TestCaseRunner testCaseRunner)
+  {
+    scheduler.submit(testCase, () ->
+             {
+               long startTime = System.nanoTime();
+
+               try
+               {
+                 return testCaseRunner.call();
+               }
+               finally
+               {
+                 executionTimes.put(testCase, (System.nanoTime() - startTime) / 1000000);
+               }
+             })
+            .whenComplete((testStatus, eX) ->
+            {
+              if(eX != null)
+              {
+                LOGGER.error("Execution of test case '{}' failed: {}", testCase.getId(),
+                             eX.getMessage());
+                testStatus = testCase.updateTestCaseStatus(TestStatus.FAILED);
+              }
+
+              finish(testCase, testStatus);
+            });
+  }
+
+
+  /**
+   * Publish the result of {@link testCase} and start or block the dependents
+   * which have no unfinished prerequisites left
+   *
+   * @param testCase
+   * @param testStatus
+   */
+  private void finish(TestCase testCase, TestStatus testStatus)
+  {
+    ArrayDeque<TestCase> finished = new ArrayDeque<>();
+
+    results.get(testCase).complete(testStatus);
+    finished.add(testCase);
+
+    // Iterative to support long chains of blocked test cases
+    while( !finished.isEmpty())
+    {
+      for(TestCase dependent : dependencyGraph.getDependents(finished.poll()))
+      {
+        if(unfinishedPrerequisites.get(dependent).decrementAndGet() > 0)
+        {
+          continue;
+        }
+
+        if(allPrerequisitesPassed(dependent))
+        {
+          submit(dependent);
+        }
+        else
+        {
+          LOGGER.info("Test case '{}' blocked by a failed prerequisite", dependent.getId());
+
+          results.get(dependent).complete(dependent.updateTestCaseStatus(TestStatus.BLOCKED));
+          finished.add(dependent);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Check if all prerequisites of {@link testCase} passed
+   *
+   * @param testCase
+   * @return
+   */
+  private boolean allPrerequisitesPassed(TestCase testCase)
+  {
+    for(TestCase prerequisite : dependencyGraph.getPrerequisites(testCase))
+    {
+      if(results.get(prerequisite).getNow(null) != TestStatus.PASSED)
+      {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
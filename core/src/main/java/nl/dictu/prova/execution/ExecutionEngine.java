@@ -0,0 +1,437 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.lang.reflect.Method;
+import java.security.InvalidParameterException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.Config;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.reporting.ReportingPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes all test cases in a structure of test suites.
+ * <p>
+ * Test cases are handed to a {@link TestCaseScheduler} in the order of the
+ * test suite structure, or as soon as their prerequisites are finished (see
+ * {@link DependencyGraph}), and executed by a pool of worker threads or, in
+ * {@link ExecutionMode#VIRTUAL} mode, by one virtual thread each. Reporting
+ * happens afterwards on the calling thread, again in the order of the test
+ * suite structure, so the reports are the same for sequential and parallel
+ * runs.
+ * <p>
+ * Test cases with an input plug-in only hold their headers until they are
+ * about to be executed. Their actions are loaded by a {@link TestCaseLoader}
+ * and removed again after the test case is reported. The loader limits the
+ * number of test cases with actions, so a slow test case holds back the
+ * execution of later test cases instead of keeping all of them in memory
+ * until it is reported.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ExecutionEngine
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ExecutionEngine.class.
+          getName());
+
+  private final TestRunner testRunner;
+  private final Map<TestCase, InputPlugin> inputPlugins;
+
+  private LinkedList<TestCase> criticalPath = new LinkedList<>();
+  private long criticalPathLength = 0;
+
+
+  /**
+   * Constructor
+   *
+   * @param testRunner
+   * @throws InvalidParameterException
+   */
+  public ExecutionEngine(TestRunner testRunner) throws InvalidParameterException
+  {
+    this(testRunner, new HashMap<>());
+  }
+
+
+  /**
+   * Constructor for test cases of which the actions are loaded just before
+   * execution by the given input plug-in per test case
+   *
+   * @param testRunner
+   * @param inputPlugins
+   * @throws InvalidParameterException
+   */
+  public ExecutionEngine(TestRunner testRunner, Map<TestCase, InputPlugin> inputPlugins) throws
+          InvalidParameterException
+  {
+    if(testRunner == null || inputPlugins == null)
+    {
+      throw new InvalidParameterException("Test runner and input plug-ins can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.inputPlugins = inputPlugins;
+  }
+
+
+  /**
+   * Execute all test cases in {@link testSuite} and its sub-test suites
+   *
+   * @param testSuite
+   * @throws Exception
+   */
+  public void execute(TestSuite testSuite) throws Exception
+  {
+    if(testSuite == null)
+    {
+      throw new InvalidParameterException("Test suite can not be null");
+    }
+
+    int maxParallel = getLimit(Config.PROVA_EXEC_MAX_PARALLEL, 1);
+    EnumMap<TestType, Integer> limits = getTestTypeLimits();
+    ExecutionMode executionMode = getExecutionMode();
+
+    LOGGER.info("Execute test suite '{}' (mode: {}, max parallel test cases: {}, limits: {})",
+                testSuite.getId(), executionMode, maxParallel, limits);
+
+    DependencyGraph dependencyGraph = new DependencyGraph(testSuite);
+    TestCaseLoader testCaseLoader = new TestCaseLoader(inputPlugins, dependencyGraph,
+                                                       getLimit(Config.PROVA_EXEC_PREFETCH,
+                                                                maxParallel));
+    ExecutorService executorService = createExecutorService(executionMode, maxParallel);
+
+    try
+    {
+      TestCaseScheduler scheduler = new TestCaseScheduler(executorService, maxParallel, limits);
+      DependencyScheduler dependencyScheduler = new DependencyScheduler(testRunner,
+                                                                        dependencyGraph,
+                                                                        scheduler,
+                                                                        testCaseLoader);
+
+      report(testSuite, dependencyScheduler.start(), testCaseLoader);
+      reportCriticalPath(testSuite, dependencyGraph, dependencyScheduler.getExecutionTimes());
+    }
+    finally
+    {
+      executorService.shutdownNow();
+      testCaseLoader.shutDown();
+    }
+  }
+
+
+  /**
+   * Return the critical path of the last execution: the chain of dependent
+   * test cases with the longest total execution time.
+   *
+   * @return
+   */
+  public LinkedList<TestCase> getCriticalPath()
+  {
+    return criticalPath;
+  }
+
+
+  /**
+   * Return the length in milliseconds of the critical path of the last
+   * execution
+   *
+   * @return
+   */
+  public long getCriticalPathLength()
+  {
+    return criticalPathLength;
+  }
+
+
+  /**
+   * Create the executor service which runs the test cases. In virtual mode each
+   * test case gets its own virtual thread. When the JVM doesn't support virtual
+   * threads a pool of at most {@link Config#PROVA_EXEC_MAX_PLATFORM_THREADS}
+   * platform threads is used instead.
+   *
+   * @param executionMode
+   * @param maxParallel
+   * @return
+   * @throws InvalidParameterException
+   */
+  private ExecutorService createExecutorService(ExecutionMode executionMode, int maxParallel)
+          throws InvalidParameterException
+  {
+    if(executionMode == ExecutionMode.VIRTUAL)
+    {
+      try
+      {
+        // Looked up at runtime to keep Prova running on JVMs without virtual threads
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+        return (ExecutorService) method.invoke(null);
+      }
+      catch(ReflectiveOperationException eX)
+      {
+        int maxThreads = Math.min(maxParallel, getLimit(Config.PROVA_EXEC_MAX_PLATFORM_THREADS,
+                                                        256));
+
+        LOGGER.warn("Virtual threads not supported by this JVM, using {} platform threads",
+                    maxThreads);
+
+        return Executors.newFixedThreadPool(maxThreads, new WorkerThreadFactory());
+      }
+    }
+
+    return Executors.newFixedThreadPool(maxParallel, new WorkerThreadFactory());
+  }
+
+
+  /**
+   * Report the results of {@link testSuite} and its sub-test suites in the
+   * order of the test suite structure. Waits for each test case to finish
+   * before it is reported and releases its actions afterwards.
+   *
+   * @param testSuite
+   * @param results
+   * @param testCaseLoader
+   * @throws InterruptedException
+   */
+  private void report(TestSuite testSuite,
+                      LinkedHashMap<TestCase, CompletableFuture<TestStatus>> results,
+                      TestCaseLoader testCaseLoader) throws InterruptedException
+  {
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.logStartTestSuite(testSuite);
+    }
+
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      try
+      {
+        results.get(testCase).get();
+      }
+      catch(ExecutionException eX)
+      {
+        LOGGER.error("Execution of test case '{}' failed: {}", testCase.getId(),
+                     eX.getCause() == null ? eX.getMessage() : eX.getCause().getMessage());
+        testCase.updateTestCaseStatus(TestStatus.FAILED);
+      }
+
+      report(testCase);
+      testCaseLoader.release(testCase);
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      report(subTestSuite, results, testCaseLoader);
+    }
+
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.logEndTestSuite(testSuite);
+    }
+  }
+
+
+  /**
+   * Determine the critical path of the finished run and log its length
+   *
+   * @param testSuite
+   * @param dependencyGraph
+   * @param executionTimes
+   */
+  private void reportCriticalPath(TestSuite testSuite, DependencyGraph dependencyGraph,
+                                  Map<TestCase, Long> executionTimes)
+  {
+    criticalPath = dependencyGraph.getCriticalPath(executionTimes);
+    criticalPathLength = 0;
+
+    StringBuilder ids = new StringBuilder();
+
+    for(TestCase testCase : criticalPath)
+    {
+      criticalPathLength += executionTimes.getOrDefault(testCase, 0L);
+      ids.append(ids.length() > 0 ? " -> " : "").append(testCase.getId());
+    }
+
+    String message = "Critical path: " + criticalPathLength + "ms (" + ids + ")";
+
+    LOGGER.info(message);
+
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.logMessage(message, testSuite);
+    }
+  }
+
+
+  /**
+   * Report a finished test case and all its actions
+   *
+   * @param testCase
+   */
+  private void report(TestCase testCase)
+  {
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.logStartTestCase(testCase);
+
+      for(TestAction testAction : testCase.getSetUpActions())
+      {
+        reportingPlugin.logSetupAction(testAction);
+      }
+
+      for(TestAction testAction : testCase.getTestActions())
+      {
+        reportingPlugin.logTestAction(testAction);
+      }
+
+      for(TestAction testAction : testCase.getTearDownActions())
+      {
+        reportingPlugin.logTearDownAction(testAction);
+      }
+
+      reportingPlugin.logEndTestCase(testCase);
+    }
+  }
+
+
+  /**
+   * Read the configured execution mode
+   *
+   * @return
+   * @throws InvalidParameterException
+   */
+  private ExecutionMode getExecutionMode() throws InvalidParameterException
+  {
+    if( !testRunner.hasProperty(Config.PROVA_EXEC_MODE))
+    {
+      return ExecutionMode.PLATFORM;
+    }
+
+    try
+    {
+      return ExecutionMode.lookup(testRunner.getProperty(Config.PROVA_EXEC_MODE));
+    }
+    catch(IllegalArgumentException eX)
+    {
+      throw new InvalidParameterException("Invalid value for '" + Config.PROVA_EXEC_MODE
+                                          + "' (" + eX.getMessage() + ")");
+    }
+  }
+
+
+  /**
+   * Read the configured limit per test type
+   *
+   * @return
+   * @throws InvalidParameterException
+   */
+  private EnumMap<TestType, Integer> getTestTypeLimits() throws InvalidParameterException
+  {
+    EnumMap<TestType, Integer> limits = new EnumMap<>(TestType.class);
+
+    for(TestType testType : TestType.values())
+    {
+      String key = Config.PROVA_EXEC_MAX_PARALLEL_PREFIX + testType.name().toLowerCase();
+
+      if(testRunner.hasProperty(key))
+      {
+        limits.put(testType, getLimit(key, 1));
+      }
+    }
+
+    return limits;
+  }
+
+
+  /**
+   * Read the limit with {@link key} from the properties. The value 'cores' is
+   * replaced by the number of available processors.
+   *
+   * @param key
+   * @param defaultValue
+   * @return
+   * @throws InvalidParameterException
+   */
+  private int getLimit(String key, int defaultValue) throws InvalidParameterException
+  {
+    if( !testRunner.hasProperty(key))
+    {
+      return defaultValue;
+    }
+
+    String value = testRunner.getProperty(key).trim();
+
+    if(value.equalsIgnoreCase("cores"))
+    {
+      return Runtime.getRuntime().availableProcessors();
+    }
+
+    try
+    {
+      int limit = Integer.parseInt(value);
+
+      if(limit > 0)
+      {
+        return limit;
+      }
+    }
+    catch(NumberFormatException eX)
+    {
+      LOGGER.trace("Limit '{}' is not a number ({})", value, eX.getMessage());
+    }
+
+    throw new InvalidParameterException("Invalid value for '" + key + "' (" + value + ")");
+  }
+
+
+  /**
+   * Names the worker threads for readable log files
+   */
+  private static class WorkerThreadFactory implements ThreadFactory
+  {
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+
+    @Override
+    public Thread newThread(Runnable runnable)
+    {
+      return new Thread(runnable, "Prova-worker-" + counter.incrementAndGet());
+    }
+  }
+
+}
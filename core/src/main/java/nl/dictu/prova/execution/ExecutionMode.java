@@ -0,0 +1,94 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Defines the kind of threads used to execute test cases.
+ * <p>
+ * Platform:
+ * ---------
+ * A fixed pool of operating system threads, one per parallel test case.
+ * <p>
+ * Virtual:
+ * --------
+ * Every test case runs on its own virtual thread. Meant for test cases which
+ * spend most of their time waiting for I/O (SOAP calls, queries, shell
+ * commands). Requires a JVM with virtual threads, otherwise a bounded pool of
+ * platform threads is used.
+ *
+ * @author Sjoerd Boerhout
+ */
+public enum ExecutionMode
+{
+  PLATFORM("Platform"),
+  VIRTUAL("Virtual");
+
+  private final static Logger LOGGER = LogManager.getLogger(ExecutionMode.class.
+          getName());
+
+  private final String name;
+
+
+  private ExecutionMode(String name)
+  {
+    this.name = name;
+  }
+
+
+  /**
+   * Get the name of this execution mode
+   *
+   * @return
+   */
+  @Override
+  public String toString()
+  {
+    return name;
+  }
+
+
+  /**
+   * Find enum by it's name
+   *
+   * @param name
+   *
+   * @return
+   */
+  public static ExecutionMode lookup(String name) throws IllegalArgumentException
+  {
+    LOGGER.trace("Lookup for enum with value '{}'", name);
+
+    if(name != null)
+    {
+      for(ExecutionMode executionMode : ExecutionMode.values())
+      {
+        if(executionMode.name().equalsIgnoreCase(name.trim()))
+        {
+          return executionMode;
+        }
+      }
+    }
+
+    throw new IllegalArgumentException(name + " not found in ExecutionMode");
+  }
+}
@@ -0,0 +1,305 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Loads the actions of test cases just before they are executed and removes
+ * them again after the test case is reported, so only a limited number of
+ * test cases is in memory at the same time.
+ * <p>
+ * At most {@link #getPrefetch()} test cases hold their actions at the same
+ * time: loading, waiting to start, running or finished and waiting to be
+ * reported. A requested test case waits for a place in this window before it
+ * is loaded, and it is only started when it is loaded. Test cases are
+ * reported in the order of the test suite structure, so the next test case to
+ * report and its prerequisites are always loaded, also when the window is
+ * full. Otherwise a window filled with finished test cases would stop the run.
+ * <p>
+ * All loading is done by one thread, so input plug-ins don't have to be
+ * thread safe.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseLoader
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseLoader.class.getName());
+
+  private final Map<TestCase, InputPlugin> inputPlugins;
+  private final DependencyGraph dependencyGraph;
+  private final int prefetch;
+  private final ExecutorService loaderService;
+
+  // All access synchronized on this loader
+  private final HashMap<TestCase, CompletableFuture<TestCase>> loads = new HashMap<>();
+  private final HashSet<TestCase> loaded = new HashSet<>();
+  private final LinkedHashSet<TestCase> waiting = new LinkedHashSet<>();
+  private final ArrayDeque<TestCase> unreported;
+  private final HashSet<TestCase> released = new HashSet<>();
+  private TestCase nextToReport = null;
+  private HashSet<TestCase> nextToReportAndPrerequisites = new HashSet<>();
+
+
+  /**
+   * Constructor
+   *
+   * @param inputPlugins    Input plug-in which loads the actions of each test
+   *                        case
+   * @param dependencyGraph Test cases in the order they are reported, with
+   *                        their prerequisites
+   * @param prefetch        Maximum number of test cases with loaded actions
+   * @throws InvalidParameterException
+   */
+  public TestCaseLoader(Map<TestCase, InputPlugin> inputPlugins, DependencyGraph dependencyGraph,
+                        int prefetch) throws InvalidParameterException
+  {
+    if(inputPlugins == null || dependencyGraph == null || prefetch < 1)
+    {
+      throw new InvalidParameterException("Invalid input plug-ins, graph or prefetch ("
+                                          + prefetch + ")");
+    }
+
+    this.inputPlugins = inputPlugins;
+    this.dependencyGraph = dependencyGraph;
+    this.prefetch = prefetch;
+    this.unreported = new ArrayDeque<>(dependencyGraph.getTestCases());
+    this.loaderService = Executors.newSingleThreadExecutor((runnable) -> {
+      Thread thread = new Thread(runnable, "Prova-loader");
+      thread.setDaemon(true);
+
+      return thread;
+    });
+  }
+
+
+  /**
+   * Return the maximum number of test cases with loaded actions
+   *
+   * @return
+   */
+  public int getPrefetch()
+  {
+    return prefetch;
+  }
+
+
+  /**
+   * Mark {@link testCase} as ready to be executed. It is loaded as soon as
+   * there is room in the window.
+   *
+   * @param testCase
+   * @return Future which completes when the actions of the test case are
+   *         loaded
+   */
+  public synchronized CompletableFuture<TestCase> request(TestCase testCase)
+  {
+    CompletableFuture<TestCase> load = loads.get(testCase);
+
+    if(load != null)
+    {
+      return load;
+    }
+
+    load = new CompletableFuture<>();
+
+    if( !inputPlugins.containsKey(testCase))
+    {
+      load.complete(testCase);
+      return load;
+    }
+
+    loads.put(testCase, load);
+    waiting.add(testCase);
+    fillWindow();
+
+    return load;
+  }
+
+
+  /**
+   * Make sure the actions of {@link testCase} are loaded. Waits until the
+   * input plug-in is finished.
+   *
+   * @param testCase
+   * @throws Exception When the input plug-in failed to load the test case
+   */
+  public void load(TestCase testCase) throws Exception
+  {
+    try
+    {
+      request(testCase).get();
+    }
+    catch(ExecutionException eX)
+    {
+      throw (eX.getCause() instanceof Exception ? (Exception) eX.getCause() : eX);
+    }
+  }
+
+
+  /**
+   * Remove the actions of {@link testCase} after it has been reported, which
+   * frees a place in the window. Test cases without input plug-in keep their
+   * actions.
+   *
+   * @param testCase
+   */
+  public synchronized void release(TestCase testCase)
+  {
+    released.add(testCase);
+
+    if(inputPlugins.containsKey(testCase))
+    {
+      waiting.remove(testCase);
+      loads.remove(testCase);
+      loaded.remove(testCase);
+      testCase.clearActions();
+    }
+
+    fillWindow();
+  }
+
+
+  /**
+   * Stop the loader thread
+   */
+  public void shutDown()
+  {
+    loaderService.shutdownNow();
+  }
+
+
+  /**
+   * Start loading waiting test cases until the window is full. The next test
+   * case to report and its prerequisites are loaded in any case.
+   */
+  private void fillWindow()
+  {
+    Iterator<TestCase> iterator = waiting.iterator();
+
+    while(loaded.size() < prefetch && iterator.hasNext())
+    {
+      TestCase testCase = iterator.next();
+      iterator.remove();
+
+      startLoad(testCase);
+    }
+
+    for(TestCase testCase : getNextToReportAndPrerequisites())
+    {
+      if(waiting.remove(testCase))
+      {
+        LOGGER.trace("Load test case '{}' outside the window", testCase.getId());
+        startLoad(testCase);
+      }
+    }
+  }
+
+
+  /**
+   * Return the first test case in report order which isn't released yet,
+   * with all its direct and indirect prerequisites
+   *
+   * @return
+   */
+  private HashSet<TestCase> getNextToReportAndPrerequisites()
+  {
+    while( !unreported.isEmpty() && released.remove(unreported.peekFirst()))
+    {
+      unreported.pollFirst();
+    }
+
+    if(unreported.peekFirst() != nextToReport)
+    {
+      nextToReport = unreported.peekFirst();
+      nextToReportAndPrerequisites = new HashSet<>();
+
+      ArrayDeque<TestCase> todo = new ArrayDeque<>();
+
+      if(nextToReport != null)
+      {
+        todo.add(nextToReport);
+      }
+
+      while( !todo.isEmpty())
+      {
+        TestCase testCase = todo.poll();
+
+        if(nextToReportAndPrerequisites.add(testCase))
+        {
+          todo.addAll(dependencyGraph.getPrerequisites(testCase));
+        }
+      }
+    }
+
+    return nextToReportAndPrerequisites;
+  }
+
+
+  /**
+   * Load {@link testCase} on the loader thread. It takes a place in the
+   * window until it is released.
+   *
+   * @param testCase
+   */
+  private void startLoad(TestCase testCase)
+  {
+    InputPlugin inputPlugin = inputPlugins.get(testCase);
+    CompletableFuture<TestCase> load = loads.get(testCase);
+
+    loaded.add(testCase);
+
+    try
+    {
+      loaderService.execute(() -> {
+        LOGGER.debug("Load test case '{}' with '{}'", testCase.getId(), inputPlugin.getName());
+
+        try
+        {
+          load.complete(inputPlugin.loadTestCase(testCase));
+        }
+        catch(Exception eX)
+        {
+          load.completeExceptionally(eX);
+        }
+      });
+    }
+    catch(RejectedExecutionException eX)
+    {
+      load.completeExceptionally(eX);
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.security.InvalidParameterException;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes a single test case: prepares the output plug-ins of its test type,
+ * runs the setup, test and teardown actions and determines the resulting
+ * status of the test case.
+ * <p>
+ * - A test case which can't be loaded is blocked
+ * - A failing setup action blocks the test actions
+ * - A failing test action fails the test case
+ * - Teardown actions are always executed
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseRunner implements Callable<TestStatus>
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseRunner.class.
+          getName());
+
+  private final TestRunner testRunner;
+  private final TestCase testCase;
+  private final TestCaseLoader testCaseLoader;
+
+
+  /**
+   * Constructor
+   *
+   * @param testRunner
+   * @param testCase
+   * @throws InvalidParameterException
+   */
+  public TestCaseRunner(TestRunner testRunner, TestCase testCase) throws
+          InvalidParameterException
+  {
+    this(testRunner, testCase, null);
+  }
+
+
+  /**
+   * Constructor for a test case of which the actions are loaded by
+   * {@link testCaseLoader} before execution
+   *
+   * @param testRunner
+   * @param testCase
+   * @param testCaseLoader Loader or null when the test case is loaded
+   * @throws InvalidParameterException
+   */
+  public TestCaseRunner(TestRunner testRunner, TestCase testCase, TestCaseLoader testCaseLoader)
+          throws InvalidParameterException
+  {
+    if(testRunner == null || testCase == null)
+    {
+      throw new InvalidParameterException("Test runner and test case can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.testCase = testCase;
+    this.testCaseLoader = testCaseLoader;
+  }
+
+
+  /**
+   * Return the test case executed by this runner
+   *
+   * @return
+   */
+  public TestCase getTestCase()
+  {
+    return testCase;
+  }
+
+
+  /**
+   * Execute the test case and return its final status. A passed test case
+   * fails when an output plug-in can't tear it down, e.g. because result
+   * files of its actions couldn't be written.
+   *
+   * @return
+   */
+  @Override
+  public TestStatus call()
+  {
+    LOGGER.debug("Execute test case '{}'", testCase.getId());
+
+    LinkedList<OutputPlugin> outputPlugins = getOutputPlugins();
+    TestStatus testStatus = TestStatus.BLOCKED;
+
+    try
+    {
+      if(testCaseLoader != null)
+      {
+        testCaseLoader.load(testCase);
+      }
+
+      for(OutputPlugin outputPlugin : outputPlugins)
+      {
+        outputPlugin.setUp(testCase);
+      }
+
+      if( !executeActions(testCase.getSetUpActions()))
+      {
+        testStatus = TestStatus.BLOCKED;
+      }
+      else if( !executeActions(testCase.getTestActions()))
+      {
+        testStatus = TestStatus.FAILED;
+      }
+      else
+      {
+        testStatus = TestStatus.PASSED;
+      }
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Setup of test case '{}' failed: {}", testCase.getId(), eX.getMessage());
+    }
+    finally
+    {
+      executeActions(testCase.getTearDownActions());
+
+      for(OutputPlugin outputPlugin : outputPlugins)
+      {
+        try
+        {
+          outputPlugin.tearDown(testCase);
+        }
+        catch(Exception eX)
+        {
+          LOGGER.error("Teardown of test case '{}' by '{}' failed: {}", testCase.getId(),
+                       outputPlugin.getName(), eX.getMessage());
+
+          // E.g. result files of passed actions which couldn't be written
+          if(testStatus == TestStatus.PASSED)
+          {
+            testStatus = TestStatus.FAILED;
+          }
+        }
+      }
+    }
+
+    LOGGER.debug("Test case '{}' finished with status '{}'", testCase.getId(), testStatus);
+
+    return testCase.updateTestCaseStatus(testStatus);
+  }
+
+
+  /**
+   * Get the output plug-ins for the test type of the test case
+   *
+   * @return
+   */
+  private LinkedList<OutputPlugin> getOutputPlugins()
+  {
+    if(testCase.getTestType() == null)
+    {
+      return new LinkedList<>();
+    }
+
+    LinkedList<OutputPlugin> outputPlugins = testRunner.getOutputPlugins(testCase.getTestType());
+
+    return (outputPlugins == null ? new LinkedList<>() : outputPlugins);
+  }
+
+
+  /**
+   * Execute the given actions in order until one of them doesn't pass.
+   * Returns true when all actions passed.
+   *
+   * @param testActions
+   * @return
+   */
+  private boolean executeActions(LinkedList<TestAction> testActions)
+  {
+    for(TestAction testAction : testActions)
+    {
+      TestStatus testStatus;
+
+      try
+      {
+        testStatus = testAction.execute();
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Action '{}' of test case '{}' failed: {}", testAction.getId(),
+                     testCase.getId(), eX.getMessage());
+        testStatus = TestStatus.FAILED;
+      }
+
+      if(testStatus != TestStatus.PASSED)
+      {
+        LOGGER.debug("Action '{}' of test case '{}' ended with status '{}'", testAction.getId(),
+                     testCase.getId(), testStatus);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
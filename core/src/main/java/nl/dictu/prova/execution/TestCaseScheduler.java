@@ -0,0 +1,300 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Dispatches test cases to an executor while respecting a global limit on the
+ * number of running test cases and an optional limit per test type.
+ * <p>
+ * Waiting test cases are queued per test type. When a slot comes available the
+ * oldest waiting test case of a test type with free capacity is started, so a
+ * test type at its limit never blocks test cases of other test types.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseScheduler
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseScheduler.class.
+          getName());
+
+  private final Executor executor;
+  private final int maxParallel;
+  private final EnumMap<TestType, Integer> limits;
+
+  private final HashMap<TestType, ArrayDeque<Task>> waiting = new HashMap<>();
+  private final HashMap<TestType, Integer> running = new HashMap<>();
+  private int totalRunning = 0;
+  private long sequence = 0;
+
+
+  /**
+   * Constructor
+   *
+   * @param executor    Executor used to run the test cases
+   * @param maxParallel Maximum number of test cases running at the same time
+   * @param limits      Maximum number of running test cases per test type
+   * @throws InvalidParameterException
+   */
+  public TestCaseScheduler(Executor executor, int maxParallel,
+                           Map<TestType, Integer> limits) throws InvalidParameterException
+  {
+    if(executor == null)
+    {
+      throw new InvalidParameterException("Executor can not be null");
+    }
+
+    if(maxParallel < 1)
+    {
+      throw new InvalidParameterException("Invalid maximum number of parallel test cases ("
+                                          + maxParallel + ")");
+    }
+
+    this.executor = executor;
+    this.maxParallel = maxParallel;
+    this.limits = new EnumMap<>(TestType.class);
+
+    if(limits != null)
+    {
+      for(Map.Entry<TestType, Integer> entry : limits.entrySet())
+      {
+        if(entry.getValue() == null || entry.getValue() < 1)
+        {
+          throw new InvalidParameterException("Invalid limit for test type " + entry.getKey()
+                                              + " (" + entry.getValue() + ")");
+        }
+
+        this.limits.put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    LOGGER.debug("Scheduler created (max parallel: {}, limits: {})", maxParallel, this.limits);
+  }
+
+
+  /**
+   * Get the maximum number of test cases running at the same time
+   *
+   * @return
+   */
+  public int getMaxParallel()
+  {
+    return maxParallel;
+  }
+
+
+  /**
+   * Get the maximum number of running test cases for the given test type
+   *
+   * @param testType
+   * @return
+   */
+  public int getLimit(TestType testType)
+  {
+    Integer limit = (testType == null ? null : limits.get(testType));
+
+    return (limit == null ? maxParallel : Math.min(limit, maxParallel));
+  }
+
+
+  /**
+   * Queue {@link work} for {@link testCase}. The work is started as soon as
+   * the global limit and the limit of the test type of the test case allow it.
+   *
+   * @param testCase
+   * @param work
+   * @return Future which completes with the result of {@link work}
+   * @throws InvalidParameterException
+   */
+  public CompletableFuture<TestStatus> submit(TestCase testCase, Callable<TestStatus> work)
+          throws InvalidParameterException
+  {
+    if(testCase == null || work == null)
+    {
+      throw new InvalidParameterException("Test case and work can not be null");
+    }
+
+    Task task;
+
+    synchronized(this)
+    {
+      task = new Task(sequence++, testCase, work);
+      waiting.computeIfAbsent(testCase.getTestType(), (key) -> new ArrayDeque<>()).add(task);
+    }
+
+    LOGGER.trace("Queued test case '{}' ({})", testCase.getId(), task.sequence);
+
+    dispatch();
+
+    return task.future;
+  }
+
+
+  /**
+   * Start as many waiting test cases as the limits allow
+   */
+  private void dispatch()
+  {
+    LinkedList<Task> ready = new LinkedList<>();
+
+    synchronized(this)
+    {
+      Task task;
+
+      while(totalRunning < maxParallel && (task = nextReadyTask()) != null)
+      {
+        running.merge(task.testCase.getTestType(), 1, Integer::sum);
+        totalRunning++;
+        ready.add(task);
+      }
+    }
+
+    for(Task task : ready)
+    {
+      try
+      {
+        executor.execute(() -> run(task));
+      }
+      catch(RejectedExecutionException eX)
+      {
+        LOGGER.error("Test case '{}' rejected by executor: {}", task.testCase.getId(),
+                     eX.getMessage());
+        release(task);
+        task.future.completeExceptionally(eX);
+      }
+    }
+  }
+
+
+  /**
+   * Remove and return the oldest waiting task of a test type with free
+   * capacity. Returns NULL when no task can be started.
+   *
+   * @return
+   */
+  private Task nextReadyTask()
+  {
+    ArrayDeque<Task> selected = null;
+
+    for(Map.Entry<TestType, ArrayDeque<Task>> entry : waiting.entrySet())
+    {
+      Task head = entry.getValue().peekFirst();
+
+      if(head == null)
+      {
+        continue;
+      }
+
+      if(running.getOrDefault(entry.getKey(), 0) >= getLimit(entry.getKey()))
+      {
+        continue;
+      }
+
+      if(selected == null || head.sequence < selected.peekFirst().sequence)
+      {
+        selected = entry.getValue();
+      }
+    }
+
+    return (selected == null ? null : selected.pollFirst());
+  }
+
+
+  /**
+   * Execute the given task and start the next waiting task(s) when done
+   *
+   * @param task
+   */
+  private void run(Task task)
+  {
+    TestStatus result = null;
+    Throwable failure = null;
+
+    try
+    {
+      result = task.work.call();
+    }
+    catch(Throwable eX)
+    {
+      failure = eX;
+    }
+
+    release(task);
+    dispatch();
+
+    if(failure != null)
+    {
+      task.future.completeExceptionally(failure);
+    }
+    else
+    {
+      task.future.complete(result);
+    }
+  }
+
+
+  /**
+   * Release the slots claimed by the given task
+   *
+   * @param task
+   */
+  private synchronized void release(Task task)
+  {
+    running.merge(task.testCase.getTestType(), -1, Integer::sum);
+    totalRunning--;
+  }
+
+
+  /**
+   * A queued test case with the work to execute for it
+   */
+  private static class Task
+  {
+    private final long sequence;
+    private final TestCase testCase;
+    private final Callable<TestStatus> work;
+    private final CompletableFuture<TestStatus> future = new CompletableFuture<>();
+
+
+    private Task(long sequence, TestCase testCase, Callable<TestStatus> work)
+    {
+      this.sequence = sequence;
+      this.testCase = testCase;
+      this.work = work;
+    }
+  }
+
+}
@@ -22,7 +22,7 @@ package nl.dictu.prova.framework;
 import java.io.File;
 import java.nio.file.InvalidPathException;
 import java.security.InvalidParameterException;
-import java.util.Properties;
+import nl.dictu.prova.util.AttributeMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -48,8 +48,8 @@ public abstract class TestAction
   private long endTime = 0;
   private Exception lastException;
 
-  private Properties attributes = new Properties();;
-  private Properties returnVariables = new Properties();;
+  private AttributeMap attributes = new AttributeMap();
+  private AttributeMap returnVariables = new AttributeMap();
   private File resultFile;
 
 
@@ -88,7 +88,10 @@ public abstract class TestAction
    */
   private void setId(Integer id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test action to '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test action to '{}'", id);
+    }
 
     if(id == null)
     {
@@ -113,7 +116,10 @@ public abstract class TestAction
    */
   public Integer getId()
   {
-    LOGGER.trace("Request for action id '{}'", () -> this.id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for action id '{}'", this.id);
+    }
 
     return id;
   }
@@ -127,8 +133,11 @@ public abstract class TestAction
    */
   public void setParent(TestCase parent) throws InvalidParameterException
   {
-    LOGGER.trace("Set the parent of this test action to ({})",
-                 (parent == null ? "null" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set the parent of this test action to ({})",
+                   (parent == null ? "null" : parent.getId()));
+    }
 
     if(parent == null)
     {
@@ -147,8 +156,11 @@ public abstract class TestAction
    */
   public TestCase getParent()
   {
-    LOGGER.trace("Get the parent of this test action to ({})",
-                 (parent == null ? "null" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the parent of this test action to ({})",
+                   (parent == null ? "null" : parent.getId()));
+    }
 
     return this.parent;
   }
@@ -162,7 +174,10 @@ public abstract class TestAction
   {
     startTime = System.currentTimeMillis();
 
-    LOGGER.trace("Starting test action execution at '{}'", startTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Starting test action execution at '{}'", startTime);
+    }
 
     return startTime;
   }
@@ -175,7 +190,10 @@ public abstract class TestAction
   {
     endTime = System.currentTimeMillis();
 
-    LOGGER.trace("Stopped test action execution at '{}'", endTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Stopped test action execution at '{}'", endTime);
+    }
 
     return endTime;
   }
@@ -186,8 +204,11 @@ public abstract class TestAction
    */
   protected long getExecutionTime() throws InvalidParameterException
   {
-    LOGGER.trace("Request for execution time calculation. Start: {}ms, End: {}ms", () -> startTime,
-                 () -> endTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for execution time calculation. Start: {}ms, End: {}ms", startTime,
+                   endTime);
+    }
 
     if(startTime < 1)
     {
@@ -201,7 +222,10 @@ public abstract class TestAction
 
     long executionTime = (endTime - startTime);
 
-    LOGGER.trace("Calculated test action execution time: {}ms", executionTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Calculated test action execution time: {}ms", executionTime);
+    }
 
     return executionTime;
   }
@@ -249,7 +273,10 @@ public abstract class TestAction
    */
   public void setAttribute(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of attribute with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of attribute with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -270,9 +297,12 @@ public abstract class TestAction
    */
   protected boolean hasAttribute(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Has attribute: '{}': ({})", () -> key,
-                 () -> (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
-                                                                    : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Has attribute: '{}': ({})", key,
+                   (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
+                                                                : "No");
+    }
 
     return attributes.containsKey(key);
   }
@@ -287,9 +317,12 @@ public abstract class TestAction
    */
   public String getAttribute(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of attribute: '{}' ({})", () -> key,
-                 () -> (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
-                                                                    : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of attribute: '{}' ({})", key,
+                   (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
+                                                                : "Not found");
+    }
 
     if( !attributes.containsKey(key))
     {
@@ -305,7 +338,7 @@ public abstract class TestAction
    *
    * @return
    */
-  protected Properties getAttributes()
+  protected AttributeMap getAttributes()
   {
     return this.attributes;
   }
@@ -320,7 +353,10 @@ public abstract class TestAction
    */
   protected void setReturnVariable(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of return value with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of return value with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -337,7 +373,7 @@ public abstract class TestAction
    *
    * @return
    */
-  protected Properties getReturnVariables()
+  protected AttributeMap getReturnVariables()
   {
     return this.returnVariables;
   }
@@ -351,8 +387,11 @@ public abstract class TestAction
    */
   protected void setResultFile(File retFile) throws InvalidPathException
   {
-    LOGGER.trace("Set result file to '{}'",
-                 () -> retFile != null ? retFile.getAbsolutePath() : "null");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set result file to '{}'",
+                   retFile != null ? retFile.getAbsolutePath() : "null");
+    }
 
     this.resultFile = retFile;
   }
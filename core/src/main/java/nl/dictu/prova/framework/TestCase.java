@@ -22,7 +22,8 @@ package nl.dictu.prova.framework;
 import java.security.InvalidParameterException;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
-import java.util.Properties;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.util.AttributeMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -42,9 +43,10 @@ public class TestCase
 
   private String id;
   private TestStatus testStatus = TestStatus.NOTRUN;
+  private TestType testType = null;
 
-  private Properties headers = new Properties();
-  private Properties variables = new Properties();
+  private AttributeMap headers = new AttributeMap();
+  private AttributeMap variables = new AttributeMap();
 
   private LinkedList<TestAction> setUpActions = new LinkedList<TestAction>();
   private LinkedList<TestAction> testActions = new LinkedList<TestAction>();
@@ -74,7 +76,10 @@ public class TestCase
    */
   private void setId(String id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test case to '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test case to '{}'", id);
+    }
 
     if(id == null)
     {
@@ -99,7 +104,10 @@ public class TestCase
    */
   public String getId()
   {
-    LOGGER.trace("Request for test id '{}'", () -> this.id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for test id '{}'", this.id);
+    }
 
     return id;
   }
@@ -112,7 +120,10 @@ public class TestCase
    */
   public TestStatus getTestCaseStatus()
   {
-    LOGGER.debug("Request for test status '{}'", () -> testStatus);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Request for test status '{}'", testStatus);
+    }
 
     return testStatus;
   }
@@ -144,7 +155,43 @@ public class TestCase
 
 
   /**
-   * Add the given {@link setUpAction} to this test case
+   * Set the test type of this test case. The test type determines which output
+   * plug-ins are used and which concurrency limit applies during execution.
+   *
+   * @param testType
+   * @throws InvalidParameterException
+   */
+  public void setTestType(TestType testType) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set test type of test case to '{}'", testType);
+    }
+
+    if(testType == null)
+    {
+      throw new InvalidParameterException("TestType null not allowed!");
+    }
+
+    this.testType = testType;
+  }
+
+
+  /**
+   * Return the test type of this test case. Returns NULL when no test type is
+   * set.
+   *
+   * @return
+   */
+  public TestType getTestType()
+  {
+    return testType;
+  }
+
+
+  /**
+   * Add the given {@link setUpAction} to this test case and make this test case its
+   * parent
    *
    * @param setUpAction
    * @throws InvalidParameterException
@@ -164,12 +211,14 @@ public class TestCase
       throw new InvalidParameterException("Action '" + setUpAction.getId() + "' already added to test case.");
     }
 
+    setUpAction.setParent(this);
     setUpActions.add(setUpAction);
   }
 
 
   /**
-   * Add the given {@link testAction} to this test case
+   * Add the given {@link testAction} to this test case and make this test case its
+   * parent
    *
    * @param testAction
    * @throws InvalidParameterException
@@ -188,12 +237,14 @@ public class TestCase
       throw new InvalidParameterException("Action '" + testAction.getId() + "' already added to test case.");
     }
     
+    testAction.setParent(this);
     testActions.add(testAction);
   }
 
 
   /**
-   * Add the given {@link tearDownAction} to this test case
+   * Add the given {@link tearDownAction} to this test case and make this test case its
+   * parent
    *
    * @param tearDownAction
    * @throws InvalidParameterException
@@ -213,10 +264,26 @@ public class TestCase
       throw new InvalidParameterException("Action '" + tearDownAction.getId() + "' already added to test case.");
     }
 
+    tearDownAction.setParent(this);
     tearDownActions.add(tearDownAction);
   }
 
 
+  /**
+   * Remove all setup, test and teardown actions from this test case, e.g. to
+   * free memory after the test case has been reported. The headers and
+   * variables are kept, so the input plug-in can load the actions again.
+   */
+  public void clearActions()
+  {
+    LOGGER.debug("Clear all actions of test case '{}'", id);
+
+    setUpActions.clear();
+    testActions.clear();
+    tearDownActions.clear();
+  }
+
+
   /**
    * Return a list of the setup actions in this test case
    *
@@ -224,7 +291,10 @@ public class TestCase
    */
   public LinkedList<TestAction> getSetUpActions()
   {
-    LOGGER.trace("Request for all setup actions (size: {})", () -> setUpActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all setup actions (size: {})", setUpActions.size());
+    }
 
     return setUpActions;
   }
@@ -237,7 +307,10 @@ public class TestCase
    */
   public LinkedList<TestAction> getTestActions()
   {
-    LOGGER.trace("Request for all test actions (size: {})", () -> testActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all test actions (size: {})", testActions.size());
+    }
 
     return testActions;
   }
@@ -250,7 +323,10 @@ public class TestCase
    */
   public LinkedList<TestAction> getTearDownActions()
   {
-    LOGGER.trace("Request for all teardown actions (size: {})", () -> tearDownActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all teardown actions (size: {})", tearDownActions.size());
+    }
 
     return tearDownActions;
   }
@@ -265,7 +341,10 @@ public class TestCase
    */
   public void setHeader(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of header with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of header with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -286,8 +365,11 @@ public class TestCase
    */
   public boolean hasHeader(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Has header: '{}': ({})", () -> key,
-                 () -> headers.containsKey(key) ? headers.getProperty(key) : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Has header: '{}': ({})", key,
+                   headers.containsKey(key) ? headers.getProperty(key) : "No");
+    }
 
     return headers.containsKey(key);
   }
@@ -302,8 +384,11 @@ public class TestCase
    */
   public String getHeader(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of header: '{}' ({})", () -> key,
-                 () -> headers.containsKey(key) ? headers.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of header: '{}' ({})", key,
+                   headers.containsKey(key) ? headers.getProperty(key) : "Not found");
+    }
 
     if( !headers.containsKey(key))
     {
@@ -323,7 +408,10 @@ public class TestCase
    */
   public void setVariable(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of variable with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of variable with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -344,8 +432,11 @@ public class TestCase
    */
   public boolean hasVariable(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of variable: '{}' ({})", () -> key,
-                 () -> variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of variable: '{}' ({})", key,
+                   variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    }
 
     if(key == null)
     {
@@ -365,8 +456,11 @@ public class TestCase
    */
   public String getVariable(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of variable: '{}' ({})", () -> key,
-                 () -> variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of variable: '{}' ({})", key,
+                   variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    }
 
     if( !variables.containsKey(key)) throw new NoSuchElementException("No variable with value '"
                                                                          + key + "' found!");
@@ -19,7 +19,9 @@
 package nl.dictu.prova.framework;
 
 import java.security.InvalidParameterException;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import org.apache.logging.log4j.LogManager;
@@ -29,6 +31,11 @@ import org.apache.logging.log4j.Logger;
 /**
  * A test suite is a container for sub-test suites and test cases. It is a
  * container with an unique ID and optional a parent test suite
+ * <p>
+ * The top test suite of a structure keeps an index of all test suites and
+ * test cases in the structure, and every test suite keeps the number of test
+ * suites and test cases below it. Lookups and counts don't walk the structure
+ * but cost at most a walk up to the top test suite.
  * Issues:
  * - PROVA-12: Structure to handle test suites, cases and actions
  *
@@ -44,6 +51,13 @@ public class TestSuite
   private LinkedHashMap<String, TestSuite> testSuites = new LinkedHashMap<>();
   private LinkedHashMap<String, TestCase> testCases = new LinkedHashMap<>();
 
+  // Test suite which has this test suite as a child (set by addTestSuite)
+  private TestSuite owner = null;
+  // Index of the structure, only used when this test suite has no owner
+  private Index index;
+  private int numberOfSubTestSuites = 0;
+  private int numberOfSubTestCases = 0;
+
 
   /**
    * Constructor. Provided ID must be unique and is an identifier for the input
@@ -57,6 +71,7 @@ public class TestSuite
     LOGGER.debug("Create a new test suite with id '{}'", () -> id);
 
     setId(id);
+    index = new Index(this);
   }
 
 
@@ -74,6 +89,7 @@ public class TestSuite
                  () -> parent == null ? "" : parent.getId());
 
     setId(id);
+    index = new Index(this);
     setParent(parent);
   }
 
@@ -87,7 +103,10 @@ public class TestSuite
    */
   private void setId(String id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test suite to '{}'", (id == null ? "null" : id));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test suite to '{}'", (id == null ? "null" : id));
+    }
 
     if(id == null)
     {
@@ -114,7 +133,10 @@ public class TestSuite
    */
   public String getId()
   {
-    LOGGER.trace("Get the id of this test suite ({})", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the id of this test suite ({})", id);
+    }
 
     return id;
   }
@@ -130,8 +152,11 @@ public class TestSuite
    */
   protected void setParent(TestSuite testSuite) throws InvalidParameterException
   {
-    LOGGER.trace("Set the parent of this test suite to ({})",
-                 (testSuite == null ? "null" : testSuite.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set the parent of this test suite to ({})",
+                   (testSuite == null ? "null" : testSuite.getId()));
+    }
 
     // Prevent a loop! Can be caused when a test suite exists more than once in the structure
     if(testSuite != null && getRootParent().hasTestSuite(testSuite.getId(), true))
@@ -152,8 +177,11 @@ public class TestSuite
    */
   public Boolean hasParent()
   {
-    LOGGER.trace("Check if this test suite has a parent ({})",
-                 () -> parent != null ? "Yes: " + parent.getId() : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Check if this test suite has a parent ({})",
+                   parent != null ? "Yes: " + parent.getId() : "No");
+    }
 
     return(parent != null);
   }
@@ -166,8 +194,11 @@ public class TestSuite
    */
   public TestSuite getParent()
   {
-    LOGGER.trace("Get the parent of this test suite ({})",
-                 () -> parent == null ? "No parent" : parent.getId());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the parent of this test suite ({})",
+                   parent == null ? "No parent" : parent.getId());
+    }
 
     return parent;
   }
@@ -181,8 +212,11 @@ public class TestSuite
    */
   public TestSuite getRootParent()
   {
-    LOGGER.trace("Get the root parent of this test suite ({})",
-                 (parent == null ? "No parent" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the root parent of this test suite ({})",
+                   (parent == null ? "No parent" : parent.getId()));
+    }
 
     TestSuite rootTestSuite = this;
 
@@ -191,22 +225,29 @@ public class TestSuite
       rootTestSuite = rootTestSuite.getParent();
     }
 
-    LOGGER.trace("Rootparent of '{}' = '{}'", getId(), rootTestSuite.getId());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Rootparent of '{}' = '{}'", getId(), rootTestSuite.getId());
+    }
 
     return rootTestSuite;
   }
 
 
   /**
-   * Add the given {@link testSuite} as a child to this test suite
+   * Add the given {@link testSuite} as a child to this test suite. The id's of
+   * the test suites of the added structure must be new in this structure.
    *
    * @param testSuite
    * @throws InvalidParameterException
    */
   public void addTestSuite(TestSuite testSuite) throws InvalidParameterException
   {
-    LOGGER.trace("Add test suite '{}' to this test suite",
-                 () -> testSuite != null ? testSuite.getId() : "null");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Add test suite '{}' to this test suite",
+                   testSuite != null ? testSuite.getId() : "null");
+    }
 
     if(testSuite == null)
     {
@@ -214,16 +255,129 @@ public class TestSuite
     }
 
     // First check if this test suite doesn't exist yet in the structure
-    if( !this.getRootParent().hasTestSuite(testSuite.getRootParent().getId(), true))
+    if(this.getRootParent().hasTestSuite(testSuite.getRootParent().getId(), true))
     {
-      testSuites.put(testSuite.getId(), testSuite);
-      testSuite.setParent(this);
+      throw new InvalidParameterException("TestSuite '" + testSuite.getId()
+                                          + "' is already a member of this testsuite.");
     }
-    else
+
+    if(testSuite.owner != null)
     {
       throw new InvalidParameterException("TestSuite '" + testSuite.getId()
+                                          + "' is already a member of test suite '"
+                                          + testSuite.owner.getId() + "'.");
+    }
+
+    Index rootIndex = getIndexRoot().index;
+    String duplicateId = rootIndex.findDuplicateTestSuiteId(testSuite.index);
+
+    if(duplicateId != null)
+    {
+      throw new InvalidParameterException("TestSuite '" + duplicateId
                                           + "' is already a member of this testsuite.");
     }
+
+    // Throws on a loop before anything is changed
+    testSuite.setParent(this);
+
+    testSuites.put(testSuite.getId(), testSuite);
+    testSuite.owner = this;
+    getIndexRoot().index = rootIndex.merge(testSuite.index);
+    testSuite.index = null;
+
+    updateCounters(testSuite.numberOfSubTestSuites + 1, testSuite.numberOfSubTestCases);
+  }
+
+
+  /**
+   * Remove the child test suite with {@link id} from this test suite. The
+   * removed test suite becomes the top of its own structure.
+   *
+   * @param id
+   * @return The removed test suite
+   * @throws NoSuchElementException
+   */
+  public TestSuite removeTestSuite(String id) throws NoSuchElementException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Remove test suite '{}' from this test suite", id);
+    }
+
+    TestSuite testSuite = testSuites.remove(id);
+
+    if(testSuite == null)
+    {
+      throw new NoSuchElementException(id);
+    }
+
+    Index subIndex = new Index(testSuite);
+    getIndexRoot().index.moveSubTree(testSuite, subIndex);
+
+    testSuite.owner = null;
+    testSuite.parent = null;
+    testSuite.index = subIndex;
+
+    updateCounters( -(testSuite.numberOfSubTestSuites + 1), -testSuite.numberOfSubTestCases);
+
+    return testSuite;
+  }
+
+
+  /**
+   * Return the test suite at the top of the structure this test suite is a
+   * member of, following the owners set by addTestSuite.
+   *
+   * @return
+   */
+  private TestSuite getIndexRoot()
+  {
+    TestSuite indexRoot = this;
+
+    while(indexRoot.owner != null)
+    {
+      indexRoot = indexRoot.owner;
+    }
+
+    return indexRoot;
+  }
+
+
+  /**
+   * Check if this test suite is {@link testSuite} or one of its sub-test
+   * suites
+   *
+   * @param testSuite
+   * @return
+   */
+  private boolean isPartOf(TestSuite testSuite)
+  {
+    for(TestSuite current = this; current != null; current = current.owner)
+    {
+      if(current == testSuite)
+      {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+
+  /**
+   * Add the given differences to the counters of this test suite and all its
+   * owners
+   *
+   * @param testSuites
+   * @param testCases
+   */
+  private void updateCounters(int testSuites, int testCases)
+  {
+    for(TestSuite current = this; current != null; current = current.owner)
+    {
+      current.numberOfSubTestSuites += testSuites;
+      current.numberOfSubTestCases += testCases;
+    }
   }
 
 
@@ -247,19 +401,13 @@ public class TestSuite
    */
   public int numberOfTestSuites(boolean countSubTestSuites)
   {
-    LOGGER.trace("Count the number of test suites in this test suite. (Count subTestSuites: {}",
-                 () -> countSubTestSuites);
-
-    int iCount = testSuites.size();
-
-    if(countSubTestSuites)
+    if(LOGGER.isTraceEnabled())
     {
-      iCount = testSuites.entrySet().stream()
-                         .map((entry) -> entry.getValue().numberOfTestSuites(countSubTestSuites))
-                         .reduce(iCount, Integer::sum);
+      LOGGER.trace("Count the number of test suites in this test suite. (Count subTestSuites: {}",
+                   countSubTestSuites);
     }
 
-    return iCount;
+    return (countSubTestSuites ? numberOfSubTestSuites : testSuites.size());
   }
 
 
@@ -285,28 +433,51 @@ public class TestSuite
    */
   public Boolean hasTestSuite(String id, boolean checkSubTestSuites)
   {
-    LOGGER.trace("Check if this test suites has a test suite with id '{}' (Check subTestSuites: {})",
-                 () -> id, () -> checkSubTestSuites);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Check if this test suites has a test suite with id '{}' (Check subTestSuites: {})",
+                   id, checkSubTestSuites);
+    }
 
     if(this.getId().equals(id))
     {
       return true;
     }
-    
-    for(Map.Entry<String, TestSuite> entry : testSuites.entrySet())
+
+    if( !checkSubTestSuites)
     {
-      if(entry.getValue().getId().equals(id))
-      {
-        return true;
-      }
+      return testSuites.containsKey(id);
+    }
 
-      if(checkSubTestSuites && entry.getValue().hasTestSuite(id, checkSubTestSuites))
-      {
-        return true;
-      }
+    TestSuite testSuite = getIndexRoot().index.testSuites.get(id);
+
+    return (testSuite != null && testSuite.isPartOf(this));
+  }
+
+
+  /**
+   * Find the test suite with {@link id} in this test suite and all its
+   * sub-test suites.
+   *
+   * @param id
+   * @return
+   * @throws NoSuchElementException
+   */
+  public TestSuite findTestSuite(String id) throws NoSuchElementException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find test suite with id '{}' in the structure", id);
     }
 
-    return false;
+    TestSuite testSuite = getIndexRoot().index.testSuites.get(id);
+
+    if(testSuite == null || !testSuite.isPartOf(this))
+    {
+      throw new NoSuchElementException(id);
+    }
+
+    return testSuite;
   }
 
 
@@ -319,7 +490,10 @@ public class TestSuite
    */
   public TestSuite getTestSuite(String id) throws NoSuchElementException
   {
-    LOGGER.trace("Find and return sub test suites with id '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return sub test suites with id '{}'", id);
+    }
 
     try
     {
@@ -342,7 +516,10 @@ public class TestSuite
    */
   public LinkedHashMap<String, TestSuite> getTestSuites()
   {
-    LOGGER.trace("Return all test suites (nr: {})", testSuites.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Return all test suites (nr: {})", testSuites.size());
+    }
 
     return testSuites;
   }
@@ -375,6 +552,36 @@ public class TestSuite
     }
 
     testCases.put(testCase.getId(), testCase);
+    getIndexRoot().index.addTestCase(testCase.getId(), this);
+    updateCounters(0, 1);
+  }
+
+
+  /**
+   * Remove the test case with {@link id} from this test suite
+   *
+   * @param id
+   * @return The removed test case
+   * @throws NoSuchElementException
+   */
+  public TestCase removeTestCase(String id) throws NoSuchElementException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Remove test case '{}' from this test suite", id);
+    }
+
+    TestCase testCase = testCases.remove(id);
+
+    if(testCase == null)
+    {
+      throw new NoSuchElementException(id);
+    }
+
+    getIndexRoot().index.removeTestCase(id, this);
+    updateCounters(0, -1);
+
+    return testCase;
   }
 
 
@@ -385,7 +592,10 @@ public class TestSuite
    */
   public int numberOfTestCases()
   {
-    LOGGER.trace("Count the number of test cases in this test suite");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Count the number of test cases in this test suite");
+    }
 
     return numberOfTestCases(false);
   }
@@ -400,18 +610,12 @@ public class TestSuite
    */
   public int numberOfTestCases(boolean countSubTestCases)
   {
-    LOGGER.trace("Count the number of test cases in this test suite");
-
-    int iCount = testCases.size();
-
-    if(countSubTestCases)
+    if(LOGGER.isTraceEnabled())
     {
-      iCount = testSuites.entrySet().stream()
-                         .map((entry) -> entry.getValue().numberOfTestCases(countSubTestCases))
-                         .reduce(iCount, Integer::sum);
+      LOGGER.trace("Count the number of test cases in this test suite");
     }
 
-    return iCount;
+    return (countSubTestCases ? numberOfSubTestCases : testCases.size());
   }
 
 
@@ -437,32 +641,27 @@ public class TestSuite
    */
   public Boolean hasTestCase(String id, boolean checkSubTestSuites)
   {
-    LOGGER.trace("Check if this test case has a test case with id '{}' (Check subTestSuites: {}",
-                 () -> id, () -> checkSubTestSuites);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Check if this test case has a test case with id '{}' (Check subTestSuites: {}",
+                   id, checkSubTestSuites);
+    }
 
-    try
+    if(testCases.containsKey(id))
     {
-      for(Map.Entry<String, TestCase> entry : testCases.entrySet())
-      {
-        if(entry.getValue().getId().equals(id))
-        {
-          return true;
-        }
-      }
+      return true;
+    }
 
-      if(checkSubTestSuites)
+    if(checkSubTestSuites)
+    {
+      for(TestSuite testSuite : getIndexRoot().index.getTestCaseOwners(id))
       {
-        if(testSuites.entrySet().stream()
-                     .anyMatch((entry) -> (entry.getValue().hasTestCase(id, checkSubTestSuites))))
+        if(testSuite.isPartOf(this))
         {
           return true;
         }
       }
     }
-    catch(Exception eX)
-    {
-      LOGGER.error("hasTestCase exception: {}", eX.getMessage());
-    }
 
     return false;
   }
@@ -476,7 +675,10 @@ public class TestSuite
    */
   public TestCase getTestCase(String id)
   {
-    LOGGER.trace("Find and return the test case with id '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return the test case with id '{}'", id);
+    }
 
     try
     {
@@ -501,4 +703,126 @@ public class TestSuite
     return testCases;
   }
 
+
+
+  /**
+   * Index of all test suites and test cases in a structure of test suites.
+   * Test suite id's are unique in a structure, test case id's only per test
+   * suite.
+   */
+  private static class Index
+  {
+    private HashMap<String, TestSuite> testSuites = new HashMap<>();
+    private HashMap<String, LinkedList<TestSuite>> testCaseOwners = new HashMap<>();
+
+
+    private Index(TestSuite testSuite)
+    {
+      testSuites.put(testSuite.getId(), testSuite);
+    }
+
+
+    /**
+     * Return the test suites with a test case with {@link id}
+     *
+     * @param id
+     * @return
+     */
+    private LinkedList<TestSuite> getTestCaseOwners(String id)
+    {
+      LinkedList<TestSuite> owners = testCaseOwners.get(id);
+
+      return (owners == null ? new LinkedList<>() : owners);
+    }
+
+
+    private void addTestCase(String id, TestSuite owner)
+    {
+      testCaseOwners.computeIfAbsent(id, (key) -> new LinkedList<>()).add(owner);
+    }
+
+
+    private void removeTestCase(String id, TestSuite owner)
+    {
+      LinkedList<TestSuite> owners = testCaseOwners.get(id);
+
+      if(owners != null && owners.remove(owner) && owners.isEmpty())
+      {
+        testCaseOwners.remove(id);
+      }
+    }
+
+
+    /**
+     * Return a test suite id present in both indexes or NULL when there is none
+     *
+     * @param other
+     * @return
+     */
+    private String findDuplicateTestSuiteId(Index other)
+    {
+      Index smallest = (testSuites.size() < other.testSuites.size() ? this : other);
+      Index largest = (smallest == this ? other : this);
+
+      for(String id : smallest.testSuites.keySet())
+      {
+        if(largest.testSuites.containsKey(id))
+        {
+          return id;
+        }
+      }
+
+      return null;
+    }
+
+
+    /**
+     * Combine this index with {@link other}. The smallest index is copied into
+     * the largest, which is returned.
+     *
+     * @param other
+     * @return
+     */
+    private Index merge(Index other)
+    {
+      Index smallest = (testSuites.size() + testCaseOwners.size()
+                        < other.testSuites.size() + other.testCaseOwners.size() ? this : other);
+      Index largest = (smallest == this ? other : this);
+
+      largest.testSuites.putAll(smallest.testSuites);
+
+      for(Map.Entry<String, LinkedList<TestSuite>> entry : smallest.testCaseOwners.entrySet())
+      {
+        largest.testCaseOwners.computeIfAbsent(entry.getKey(), (key) -> new LinkedList<>())
+                .addAll(entry.getValue());
+      }
+
+      return largest;
+    }
+
+
+    /**
+     * Move {@link testSuite} and everything below it to {@link subIndex}
+     *
+     * @param testSuite
+     * @param subIndex
+     */
+    private void moveSubTree(TestSuite testSuite, Index subIndex)
+    {
+      testSuites.remove(testSuite.getId());
+      subIndex.testSuites.put(testSuite.getId(), testSuite);
+
+      for(String id : testSuite.testCases.keySet())
+      {
+        removeTestCase(id, testSuite);
+        subIndex.addTestCase(id, testSuite);
+      }
+
+      for(TestSuite subTestSuite : testSuite.testSuites.values())
+      {
+        moveSubTree(subTestSuite, subIndex);
+      }
+    }
+  }
+
 }
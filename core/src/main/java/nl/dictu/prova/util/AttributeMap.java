@@ -0,0 +1,307 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.util;
+
+import java.security.InvalidParameterException;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact map of string keys to string values for the attributes, variables
+ * and headers of the framework model.
+ * <p>
+ * Keys and values are kept in a single array of alternating key and value.
+ * Up to {@link #MAX_LINEAR_SIZE} entries are stored in insertion order and
+ * searched linearly; larger maps switch to open addressing with linear
+ * probing. Keys are interned, so the same key in millions of test actions is
+ * stored once and usually matches on reference.
+ * <p>
+ * Not synchronized: a map is filled while a test case is loaded and read by
+ * the single thread executing that test case.
+ *
+ * @author Sjoerd Boerhout
+ */
+public final class AttributeMap
+{
+  // Maximum number of entries stored in insertion order
+  public final static int MAX_LINEAR_SIZE = 8;
+
+  private final static String[] EMPTY = new String[0];
+
+  // Alternating key and value. In hashed mode a null key is an empty slot.
+  private String[] entries = EMPTY;
+  private int size = 0;
+  private boolean hashed = false;
+
+
+  /**
+   * Set {@link key} to {@link value}. Replaces the current value of the key.
+   *
+   * @param key
+   * @param value
+   * @return The previous value or null
+   * @throws InvalidParameterException
+   */
+  public String put(String key, String value) throws InvalidParameterException
+  {
+    if(key == null || value == null)
+    {
+      throw new InvalidParameterException("Key or value can not be null (" + key + ":" + value
+                                          + ")");
+    }
+
+    int index = indexOf(key);
+
+    if(index >= 0)
+    {
+      String previous = entries[index + 1];
+      entries[index + 1] = value;
+
+      return previous;
+    }
+
+    key = key.intern();
+
+    if(hashed)
+    {
+      if((size + 1) * 4 > entries.length)
+      {
+        rehash(entries.length);
+      }
+
+      insert(entries, key, value);
+    }
+    else if(size < MAX_LINEAR_SIZE)
+    {
+      if(size * 2 == entries.length)
+      {
+        String[] newEntries = new String[Math.max(4, entries.length * 2)];
+        System.arraycopy(entries, 0, newEntries, 0, entries.length);
+        entries = newEntries;
+      }
+
+      entries[size * 2] = key;
+      entries[size * 2 + 1] = value;
+    }
+    else
+    {
+      hashed = true;
+      rehash(MAX_LINEAR_SIZE * 4);
+      insert(entries, key, value);
+    }
+
+    size++;
+
+    return null;
+  }
+
+
+  /**
+   * Return the value of {@link key} or null when the key is not set
+   *
+   * @param key
+   * @return
+   */
+  public String get(String key)
+  {
+    int index = indexOf(key);
+
+    return (index < 0 ? null : entries[index + 1]);
+  }
+
+
+  /**
+   * Return the value of {@link key} or null when the key is not set. Same as
+   * get(), named after the java.util.Properties method it replaces.
+   *
+   * @param key
+   * @return
+   */
+  public String getProperty(String key)
+  {
+    return get(key);
+  }
+
+
+  /**
+   * Check if {@link key} is set
+   *
+   * @param key
+   * @return
+   */
+  public boolean containsKey(String key)
+  {
+    return indexOf(key) >= 0;
+  }
+
+
+  /**
+   * Return the number of entries
+   *
+   * @return
+   */
+  public int size()
+  {
+    return size;
+  }
+
+
+  /**
+   * Check if the map is empty
+   *
+   * @return
+   */
+  public boolean isEmpty()
+  {
+    return size == 0;
+  }
+
+
+  /**
+   * Call {@link action} for each key and value. Entries are visited in
+   * insertion order as long as the map holds at most
+   * {@link #MAX_LINEAR_SIZE} entries.
+   *
+   * @param action
+   */
+  public void forEach(BiConsumer<String, String> action)
+  {
+    for(int i = 0; i < entries.length; i += 2)
+    {
+      if(entries[i] != null)
+      {
+        action.accept(entries[i], entries[i + 1]);
+      }
+    }
+  }
+
+
+  @Override
+  public String toString()
+  {
+    StringBuilder result = new StringBuilder("{");
+
+    forEach((key, value) -> {
+      result.append(result.length() > 1 ? ", " : "").append(key).append('=').append(value);
+    });
+
+    return result.append('}').toString();
+  }
+
+
+  /**
+   * Return the index of {@link key} in the entries or -1 when not found
+   *
+   * @param key
+   * @return
+   */
+  private int indexOf(String key)
+  {
+    if(key == null || size == 0)
+    {
+      return -1;
+    }
+
+    if( !hashed)
+    {
+      // Interned keys usually match on reference, so check those first
+      for(int i = 0; i < size * 2; i += 2)
+      {
+        if(entries[i] == key)
+        {
+          return i;
+        }
+      }
+
+      for(int i = 0; i < size * 2; i += 2)
+      {
+        if(entries[i].equals(key))
+        {
+          return i;
+        }
+      }
+
+      return -1;
+    }
+
+    int mask = entries.length - 1;
+
+    for(int i = slot(key, mask); entries[i] != null; i = (i + 2) & mask)
+    {
+      if(entries[i] == key || entries[i].equals(key))
+      {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+
+  /**
+   * Move all entries to a hash table with room for {@link slots} keys. The
+   * table is kept at most half full.
+   *
+   * @param slots Power of two
+   */
+  private void rehash(int slots)
+  {
+    String[] newEntries = new String[slots * 2];
+
+    for(int i = 0; i < entries.length; i += 2)
+    {
+      if(entries[i] != null)
+      {
+        insert(newEntries, entries[i], entries[i + 1]);
+      }
+    }
+
+    entries = newEntries;
+  }
+
+
+  private static void insert(String[] table, String key, String value)
+  {
+    int mask = table.length - 1;
+    int i = slot(key, mask);
+
+    while(table[i] != null)
+    {
+      i = (i + 2) & mask;
+    }
+
+    table[i] = key;
+    table[i + 1] = value;
+  }
+
+
+  /**
+   * Return the first slot (an even index) of {@link key} in a table
+   *
+   * @param key
+   * @param mask
+   * @return
+   */
+  private static int slot(String key, int mask)
+  {
+    int hash = key.hashCode();
+
+    return ((hash ^ (hash >>> 16)) << 1) & mask;
+  }
+}
@@ -19,6 +19,9 @@
  */
 package nl.dictu.prova.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +36,13 @@ public class Validator
   private final static Logger LOGGER = LogManager.getLogger(Validator.class.
           getName());
 
+  /**
+   * Maximum number of validated XPaths to remember
+   */
+  private final static int MAX_XPATHS = 10000;
+
+  private final static ConcurrentHashMap<String, Boolean> xPaths = new ConcurrentHashMap<>();
+
 
   /**
    * Validates if the given filename:
@@ -51,7 +61,8 @@ public class Validator
 
 
   /**
-   * Validates if the given string is a valid Xpath
+   * Validates if the given string is a valid Xpath. The result is remembered,
+   * so the same expression is compiled only once.
    *
    * @param xPath
    *
@@ -59,7 +70,50 @@ public class Validator
    */
   public static boolean isValidXpath(String xPath)
   {
-    return false;
+    if(xPath == null || xPath.trim().isEmpty())
+    {
+      return false;
+    }
+
+    Boolean valid = xPaths.get(xPath);
+
+    if(valid == null)
+    {
+      if(xPaths.size() >= MAX_XPATHS)
+      {
+        xPaths.clear();
+      }
+
+      valid = compileXpath(xPath);
+      xPaths.put(xPath, valid);
+    }
+
+    return valid;
+  }
+
+
+  /**
+   * Compile {@link xPath} and return true when it succeeds
+   *
+   * @param xPath
+   *
+   * @return
+   */
+  private static boolean compileXpath(String xPath)
+  {
+    try
+    {
+      // XPath objects aren't thread safe, so create one per compilation
+      XPathFactory.newInstance().newXPath().compile(xPath);
+
+      return true;
+    }
+    catch(XPathExpressionException eX)
+    {
+      LOGGER.debug("Invalid XPath '{}': {}", xPath, eX.getMessage());
+
+      return false;
+    }
   }
 
 }
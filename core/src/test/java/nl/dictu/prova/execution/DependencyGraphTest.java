@@ -0,0 +1,206 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.LinkedList;
+import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Dependency-aware DAG scheduler for test cases
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DependencyGraphTest
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(DependencyGraphTest.class.
+          getName());
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void setUpClass()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  /**
+   * Create a test case with the given dependencies and add it to the test suite
+   *
+   * @param testSuite
+   * @param id
+   * @param dependsOn
+   * @return
+   */
+  private TestCase addTestCase(TestSuite testSuite, String id, String dependsOn)
+  {
+    TestCase testCase = new TestCase(id);
+
+    if(dependsOn != null)
+    {
+      testCase.setHeader(DependencyGraph.HEADER_DEPENDS_ON, dependsOn);
+    }
+
+    testSuite.addTestCase(testCase);
+
+    return testCase;
+  }
+
+
+  /**
+   * Requirement:
+   * Dependencies are resolved over the whole test suite structure.
+   */
+  @Test
+  public void testThatDependenciesAreLinked()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatDependenciesAreLinked");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      root.addTestSuite(child);
+
+      TestCase login = addTestCase(root, "login", null);
+      TestCase order = addTestCase(child, "order", "login");
+      TestCase pay = addTestCase(child, "pay", " login ; order,");
+
+      DependencyGraph dependencyGraph = new DependencyGraph(root);
+
+      assertEquals(3, dependencyGraph.getTestCases().size());
+      assertEquals(0, dependencyGraph.getPrerequisites(login).size());
+      assertEquals(1, dependencyGraph.getPrerequisites(order).size());
+      assertEquals(2, dependencyGraph.getPrerequisites(pay).size());
+      assertEquals(2, dependencyGraph.getDependents(login).size());
+      assertTrue(dependencyGraph.getDependents(order).contains(pay));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Unknown, ambiguous and circular dependencies are rejected.
+   */
+  @Test
+  public void testThatInvalidDependenciesAreRejected()
+  {
+    LOGGER.debug("TC: testThatInvalidDependenciesAreRejected");
+
+    TestSuite unknown = new TestSuite("unknown");
+    addTestCase(unknown, "a", "b");
+
+    TestSuite ambiguous = new TestSuite("ambiguous");
+    TestSuite child = new TestSuite("child");
+    ambiguous.addTestSuite(child);
+    addTestCase(ambiguous, "a", null);
+    addTestCase(child, "a", null);
+    addTestCase(child, "b", "a");
+
+    TestSuite circular = new TestSuite("circular");
+    addTestCase(circular, "a", "c");
+    addTestCase(circular, "b", "a");
+    addTestCase(circular, "c", "b");
+
+    TestSuite self = new TestSuite("self");
+    addTestCase(self, "a", "a");
+
+    for(TestSuite testSuite : new TestSuite[] { unknown, ambiguous, circular, self })
+    {
+      try
+      {
+        new DependencyGraph(testSuite);
+
+        fail("Invalid dependencies accepted in '" + testSuite.getId() + "'");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Test passed
+      }
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * The critical path is the chain of dependent test cases with the longest
+   * total execution time.
+   */
+  @Test
+  public void testThatCriticalPathIsTheLongestChain()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatCriticalPathIsTheLongestChain");
+
+      TestSuite root = new TestSuite("root");
+      TestCase a = addTestCase(root, "a", null);
+      TestCase b = addTestCase(root, "b", "a");
+      TestCase c = addTestCase(root, "c", "a");
+      TestCase d = addTestCase(root, "d", "b,c");
+      TestCase e = addTestCase(root, "e", null);
+
+      HashMap<TestCase, Long> executionTimes = new HashMap<>();
+      executionTimes.put(a, 10L);
+      executionTimes.put(b, 5L);
+      executionTimes.put(c, 30L);
+      executionTimes.put(d, 10L);
+      executionTimes.put(e, 40L);
+
+      LinkedList<TestCase> criticalPath = new DependencyGraph(root).getCriticalPath(
+              executionTimes);
+
+      assertEquals(3, criticalPath.size());
+      assertEquals(a, criticalPath.get(0));
+      assertEquals(c, criticalPath.get(1));
+      assertEquals(d, criticalPath.get(2));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,404 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedList;
+import nl.dictu.prova.Config;
+import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Parallel test-suite execution engine
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ExecutionEngineTest
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ExecutionEngineTest.class.
+          getName());
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void setUpClass()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  /**
+   * Create a structure of test suites with test cases of different test types.
+   * Every fifth test case fails.
+   *
+   * @param tracker
+   * @return
+   */
+  private TestSuite createTestSuite(RecordingTestAction.Tracker tracker)
+  {
+    TestSuite root = new TestSuite("root");
+    int counter = 0;
+
+    for(int i = 0; i < 3; i++)
+    {
+      TestSuite testSuite = new TestSuite("TS-" + i);
+      root.addTestSuite(testSuite);
+
+      for(int j = 0; j < 6; j++)
+      {
+        TestCase testCase = new TestCase("TC-" + i + "-" + j);
+        testCase.setTestType(j % 2 == 0 ? TestType.WEB : TestType.SHELL);
+        testCase.addSetUpAction(new RecordingTestAction(1, 0, TestStatus.PASSED, tracker));
+        testCase.addTestAction(new RecordingTestAction(2, 10 + (counter % 3) * 5,
+                                                       (counter % 5 == 4) ? TestStatus.FAILED
+                                                                          : TestStatus.PASSED,
+                                                       tracker));
+        testCase.addTearDownAction(new RecordingTestAction(3, 0, TestStatus.PASSED, tracker));
+        testSuite.addTestCase(testCase);
+        counter++;
+      }
+    }
+
+    return root;
+  }
+
+
+  /**
+   * Execute a new test suite structure and return the reported events
+   *
+   * @param maxParallel
+   * @param tracker
+   * @return
+   * @throws Exception
+   */
+  private LinkedList<String> execute(String maxParallel, RecordingTestAction.Tracker tracker)
+          throws Exception
+  {
+    Prova prova = new Prova();
+    RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+
+    prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, maxParallel);
+    prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL_PREFIX + "web", "2");
+    prova.addReportingPlugin(recorder);
+
+    new ExecutionEngine(prova).execute(createTestSuite(tracker));
+
+    return recorder.getEvents();
+  }
+
+
+  /**
+   * Requirement:
+   * Test cases are executed in parallel while the report is identical to the
+   * report of a sequential run.
+   */
+  @Test
+  public void testThatParallelExecutionIsReportedInOrder()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatParallelExecutionIsReportedInOrder");
+
+      RecordingTestAction.Tracker sequentialTracker = new RecordingTestAction.Tracker();
+      RecordingTestAction.Tracker parallelTracker = new RecordingTestAction.Tracker();
+
+      LinkedList<String> sequential = execute("1", sequentialTracker);
+      LinkedList<String> parallel = execute("6", parallelTracker);
+
+      assertEquals(1, sequentialTracker.getMaxRunning());
+      assertTrue(parallelTracker.getMaxRunning() > 1);
+      // The execution times in the critical path message differ per run
+      sequential.removeLast();
+      assertTrue(parallel.getLast().startsWith("Message:root:Critical path: "));
+      assertEquals(sequential, parallel.subList(0, parallel.size() - 1));
+
+      assertEquals("StartTS:root", parallel.getFirst());
+      assertEquals("EndTS:root", parallel.get(parallel.size() - 2));
+      assertTrue(parallel.contains("EndTC:TC-0-4:Failed"));
+      assertTrue(parallel.contains("EndTC:TC-0-3:Passed"));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * A failing setup action blocks the test case, teardown actions are always
+   * executed.
+   */
+  @Test
+  public void testThatFailingSetUpBlocksTestCase()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatFailingSetUpBlocksTestCase");
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      RecordingTestAction.Tracker tracker = new RecordingTestAction.Tracker();
+      prova.addReportingPlugin(recorder);
+
+      TestSuite root = new TestSuite("root");
+      TestCase testCase = new TestCase("blocked");
+      testCase.addSetUpAction(new RecordingTestAction(1, 0, TestStatus.FAILED, tracker));
+      testCase.addTestAction(new RecordingTestAction(2, 0, TestStatus.PASSED, tracker));
+      testCase.addTearDownAction(new RecordingTestAction(3, 0, TestStatus.PASSED, tracker));
+      root.addTestCase(testCase);
+
+      new ExecutionEngine(prova).execute(root);
+
+      assertEquals(TestStatus.BLOCKED, testCase.getTestCaseStatus());
+      assertTrue(recorder.getEvents().contains("Test:2:NotRun"));
+      assertTrue(recorder.getEvents().contains("TearDown:3:Passed"));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+
+  /**
+   * Requirement:
+   * A passed test case fails when an output plug-in can't tear it down.
+   */
+  @Test
+  public void testThatFailingTearDownFailsTestCase()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatFailingTearDownFailsTestCase");
+
+      Prova prova = new Prova();
+      RecordingTestAction.Tracker tracker = new RecordingTestAction.Tracker();
+
+      prova.addOutputPlugin(new OutputPlugin()
+      {
+        @Override
+        public void init(TestRunner testRunner)
+        {
+        }
+
+
+        @Override
+        public void shutDown()
+        {
+        }
+
+
+        @Override
+        public String getName()
+        {
+          return "Failing teardown";
+        }
+
+
+        @Override
+        public TestType[] getTestType()
+        {
+          return new TestType[]
+          {
+            TestType.SHELL
+          };
+        }
+
+
+        @Override
+        public void setUp(TestCase testCase)
+        {
+        }
+
+
+        @Override
+        public void tearDown(TestCase testCase)
+        {
+          throw new IllegalStateException("Result files not written");
+        }
+
+
+        @Override
+        public TestAction getTestAction(String actionName)
+        {
+          return null;
+        }
+      }, TestType.SHELL);
+
+      TestSuite root = new TestSuite("root");
+      TestCase testCase = new TestCase("teardown");
+      testCase.setTestType(TestType.SHELL);
+      testCase.addTestAction(new RecordingTestAction(1, 0, TestStatus.PASSED, tracker));
+      root.addTestCase(testCase);
+
+      new ExecutionEngine(prova).execute(root);
+
+      assertEquals(TestStatus.FAILED, testCase.getTestCaseStatus());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+
+  /**
+   * Requirement:
+   * In virtual mode many I/O bound test cases run at the same time, also when
+   * the JVM falls back to platform threads.
+   */
+  @Test
+  public void testThatVirtualModeRunsManyTestCasesInParallel()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatVirtualModeRunsManyTestCasesInParallel");
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      RecordingTestAction.Tracker tracker = new RecordingTestAction.Tracker();
+
+      prova.setProperty(Config.PROVA_EXEC_MODE, "virtual");
+      prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, "100");
+      prova.setProperty(Config.PROVA_EXEC_MAX_PLATFORM_THREADS, "50");
+      prova.addReportingPlugin(recorder);
+
+      TestSuite root = new TestSuite("root");
+
+      for(int i = 0; i < 200; i++)
+      {
+        TestCase testCase = new TestCase("TC-" + i);
+        testCase.setTestType(TestType.SOAP);
+        testCase.addTestAction(new RecordingTestAction(1, 20, TestStatus.PASSED, tracker));
+        root.addTestCase(testCase);
+      }
+
+      new ExecutionEngine(prova).execute(root);
+
+      assertTrue(tracker.getMaxRunning() > 1);
+      assertTrue(tracker.getMaxRunning() <= 100);
+
+      for(TestCase testCase : root.getTestCases().values())
+      {
+        assertEquals(TestStatus.PASSED, testCase.getTestCaseStatus());
+      }
+
+      assertEquals("EndTC:TC-199:Passed", recorder.getEvents().get(recorder.getEvents().size() - 3));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+
+  /**
+   * Requirement:
+   * Dependents of a failed test case are blocked, independent test cases and
+   * dependents of passed test cases are executed.
+   */
+  @Test
+  public void testThatDependentsOfFailedTestCasesAreBlocked()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatDependentsOfFailedTestCasesAreBlocked");
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      RecordingTestAction.Tracker tracker = new RecordingTestAction.Tracker();
+
+      prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, "4");
+      prova.addReportingPlugin(recorder);
+
+      TestSuite root = new TestSuite("root");
+      TestCase[] testCases = new TestCase[5];
+      String[] dependsOn = { null, "TC-0", null, "TC-2", "TC-3" };
+
+      for(int i = 0; i < testCases.length; i++)
+      {
+        testCases[i] = new TestCase("TC-" + i);
+        testCases[i].addTestAction(new RecordingTestAction(1, i < 2 ? 30 : 5,
+                                                           i == 2 ? TestStatus.FAILED
+                                                                  : TestStatus.PASSED,
+                                                           tracker));
+        if(dependsOn[i] != null)
+        {
+          testCases[i].setHeader(DependencyGraph.HEADER_DEPENDS_ON, dependsOn[i]);
+        }
+        root.addTestCase(testCases[i]);
+      }
+
+      ExecutionEngine executionEngine = new ExecutionEngine(prova);
+      executionEngine.execute(root);
+
+      assertEquals(TestStatus.PASSED, testCases[0].getTestCaseStatus());
+      assertEquals(TestStatus.PASSED, testCases[1].getTestCaseStatus());
+      assertEquals(TestStatus.FAILED, testCases[2].getTestCaseStatus());
+      assertEquals(TestStatus.BLOCKED, testCases[3].getTestCaseStatus());
+      assertEquals(TestStatus.BLOCKED, testCases[4].getTestCaseStatus());
+      assertTrue(recorder.getEvents().contains("Test:1:NotRun"));
+
+      assertEquals(2, executionEngine.getCriticalPath().size());
+      assertTrue(executionEngine.getCriticalPathLength() >= 60);
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Virtual-thread execution mode
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ExecutionModeTest
+{
+
+  /**
+   * Test of lookup method, of class ExecutionMode.
+   */
+  @Test
+  public void testLookup()
+  {
+    assertEquals(ExecutionMode.PLATFORM, ExecutionMode.lookup("platform"));
+    assertEquals(ExecutionMode.VIRTUAL, ExecutionMode.lookup(" Virtual "));
+
+    try
+    {
+      ExecutionMode.lookup("green");
+
+      fail("Unknown execution mode 'green' accepted");
+    }
+    catch(IllegalArgumentException eX)
+    {
+      // Test passed
+    }
+  }
+
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.util.LinkedList;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.reporting.ReportingPlugin;
+
+/**
+ * Reporting plug-in for unit tests which records all reported events
+ *
+ * @author Sjoerd Boerhout
+ */
+public class RecordingReportingPlugin implements ReportingPlugin
+{
+
+  private final LinkedList<String> events = new LinkedList<>();
+
+
+  /**
+   * Return all recorded events in the order they were reported
+   *
+   * @return
+   */
+  public synchronized LinkedList<String> getEvents()
+  {
+    return new LinkedList<>(events);
+  }
+
+
+  private synchronized void record(String event)
+  {
+    events.add(event);
+  }
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+  }
+
+
+  @Override
+  public String setOutputLocation(String newOutputLocation) throws IllegalArgumentException
+  {
+    return newOutputLocation;
+  }
+
+
+  @Override
+  public String setProjectName(String projectName) throws IllegalArgumentException
+  {
+    return projectName;
+  }
+
+
+  @Override
+  public void setUp() throws Exception
+  {
+  }
+
+
+  @Override
+  public void shutDown() throws Exception
+  {
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Recorder";
+  }
+
+
+  @Override
+  public void logStartTestSuite(TestSuite testSuite)
+  {
+    record("StartTS:" + testSuite.getId());
+  }
+
+
+  @Override
+  public void logStartTestCase(TestCase testCase)
+  {
+    record("StartTC:" + testCase.getId());
+  }
+
+
+  @Override
+  public void logSetupAction(TestAction setUpAction)
+  {
+    record("SetUp:" + setUpAction.getId() + ":" + setUpAction.getStatus());
+  }
+
+
+  @Override
+  public void logTestAction(TestAction testAction)
+  {
+    record("Test:" + testAction.getId() + ":" + testAction.getStatus());
+  }
+
+
+  @Override
+  public void logTearDownAction(TestAction tearDownAction)
+  {
+    record("TearDown:" + tearDownAction.getId() + ":" + tearDownAction.getStatus());
+  }
+
+
+  @Override
+  public void logEndTestCase(TestCase testCase)
+  {
+    record("EndTC:" + testCase.getId() + ":" + testCase.getTestCaseStatus());
+  }
+
+
+  @Override
+  public void logEndTestSuite(TestSuite testSuite)
+  {
+    record("EndTS:" + testSuite.getId());
+  }
+
+
+  @Override
+  public void logTestRunSummary(TestSuite testSuite)
+  {
+    record("Summary:" + testSuite.getId());
+  }
+
+
+  @Override
+  public void logMessage(String message, TestSuite testSuite)
+  {
+    record("Message:" + testSuite.getId() + ":" + message);
+  }
+
+
+  @Override
+  public void logMessage(String message, TestCase testCase)
+  {
+    record("Message:" + testCase.getId() + ":" + message);
+  }
+
+
+  @Override
+  public void logMessage(String message, TestAction testAction)
+  {
+    record("Message:" + testAction.getId() + ":" + message);
+  }
+
+}
@@ -0,0 +1,126 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Test action for unit tests which sleeps for a while, keeps track of the
+ * number of actions running at the same time and ends with a fixed status
+ *
+ * @author Sjoerd Boerhout
+ */
+public class RecordingTestAction extends TestAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(RecordingTestAction.class.
+          getName());
+
+  private final long sleepTime;
+  private final TestStatus result;
+  private final Tracker tracker;
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param sleepTime Time to sleep in milliseconds
+   * @param result    Status returned by execute()
+   * @param tracker   Shared tracker of the number of running actions
+   */
+  public RecordingTestAction(Integer id, long sleepTime, TestStatus result, Tracker tracker)
+  {
+    super(LOGGER, id);
+
+    this.sleepTime = sleepTime;
+    this.result = result;
+    this.tracker = tracker;
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    tracker.maxRunning.accumulateAndGet(tracker.running.incrementAndGet(), Math::max);
+
+    try
+    {
+      startExecution();
+
+      if(sleepTime > 0)
+      {
+        Thread.sleep(sleepTime);
+      }
+
+      endExecution();
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      tracker.running.decrementAndGet();
+    }
+
+    return updateStatus(result);
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return true;
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return "RecordingTestAction " + getId();
+  }
+
+
+  /**
+   * Keeps track of the number of actions running at the same time
+   */
+  public static class Tracker
+  {
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+
+    /**
+     * Get the highest number of actions running at the same time
+     *
+     * @return
+     */
+    public int getMaxRunning()
+    {
+      return maxRunning.get();
+    }
+  }
+
+}
@@ -0,0 +1,351 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.Config;
+import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Lazy loading of test cases just before execution
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseLoaderTest
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseLoaderTest.class.
+          getName());
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void setUpClass()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  /**
+   * Create a test suite with skeleton test cases: headers only, no actions
+   *
+   * @param numberOfTestCases
+   * @return
+   */
+  private TestSuite createTestSuite(int numberOfTestCases)
+  {
+    TestSuite testSuite = new TestSuite("TS-lazy");
+
+    for(int i = 0; i < numberOfTestCases; i++)
+    {
+      testSuite.addTestCase(new TestCase("TC-" + i));
+    }
+
+    return testSuite;
+  }
+
+
+  /**
+   * Requirement:
+   * Test cases are loaded just before execution, at most the prefetch window
+   * ahead, and their actions are removed after they are reported.
+   */
+  @Test
+  public void testThatTestCasesAreLoadedLazilyAndReleasedAfterReporting()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCasesAreLoadedLazilyAndReleasedAfterReporting");
+
+      final int numberOfTestCases = 50;
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      TestSuite testSuite = createTestSuite(numberOfTestCases);
+      LoadingInputPlugin inputPlugin = new LoadingInputPlugin(testSuite, null, null);
+
+      prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, "2");
+      prova.setProperty(Config.PROVA_EXEC_PREFETCH, "2");
+      prova.addReportingPlugin(recorder);
+      prova.addTestSuite(testSuite, inputPlugin);
+      prova.execute();
+
+      LinkedList<String> events = recorder.getEvents();
+
+      // Every test case is loaded once and reported with its actions
+      for(int i = 0; i < numberOfTestCases; i++)
+      {
+        TestCase testCase = testSuite.getTestCase("TC-" + i);
+
+        assertEquals(1, inputPlugin.getNumberOfLoads(testCase));
+        assertTrue(events.contains("EndTC:TC-" + i + ":" + TestStatus.PASSED));
+        assertTrue(testCase.getTestActions().isEmpty());
+      }
+
+      assertEquals(numberOfTestCases,
+                   events.stream().filter((event) -> event.startsWith("Test:")).count());
+
+      // Prefetch window + the next test case to report
+      assertTrue("Max loaded: " + inputPlugin.getMaxLoaded(), inputPlugin.getMaxLoaded() <= 3);
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Finished test cases after a slow test case don't pile up in memory while
+   * they wait to be reported.
+   */
+  @Test
+  public void testThatASlowTestCaseDoesntKeepLaterTestCasesLoaded()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatASlowTestCaseDoesntKeepLaterTestCasesLoaded");
+
+      final int numberOfTestCases = 30;
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      TestSuite testSuite = createTestSuite(numberOfTestCases);
+      LoadingInputPlugin inputPlugin = new LoadingInputPlugin(testSuite, null, "TC-0");
+
+      prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, "4");
+      prova.setProperty(Config.PROVA_EXEC_PREFETCH, "4");
+      prova.addReportingPlugin(recorder);
+      prova.addTestSuite(testSuite, inputPlugin);
+      prova.execute();
+
+      for(int i = 0; i < numberOfTestCases; i++)
+      {
+        assertTrue(recorder.getEvents().contains("EndTC:TC-" + i + ":" + TestStatus.PASSED));
+      }
+
+      assertTrue("Max loaded: " + inputPlugin.getMaxLoaded(), inputPlugin.getMaxLoaded() <= 5);
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * A full window doesn't stop a test case which depends on a later test case
+   */
+  @Test
+  public void testThatAFullWindowLoadsPrerequisitesOfTheNextTestCase()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatAFullWindowLoadsPrerequisitesOfTheNextTestCase");
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      TestSuite testSuite = createTestSuite(6);
+
+      testSuite.getTestCase("TC-0").setHeader(DependencyGraph.HEADER_DEPENDS_ON, "TC-5");
+      testSuite.getTestCase("TC-1").setHeader(DependencyGraph.HEADER_DEPENDS_ON, "TC-4");
+
+      prova.setProperty(Config.PROVA_EXEC_MAX_PARALLEL, "1");
+      prova.setProperty(Config.PROVA_EXEC_PREFETCH, "1");
+      prova.addReportingPlugin(recorder);
+      prova.addTestSuite(testSuite, new LoadingInputPlugin(testSuite, null, null));
+      prova.execute();
+
+      for(int i = 0; i < 6; i++)
+      {
+        assertTrue(recorder.getEvents().contains("EndTC:TC-" + i + ":" + TestStatus.PASSED));
+      }
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * A test case which can't be loaded is blocked, the others are executed
+   */
+  @Test
+  public void testThatTestCasesWhichCantBeLoadedAreBlocked()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCasesWhichCantBeLoadedAreBlocked");
+
+      Prova prova = new Prova();
+      RecordingReportingPlugin recorder = new RecordingReportingPlugin();
+      TestSuite testSuite = createTestSuite(3);
+
+      prova.addReportingPlugin(recorder);
+      prova.addTestSuite(testSuite, new LoadingInputPlugin(testSuite, "TC-1", null));
+      prova.execute();
+
+      LinkedList<String> events = recorder.getEvents();
+
+      assertTrue(events.contains("EndTC:TC-0:" + TestStatus.PASSED));
+      assertTrue(events.contains("EndTC:TC-1:" + TestStatus.BLOCKED));
+      assertTrue(events.contains("EndTC:TC-2:" + TestStatus.PASSED));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Input plug-in which adds one setup, test and teardown action to each
+   * loaded test case and tracks the number of test cases loaded at once
+   */
+  private static class LoadingInputPlugin implements InputPlugin
+  {
+    private final TestSuite testSuite;
+    private final String failingTestCase;
+    private final String slowTestCase;
+    private final ConcurrentHashMap<TestCase, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private final RecordingTestAction.Tracker tracker = new RecordingTestAction.Tracker();
+    private int maxLoaded = 0;
+
+
+    private LoadingInputPlugin(TestSuite testSuite, String failingTestCase,
+                               String slowTestCase)
+    {
+      this.testSuite = testSuite;
+      this.failingTestCase = failingTestCase;
+      this.slowTestCase = slowTestCase;
+    }
+
+
+    private int getNumberOfLoads(TestCase testCase)
+    {
+      return loads.getOrDefault(testCase, new AtomicInteger()).get();
+    }
+
+
+    private synchronized int getMaxLoaded()
+    {
+      return maxLoaded;
+    }
+
+
+    @Override
+    public synchronized TestCase loadTestCase(TestCase testCase) throws NullPointerException
+    {
+      loads.computeIfAbsent(testCase, (key) -> new AtomicInteger()).incrementAndGet();
+
+      if(testCase.getId().equals(failingTestCase))
+      {
+        throw new IllegalStateException("Test case '" + failingTestCase + "' not found");
+      }
+
+      testCase.addSetUpAction(new RecordingTestAction(1, 0, TestStatus.PASSED, tracker));
+      testCase.addTestAction(new RecordingTestAction(2,
+                                                     testCase.getId().equals(slowTestCase) ? 500 : 2,
+                                                     TestStatus.PASSED, tracker));
+      testCase.addTearDownAction(new RecordingTestAction(3, 0, TestStatus.PASSED, tracker));
+
+      int loaded = (int) testSuite.getTestCases().values().stream()
+                                  .filter((loadedTestCase) -> !loadedTestCase.getTestActions().isEmpty())
+                                  .count();
+      maxLoaded = Math.max(maxLoaded, loaded);
+
+      return testCase;
+    }
+
+
+    @Override
+    public void init(TestRunner testRunner) throws Exception
+    {
+    }
+
+
+    @Override
+    public String setTestRoot(String newTestRoot, String projectName)
+    {
+      return newTestRoot;
+    }
+
+
+    @Override
+    public String setTestCaseFilter(String[] labels)
+    {
+      return "";
+    }
+
+
+    @Override
+    public TestSuite setUp(TestSuite testSuite)
+    {
+      return testSuite;
+    }
+
+
+    @Override
+    public void shutDown()
+    {
+    }
+
+
+    @Override
+    public String getName()
+    {
+      return "LoadingInputPlugin";
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.InvalidParameterException;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Parallel test-suite execution engine
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseSchedulerTest
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseSchedulerTest.class.
+          getName());
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void setUpClass()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  /**
+   * Requirement:
+   * The number of running test cases never exceeds the global limit nor the
+   * limit of the test type.
+   */
+  @Test
+  public void testThatLimitsPerTestTypeAreRespected()
+  {
+    ExecutorService executorService = Executors.newFixedThreadPool(6);
+
+    try
+    {
+      LOGGER.debug("TC: testThatLimitsPerTestTypeAreRespected");
+
+      EnumMap<TestType, Integer> limits = new EnumMap<>(TestType.class);
+      limits.put(TestType.WEB, 2);
+
+      TestCaseScheduler scheduler = new TestCaseScheduler(executorService, 6, limits);
+
+      AtomicInteger runningTotal = new AtomicInteger();
+      AtomicInteger runningWeb = new AtomicInteger();
+      AtomicInteger maxTotal = new AtomicInteger();
+      AtomicInteger maxWeb = new AtomicInteger();
+
+      LinkedList<CompletableFuture<TestStatus>> futures = new LinkedList<>();
+
+      for(int i = 0; i < 40; i++)
+      {
+        TestCase testCase = new TestCase("TC-" + i);
+        testCase.setTestType(i % 2 == 0 ? TestType.WEB : TestType.DB);
+
+        futures.add(scheduler.submit(testCase, () ->
+        {
+          boolean isWeb = testCase.getTestType() == TestType.WEB;
+
+          maxTotal.accumulateAndGet(runningTotal.incrementAndGet(), Math::max);
+          if(isWeb)
+          {
+            maxWeb.accumulateAndGet(runningWeb.incrementAndGet(), Math::max);
+          }
+
+          Thread.sleep(5);
+
+          if(isWeb)
+          {
+            runningWeb.decrementAndGet();
+          }
+          runningTotal.decrementAndGet();
+
+          return TestStatus.PASSED;
+        }));
+      }
+
+      for(CompletableFuture<TestStatus> future : futures)
+      {
+        assertEquals(TestStatus.PASSED, future.get(10, TimeUnit.SECONDS));
+      }
+
+      assertTrue(maxTotal.get() <= 6);
+      assertTrue(maxWeb.get() <= 2);
+      // DB test cases are not blocked by waiting WEB test cases
+      assertTrue(maxTotal.get() > 2);
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * With one worker test cases are started in the order of submission.
+   */
+  @Test
+  public void testThatTestCasesStartInOrderOfSubmission()
+  {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try
+    {
+      LOGGER.debug("TC: testThatTestCasesStartInOrderOfSubmission");
+
+      TestCaseScheduler scheduler = new TestCaseScheduler(executorService, 1, null);
+      LinkedList<String> started = new LinkedList<>();
+      CompletableFuture<TestStatus> last = null;
+
+      for(int i = 0; i < 10; i++)
+      {
+        TestCase testCase = new TestCase("TC-" + i);
+        testCase.setTestType(TestType.values()[i % TestType.values().length]);
+
+        last = scheduler.submit(testCase, () ->
+        {
+          synchronized(started)
+          {
+            started.add(testCase.getId());
+          }
+          return TestStatus.PASSED;
+        });
+      }
+
+      last.get(10, TimeUnit.SECONDS);
+
+      for(int i = 0; i < 10; i++)
+      {
+        assertEquals("TC-" + i, started.get(i));
+      }
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * An exception thrown while executing a test case completes its future
+   * exceptionally and doesn't stop the scheduler.
+   */
+  @Test
+  public void testThatFailingWorkDoesntStopTheScheduler()
+  {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try
+    {
+      LOGGER.debug("TC: testThatFailingWorkDoesntStopTheScheduler");
+
+      TestCaseScheduler scheduler = new TestCaseScheduler(executorService, 1, null);
+
+      CompletableFuture<TestStatus> failing = scheduler.submit(new TestCase("failing"), () ->
+      {
+        throw new IllegalStateException("Failure");
+      });
+      CompletableFuture<TestStatus> passing = scheduler.submit(new TestCase("passing"),
+                                                               () -> TestStatus.PASSED);
+
+      assertEquals(TestStatus.PASSED, passing.get(10, TimeUnit.SECONDS));
+      assertTrue(failing.isCompletedExceptionally());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Limits must be at least 1.
+   */
+  @Test
+  public void testThatInvalidLimitsAreRejected()
+  {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try
+    {
+      LOGGER.debug("TC: testThatInvalidLimitsAreRejected");
+
+      new TestCaseScheduler(executorService, 0, null);
+
+      fail("A maximum of 0 parallel test cases is not allowed");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Test passed
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+}
@@ -27,12 +27,14 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.security.InvalidParameterException;
+import java.util.LinkedList;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
 
 
 /**
@@ -1095,6 +1097,45 @@ public class TestActionTest
   }
 
 
+  /**
+   * Requirement:
+   * A test action with a typical number of attributes uses a limited amount
+   * of memory, not counting the attribute keys and values themselves
+   */
+  @Test
+  public void testThatTestActionsWithAttributesUseLimitedMemory()
+  {
+    final int numberOfActions = 1000;
+    final String[] keys = {"xpath", "text", "timeout", "negate", "caseSensitive"};
+    final String value = "value";
+
+    LinkedList<TestAction> testActions = new LinkedList<>();
+
+    for(int i = 0; i < numberOfActions; i++)
+    {
+      AbstractTestAction testAction = new AbstractTestAction(LOGGER, i);
+
+      for(String key : keys)
+      {
+        testAction.setAttribute(key, value);
+      }
+
+      testActions.add(testAction);
+    }
+
+    GraphLayout shared = GraphLayout.parseInstance((Object[]) keys)
+                                    .add(GraphLayout.parseInstance(value, this));
+    long bytesPerAction = (GraphLayout.parseInstance(testActions).subtract(shared).totalSize()
+                           - GraphLayout.parseInstance(new LinkedList<>()).totalSize())
+                          / numberOfActions;
+
+    LOGGER.debug("Memory per test action with {} attributes: {} bytes", keys.length,
+                 bytesPerAction);
+
+    assertTrue(bytesPerAction < 300);
+  }
+
+
   /**
    * Basic implementation of abstract class TestAction to be able to run tests
    * 
@@ -20,9 +20,12 @@
 package nl.dictu.prova.framework;
 
 import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.TestType;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1346,6 +1349,44 @@ public class TestCaseTest
   }
 
 
+  /**
+   * Parallel test-suite execution engine
+   * Requirement:
+   * A test case has an optional test type which can't be reset to 'null'.
+   */
+  @Test
+  public void testThatTestTypeCanBeSetAndRetrieved()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestTypeCanBeSetAndRetrieved");
+
+      TestCase testCase = new TestCase("qwerty");
+
+      assertNull(testCase.getTestType());
+
+      testCase.setTestType(TestType.WEB);
+
+      assertEquals(TestType.WEB, testCase.getTestType());
+
+      testCase.setTestType(null);
+
+      fail("Test type 'null' is not allowed.");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Test passed
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
   /**
    * Basic implementation of abstract class TestAction to be able to run tests
    * 
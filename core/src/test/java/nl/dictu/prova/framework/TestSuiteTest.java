@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.junit.BeforeClass;
@@ -1305,4 +1306,192 @@ public class TestSuiteTest
     }
   } 
 
+
+
+  /**
+   * Requirement:
+   * Test cases can be count for current and lower level
+   */
+  @Test
+  public void testTheNumberOfTestCasesOnCurrentAndLowerLevelsCanBeCounted()
+  {
+    try
+    {
+      LOGGER.debug("TC: testTheNumberOfTestCasesOnCurrentAndLowerLevelsCanBeCounted");
+
+      assertEquals(2, testRoot.numberOfTestCases(false));
+      assertEquals(20, testRoot.numberOfTestCases(true));
+      assertEquals(18, childTestSuite.numberOfTestCases(true));
+      assertEquals(2, subTestSuite.numberOfTestCases(true));
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * A test suite can find (sub-) test suites in its own part of the structure
+   */
+  @Test
+  public void testThatSubTestSuitesCanBeFoundById()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatSubTestSuitesCanBeFoundById");
+
+      assertEquals(subTestSuite, testRoot.findTestSuite(subTestSuite.getId()));
+      assertEquals(subTestSuite, childTestSuite.findTestSuite(subTestSuite.getId()));
+      assertFalse(subTestSuite.hasTestSuite(childTestSuite.getId(), true));
+      assertFalse(childTestSuite.hasTestCase("Web-00", true));
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+
+    try
+    {
+      subTestSuite.findTestSuite(childTestSuite.getId());
+
+      fail("Test suite outside the sub-structure should not be found");
+    }
+    catch(NoSuchElementException eX)
+    {
+      // Expected
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Each (child) test suite in the structure has a unique identifier, also
+   * when a structure of test suites is added at once
+   */
+  @Test
+  public void testThatAddedStructuresCantContainExistingIds()
+  {
+    TestSuite root = new TestSuite("root");
+    TestSuite child = new TestSuite("child");
+    TestSuite structure = new TestSuite("structure");
+
+    root.addTestSuite(child);
+    structure.addTestSuite(new TestSuite("child"));
+
+    try
+    {
+      root.addTestSuite(structure);
+
+      fail("Structure with an existing test suite id should not be added");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Nothing should be changed
+      assertEquals(1, root.numberOfTestSuites(true));
+      assertFalse(root.hasTestSuite("structure", true));
+      assertFalse(structure.hasParent());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Test suites and test cases can be removed and the counts and lookups
+   * follow the changed structure
+   */
+  @Test
+  public void testThatTestSuitesAndTestCasesCanBeRemoved()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestSuitesAndTestCasesCanBeRemoved");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      TestSuite sub = new TestSuite("sub");
+
+      root.addTestSuite(child);
+      child.addTestSuite(sub);
+      sub.addTestCase(new TestCase("TC-1"));
+      sub.addTestCase(new TestCase("TC-2"));
+
+      assertEquals(2, root.numberOfTestSuites(true));
+      assertEquals(2, root.numberOfTestCases(true));
+
+      sub.removeTestCase("TC-1");
+
+      assertFalse(root.hasTestCase("TC-1", true));
+      assertEquals(1, root.numberOfTestCases(true));
+
+      assertEquals(child, root.removeTestSuite("child"));
+
+      assertFalse(child.hasParent());
+      assertFalse(root.hasTestSuite("sub", true));
+      assertFalse(root.hasTestCase("TC-2", true));
+      assertEquals(0, root.numberOfTestSuites(true));
+      assertEquals(0, root.numberOfTestCases(true));
+
+      // The removed part is a structure of its own
+      assertTrue(child.hasTestSuite("sub", true));
+      assertTrue(child.hasTestCase("TC-2", true));
+      assertEquals(1, child.numberOfTestCases(true));
+
+      // And can be added again
+      root.addTestSuite(new TestSuite("sub-2"));
+      root.addTestSuite(child);
+
+      assertEquals(3, root.numberOfTestSuites(true));
+      assertEquals(sub, root.findTestSuite("sub"));
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Requirement:
+   * Building a large structure doesn't search the whole structure for each
+   * added test suite or test case
+   */
+  @Test(timeout = 30000)
+  public void testThatLargeStructuresCanBeBuilt()
+  {
+    final int width = 100;
+
+    TestSuite root = new TestSuite("root");
+
+    for(int i = 0; i < width; i++)
+    {
+      TestSuite child = new TestSuite("TS-" + i);
+
+      // Add both top-down and bottom-up
+      if(i % 2 == 0)
+      {
+        root.addTestSuite(child);
+      }
+
+      for(int j = 0; j < width; j++)
+      {
+        TestSuite sub = new TestSuite("TS-" + i + "-" + j);
+
+        child.addTestSuite(sub);
+        sub.addTestCase(new TestCase("TC-" + j));
+      }
+
+      if(i % 2 != 0)
+      {
+        root.addTestSuite(child);
+      }
+    }
+
+    assertEquals(width + width * width, root.numberOfTestSuites(true));
+    assertEquals(width * width, root.numberOfTestCases(true));
+    assertTrue(root.hasTestSuite("TS-" + (width - 1) + "-" + (width - 1), true));
+    assertTrue(root.hasTestCase("TC-" + (width - 1), true));
+  }
+
 }
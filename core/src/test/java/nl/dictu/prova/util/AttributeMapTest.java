@@ -0,0 +1,203 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.util;
+
+import java.security.InvalidParameterException;
+import java.util.LinkedList;
+import java.util.Properties;
+import nl.dictu.prova.GlobalSetup;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the compact attribute map, including its memory use compared to
+ * java.util.Properties.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class AttributeMapTest
+{
+  private final static Logger LOGGER = LogManager.getLogger(AttributeMapTest.class.getName());
+
+  private final static String[] KEYS = {"xpath", "text", "timeout", "negate", "caseSensitive"};
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void oneTimeSetUp()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  @Test
+  public void testThatValuesCanBeSetAndRetrieved()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+
+    assertTrue(attributeMap.isEmpty());
+    assertNull(attributeMap.put("abc", "def"));
+    assertEquals("def", attributeMap.put("abc", "ghi"));
+
+    assertEquals(1, attributeMap.size());
+    assertEquals("ghi", attributeMap.get("abc"));
+    assertEquals("ghi", attributeMap.getProperty(new String("abc")));
+    assertTrue(attributeMap.containsKey("abc"));
+    assertFalse(attributeMap.containsKey("def"));
+    assertFalse(attributeMap.containsKey(null));
+    assertNull(attributeMap.get("def"));
+  }
+
+
+  @Test
+  public void testThatNullKeysAndValuesAreNotAccepted()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+
+    try
+    {
+      attributeMap.put(null, "abc");
+      fail("Null key should not be accepted");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+
+    try
+    {
+      attributeMap.put("abc", null);
+      fail("Null value should not be accepted");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+
+    assertEquals(0, attributeMap.size());
+  }
+
+
+  @Test
+  public void testThatKeysAreInterned()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+
+    attributeMap.put(new String("xpath"), "//div");
+
+    attributeMap.forEach((key, value) -> assertSame("xpath", key));
+  }
+
+
+  @Test
+  public void testThatSmallMapsKeepInsertionOrder()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+    LinkedList<String> keys = new LinkedList<>();
+
+    for(String key : KEYS)
+    {
+      attributeMap.put(key, key);
+    }
+
+    attributeMap.forEach((key, value) -> keys.add(key));
+
+    assertEquals(5, keys.size());
+
+    for(int i = 0; i < KEYS.length; i++)
+    {
+      assertEquals(KEYS[i], keys.get(i));
+    }
+  }
+
+
+  @Test
+  public void testThatLargeMapsCanBeUsed()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+
+    for(int i = 0; i < 1000; i++)
+    {
+      attributeMap.put("key-" + i, "value-" + i);
+    }
+
+    // Replace values in hashed mode
+    attributeMap.put("key-10", "new value");
+
+    assertEquals(1000, attributeMap.size());
+    assertEquals("new value", attributeMap.get("key-10"));
+
+    for(int i = 0; i < 1000; i++)
+    {
+      assertTrue(attributeMap.containsKey("key-" + i));
+    }
+
+    assertFalse(attributeMap.containsKey("key-1000"));
+
+    int[] count = {0};
+    attributeMap.forEach((key, value) -> count[0]++);
+    assertEquals(1000, count[0]);
+  }
+
+
+  /**
+   * Compare the memory used by the structure of an attribute map and of
+   * Properties with the attributes of a typical test action. The keys and
+   * values themselves are the same in both and not counted.
+   */
+  @Test
+  public void testThatAttributeMapsUseLessMemoryThanProperties()
+  {
+    AttributeMap attributeMap = new AttributeMap();
+    Properties properties = new Properties();
+    String value = "value";
+
+    for(String key : KEYS)
+    {
+      attributeMap.put(key, value);
+      properties.put(key, value);
+    }
+
+    GraphLayout strings = GraphLayout.parseInstance((Object[]) KEYS).add(GraphLayout.parseInstance(value));
+    long attributeMapSize = GraphLayout.parseInstance(attributeMap).subtract(strings).totalSize();
+    long propertiesSize = GraphLayout.parseInstance(properties).subtract(strings).totalSize();
+    long emptyAttributeMapSize = GraphLayout.parseInstance(new AttributeMap()).totalSize();
+    long emptyPropertiesSize = GraphLayout.parseInstance(new Properties()).totalSize();
+
+    LOGGER.debug("Memory use with {} attributes: {} bytes (Properties: {} bytes), empty: {} bytes (Properties: {} bytes)",
+                 KEYS.length, attributeMapSize, propertiesSize, emptyAttributeMapSize,
+                 emptyPropertiesSize);
+
+    assertTrue(attributeMapSize * 2 < propertiesSize);
+    assertTrue(emptyAttributeMapSize * 2 < emptyPropertiesSize);
+  }
+}
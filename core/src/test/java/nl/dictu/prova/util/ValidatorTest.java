@@ -19,6 +19,8 @@
  */
 package nl.dictu.prova.util;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -76,9 +78,16 @@ public class ValidatorTest
    * Test of isValidXpath method, of class Validator.
    */
   @Test
-  @Ignore
   public void testIsValidXpath()
   {
+    assertTrue(Validator.isValidXpath("//div[@id='prova']/span"));
+    assertTrue(Validator.isValidXpath("//input[contains(@name, 'user')]"));
+    assertTrue(Validator.isValidXpath("//div[@id='prova']/span"));
+
+    assertFalse(Validator.isValidXpath(null));
+    assertFalse(Validator.isValidXpath(" "));
+    assertFalse(Validator.isValidXpath("//div[@id='prova'"));
+    assertFalse(Validator.isValidXpath("//div[@id='prova'"));
   }
 
 }
@@ -0,0 +1,382 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import nl.dictu.prova.plugins.input.msexcel.util.SheetReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Process wide cache of the data sets read from test data workbooks. A
+ * workbook is parsed once and kept as long as its path, modification time
+ * and size are unchanged. When the estimated size of all cached data sets
+ * exceeds the maximum size the least recently used workbooks are removed.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DataSetCache
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(DataSetCache.class.
+          getName());
+
+  /**
+   * Default maximum size of the cache in bytes
+   */
+  public final static long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+  private final static DataSetCache INSTANCE = new DataSetCache(DEFAULT_MAX_SIZE);
+
+  // Access ordered: the first entry is the least recently used
+  private final LinkedHashMap<String, DataSets> workbooks = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private long maxSize;
+  private long size = 0;
+
+
+  /**
+   * Get the process wide cache
+   *
+   * @return
+   */
+  public static DataSetCache getInstance()
+  {
+    return INSTANCE;
+  }
+
+
+  /**
+   * Constructor for a cache of at most {@link maxSize} bytes
+   *
+   * @param maxSize
+   */
+  DataSetCache(long maxSize)
+  {
+    this.maxSize = maxSize;
+  }
+
+
+  /**
+   * Get the data sets of {@link workbook}. The workbook is read with
+   * {@link sheetReader} when it isn't cached or changed since it was read.
+   *
+   * @param workbook
+   * @param sheetReader
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public DataSets get(File workbook, SheetReader sheetReader) throws Exception
+  {
+    String path = workbook.getCanonicalPath();
+    long lastModified = workbook.lastModified();
+    long length = workbook.length();
+
+    synchronized(this)
+    {
+      DataSets dataSets = workbooks.get(path);
+
+      if(dataSets != null && dataSets.lastModified == lastModified && dataSets.length == length)
+      {
+        hits.incrementAndGet();
+        return dataSets;
+      }
+    }
+
+    misses.incrementAndGet();
+
+    // Parsed outside the lock to allow other workbooks to be read meanwhile
+    DataSets dataSets = read(workbook, sheetReader, lastModified, length);
+
+    synchronized(this)
+    {
+      DataSets previous = workbooks.remove(path);
+
+      if(previous != null)
+      {
+        size -= previous.size;
+      }
+
+      if(dataSets.size <= maxSize)
+      {
+        workbooks.put(path, dataSets);
+        size += dataSets.size;
+        evict();
+      }
+    }
+
+    return dataSets;
+  }
+
+
+  /**
+   * Set the maximum size of the cache in bytes. Zero disables caching.
+   *
+   * @param maxSize
+   */
+  public synchronized void setMaxSize(long maxSize)
+  {
+    this.maxSize = maxSize;
+    evict();
+  }
+
+
+  /**
+   * Get the estimated size in bytes of all cached data sets
+   *
+   * @return
+   */
+  public synchronized long getSize()
+  {
+    return size;
+  }
+
+
+  /**
+   * Get the number of cached workbooks
+   *
+   * @return
+   */
+  public synchronized int getNumberOfWorkbooks()
+  {
+    return workbooks.size();
+  }
+
+
+  /**
+   * Get the number of requests served from the cache
+   *
+   * @return
+   */
+  public long getHits()
+  {
+    return hits.get();
+  }
+
+
+  /**
+   * Get the number of requests for which the workbook was read
+   *
+   * @return
+   */
+  public long getMisses()
+  {
+    return misses.get();
+  }
+
+
+  /**
+   * Remove all workbooks from the cache and reset the counters
+   */
+  public synchronized void clear()
+  {
+    workbooks.clear();
+    size = 0;
+    hits.set(0);
+    misses.set(0);
+  }
+
+
+  /**
+   * Remove the least recently used workbooks until the cache fits again
+   */
+  private void evict()
+  {
+    Iterator<Map.Entry<String, DataSets>> iterator = workbooks.entrySet().iterator();
+
+    while(size > maxSize && iterator.hasNext())
+    {
+      Map.Entry<String, DataSets> eldest = iterator.next();
+
+      LOGGER.debug("Remove data sets of '{}' from the cache", eldest.getKey());
+
+      size -= eldest.getValue().size;
+      iterator.remove();
+    }
+  }
+
+
+  /**
+   * Read all data sets of {@link workbook}
+   *
+   * @param workbook
+   * @param sheetReader
+   * @param lastModified
+   * @param length
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private DataSets read(File workbook, SheetReader sheetReader, long lastModified, long length)
+          throws Exception
+  {
+    LinkedList<String> sheetNames = new LinkedList<>();
+    LinkedList<ArrayList<String>> sheetVariables = new LinkedList<>();
+
+    // Open the workbook once for all sheets
+    sheetReader.readSheets(workbook, sheetName ->
+                   {
+                     ArrayList<String> nameValues = new ArrayList<>();
+
+                     sheetNames.add(sheetName);
+                     sheetVariables.add(nameValues);
+
+                     return (rowNumber, cells) ->
+                     {
+                       if(cells[0].length() > 0)
+                       {
+                         nameValues.add(cells[0]);
+                         nameValues.add(cells.length > 1 ? cells[1] : "");
+                       }
+
+                       return true;
+                     };
+                   });
+
+    String[] names = sheetNames.toArray(new String[sheetNames.size()]);
+    String[][] variables = new String[names.length][];
+    int i = 0;
+
+    for(ArrayList<String> nameValues : sheetVariables)
+    {
+      variables[i++] = nameValues.toArray(new String[nameValues.size()]);
+    }
+
+    return new DataSets(names, variables, lastModified, length);
+  }
+
+
+  /**
+   * The data sets of a single workbook. The variables of a data set are
+   * stored as a flat array of alternating names and values.
+   */
+  public static class DataSets
+  {
+
+    // Estimated memory use of a String, its character array and a reference
+    private final static int STRING_OVERHEAD = 48;
+    private final static int ARRAY_OVERHEAD = 16;
+
+    private final String[] names;
+    private final String[][] variables;
+    private final long lastModified;
+    private final long length;
+    private final long size;
+
+
+    private DataSets(String[] names, String[][] variables, long lastModified, long length)
+    {
+      this.names = names;
+      this.variables = variables;
+      this.lastModified = lastModified;
+      this.length = length;
+
+      long estimate = ARRAY_OVERHEAD * 2 + names.length * (long) ARRAY_OVERHEAD;
+
+      for(String name : names)
+      {
+        estimate += STRING_OVERHEAD + 2L * name.length();
+      }
+
+      for(String[] nameValues : variables)
+      {
+        for(String nameValue : nameValues)
+        {
+          estimate += STRING_OVERHEAD + 2L * nameValue.length();
+        }
+      }
+
+      this.size = estimate;
+    }
+
+
+    /**
+     * Get the names of the data sets in workbook order
+     *
+     * @return
+     */
+    public LinkedList<String> getDataSetNames()
+    {
+      LinkedList<String> dataSetNames = new LinkedList<>();
+
+      for(String name : names)
+      {
+        dataSetNames.add(name);
+      }
+
+      return dataSetNames;
+    }
+
+
+    /**
+     * Get a copy of the variables of data set {@link dataSetName}
+     *
+     * @param dataSetName
+     *
+     * @return
+     *
+     * @throws NoSuchElementException
+     */
+    public Properties getVariables(String dataSetName) throws NoSuchElementException
+    {
+      for(int i = 0; i < names.length; i++)
+      {
+        if(names[i].equals(dataSetName))
+        {
+          Properties properties = new Properties();
+
+          for(int j = 0; j < variables[i].length; j += 2)
+          {
+            properties.setProperty(variables[i][j], variables[i][j + 1]);
+          }
+
+          return properties;
+        }
+      }
+
+      throw new NoSuchElementException("Data set '" + dataSetName + "' not found");
+    }
+
+
+    /**
+     * Get the estimated memory use in bytes
+     *
+     * @return
+     */
+    public long getSize()
+    {
+      return size;
+    }
+
+  }
+
+}
@@ -0,0 +1,352 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Index of the labels of all workbooks below a test root. The index is kept
+ * in a file and updated incrementally: only workbooks which are new or
+ * changed (modification time or size) since the last update are opened to
+ * read their labels. Filtering on labels is then done without opening the
+ * other workbooks.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelIndex
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(LabelIndex.class.
+          getName());
+
+  private final static int MAGIC = 0x50524f4c;
+  private final static int VERSION = 1;
+
+  private final Path root;
+  private final File indexFile;
+  // Relative path of the workbook to its index entry
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+
+  /**
+   * Reads the labels of a single workbook
+   */
+  public interface LabelReader
+  {
+
+    /**
+     * Get the lower case labels of {@link workbook}
+     *
+     * @param workbook
+     *
+     * @return
+     *
+     * @throws Exception
+     */
+    public LinkedList<String> getLabels(Path workbook) throws Exception;
+
+  }
+
+
+  /**
+   * Constructor. The existing index in {@link indexFile} is loaded.
+   *
+   * @param root Test root containing the workbooks
+   * @param indexFile File to keep the index in or null to keep it in memory
+   */
+  public LabelIndex(Path root, File indexFile)
+  {
+    this.root = root;
+    this.indexFile = indexFile;
+
+    if(indexFile != null && indexFile.exists())
+    {
+      load();
+    }
+  }
+
+
+  /**
+   * Get the workbooks with at least one of {@link labels}, in the order of
+   * {@link workbooks}. The index is updated first: labels of new and changed
+   * workbooks are read with {@link labelReader} in parallel (in the fork/join
+   * pool of the caller) and removed workbooks are dropped.
+   *
+   * @param workbooks All workbooks below the test root
+   * @param labels
+   * @param labelReader
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public synchronized ArrayList<Path> filter(ArrayList<Path> workbooks, String[] labels,
+                                             LabelReader labelReader) throws IOException
+  {
+    update(workbooks, labelReader);
+
+    HashSet<String> filter = new HashSet<>();
+    ArrayList<Path> matches = new ArrayList<>();
+
+    for(String label : labels)
+    {
+      filter.add(label.trim().toLowerCase());
+    }
+
+    for(Path workbook : workbooks)
+    {
+      Entry entry = entries.get(getKey(workbook));
+
+      if(entry != null && entry.hasLabel(filter))
+      {
+        matches.add(workbook);
+      }
+    }
+
+    LOGGER.debug("{} of {} workbooks match the labels", matches.size(), workbooks.size());
+
+    return matches;
+  }
+
+
+  /**
+   * Get the number of workbooks in the index
+   *
+   * @return
+   */
+  public int size()
+  {
+    return entries.size();
+  }
+
+
+  /**
+   * Bring the index up to date with {@link workbooks} and save it when it
+   * changed
+   *
+   * @param workbooks
+   * @param labelReader
+   *
+   * @throws IOException
+   */
+  private void update(ArrayList<Path> workbooks, LabelReader labelReader) throws IOException
+  {
+    HashSet<String> keys = new HashSet<>();
+    ArrayList<Path> changed = new ArrayList<>();
+
+    for(Path workbook : workbooks)
+    {
+      String key = getKey(workbook);
+      BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+      Entry entry = entries.get(key);
+
+      keys.add(key);
+
+      if(entry == null || entry.lastModified != attributes.lastModifiedTime().toMillis() ||
+         entry.size != attributes.size())
+      {
+        changed.add(workbook);
+      }
+    }
+
+    boolean isModified = entries.keySet().retainAll(keys) || !changed.isEmpty();
+
+    changed.parallelStream().forEach(workbook ->
+    {
+      try
+      {
+        BasicFileAttributes attributes = Files.readAttributes(workbook,
+                                                              BasicFileAttributes.class);
+        LinkedList<String> labels = labelReader.getLabels(workbook);
+
+        entries.put(getKey(workbook), new Entry(attributes.lastModifiedTime().toMillis(),
+                                                attributes.size(), labels.toArray(
+                                                        new String[labels.size()])));
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Labels of '{}' not indexed: {}", workbook, eX.getMessage());
+        entries.remove(getKey(workbook));
+      }
+    });
+
+    LOGGER.debug("Label index updated: {} workbooks read, {} indexed", changed.size(), entries.
+                 size());
+
+    if(isModified && indexFile != null)
+    {
+      save();
+    }
+  }
+
+
+  /**
+   * Get the key of {@link workbook} in the index
+   *
+   * @param workbook
+   *
+   * @return
+   */
+  private String getKey(Path workbook)
+  {
+    return root.relativize(workbook).toString();
+  }
+
+
+  /**
+   * Load the index file. An unreadable index is ignored, it is rebuilt on the
+   * next update.
+   */
+  private void load()
+  {
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(
+            new FileInputStream(indexFile))))
+    {
+      if(input.readInt() != MAGIC || input.readInt() != VERSION)
+      {
+        throw new IOException("Unknown format");
+      }
+
+      int numberOfEntries = input.readInt();
+
+      for(int i = 0; i < numberOfEntries; i++)
+      {
+        String key = input.readUTF();
+        long lastModified = input.readLong();
+        long size = input.readLong();
+        String[] labels = new String[input.readInt()];
+
+        for(int j = 0; j < labels.length; j++)
+        {
+          labels[j] = input.readUTF();
+        }
+
+        entries.put(key, new Entry(lastModified, size, labels));
+      }
+    }
+    catch(IOException eX)
+    {
+      LOGGER.warn("Label index '{}' ignored: {}", indexFile, eX.getMessage());
+      entries.clear();
+    }
+  }
+
+
+  /**
+   * Write the index to a temporary file and replace the index file with it
+   *
+   * @throws IOException
+   */
+  private void save() throws IOException
+  {
+    Files.createDirectories(indexFile.getAbsoluteFile().getParentFile().toPath());
+
+    File tempFile = File.createTempFile(indexFile.getName(), ".tmp", indexFile.
+                                        getAbsoluteFile().getParentFile());
+
+    try
+    {
+      try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+              new FileOutputStream(tempFile))))
+      {
+        HashMap<String, Entry> snapshot = new HashMap<>(entries);
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(snapshot.size());
+
+        for(Map.Entry<String, Entry> entry : snapshot.entrySet())
+        {
+          output.writeUTF(entry.getKey());
+          output.writeLong(entry.getValue().lastModified);
+          output.writeLong(entry.getValue().size);
+          output.writeInt(entry.getValue().labels.length);
+
+          for(String label : entry.getValue().labels)
+          {
+            output.writeUTF(label);
+          }
+        }
+      }
+
+      Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally
+    {
+      tempFile.delete();
+    }
+  }
+
+
+  /**
+   * The labels of a workbook at the time it was indexed
+   */
+  private static class Entry
+  {
+
+    private final long lastModified;
+    private final long size;
+    private final String[] labels;
+
+
+    private Entry(long lastModified, long size, String[] labels)
+    {
+      this.lastModified = lastModified;
+      this.size = size;
+      this.labels = labels;
+    }
+
+
+    private boolean hasLabel(HashSet<String> filter)
+    {
+      for(String label : labels)
+      {
+        if(filter.contains(label))
+        {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+  }
+
+}
@@ -19,14 +19,25 @@
  */
 package nl.dictu.prova.plugins.input.msexcel;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.framework.TestSuite;
 import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestCaseBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestSuiteBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Input plug-in for test scripts in MS Excel workbooks. The test root is a
+ * directory: every sub directory with workbooks is a test suite and every
+ * workbook a test case (see {@link TestSuiteBuilder}). The actions are read
+ * from the sheets 'SetUp', 'Test' and 'TearDown' when a test case is loaded.
  *
  * @author Sjoerd Boerhout
  */
@@ -35,53 +46,151 @@ public class MsExcel implements InputPlugin
   private final static Logger LOGGER = LogManager.getLogger(MsExcel.class.
           getName());
 
+  public final static String SHEET_SETUP = "SetUp";
+  public final static String SHEET_TEST = "Test";
+  public final static String SHEET_TEARDOWN = "TearDown";
+
+  private TestSuiteBuilder testSuiteBuilder;
+  private TestCaseBuilder testCaseBuilder;
+  private File testRoot;
+  private String[] labels = new String[0];
+
+
   @Override
-  public void init(TestRunner tr) throws Exception
+  public void init(TestRunner testRunner) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testRunner == null)
+    {
+      throw new NullPointerException("Test runner can not be null");
+    }
+
+    testSuiteBuilder = new TestSuiteBuilder(testRunner);
+    testCaseBuilder = new TestCaseBuilder(testRunner);
   }
 
 
   @Override
-  public String setTestRoot(String string, String string1) throws
+  public String setTestRoot(String newTestRoot, String projectName) throws
           IllegalArgumentException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(newTestRoot == null || !new File(newTestRoot).isDirectory())
+    {
+      throw new IllegalArgumentException("Test root '" + newTestRoot + "' is not a directory");
+    }
+
+    testRoot = new File(newTestRoot).getAbsoluteFile();
+
+    LOGGER.debug("Test root of project '{}' set to '{}'", projectName, testRoot);
+
+    return testRoot.getPath();
   }
 
 
   @Override
-  public String setTestCaseFilter(String[] strings) throws NullPointerException
+  public String setTestCaseFilter(String[] labels) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(labels == null)
+    {
+      throw new NullPointerException("Labels can not be null");
+    }
+
+    this.labels = labels.clone();
+
+    return String.join(",", this.labels);
   }
 
 
   @Override
-  public TestSuite setUp(TestSuite ts) throws NullPointerException
+  public TestSuite setUp(TestSuite testSuite) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testSuite == null)
+    {
+      throw new NullPointerException("Test suite can not be null");
+    }
+
+    if(testRoot == null)
+    {
+      throw new IllegalStateException("No test root set");
+    }
+
+    TestSuite builtTestSuite;
+
+    try
+    {
+      builtTestSuite = testSuiteBuilder.buildTestSuite(testRoot.getPath(), labels);
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Reading test root '" + testRoot + "' failed", eX);
+    }
+
+    // Move the structure to the given test suite
+    for(String id : new ArrayList<>(builtTestSuite.getTestSuites().keySet()))
+    {
+      testSuite.addTestSuite(builtTestSuite.removeTestSuite(id));
+    }
+
+    for(String id : new ArrayList<>(builtTestSuite.getTestCases().keySet()))
+    {
+      testSuite.addTestCase(builtTestSuite.removeTestCase(id));
+    }
+
+    return testSuite;
   }
 
 
   @Override
-  public TestCase loadTestCase(TestCase tc) throws NullPointerException
+  public TestCase loadTestCase(TestCase testCase) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testCase == null)
+    {
+      throw new NullPointerException("Test case can not be null");
+    }
+
+    File workbook = new File(testCase.getId());
+
+    try
+    {
+      // All action sheets in one pass over the workbook
+      HashMap<String, LinkedList<TestAction>> testActions = testCaseBuilder.parseActionSheets(
+              workbook, testCase.getTestType(), SHEET_SETUP, SHEET_TEST, SHEET_TEARDOWN);
+
+      for(TestAction testAction : testActions.getOrDefault(SHEET_SETUP, new LinkedList<>()))
+      {
+        testCase.addSetUpAction(testAction);
+      }
+
+      for(TestAction testAction : testActions.getOrDefault(SHEET_TEST, new LinkedList<>()))
+      {
+        testCase.addTestAction(testAction);
+      }
+
+      for(TestAction testAction : testActions.getOrDefault(SHEET_TEARDOWN, new LinkedList<>()))
+      {
+        testCase.addTearDownAction(testAction);
+      }
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Loading test case '" + testCase.getId() + "' failed: " +
+                                      eX.getMessage(), eX);
+    }
+
+    return testCase;
   }
 
 
   @Override
   public void shutDown()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Shut down");
   }
 
 
   @Override
   public String getName()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "MS Excel";
   }
 
 }
@@ -0,0 +1,70 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import nl.dictu.prova.Config;
+
+/**
+ * Configuration options of the MS Excel input plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class MsExcelConfig extends Config
+{
+
+  /**
+   * Read .xlsx workbooks row by row with the XSSF event (SAX) reader instead
+   * of loading the complete workbook in memory: 'true' or 'false' (default).
+   * Workbooks in the old .xls format are always read completely.
+   */
+  public final static String PROVA_PLUGINS_MSEXCEL_STREAMING =
+          "prova.plugins.input.msexcel.streaming";
+
+  /**
+   * Maximum size in megabytes of the cache with parsed test data workbooks.
+   * Defaults to 64, 0 disables the cache.
+   */
+  public final static String PROVA_PLUGINS_MSEXCEL_DATA_CACHE_SIZE =
+          "prova.plugins.input.msexcel.dataSetCacheSize";
+
+  /**
+   * Directory for the binary cache files with the parsed sheets of all read
+   * workbooks. Workbooks are only parsed again when they changed. Not set by
+   * default, which disables the cache.
+   */
+  public final static String PROVA_PLUGINS_MSEXCEL_CACHE_DIR =
+          "prova.plugins.input.msexcel.cacheDir";
+
+  /**
+   * Number of threads used to parse the workbooks of a test suite. Defaults
+   * to the number of available processors.
+   */
+  public final static String PROVA_PLUGINS_MSEXCEL_PARSE_THREADS =
+          "prova.plugins.input.msexcel.parseThreads";
+
+  /**
+   * File with the label index of the test root, used to select the workbooks
+   * of a filtered run without opening them. Defaults to a file in the cache
+   * directory. Without both the index is only kept in memory.
+   */
+  public final static String PROVA_PLUGINS_MSEXCEL_LABEL_INDEX =
+          "prova.plugins.input.msexcel.labelIndex";
+
+}
@@ -20,36 +20,198 @@
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
 import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
 import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.MsExcelConfig;
 import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestCaseReader;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestCaseReaderFactory;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.SheetReaderFactory;
+import nl.dictu.prova.plugins.output.OutputPlugin;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Sheet;
 
 /**
+ * Builds test cases from workbooks. A workbook is a single test case. Its
+ * optional sheet 'Headers' contains header names in the first column and
+ * their values in the second column. The header 'Type' holds the test type
+ * and 'Labels' a comma separated list of labels.
  *
  * @author Sjoerd Boerhout
  */
 public class TestCaseBuilder
 {
 
+  public final static String SHEET_HEADERS = "Headers";
+  public final static String HEADER_TYPE = "Type";
+  public final static String HEADER_LABELS = "Labels";
+
   private final static Logger LOGGER = LogManager.getLogger(
           TestCaseBuilder.class.getName());
 
-  private TestCaseReader testCaseReader;
+  // Stops reading a sheet at its first row
+  private final static RowHandler SKIP_SHEET = (rowNumber, cells) -> false;
+
+  private final TestRunner testRunner;
+  private final boolean streaming;
 
 
   public TestCaseBuilder(TestRunner testRunner)
   {
+    this.testRunner = testRunner;
+
+    streaming = testRunner.hasProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_STREAMING) &&
+                Boolean.parseBoolean(testRunner.getProperty(
+                        MsExcelConfig.PROVA_PLUGINS_MSEXCEL_STREAMING));
+
+    if(testRunner.hasProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_CACHE_DIR))
+    {
+      SheetReaderFactory.setCacheDirectory(new File(testRunner.getProperty(
+              MsExcelConfig.PROVA_PLUGINS_MSEXCEL_CACHE_DIR).trim()));
+    }
   }
 
 
-  public File buildTestCase(File fileName)
+  /**
+   * Build the test case of {@link workbook} with its headers. The actions are
+   * read when the test case is loaded.
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public TestCase buildTestCase(File workbook) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet.");
+    return buildTestCase(workbook, readHeaders(workbook));
+  }
+
+
+  /**
+   * Build the test case of {@link workbook} with headers read before by
+   * {@link #readHeaders(File)}
+   *
+   * @param workbook
+   * @param headers
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public TestCase buildTestCase(File workbook, Map<String, String> headers) throws
+          InvalidParameterException
+  {
+    TestCase testCase = new TestCase(workbook.getPath());
+
+    for(Map.Entry<String, String> header : headers.entrySet())
+    {
+      testCase.setHeader(header.getKey(), header.getValue());
+    }
+
+    if(testCase.hasHeader(HEADER_TYPE))
+    {
+      String testType = testCase.getHeader(HEADER_TYPE);
+
+      try
+      {
+        testCase.setTestType(TestType.valueOf(testType.trim().toUpperCase()));
+      }
+      catch(IllegalArgumentException eX)
+      {
+        throw new InvalidParameterException("Invalid test type '" + testType +
+                                            "' in workbook '" + workbook.getPath() + "'");
+      }
+    }
+
+    return testCase;
+  }
+
+
+  /**
+   * Read the headers on sheet 'Headers' of {@link workbook} in sheet order
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public LinkedHashMap<String, String> readHeaders(File workbook) throws Exception
+  {
+    LinkedHashMap<String, String> headers = new LinkedHashMap<>();
+
+    // One pass over the workbook, the other sheets are skipped at their first row
+    SheetReaderFactory.getInstance(workbook, streaming).readSheets(workbook, (sheetName) ->
+            {
+              if( !sheetName.equals(SHEET_HEADERS))
+              {
+                return SKIP_SHEET;
+              }
+
+              return (rowNumber, cells) ->
+              {
+                if(cells[0].length() > 0 && cells.length > 1 && cells[1].length() > 0)
+                {
+                  headers.put(cells[0], cells[1]);
+                }
+
+                return true;
+              };
+            });
+
+    return headers;
+  }
+
+
+  /**
+   * Get the names of the sheets in {@link workbook}
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public LinkedList<String> getSheetNames(File workbook) throws Exception
+  {
+    return SheetReaderFactory.getInstance(workbook, streaming).getSheetNames(workbook);
+  }
+
+
+  /**
+   * Get the labels of {@link testCase} in lower case
+   *
+   * @param testCase
+   *
+   * @return
+   */
+  public static LinkedList<String> getLabels(TestCase testCase)
+  {
+    LinkedList<String> labels = new LinkedList<>();
+
+    if(testCase.hasHeader(HEADER_LABELS))
+    {
+      for(String label : testCase.getHeader(HEADER_LABELS).split(","))
+      {
+        if(label.trim().length() > 0)
+        {
+          labels.add(label.trim().toLowerCase());
+        }
+      }
+    }
+
+    return labels;
   }
 
 
@@ -65,6 +227,118 @@ public class TestCaseBuilder
   }
 
 
+  /**
+   * Read the actions on sheet {@link sheetName} of {@link workbook}. The
+   * actions are created by the first output plug-in of {@link testType}.
+   *
+   * @param workbook
+   * @param sheetName
+   * @param testType
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public LinkedList<TestAction> parseActionSheet(File workbook, String sheetName,
+                                                 TestType testType) throws Exception
+  {
+    return getTestCaseReader(testType).parseActionSheet(workbook, sheetName,
+                                                        getOutputPlugin(testType));
+  }
+
+
+  /**
+   * Read the actions on the sheets {@link sheetNames} of {@link workbook},
+   * opening the workbook only once. The actions are created by the first
+   * output plug-in of {@link testType}.
+   *
+   * @param workbook
+   * @param testType
+   * @param sheetNames
+   *
+   * @return The actions per sheet, only for the sheets in the workbook
+   *
+   * @throws Exception
+   */
+  public HashMap<String, LinkedList<TestAction>> parseActionSheets(File workbook,
+                                                                   TestType testType,
+                                                                   String... sheetNames)
+          throws Exception
+  {
+    List<String> names = Arrays.asList(sheetNames);
+    HashMap<String, LinkedList<TestAction>> testActions = new HashMap<>();
+    // Only needed when the workbook has one of the sheets
+    OutputPlugin[] outputPlugin = new OutputPlugin[1];
+    TestCaseReader[] testCaseReader = new TestCaseReader[1];
+
+    SheetReaderFactory.getInstance(workbook, streaming).readSheets(workbook, (sheetName) ->
+            {
+              if( !names.contains(sheetName))
+              {
+                return SKIP_SHEET;
+              }
+
+              if(outputPlugin[0] == null)
+              {
+                outputPlugin[0] = getOutputPlugin(testType);
+                testCaseReader[0] = getTestCaseReader(testType);
+              }
+
+              LinkedList<TestAction> sheetActions = new LinkedList<>();
+              testActions.put(sheetName, sheetActions);
+
+              return testCaseReader[0].getActionSheetHandler(sheetActions, outputPlugin[0]);
+            });
+
+    LOGGER.debug("Read the actions of {} sheets of '{}'", testActions.size(), workbook.
+            getName());
+
+    return testActions;
+  }
+
+
+  /**
+   * Get the first output plug-in of {@link testType}, which creates the
+   * actions
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private OutputPlugin getOutputPlugin(TestType testType) throws InvalidParameterException
+  {
+    LinkedList<OutputPlugin> outputPlugins = testRunner.getOutputPlugins(testType);
+
+    if(outputPlugins == null || outputPlugins.isEmpty())
+    {
+      throw new InvalidParameterException("No output plug-in for test type '" + testType + "'");
+    }
+
+    return outputPlugins.getFirst();
+  }
+
+
+  /**
+   * Get the test case reader of {@link testType}
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private TestCaseReader getTestCaseReader(TestType testType) throws InvalidParameterException
+  {
+    TestCaseReader testCaseReader = TestCaseReaderFactory.getInstance(testType);
+
+    testCaseReader.setStreaming(streaming);
+
+    return testCaseReader;
+  }
+
+
   public LinkedList<TestAction> parseTestActions() throws Exception
   {
     throw new UnsupportedOperationException("Not supported yet.");
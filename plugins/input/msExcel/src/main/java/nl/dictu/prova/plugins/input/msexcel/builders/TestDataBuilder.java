@@ -19,8 +19,15 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.util.LinkedList;
+import java.util.Properties;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.plugins.input.msexcel.DataSetCache;
+import nl.dictu.prova.plugins.input.msexcel.MsExcelConfig;
 import nl.dictu.prova.plugins.input.msexcel.readers.testdata.TestDataReader;
+import nl.dictu.prova.plugins.input.msexcel.readers.testdata.TestDataReaderFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,10 +41,70 @@ public class TestDataBuilder
   private final static Logger LOGGER = LogManager.getLogger(
           TestDataBuilder.class.getName());
 
-  private TestDataReader testDataReader;
+  private final boolean streaming;
+
 
   public TestDataBuilder(TestRunner testRunner)
   {
+    streaming = testRunner.hasProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_STREAMING) &&
+                Boolean.parseBoolean(testRunner.getProperty(
+                        MsExcelConfig.PROVA_PLUGINS_MSEXCEL_STREAMING));
+
+    if(testRunner.hasProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_DATA_CACHE_SIZE))
+    {
+      DataSetCache.getInstance().setMaxSize(Long.parseLong(testRunner.getProperty(
+              MsExcelConfig.PROVA_PLUGINS_MSEXCEL_DATA_CACHE_SIZE).trim()) * 1024 * 1024);
+    }
+  }
+
+
+  /**
+   * Get the names of all data sets in {@link dataSetFile}
+   *
+   * @param dataSetFile
+   * @param testType
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public LinkedList<String> getDataSetNames(File dataSetFile, TestType testType) throws Exception
+  {
+    return getTestDataReader(testType).getDataSetNames(dataSetFile);
+  }
+
+
+  /**
+   * Read the variables of data set {@link dataSetName} in {@link dataSetFile}
+   *
+   * @param dataSetFile
+   * @param dataSetName
+   * @param testType
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public Properties buildTestData(File dataSetFile, String dataSetName, TestType testType) throws
+          Exception
+  {
+    return getTestDataReader(testType).getVariables(dataSetFile, dataSetName);
+  }
+
+
+  /**
+   * Get a test data reader for {@link testType} configured for this builder
+   *
+   * @param testType
+   *
+   * @return
+   */
+  private TestDataReader getTestDataReader(TestType testType)
+  {
+    TestDataReader testDataReader = TestDataReaderFactory.getInstance(testType);
+
+    testDataReader.setStreaming(streaming);
 
+    return testDataReader;
   }
 }
@@ -13,18 +13,50 @@
  * See the Licence for the specific language governing permissions and
  * limitations under the Licence.
  * <p>
- * Date: 23-08-2016
+ * Date:      23-08-2016
  * Author(s): Sjoerd Boerhout
  * <p>
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.LabelIndex;
+import nl.dictu.prova.plugins.input.msexcel.MsExcelConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Builds the test suite structure of a directory tree. Every directory with
+ * test cases becomes a test suite and every workbook a test case.
+ * <p>
+ * The directory tree is scanned first, then all workbooks are parsed in
+ * parallel by a fork/join pool. The structure is assembled afterwards in the
+ * sorted order of the paths, so it doesn't depend on the order in which the
+ * workbooks are parsed.
+ * <p>
+ * Workbooks which didn't change since the previous build aren't opened
+ * again, so rebuilding the structure after a change (e.g. in watch mode) only
+ * parses new and changed workbooks.
  *
  * @author Sjoerd Boerhout
  */
@@ -34,19 +66,440 @@ public class TestSuiteBuilder
   private final static Logger LOGGER = LogManager.getLogger(
           TestSuiteBuilder.class.getName());
 
+  // Number of slowest workbooks reported after building
+  private final static int NUMBER_OF_SLOWEST = 10;
+
+  private final TestCaseBuilder testCaseBuilder;
+  private final int parallelism;
+  private final File labelIndexFile;
+  private final File cacheDirectory;
+  private final LinkedHashMap<Path, Long> parseTimes = new LinkedHashMap<>();
+  private final HashMap<Path, LabelIndex> labelIndexes = new HashMap<>();
+  // Headers of the workbooks of the last build, to skip unchanged workbooks
+  private final ConcurrentHashMap<Path, KnownWorkbook> knownWorkbooks =
+          new ConcurrentHashMap<>();
+
 
   public TestSuiteBuilder(TestRunner testRunner)
   {
+    testCaseBuilder = new TestCaseBuilder(testRunner);
+
+    if(testRunner.hasProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_PARSE_THREADS))
+    {
+      parallelism = Math.max(1, Integer.parseInt(testRunner.getProperty(
+                             MsExcelConfig.PROVA_PLUGINS_MSEXCEL_PARSE_THREADS).trim()));
+    }
+    else
+    {
+      parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    labelIndexFile = getFile(testRunner, MsExcelConfig.PROVA_PLUGINS_MSEXCEL_LABEL_INDEX);
+    cacheDirectory = getFile(testRunner, MsExcelConfig.PROVA_PLUGINS_MSEXCEL_CACHE_DIR);
+  }
+
+
+  /**
+   * Build the test suite structure of all workbooks in and below
+   * {@link testSuiteRoot}. When {@link filters} contains labels only test
+   * cases with at least one of these labels are added. The workbooks to parse
+   * are selected with the {@link LabelIndex} of the test root, so workbooks
+   * without these labels are only opened when they are new or changed.
+   *
+   * @param testSuiteRoot
+   * @param filters Labels or null for all test cases
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public TestSuite buildTestSuite(String testSuiteRoot, String[] filters) throws Exception
+  {
+    Path root = Paths.get(testSuiteRoot).toAbsolutePath().normalize();
+    ArrayList<Path> workbooks = findWorkbooks(root);
+
+    knownWorkbooks.keySet().retainAll(new HashSet<>(workbooks));
+    ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+    TestCase[] testCases;
+    long[] durations;
+
+    try
+    {
+      if(filters != null && filters.length > 0)
+      {
+        ArrayList<Path> allWorkbooks = workbooks;
+        LabelIndex labelIndex = getLabelIndex(root);
+
+        // Labels of changed workbooks are read in parallel in this pool
+        workbooks = forkJoinPool.submit(() -> labelIndex.filter(allWorkbooks, filters,
+                                                                this::readLabels)).get();
+      }
 
+      LOGGER.debug("Parse {} workbooks in '{}' with {} threads", workbooks.size(), root,
+                   parallelism);
+
+      testCases = new TestCase[workbooks.size()];
+      durations = new long[workbooks.size()];
+
+      forkJoinPool.invoke(new ParseTask(workbooks, testCases, durations, 0, workbooks.size()));
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+
+    synchronized(parseTimes)
+    {
+      parseTimes.clear();
+
+      for(int i = 0; i < workbooks.size(); i++)
+      {
+        parseTimes.put(workbooks.get(i), durations[i]);
+      }
+    }
+
+    reportSlowestWorkbooks();
+
+    TestSuite testSuite = new TestSuite(root.toString());
+    HashMap<Path, TestSuite> testSuites = new HashMap<>();
+
+    testSuites.put(root, testSuite);
+
+    for(TestCase testCase : testCases)
+    {
+      if(testCase != null && matchesFilters(testCase, filters))
+      {
+        getTestSuite(testSuites, Paths.get(testCase.getId()).getParent()).addTestCase(testCase);
+      }
+    }
+
+    return testSuite;
   }
 
-  public String[] buildTestSuite(String testSuiteRoot, String[] filters)
+
+  /**
+   * Get the parse time in milliseconds of the workbooks of the last build,
+   * in the sorted order of their paths
+   *
+   * @return
+   */
+  public LinkedHashMap<Path, Long> getParseTimes()
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    synchronized(parseTimes)
+    {
+      return new LinkedHashMap<>(parseTimes);
+    }
   }
 
-  private String[] addTestCases(TestSuite testSuite, String[] filters)
+
+  /**
+   * Get the label index of {@link root}. The index is kept in the configured
+   * index file, in the cache directory or only in memory when neither is
+   * configured.
+   *
+   * @param root
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private synchronized LabelIndex getLabelIndex(Path root) throws Exception
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    LabelIndex labelIndex = labelIndexes.get(root);
+
+    if(labelIndex == null)
+    {
+      File indexFile = labelIndexFile;
+
+      if(indexFile == null && cacheDirectory != null)
+      {
+        indexFile = new File(cacheDirectory, "labels-" + Integer.toHexString(root.toString().
+                             hashCode()) + ".index");
+      }
+
+      labelIndex = new LabelIndex(root, indexFile);
+      labelIndexes.put(root, labelIndex);
+    }
+
+    return labelIndex;
+  }
+
+
+  /**
+   * Read the labels of {@link workbook} for the label index
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private LinkedList<String> readLabels(Path workbook) throws Exception
+  {
+    return TestCaseBuilder.getLabels(buildTestCase(workbook));
+  }
+
+
+  /**
+   * Build the test case of {@link workbook}. The headers of workbooks which
+   * didn't change (modification time and size) since the last build are
+   * reused, so rebuilding the structure only opens new and changed
+   * workbooks.
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private TestCase buildTestCase(Path workbook) throws Exception
+  {
+    BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+    KnownWorkbook knownWorkbook = knownWorkbooks.get(workbook);
+
+    if(knownWorkbook == null || !knownWorkbook.isUnchanged(attributes))
+    {
+      knownWorkbook = new KnownWorkbook(attributes, testCaseBuilder.readHeaders(workbook.
+                                        toFile()));
+      knownWorkbooks.put(workbook, knownWorkbook);
+    }
+    else
+    {
+      LOGGER.trace("Headers of unchanged workbook '{}' reused", workbook);
+    }
+
+    return testCaseBuilder.buildTestCase(workbook.toFile(), knownWorkbook.headers);
+  }
+
+
+  /**
+   * Get the file of property {@link key} or null when it isn't set
+   *
+   * @param testRunner
+   * @param key
+   *
+   * @return
+   */
+  private static File getFile(TestRunner testRunner, String key)
+  {
+    if( !testRunner.hasProperty(key))
+    {
+      return null;
+    }
+
+    return new File(testRunner.getProperty(key).trim());
+  }
+
+
+  /**
+   * Check if {@link testCase} has one of the labels in {@link filters}
+   *
+   * @param testCase
+   * @param filters
+   *
+   * @return
+   */
+  private boolean matchesFilters(TestCase testCase, String[] filters)
+  {
+    if(filters == null || filters.length == 0)
+    {
+      return true;
+    }
+
+    LinkedList<String> labels = TestCaseBuilder.getLabels(testCase);
+
+    for(String filter : filters)
+    {
+      if(labels.contains(filter.trim().toLowerCase()))
+      {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+
+  /**
+   * Get the test suite of {@link directory}. Missing test suites up to the
+   * root are created and added to their parent.
+   *
+   * @param testSuites
+   * @param directory
+   *
+   * @return
+   */
+  private TestSuite getTestSuite(HashMap<Path, TestSuite> testSuites, Path directory)
+  {
+    TestSuite testSuite = testSuites.get(directory);
+
+    if(testSuite == null)
+    {
+      testSuite = new TestSuite(directory.toString());
+      getTestSuite(testSuites, directory.getParent()).addTestSuite(testSuite);
+      testSuites.put(directory, testSuite);
+    }
+
+    return testSuite;
+  }
+
+
+  /**
+   * Find all workbooks in and below {@link root} in sorted order
+   *
+   * @param root
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private ArrayList<Path> findWorkbooks(Path root) throws IOException
+  {
+    ArrayList<Path> workbooks = new ArrayList<>();
+
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>()
+                     {
+                       @Override
+                       public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                       {
+                         if(attrs.isRegularFile() && isWorkbook(file.getFileName().toString()))
+                         {
+                           workbooks.add(file);
+                         }
+
+                         return FileVisitResult.CONTINUE;
+                       }
+                     });
+
+    Collections.sort(workbooks);
+
+    return workbooks;
+  }
+
+
+  /**
+   * Check if {@link fileName} is the name of a workbook. Lock files of Excel
+   * are ignored.
+   *
+   * @param fileName
+   *
+   * @return
+   */
+  public static boolean isWorkbook(String fileName)
+  {
+    String name = fileName.toLowerCase();
+
+    return !name.startsWith("~$") &&
+           (name.endsWith(".xlsx") || name.endsWith(".xlsm") || name.endsWith(".xls"));
+  }
+
+
+  /**
+   * Log the workbooks that took the longest to parse
+   */
+  private void reportSlowestWorkbooks()
+  {
+    if( !LOGGER.isInfoEnabled())
+    {
+      return;
+    }
+
+    ArrayList<Map.Entry<Path, Long>> slowest = new ArrayList<>(getParseTimes().entrySet());
+
+    slowest.sort((first, second) -> Long.compare(second.getValue(), first.getValue()));
+
+    for(Map.Entry<Path, Long> entry : slowest.subList(0, Math.min(NUMBER_OF_SLOWEST, slowest.
+                                                      size())))
+    {
+      LOGGER.info("Parsed '{}' in {} ms", entry.getKey(), entry.getValue());
+    }
+  }
+
+
+  /**
+   * The headers of a workbook at the time it was parsed
+   */
+  private static class KnownWorkbook
+  {
+
+    private final long lastModified;
+    private final long size;
+    private final LinkedHashMap<String, String> headers;
+
+
+    private KnownWorkbook(BasicFileAttributes attributes, LinkedHashMap<String, String> headers)
+    {
+      this.lastModified = attributes.lastModifiedTime().toMillis();
+      this.size = attributes.size();
+      this.headers = headers;
+    }
+
+
+    private boolean isUnchanged(BasicFileAttributes attributes)
+    {
+      return lastModified == attributes.lastModifiedTime().toMillis() &&
+             size == attributes.size();
+    }
+
+  }
+
+
+  /**
+   * Parses a range of workbooks, splitting the range until single workbooks
+   * remain. Workbooks which can't be parsed are skipped.
+   */
+  private class ParseTask extends RecursiveAction
+  {
+
+    private final ArrayList<Path> workbooks;
+    private final TestCase[] testCases;
+    private final long[] durations;
+    private final int from;
+    private final int to;
+
+
+    private ParseTask(ArrayList<Path> workbooks, TestCase[] testCases, long[] durations,
+                      int from, int to)
+    {
+      this.workbooks = workbooks;
+      this.testCases = testCases;
+      this.durations = durations;
+      this.from = from;
+      this.to = to;
+    }
+
+
+    @Override
+    protected void compute()
+    {
+      if(to - from > 1)
+      {
+        int middle = (from + to) >>> 1;
+
+        invokeAll(new ParseTask(workbooks, testCases, durations, from, middle),
+                  new ParseTask(workbooks, testCases, durations, middle, to));
+        return;
+      }
+
+      for(int i = from; i < to; i++)
+      {
+        long startTime = System.nanoTime();
+        Path workbook = workbooks.get(i);
+
+        try
+        {
+          testCases[i] = buildTestCase(workbook);
+        }
+        catch(Exception eX)
+        {
+          LOGGER.error("Workbook '{}' skipped: {}", workbook, eX.getMessage());
+        }
+
+        durations[i] = (System.nanoTime() - startTime) / 1000000;
+
+        LOGGER.debug("Parsed '{}' in {} ms", workbook, durations[i]);
+      }
+    }
+
   }
 }
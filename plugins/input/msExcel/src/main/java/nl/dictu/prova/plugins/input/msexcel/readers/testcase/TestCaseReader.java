@@ -19,9 +19,13 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
 
+import java.io.File;
 import java.util.LinkedList;
 import java.util.Properties;
 import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.SheetReaderFactory;
+import nl.dictu.prova.plugins.output.OutputPlugin;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -36,6 +40,8 @@ public abstract class TestCaseReader
   private static Logger LOGGER = LogManager.getLogger(
           TestCaseReader.class.getName());
 
+  private boolean streaming = false;
+
 
   /**
    * Constructor.
@@ -57,6 +63,110 @@ public abstract class TestCaseReader
   }
 
 
+  /**
+   * Read workbooks in the .xlsx format row by row with the streaming reader
+   * instead of loading them completely
+   *
+   * @param streaming
+   */
+  public void setStreaming(boolean streaming)
+  {
+    this.streaming = streaming;
+  }
+
+
+  /**
+   * Retrieves all the test actions from sheet {@link sheetName} of
+   * {@link workbook} without keeping the sheet in memory.
+   * <p>
+   * The first non empty row contains the column names. Every following row
+   * with a value in the first column is an action: the first column holds
+   * the action name to get from {@link outputPlugin}, the other non empty
+   * columns are set as attribute with the column name as key.
+   *
+   * @param workbook
+   * @param sheetName
+   * @param outputPlugin
+   *
+   * @return
+   *
+   * @throws java.lang.Exception
+   */
+  public LinkedList<TestAction> parseActionSheet(File workbook, String sheetName,
+                                                 OutputPlugin outputPlugin) throws Exception
+  {
+    LinkedList<TestAction> testActions = new LinkedList<>();
+
+    SheetReaderFactory.getInstance(workbook, streaming).
+            readSheet(workbook, sheetName, getActionSheetHandler(testActions, outputPlugin));
+
+    LOGGER.debug("Read {} actions from sheet '{}' of '{}'", testActions.size(), sheetName,
+                 workbook.getName());
+
+    return testActions;
+  }
+
+
+  /**
+   * Get a row handler which adds the actions of an action sheet to
+   * {@link testActions}, for reading several sheets in one pass. See
+   * {@link #parseActionSheet(File, String, OutputPlugin)} for the layout of
+   * the sheet.
+   *
+   * @param testActions
+   * @param outputPlugin
+   *
+   * @return
+   */
+  public RowHandler getActionSheetHandler(LinkedList<TestAction> testActions,
+                                          OutputPlugin outputPlugin)
+  {
+    String[][] columnNames = new String[1][];
+
+    return (rowNumber, cells) ->
+    {
+      if(columnNames[0] == null)
+      {
+        columnNames[0] = cells;
+      }
+      else if(cells[0].length() > 0)
+      {
+        testActions.add(parseActionRow(columnNames[0], cells, outputPlugin));
+      }
+
+      return true;
+    };
+  }
+
+
+  /**
+   * Create the action of a single row
+   *
+   * @param columnNames
+   * @param cells
+   * @param outputPlugin
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private TestAction parseActionRow(String[] columnNames, String[] cells,
+                                    OutputPlugin outputPlugin) throws Exception
+  {
+    TestAction testAction = outputPlugin.getTestAction(cells[0]);
+
+    for(int i = 1; i < cells.length && i < columnNames.length; i++)
+    {
+      if(cells[i].length() > 0 && columnNames[i].length() > 0)
+      {
+        testAction.setAttribute(columnNames[i], cells[i]);
+      }
+    }
+
+    return testAction;
+  }
+
+
   /**
    * Retrieves all the test actions from the given sheet
    *
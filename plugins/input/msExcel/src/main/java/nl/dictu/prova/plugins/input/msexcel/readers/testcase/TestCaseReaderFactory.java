@@ -19,6 +19,7 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
 
+import java.security.InvalidParameterException;
 import nl.dictu.prova.TestType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,9 +35,36 @@ public class TestCaseReaderFactory
           TestCaseReaderFactory.class.getName());
 
 
-  public static TestType getInstance(TestType testType)
+  /**
+   * Get a new test case reader for test scripts of {@link testType}
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public static TestCaseReader getInstance(TestType testType) throws InvalidParameterException
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    if(testType == null)
+    {
+      throw new InvalidParameterException("Test type can not be null");
+    }
+
+    switch(testType)
+    {
+      case DB:
+        return new DatabaseTestCaseReader();
+
+      case SHELL:
+        return new ShellTestCaseReader();
+
+      case SOAP:
+        return new SoapTestCaseReader();
+
+      default:
+        return new WebTestCaseReader();
+    }
   }
 
 }
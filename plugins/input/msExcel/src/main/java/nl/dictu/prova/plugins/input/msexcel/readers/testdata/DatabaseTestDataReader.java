@@ -19,9 +19,6 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
-import java.io.File;
-import java.util.LinkedList;
-import java.util.Properties;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -44,19 +41,4 @@ public class DatabaseTestDataReader extends TestDataReader
     super(LOGGER);
   }
 
-
-  @Override
-  public LinkedList<String> getDataSetNames(File dataSetFile) throws Exception
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
-
-
-  @Override
-  public Properties getVariables(File dataSetFile, String dataSetName) throws
-          Exception
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
-
 }
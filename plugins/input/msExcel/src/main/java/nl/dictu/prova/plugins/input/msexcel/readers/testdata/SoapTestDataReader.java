@@ -19,9 +19,6 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
-import java.io.File;
-import java.util.LinkedList;
-import java.util.Properties;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -44,17 +41,4 @@ public class SoapTestDataReader extends TestDataReader
     super(LOGGER);
   }
 
-
-  @Override
-  public LinkedList<String> getDataSetNames(File dataFile)
-  {
-    throw new UnsupportedOperationException("Not supported yet.");
-  }
-
-  @Override
-  public Properties getVariables(File dataFileName, String dataSetName)
-  {
-    throw new UnsupportedOperationException("Not supported yet.");
-  }
-
 }
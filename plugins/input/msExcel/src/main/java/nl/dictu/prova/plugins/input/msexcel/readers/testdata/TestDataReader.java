@@ -22,10 +22,15 @@ package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 import java.io.File;
 import java.util.LinkedList;
 import java.util.Properties;
+import nl.dictu.prova.plugins.input.msexcel.DataSetCache;
+import nl.dictu.prova.plugins.input.msexcel.util.SheetReaderFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Reads test data sets from a workbook. Every sheet is a data set with the
+ * variable names in the first column and their values in the second column.
+ * Parsed workbooks are shared through the {@link DataSetCache}.
  *
  * @author Sjoerd Boerhout
  */
@@ -35,6 +40,8 @@ public abstract class TestDataReader
   private static Logger LOGGER = LogManager.getLogger(
           TestDataReader.class.getName());
 
+  private boolean streaming = false;
+
 
   /**
    * Set the logger to the logger of the implementing class
@@ -55,6 +62,18 @@ public abstract class TestDataReader
   }
 
 
+  /**
+   * Read workbooks in the .xlsx format row by row with the streaming reader
+   * instead of loading them completely
+   *
+   * @param streaming
+   */
+  public void setStreaming(boolean streaming)
+  {
+    this.streaming = streaming;
+  }
+
+
   /**
    * Retrieves all the dataset names from the given file
    *
@@ -63,8 +82,11 @@ public abstract class TestDataReader
    * @return
    * @throws java.lang.Exception
    */
-  public abstract LinkedList<String> getDataSetNames(File dataSetFile)
-          throws Exception;
+  public LinkedList<String> getDataSetNames(File dataSetFile)
+          throws Exception
+  {
+    return getDataSets(dataSetFile).getDataSetNames();
+  }
 
 
   /**
@@ -77,7 +99,26 @@ public abstract class TestDataReader
    *
    * @throws Exception
    */
-  public abstract Properties getVariables(File dataSetFile,
-                                          String dataSetName) throws
-          Exception;
+  public Properties getVariables(File dataSetFile, String dataSetName) throws Exception
+  {
+    LOGGER.debug("Read variables of data set '{}' from '{}'", dataSetName, dataSetFile.getName());
+
+    return getDataSets(dataSetFile).getVariables(dataSetName);
+  }
+
+
+  /**
+   * Get the data sets of {@link dataSetFile} from the process wide cache
+   *
+   * @param dataSetFile
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private DataSetCache.DataSets getDataSets(File dataSetFile) throws Exception
+  {
+    return DataSetCache.getInstance().get(dataSetFile, SheetReaderFactory.getInstance(dataSetFile,
+                                                                                      streaming));
+  }
 }
@@ -19,6 +19,7 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
+import java.security.InvalidParameterException;
 import nl.dictu.prova.TestType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,9 +35,36 @@ public class TestDataReaderFactory
           TestDataReaderFactory.class.getName());
 
 
-  public static TestDataReader getInstance(TestType testType)
+  /**
+   * Get a new test data reader for test data of {@link testType}
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public static TestDataReader getInstance(TestType testType) throws InvalidParameterException
   {
-    throw new UnsupportedOperationException("Not supported yet.");
+    if(testType == null)
+    {
+      throw new InvalidParameterException("Test type can not be null");
+    }
+
+    switch(testType)
+    {
+      case DB:
+        return new DatabaseTestDataReader();
+
+      case SHELL:
+        return new ShellTestDataReader();
+
+      case SOAP:
+        return new SoapTestDataReader();
+
+      default:
+        return new WebTestDataReader();
+    }
   }
 
 }
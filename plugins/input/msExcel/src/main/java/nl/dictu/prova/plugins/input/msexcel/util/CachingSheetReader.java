@@ -0,0 +1,595 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the rows of all sheets of a workbook in a compact binary file in a
+ * cache directory. The workbook is only read by the wrapped sheet reader
+ * when there is no cache file yet or the workbook changed. A workbook is
+ * unchanged when its modification time and size match, or when only the
+ * modification time differs but the SHA-1 hash of its content matches. In
+ * that case the new modification time is stored in the cache file, so the
+ * workbook is only hashed once.
+ * <p>
+ * Cache file layout: magic number, format version, workbook path, last
+ * modification time, size and hash, the sheet index (name, offset, number of
+ * rows) followed by the rows of all sheets (row number, number of cells and
+ * the cells).
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CachingSheetReader implements SheetReader
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(CachingSheetReader.class.
+          getName());
+
+  private final static int MAGIC = 0x50524f56;
+  private final static int VERSION = 1;
+
+  private final static AtomicLong HITS = new AtomicLong();
+  private final static AtomicLong MISSES = new AtomicLong();
+
+  private final SheetReader sheetReader;
+  private final File cacheDirectory;
+
+
+  /**
+   * Constructor
+   *
+   * @param sheetReader Reader for workbooks which are not cached
+   * @param cacheDirectory
+   */
+  public CachingSheetReader(SheetReader sheetReader, File cacheDirectory)
+  {
+    this.sheetReader = sheetReader;
+    this.cacheDirectory = cacheDirectory;
+  }
+
+
+  /**
+   * Get the number of workbooks read from a cache file
+   *
+   * @return
+   */
+  public static long getHits()
+  {
+    return HITS.get();
+  }
+
+
+  /**
+   * Get the number of workbooks read because the cache file was missing or
+   * outdated
+   *
+   * @return
+   */
+  public static long getMisses()
+  {
+    return MISSES.get();
+  }
+
+
+  @Override
+  public LinkedList<String> getSheetNames(File workbook) throws Exception
+  {
+    try(DataInputStream input = openCacheFile(workbook))
+    {
+      return new LinkedList<>(readIndex(input).keySet());
+    }
+  }
+
+
+  @Override
+  public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws Exception
+  {
+    try(DataInputStream input = openCacheFile(workbook))
+    {
+      LinkedHashMap<String, long[]> index = readIndex(input);
+      long[] sheet = index.get(sheetName);
+
+      if(sheet == null)
+      {
+        throw new NoSuchElementException("Sheet '" + sheetName + "' not found in '" + workbook.
+                getName() + "'");
+      }
+
+      skipFully(input, sheet[0]);
+      readRows(input, sheet[1], rowHandler);
+    }
+  }
+
+
+  @Override
+  public void readSheets(File workbook, Function<String, RowHandler> sheetHandler) throws
+          Exception
+  {
+    try(DataInputStream input = openCacheFile(workbook))
+    {
+      // The rows of all sheets are stored in index order
+      for(Map.Entry<String, long[]> sheet : readIndex(input).entrySet())
+      {
+        RowHandler rowHandler = sheetHandler.apply(sheet.getKey());
+        boolean[] stopped = new boolean[1];
+
+        // Rows after a stop are read to get to the next sheet
+        readRows(input, sheet.getValue()[1], (rowNumber, cells) ->
+         {
+           stopped[0] = stopped[0] || !rowHandler.handleRow(rowNumber, cells);
+           return true;
+         });
+      }
+    }
+  }
+
+
+  /**
+   * Read at most {@link numberOfRows} rows from the cache file and pass them
+   * to {@link rowHandler} until the handler returns false
+   *
+   * @param input
+   * @param numberOfRows
+   * @param rowHandler
+   *
+   * @throws Exception
+   */
+  private static void readRows(DataInputStream input, long numberOfRows, RowHandler rowHandler)
+          throws Exception
+  {
+    for(long i = 0; i < numberOfRows; i++)
+    {
+      int rowNumber = input.readInt();
+      String[] cells = new String[input.readInt()];
+
+      for(int j = 0; j < cells.length; j++)
+      {
+        cells[j] = readString(input);
+      }
+
+      if( !rowHandler.handleRow(rowNumber, cells))
+      {
+        return;
+      }
+    }
+  }
+
+
+  /**
+   * Get the cache file of {@link workbook}
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public File getCacheFile(File workbook) throws Exception
+  {
+    return new File(cacheDirectory, toHex(MessageDigest.getInstance("SHA-1").digest(
+                    workbook.getCanonicalPath().getBytes(StandardCharsets.UTF_8))) + ".cache");
+  }
+
+
+  /**
+   * Open the cache file of {@link workbook} positioned at the sheet index.
+   * The cache file is (re)built when it is missing or outdated.
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private DataInputStream openCacheFile(File workbook) throws Exception
+  {
+    File cacheFile = getCacheFile(workbook);
+
+    if(cacheFile.exists())
+    {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(
+              new FileInputStream(cacheFile)));
+
+      try
+      {
+        if(isValid(input, workbook, cacheFile))
+        {
+          HITS.incrementAndGet();
+          return input;
+        }
+      }
+      catch(Exception eX)
+      {
+        LOGGER.debug("Invalid cache file '{}' for '{}': {}", cacheFile.getName(), workbook.
+                     getName(), eX.getMessage());
+      }
+
+      input.close();
+    }
+
+    MISSES.incrementAndGet();
+    writeCacheFile(workbook, cacheFile);
+
+    DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(
+            cacheFile)));
+
+    try
+    {
+      if( !isValid(input, workbook, cacheFile))
+      {
+        throw new IOException("Workbook '" + workbook.getName() + "' changed while reading");
+      }
+    }
+    catch(Exception eX)
+    {
+      input.close();
+      throw eX;
+    }
+
+    return input;
+  }
+
+
+  /**
+   * Read the header of a cache file and check if it matches {@link workbook}.
+   * When only the modification time differs and the hash matches, the new
+   * modification time is written to the header of {@link cacheFile}.
+   *
+   * @param input
+   * @param workbook
+   * @param cacheFile
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private boolean isValid(DataInputStream input, File workbook, File cacheFile) throws Exception
+  {
+    if(input.readInt() != MAGIC || input.readInt() != VERSION)
+    {
+      return false;
+    }
+
+    String path = readString(input);
+    long lastModified = input.readLong();
+    long length = input.readLong();
+    byte[] hash = new byte[input.readInt()];
+
+    input.readFully(hash);
+
+    if( !path.equals(workbook.getCanonicalPath()) || length != workbook.length())
+    {
+      return false;
+    }
+
+    if(lastModified == workbook.lastModified())
+    {
+      return true;
+    }
+
+    // Copied or checked out files get a new modification time only
+    long newLastModified = workbook.lastModified();
+
+    if( !Arrays.equals(hash, hash(workbook)))
+    {
+      return false;
+    }
+
+    updateLastModified(cacheFile, 12 + path.getBytes(StandardCharsets.UTF_8).length, hash,
+                       newLastModified);
+
+    return true;
+  }
+
+
+  /**
+   * Overwrite the modification time in the header of {@link cacheFile} with
+   * {@link lastModified}. The header is left alone when the cache file was
+   * replaced by one with another hash in the mean time.
+   *
+   * @param cacheFile
+   * @param offset Position of the modification time in the header
+   * @param hash
+   * @param lastModified
+   *
+   * @throws IOException
+   */
+  private static void updateLastModified(File cacheFile, long offset, byte[] hash,
+                                         long lastModified) throws IOException
+  {
+    try(RandomAccessFile output = new RandomAccessFile(cacheFile, "rw"))
+    {
+      byte[] storedHash = new byte[hash.length];
+
+      output.seek(offset + 16);
+
+      if(output.readInt() != hash.length)
+      {
+        return;
+      }
+
+      output.readFully(storedHash);
+
+      if(Arrays.equals(hash, storedHash))
+      {
+        output.seek(offset);
+        output.writeLong(lastModified);
+
+        LOGGER.debug("Updated modification time in cache file '{}'", cacheFile.getName());
+      }
+    }
+  }
+
+
+  /**
+   * Read the sheet index of a cache file. The values contain the offset of
+   * the sheet relative to the end of the index and its number of rows.
+   *
+   * @param input
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private LinkedHashMap<String, long[]> readIndex(DataInputStream input) throws IOException
+  {
+    LinkedHashMap<String, long[]> index = new LinkedHashMap<>();
+    int numberOfSheets = input.readInt();
+
+    for(int i = 0; i < numberOfSheets; i++)
+    {
+      index.put(readString(input), new long[]{input.readLong(), input.readInt()});
+    }
+
+    return index;
+  }
+
+
+  /**
+   * Read all sheets of {@link workbook} and write them to {@link cacheFile}.
+   * The rows are streamed to a temporary file first, so the workbook is never
+   * completely in memory. The cache file is replaced atomically.
+   *
+   * @param workbook
+   * @param cacheFile
+   *
+   * @throws Exception
+   */
+  private void writeCacheFile(File workbook, File cacheFile) throws Exception
+  {
+    long startTime = System.currentTimeMillis();
+    long lastModified = workbook.lastModified();
+    byte[] hash = hash(workbook);
+
+    Files.createDirectories(cacheDirectory.toPath());
+
+    File rowsFile = File.createTempFile(cacheFile.getName(), ".rows", cacheDirectory);
+    File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDirectory);
+
+    try
+    {
+      LinkedHashMap<String, long[]> index = new LinkedHashMap<>();
+
+      try(DataOutputStream rows = new DataOutputStream(new BufferedOutputStream(
+              new FileOutputStream(rowsFile))))
+      {
+        // Open the workbook once for all sheets
+        sheetReader.readSheets(workbook, sheetName ->
+                       {
+                         long[] sheet = new long[]{rows.size(), 0};
+
+                         index.put(sheetName, sheet);
+
+                         return (rowNumber, cells) ->
+                         {
+                           rows.writeInt(rowNumber);
+                           rows.writeInt(cells.length);
+
+                           for(String cell : cells)
+                           {
+                             writeString(rows, cell);
+                           }
+
+                           sheet[1]++;
+                           return true;
+                         };
+                       });
+      }
+
+      try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+              new FileOutputStream(tempFile))))
+      {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        writeString(output, workbook.getCanonicalPath());
+        output.writeLong(lastModified);
+        output.writeLong(workbook.length());
+        output.writeInt(hash.length);
+        output.write(hash);
+        output.writeInt(index.size());
+
+        for(Map.Entry<String, long[]> sheet : index.entrySet())
+        {
+          writeString(output, sheet.getKey());
+          output.writeLong(sheet.getValue()[0]);
+          output.writeInt((int) sheet.getValue()[1]);
+        }
+
+        Files.copy(rowsFile.toPath(), output);
+      }
+
+      Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally
+    {
+      rowsFile.delete();
+      tempFile.delete();
+    }
+
+    LOGGER.debug("Cached '{}' in {} ms", workbook.getName(), System.currentTimeMillis() -
+                 startTime);
+  }
+
+
+  /**
+   * Calculate the SHA-1 hash of the content of {@link file}
+   *
+   * @param file
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private static byte[] hash(File file) throws Exception
+  {
+    MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+    byte[] buffer = new byte[64 * 1024];
+
+    try(InputStream input = new FileInputStream(file))
+    {
+      int read;
+
+      while((read = input.read(buffer)) > 0)
+      {
+        messageDigest.update(buffer, 0, read);
+      }
+    }
+
+    return messageDigest.digest();
+  }
+
+
+  /**
+   * Write {@link value} as UTF-8 without the 64 kB limit of writeUTF
+   *
+   * @param output
+   * @param value
+   *
+   * @throws IOException
+   */
+  private static void writeString(DataOutputStream output, String value) throws IOException
+  {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+
+  /**
+   * Read a string written by {@link writeString}
+   *
+   * @param input
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private static String readString(DataInputStream input) throws IOException
+  {
+    int length = input.readInt();
+
+    if(length == 0)
+    {
+      return "";
+    }
+
+    if(length < 0)
+    {
+      throw new IOException("Invalid string length " + length);
+    }
+
+    byte[] bytes = new byte[length];
+
+    input.readFully(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+
+  /**
+   * Skip exactly {@link count} bytes
+   *
+   * @param input
+   * @param count
+   *
+   * @throws IOException
+   */
+  private static void skipFully(InputStream input, long count) throws IOException
+  {
+    while(count > 0)
+    {
+      long skipped = input.skip(count);
+
+      if(skipped <= 0)
+      {
+        throw new EOFException("Unexpected end of cache file");
+      }
+
+      count -= skipped;
+    }
+  }
+
+
+  /**
+   * Convert {@link bytes} to a hexadecimal string
+   *
+   * @param bytes
+   *
+   * @return
+   */
+  private static String toHex(byte[] bytes)
+  {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+    for(byte b : bytes)
+    {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+
+    return hex.toString();
+  }
+
+}
@@ -22,6 +22,7 @@ package nl.dictu.prova.plugins.input.msexcel.util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
 
 /**
  * Functions to read and parse cells
@@ -35,9 +36,70 @@ public class CellReader
           getName());
 
 
+  /**
+   * Get the trimmed content of {@link cell} as shown in Excel. Formulas are
+   * replaced by their last calculated result. Empty and error cells result in
+   * an empty string.
+   *
+   * @param cell
+   *
+   * @return
+   *
+   * @throws Exception
+   */
   public static String parseCellContent(Cell cell) throws Exception
   {
-    return null;
+    return parseCellContent(cell, new DataFormatter());
+  }
+
+
+  /**
+   * Get the trimmed content of {@link cell} as shown in Excel using
+   * {@link dataFormatter} to format numbers and dates. Use this version when
+   * reading many cells to reuse the (not thread safe) formatter.
+   *
+   * @param cell
+   * @param dataFormatter
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public static String parseCellContent(Cell cell, DataFormatter dataFormatter) throws Exception
+  {
+    if(cell == null)
+    {
+      return "";
+    }
+
+    int cellType = cell.getCellType();
+
+    if(cellType == Cell.CELL_TYPE_FORMULA)
+    {
+      cellType = cell.getCachedFormulaResultType();
+    }
+
+    switch(cellType)
+    {
+      case Cell.CELL_TYPE_STRING:
+        return cell.getRichStringCellValue().getString().trim();
+
+      case Cell.CELL_TYPE_NUMERIC:
+        return dataFormatter.formatRawCellContents(cell.getNumericCellValue(),
+                                                   cell.getCellStyle().getDataFormat(),
+                                                   cell.getCellStyle().getDataFormatString()).
+                trim();
+
+      case Cell.CELL_TYPE_BOOLEAN:
+        return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+
+      default:
+        if(LOGGER.isTraceEnabled())
+        {
+          LOGGER.trace("Cell of type '{}' parsed as empty string", cellType);
+        }
+        return "";
+    }
   }
 
 }
@@ -0,0 +1,44 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+/**
+ * Receives the rows of a sheet one at a time from a {@link SheetReader}
+ *
+ * @author Sjoerd Boerhout
+ */
+public interface RowHandler
+{
+
+  /**
+   * Handle a single row of a sheet. Empty rows are skipped by the reader.
+   * The cells are the formatted cell values, indexed by column number. Empty
+   * cells are empty strings.
+   *
+   * @param rowNumber Zero based number of the row in the sheet
+   * @param cells
+   *
+   * @return False to stop reading the sheet
+   *
+   * @throws Exception
+   */
+  public boolean handleRow(int rowNumber, String[] cells) throws Exception;
+
+}
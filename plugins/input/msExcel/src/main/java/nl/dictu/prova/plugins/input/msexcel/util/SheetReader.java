@@ -0,0 +1,84 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.util.LinkedList;
+import java.util.function.Function;
+
+/**
+ * Reads the sheets of a workbook row by row
+ *
+ * @author Sjoerd Boerhout
+ */
+public interface SheetReader
+{
+
+  /**
+   * Get the names of all sheets in {@link workbook} in workbook order
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public LinkedList<String> getSheetNames(File workbook) throws Exception;
+
+
+  /**
+   * Pass all non empty rows of sheet {@link sheetName} in {@link workbook} to
+   * {@link rowHandler} until the end of the sheet or until the handler returns
+   * false.
+   *
+   * @param workbook
+   * @param sheetName
+   * @param rowHandler
+   *
+   * @throws Exception
+   */
+  public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws Exception;
+
+
+  /**
+   * Pass all non empty rows of all sheets in {@link workbook} to the row
+   * handlers returned by {@link sheetHandler}, opening the workbook only once.
+   * The sheet handler is called with the name of each sheet in workbook
+   * order, also for empty sheets. When a row handler returns false the rest
+   * of its sheet is skipped.
+   * <p>
+   * The default implementation opens the workbook for every sheet; readers
+   * should override it.
+   *
+   * @param workbook
+   * @param sheetHandler
+   *
+   * @throws Exception
+   */
+  public default void readSheets(File workbook, Function<String, RowHandler> sheetHandler)
+          throws Exception
+  {
+    for(String sheetName : getSheetNames(workbook))
+    {
+      readSheet(workbook, sheetName, sheetHandler.apply(sheetName));
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+
+/**
+ * Selects the sheet reader for a workbook
+ *
+ * @author Sjoerd Boerhout
+ */
+public class SheetReaderFactory
+{
+
+  private final static SheetReader STREAMING_SHEET_READER = new StreamingSheetReader();
+  private final static SheetReader WORKBOOK_SHEET_READER = new WorkbookSheetReader();
+
+  private static volatile File cacheDirectory = null;
+
+
+  /**
+   * Set the directory for the cache files of the {@link CachingSheetReader}.
+   * Null disables the cache.
+   *
+   * @param directory
+   */
+  public static void setCacheDirectory(File directory)
+  {
+    cacheDirectory = directory;
+  }
+
+
+  /**
+   * Get the sheet reader for {@link workbook}. The streaming reader is only
+   * used for workbooks in the .xlsx format. When a cache directory is set the
+   * reader is wrapped in a {@link CachingSheetReader}.
+   *
+   * @param workbook
+   * @param streaming Prefer the streaming reader
+   *
+   * @return
+   */
+  public static SheetReader getInstance(File workbook, boolean streaming)
+  {
+    String fileName = workbook.getName().toLowerCase();
+    SheetReader sheetReader = WORKBOOK_SHEET_READER;
+
+    if(streaming && (fileName.endsWith(".xlsx") || fileName.endsWith(".xlsm")))
+    {
+      sheetReader = STREAMING_SHEET_READER;
+    }
+
+    File directory = cacheDirectory;
+
+    return (directory == null ? sheetReader : new CachingSheetReader(sheetReader, directory));
+  }
+
+}
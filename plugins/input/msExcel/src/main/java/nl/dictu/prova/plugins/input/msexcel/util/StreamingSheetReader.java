@@ -0,0 +1,311 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads sheets of .xlsx workbooks with the XSSF event model. The sheet XML is
+ * parsed with SAX and every row is handed over as soon as it is read, so only
+ * the shared strings table and a single row are kept in memory.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class StreamingSheetReader implements SheetReader
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(StreamingSheetReader.class.
+          getName());
+
+  private final static SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+
+
+  static
+  {
+    SAX_PARSER_FACTORY.setNamespaceAware(true);
+  }
+
+
+  @Override
+  public LinkedList<String> getSheetNames(File workbook) throws Exception
+  {
+    LinkedList<String> sheetNames = new LinkedList<>();
+    OPCPackage opcPackage = OPCPackage.open(workbook, PackageAccess.READ);
+
+    try
+    {
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(opcPackage).
+              getSheetsData();
+
+      while(sheets.hasNext())
+      {
+        try(InputStream sheet = sheets.next())
+        {
+          sheetNames.add(sheets.getSheetName());
+        }
+      }
+    }
+    finally
+    {
+      // Read only packages are closed without saving by revert()
+      opcPackage.revert();
+    }
+
+    return sheetNames;
+  }
+
+
+  @Override
+  public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws Exception
+  {
+    LOGGER.debug("Stream sheet '{}' of '{}'", sheetName, workbook.getName());
+
+    OPCPackage opcPackage = OPCPackage.open(workbook, PackageAccess.READ);
+
+    try
+    {
+      XSSFReader xssfReader = new XSSFReader(opcPackage);
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+      while(sheets.hasNext())
+      {
+        try(InputStream sheet = sheets.next())
+        {
+          if( !sheets.getSheetName().equals(sheetName))
+          {
+            continue;
+          }
+
+          parseSheet(sheet, rowHandler, xssfReader, new ReadOnlySharedStringsTable(opcPackage));
+
+          return;
+        }
+      }
+
+      throw new NoSuchElementException("Sheet '" + sheetName + "' not found in '" + workbook.
+              getName() + "'");
+    }
+    finally
+    {
+      opcPackage.revert();
+    }
+  }
+
+
+  @Override
+  public void readSheets(File workbook, Function<String, RowHandler> sheetHandler) throws
+          Exception
+  {
+    LOGGER.debug("Stream all sheets of '{}'", workbook.getName());
+
+    OPCPackage opcPackage = OPCPackage.open(workbook, PackageAccess.READ);
+
+    try
+    {
+      XSSFReader xssfReader = new XSSFReader(opcPackage);
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+      ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+
+      while(sheets.hasNext())
+      {
+        try(InputStream sheet = sheets.next())
+        {
+          parseSheet(sheet, sheetHandler.apply(sheets.getSheetName()), xssfReader, sharedStrings);
+        }
+      }
+    }
+    finally
+    {
+      opcPackage.revert();
+    }
+  }
+
+
+  /**
+   * Parse the XML of {@link sheet} and pass its non empty rows to
+   * {@link rowHandler} until the end of the sheet or until the handler
+   * returns false
+   *
+   * @param sheet
+   * @param rowHandler
+   * @param xssfReader
+   * @param sharedStrings
+   *
+   * @throws Exception
+   */
+  private static void parseSheet(InputStream sheet, RowHandler rowHandler, XSSFReader xssfReader,
+                                 ReadOnlySharedStringsTable sharedStrings) throws Exception
+  {
+    XMLReader xmlReader = SAX_PARSER_FACTORY.newSAXParser().getXMLReader();
+
+    xmlReader.setContentHandler(new XSSFSheetXMLHandler(xssfReader.getStylesTable(),
+                                                        sharedStrings,
+                                                        new RowCollector(rowHandler),
+                                                        new DataFormatter(), false));
+    try
+    {
+      xmlReader.parse(new InputSource(sheet));
+    }
+    catch(StopReadingException eX)
+    {
+      if(eX.getCause() != null)
+      {
+        throw (Exception) eX.getCause();
+      }
+    }
+  }
+
+
+  /**
+   * Get the zero based column number from a cell reference like 'AB12'
+   *
+   * @param cellReference
+   *
+   * @return
+   */
+  static int getColumnIndex(String cellReference)
+  {
+    int column = 0;
+
+    for(int i = 0; i < cellReference.length(); i++)
+    {
+      char c = cellReference.charAt(i);
+
+      if(c < 'A' || c > 'Z')
+      {
+        break;
+      }
+
+      column = column * 26 + (c - 'A' + 1);
+    }
+
+    return column - 1;
+  }
+
+
+  /**
+   * Collects the cells of the current row and passes the complete row to the
+   * row handler.
+   */
+  private static class RowCollector implements SheetContentsHandler
+  {
+
+    private final RowHandler rowHandler;
+    private final ArrayList<String> cells = new ArrayList<>();
+    private boolean isEmpty;
+
+
+    private RowCollector(RowHandler rowHandler)
+    {
+      this.rowHandler = rowHandler;
+    }
+
+
+    @Override
+    public void startRow(int rowNumber)
+    {
+      cells.clear();
+      isEmpty = true;
+    }
+
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment)
+    {
+      int column = (cellReference == null ? cells.size() : getColumnIndex(cellReference));
+      String value = (formattedValue == null ? "" : formattedValue.trim());
+
+      while(cells.size() < column)
+      {
+        cells.add("");
+      }
+
+      cells.add(value);
+      isEmpty &= value.isEmpty();
+    }
+
+
+    @Override
+    public void endRow(int rowNumber)
+    {
+      if(isEmpty)
+      {
+        return;
+      }
+
+      boolean proceed;
+
+      try
+      {
+        proceed = rowHandler.handleRow(rowNumber, cells.toArray(new String[cells.size()]));
+      }
+      catch(Exception eX)
+      {
+        throw new StopReadingException(eX);
+      }
+
+      if( !proceed)
+      {
+        throw new StopReadingException(null);
+      }
+    }
+
+
+    @Override
+    public void headerFooter(String text, boolean isHeader, String tagName)
+    {
+    }
+
+  }
+
+
+  /**
+   * Aborts the SAX parser when the row handler is done or failed. The cause
+   * is the exception thrown by the row handler, if any.
+   */
+  private static class StopReadingException extends RuntimeException
+  {
+
+    private StopReadingException(Exception cause)
+    {
+      super(cause);
+    }
+
+  }
+
+}
@@ -0,0 +1,133 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+/**
+ * Reads sheets with the POI user model. The complete workbook is loaded in
+ * memory, but both the .xls and .xlsx format are supported.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WorkbookSheetReader implements SheetReader
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WorkbookSheetReader.class.
+          getName());
+
+
+  @Override
+  public LinkedList<String> getSheetNames(File workbook) throws Exception
+  {
+    LinkedList<String> sheetNames = new LinkedList<>();
+
+    try(Workbook wb = WorkbookFactory.create(workbook, null, true))
+    {
+      for(int i = 0; i < wb.getNumberOfSheets(); i++)
+      {
+        sheetNames.add(wb.getSheetName(i));
+      }
+    }
+
+    return sheetNames;
+  }
+
+
+  @Override
+  public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws Exception
+  {
+    LOGGER.debug("Read sheet '{}' of '{}'", sheetName, workbook.getName());
+
+    try(Workbook wb = WorkbookFactory.create(workbook, null, true))
+    {
+      Sheet sheet = wb.getSheet(sheetName);
+
+      if(sheet == null)
+      {
+        throw new NoSuchElementException("Sheet '" + sheetName + "' not found in '" + workbook.
+                getName() + "'");
+      }
+
+      readRows(sheet, rowHandler, new DataFormatter());
+    }
+  }
+
+
+  @Override
+  public void readSheets(File workbook, Function<String, RowHandler> sheetHandler) throws
+          Exception
+  {
+    LOGGER.debug("Read all sheets of '{}'", workbook.getName());
+
+    try(Workbook wb = WorkbookFactory.create(workbook, null, true))
+    {
+      DataFormatter dataFormatter = new DataFormatter();
+
+      for(int i = 0; i < wb.getNumberOfSheets(); i++)
+      {
+        readRows(wb.getSheetAt(i), sheetHandler.apply(wb.getSheetName(i)), dataFormatter);
+      }
+    }
+  }
+
+
+  /**
+   * Pass the non empty rows of {@link sheet} to {@link rowHandler} until the
+   * end of the sheet or until the handler returns false
+   *
+   * @param sheet
+   * @param rowHandler
+   * @param dataFormatter
+   *
+   * @throws Exception
+   */
+  private static void readRows(Sheet sheet, RowHandler rowHandler, DataFormatter dataFormatter)
+          throws Exception
+  {
+    for(Row row : sheet)
+    {
+      String[] cells = new String[Math.max(row.getLastCellNum(), 0)];
+      boolean isEmpty = true;
+
+      for(int i = 0; i < cells.length; i++)
+      {
+        cells[i] = CellReader.parseCellContent(row.getCell(i), dataFormatter);
+        isEmpty &= cells[i].isEmpty();
+      }
+
+      if( !isEmpty && !rowHandler.handleRow(row.getRowNum(), cells))
+      {
+        return;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * Output plug-in for tests creating actions which only record their
+ * attributes. The action name is stored in attribute 'name'.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ActionPlugin implements OutputPlugin
+{
+
+  private int nextId = 0;
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+  }
+
+
+  @Override
+  public void shutDown()
+  {
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Action plug-in";
+  }
+
+
+  @Override
+  public TestType[] getTestType()
+  {
+    return new TestType[]{TestType.WEB};
+  }
+
+
+  @Override
+  public void setUp(TestCase testCase)
+  {
+  }
+
+
+  @Override
+  public void tearDown(TestCase testCase)
+  {
+  }
+
+
+  @Override
+  public TestAction getTestAction(String actionName) throws InvalidParameterException
+  {
+    TestAction testAction = new TestAction(LogManager.getLogger(), nextId++)
+    {
+      @Override
+      public TestStatus execute()
+      {
+        return TestStatus.PASSED;
+      }
+
+
+      @Override
+      public boolean isValid()
+      {
+        return true;
+      }
+
+
+      @Override
+      public String toString()
+      {
+        return "";
+      }
+    };
+
+    testAction.setAttribute("name", actionName);
+
+    return testAction;
+  }
+
+}
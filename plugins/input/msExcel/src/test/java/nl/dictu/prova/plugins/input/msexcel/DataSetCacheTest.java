@@ -0,0 +1,221 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.function.Function;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.SheetReader;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
+import nl.dictu.prova.plugins.input.msexcel.util.WorkbookSheetReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DataSetCacheTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public DataSetCacheTest()
+  {
+  }
+
+
+  /**
+   * Write a data set file with a single data set
+   *
+   * @param fileName
+   * @param value
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writeDataSet(String fileName, String value) throws Exception
+  {
+    return new TestWorkbookWriter()
+            .addSheet("Default", new String[]{"name", value})
+            .addSheet("Other", new String[]{"other", "value"})
+            .write(new File(folder.getRoot(), fileName));
+  }
+
+
+  @Test
+  public void testThatWorkbooksAreReadOnce() throws Exception
+  {
+    DataSetCache dataSetCache = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE);
+    File dataSetFile = writeDataSet("data.xlsx", "first");
+
+    DataSetCache.DataSets dataSets = dataSetCache.get(dataSetFile, new WorkbookSheetReader());
+
+    assertSame(dataSets, dataSetCache.get(dataSetFile, new WorkbookSheetReader()));
+    assertSame(dataSets, dataSetCache.get(new File(folder.getRoot(), "./data.xlsx"),
+                                          new WorkbookSheetReader()));
+    assertEquals(1, dataSetCache.getMisses());
+    assertEquals(2, dataSetCache.getHits());
+    assertEquals(1, dataSetCache.getNumberOfWorkbooks());
+    assertEquals(dataSets.getSize(), dataSetCache.getSize());
+
+    assertEquals(Arrays.asList("Default", "Other"), dataSets.getDataSetNames());
+    assertEquals("first", dataSets.getVariables("Default").getProperty("name"));
+    assertEquals("value", dataSets.getVariables("Other").getProperty("other"));
+  }
+
+
+  @Test
+  public void testThatWorkbooksAreOpenedOnce() throws Exception
+  {
+    WorkbookSheetReader workbookSheetReader = new WorkbookSheetReader();
+    int[] opened = new int[1];
+
+    // Count every call that opens the workbook
+    SheetReader sheetReader = new SheetReader()
+    {
+      @Override
+      public LinkedList<String> getSheetNames(File workbook) throws Exception
+      {
+        opened[0]++;
+        return workbookSheetReader.getSheetNames(workbook);
+      }
+
+
+      @Override
+      public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws
+              Exception
+      {
+        opened[0]++;
+        workbookSheetReader.readSheet(workbook, sheetName, rowHandler);
+      }
+
+
+      @Override
+      public void readSheets(File workbook, Function<String, RowHandler> sheetHandler) throws
+              Exception
+      {
+        opened[0]++;
+        workbookSheetReader.readSheets(workbook, sheetHandler);
+      }
+    };
+
+    DataSetCache.DataSets dataSets = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE).get(
+            writeDataSet("data.xlsx", "first"), sheetReader);
+
+    assertEquals(1, opened[0]);
+    assertEquals(Arrays.asList("Default", "Other"), dataSets.getDataSetNames());
+    assertEquals("first", dataSets.getVariables("Default").getProperty("name"));
+    assertEquals("value", dataSets.getVariables("Other").getProperty("other"));
+  }
+
+
+  @Test
+  public void testThatChangedWorkbooksAreReadAgain() throws Exception
+  {
+    DataSetCache dataSetCache = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE);
+    File dataSetFile = writeDataSet("data.xlsx", "first");
+    long lastModified = dataSetFile.lastModified();
+
+    DataSetCache.DataSets dataSets = dataSetCache.get(dataSetFile, new WorkbookSheetReader());
+
+    writeDataSet("data.xlsx", "second").setLastModified(lastModified + 2000);
+
+    DataSetCache.DataSets changed = dataSetCache.get(dataSetFile, new WorkbookSheetReader());
+
+    assertNotSame(dataSets, changed);
+    assertEquals("second", changed.getVariables("Default").getProperty("name"));
+    assertEquals(2, dataSetCache.getMisses());
+    assertEquals(1, dataSetCache.getNumberOfWorkbooks());
+    assertEquals(changed.getSize(), dataSetCache.getSize());
+  }
+
+
+  @Test
+  public void testThatLeastRecentlyUsedWorkbooksAreEvicted() throws Exception
+  {
+    File first = writeDataSet("first.xlsx", "1");
+    File second = writeDataSet("second.xlsx", "2");
+    File third = writeDataSet("third.xlsx", "3");
+    long workbookSize = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE).get(first,
+                                                                            new WorkbookSheetReader()).
+            getSize();
+    DataSetCache dataSetCache = new DataSetCache(workbookSize * 2);
+
+    dataSetCache.get(first, new WorkbookSheetReader());
+    dataSetCache.get(second, new WorkbookSheetReader());
+    dataSetCache.get(first, new WorkbookSheetReader());
+    dataSetCache.get(third, new WorkbookSheetReader());
+
+    assertEquals(2, dataSetCache.getNumberOfWorkbooks());
+    assertEquals(workbookSize * 2, dataSetCache.getSize());
+
+    // The second workbook was the least recently used one
+    dataSetCache.get(first, new WorkbookSheetReader());
+    dataSetCache.get(third, new WorkbookSheetReader());
+    dataSetCache.get(second, new WorkbookSheetReader());
+
+    assertEquals(3, dataSetCache.getHits());
+    assertEquals(4, dataSetCache.getMisses());
+
+    dataSetCache.setMaxSize(0);
+
+    assertEquals(0, dataSetCache.getNumberOfWorkbooks());
+    assertEquals(0, dataSetCache.getSize());
+  }
+
+
+  @Test
+  public void testThatVariablesAreCopied() throws Exception
+  {
+    DataSetCache dataSetCache = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE);
+    File dataSetFile = writeDataSet("data.xlsx", "first");
+
+    Properties variables = dataSetCache.get(dataSetFile, new WorkbookSheetReader()).
+            getVariables("Default");
+    variables.setProperty("name", "changed");
+
+    assertEquals("first", dataSetCache.get(dataSetFile, new WorkbookSheetReader()).
+                 getVariables("Default").getProperty("name"));
+  }
+
+
+  @Test(expected = NoSuchElementException.class)
+  public void testUnknownDataSet() throws Exception
+  {
+    DataSetCache dataSetCache = new DataSetCache(DataSetCache.DEFAULT_MAX_SIZE);
+
+    dataSetCache.get(writeDataSet("data.xlsx", "first"), new WorkbookSheetReader()).
+            getVariables("Unknown");
+  }
+
+}
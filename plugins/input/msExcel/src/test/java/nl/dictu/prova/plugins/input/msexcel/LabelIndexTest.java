@@ -0,0 +1,153 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelIndexTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicInteger numberOfReads = new AtomicInteger();
+
+
+  public LabelIndexTest()
+  {
+  }
+
+
+  /**
+   * Reads the labels from the content of a text file
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private LinkedList<String> readLabels(Path workbook) throws Exception
+  {
+    numberOfReads.incrementAndGet();
+
+    return new LinkedList<>(Arrays.asList(new String(Files.readAllBytes(workbook), "UTF-8").
+            split(",")));
+  }
+
+
+  /**
+   * Create a file with the given labels
+   *
+   * @param name
+   * @param labels
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private Path writeFile(String name, String labels) throws Exception
+  {
+    Path file = folder.getRoot().toPath().resolve(name);
+
+    Files.createDirectories(file.getParent());
+    Files.write(file, labels.getBytes("UTF-8"));
+
+    return file;
+  }
+
+
+  @Test
+  public void testFilter() throws Exception
+  {
+    ArrayList<Path> workbooks = new ArrayList<>(Arrays.asList(writeFile("a", "smoke"),
+                                                              writeFile("b", "regression"),
+                                                              writeFile("sub/c",
+                                                                        "regression,smoke")));
+    LabelIndex labelIndex = new LabelIndex(folder.getRoot().toPath(), null);
+
+    assertEquals(Arrays.asList(workbooks.get(0), workbooks.get(2)),
+                 labelIndex.filter(workbooks, new String[]{"Smoke "}, this::readLabels));
+    assertEquals(Arrays.asList(workbooks.get(1), workbooks.get(2)),
+                 labelIndex.filter(workbooks, new String[]{"regression"}, this::readLabels));
+    assertEquals(3, labelIndex.size());
+    assertEquals(3, numberOfReads.get());
+  }
+
+
+  @Test
+  public void testThatOnlyChangedWorkbooksAreRead() throws Exception
+  {
+    File indexFile = new File(folder.getRoot(), "index/labels.index");
+    ArrayList<Path> workbooks = new ArrayList<>(Arrays.asList(writeFile("a", "smoke"),
+                                                              writeFile("b", "regression"),
+                                                              writeFile("c", "other")));
+
+    new LabelIndex(folder.getRoot().toPath(), indexFile).filter(workbooks, new String[]{"smoke"},
+                                                                this::readLabels);
+
+    assertTrue(indexFile.exists());
+    assertEquals(3, numberOfReads.get());
+
+    // A new index (next run) loads the index file
+    writeFile("b", "smoke,regression").toFile().setLastModified(System.currentTimeMillis() +
+                                                                10000);
+    workbooks.remove(2);
+
+    LabelIndex labelIndex = new LabelIndex(folder.getRoot().toPath(), indexFile);
+
+    assertEquals(workbooks, labelIndex.filter(workbooks, new String[]{"smoke"},
+                                              this::readLabels));
+    assertEquals(4, numberOfReads.get());
+    assertEquals(2, labelIndex.size());
+    assertEquals(2, new LabelIndex(folder.getRoot().toPath(), indexFile).size());
+  }
+
+
+  @Test
+  public void testThatAnInvalidIndexFileIsRebuilt() throws Exception
+  {
+    File indexFile = folder.newFile("labels.index");
+    ArrayList<Path> workbooks = new ArrayList<>(Arrays.asList(writeFile("a", "smoke")));
+
+    Files.write(indexFile.toPath(), new byte[]{1, 2, 3});
+
+    assertEquals(workbooks, new LabelIndex(folder.getRoot().toPath(), indexFile).filter(
+                 workbooks, new String[]{"smoke"}, this::readLabels));
+    assertEquals(1, new LabelIndex(folder.getRoot().toPath(), indexFile).size());
+  }
+
+}
@@ -19,11 +19,23 @@
  */
 package nl.dictu.prova.plugins.input.msexcel;
 
+import java.io.File;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestCaseBuilder;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -32,6 +44,9 @@ import org.junit.Test;
 public class MsExcelTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public MsExcelTest()
   {
   }
@@ -67,6 +82,7 @@ public class MsExcelTest
   @Test
   public void testInit() throws Exception
   {
+    new MsExcel().init(new Prova());
   }
 
 
@@ -76,6 +92,19 @@ public class MsExcelTest
   @Test
   public void testSetTestRoot()
   {
+    MsExcel msExcel = new MsExcel();
+
+    assertEquals(folder.getRoot().getAbsolutePath(), msExcel.setTestRoot(folder.getRoot().
+                 getPath(), "Project"));
+
+    try
+    {
+      msExcel.setTestRoot(new File(folder.getRoot(), "missing").getPath(), "Project");
+      fail("Missing test root accepted");
+    }
+    catch(IllegalArgumentException eX)
+    {
+    }
   }
 
 
@@ -83,8 +112,20 @@ public class MsExcelTest
    * Test of setTestCaseFilter method, of class MsExcel.
    */
   @Test
-  public void testSetTestCaseFilter()
+  public void testSetTestCaseFilter() throws Exception
   {
+    writeTestCase("a.xlsx", "regression");
+    writeTestCase("sub/b.xlsx", "smoke");
+    writeTestCase("sub/c.xlsx", "smoke,regression");
+
+    MsExcel msExcel = createMsExcel();
+
+    assertEquals("smoke,other", msExcel.setTestCaseFilter(new String[]{"smoke", "other"}));
+
+    TestSuite testSuite = msExcel.setUp(new TestSuite("Root"));
+
+    assertEquals(0, testSuite.numberOfTestCases());
+    assertEquals(2, testSuite.numberOfTestCases(true));
   }
 
 
@@ -92,8 +133,16 @@ public class MsExcelTest
    * Test of setUp method, of class MsExcel.
    */
   @Test
-  public void testSetUp()
+  public void testSetUp() throws Exception
   {
+    writeTestCase("a.xlsx", "regression");
+    writeTestCase("sub/b.xlsx", "smoke");
+
+    TestSuite testSuite = createMsExcel().setUp(new TestSuite("Root"));
+
+    assertEquals(1, testSuite.numberOfTestCases());
+    assertEquals(1, testSuite.numberOfTestSuites());
+    assertEquals(2, testSuite.numberOfTestCases(true));
   }
 
 
@@ -101,8 +150,40 @@ public class MsExcelTest
    * Test of loadTestCase method, of class MsExcel.
    */
   @Test
-  public void testLoadTestCase()
+  public void testLoadTestCase() throws Exception
   {
+    File workbook = new TestWorkbookWriter()
+            .addSheet(TestCaseBuilder.SHEET_HEADERS,
+                      new String[]{TestCaseBuilder.HEADER_TYPE, "web"})
+            .addSheet(MsExcel.SHEET_SETUP,
+                      new String[]{"action", "locator"},
+                      new String[]{"Open", "http://localhost"})
+            .addSheet(MsExcel.SHEET_TEST,
+                      new String[]{"action", "locator", "value"},
+                      new String[]{"SetText", "//input", "text"},
+                      new String[]{"Click", "//button"})
+            .write(folder.newFile("test.xlsx"));
+    Prova prova = new Prova();
+
+    prova.addOutputPlugin(new ActionPlugin(), TestType.WEB);
+
+    MsExcel msExcel = new MsExcel();
+    msExcel.init(prova);
+    msExcel.setTestRoot(folder.getRoot().getPath(), "Project");
+
+    TestCase testCase = msExcel.setUp(new TestSuite("Root")).getTestCases().values().iterator().
+            next();
+
+    assertEquals(0, testCase.getTestActions().size());
+
+    msExcel.loadTestCase(testCase);
+
+    assertEquals(1, testCase.getSetUpActions().size());
+    assertEquals("Open", testCase.getSetUpActions().getFirst().getAttribute("name"));
+    assertEquals(2, testCase.getTestActions().size());
+    assertEquals("Click", testCase.getTestActions().getLast().getAttribute("name"));
+    assertEquals(0, testCase.getTearDownActions().size());
+    assertEquals(workbook.getPath(), testCase.getId());
   }
 
 
@@ -112,6 +193,7 @@ public class MsExcelTest
   @Test
   public void testShutDown()
   {
+    new MsExcel().shutDown();
   }
 
 
@@ -121,6 +203,47 @@ public class MsExcelTest
   @Test
   public void testGetName()
   {
+    assertEquals("MS Excel", new MsExcel().getName());
+  }
+
+
+  /**
+   * Create an initialised plug-in for the temporary folder
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private MsExcel createMsExcel() throws Exception
+  {
+    MsExcel msExcel = new MsExcel();
+
+    msExcel.init(new Prova());
+    msExcel.setTestRoot(folder.getRoot().getPath(), "Project");
+
+    return msExcel;
+  }
+
+
+  /**
+   * Write a test case workbook with the given labels
+   *
+   * @param path
+   * @param labels
+   *
+   * @throws Exception
+   */
+  private void writeTestCase(String path, String labels) throws Exception
+  {
+    File file = new File(folder.getRoot(), path);
+
+    file.getParentFile().mkdirs();
+
+    new TestWorkbookWriter()
+            .addSheet(TestCaseBuilder.SHEET_HEADERS,
+                      new String[]{TestCaseBuilder.HEADER_TYPE, "web"},
+                      new String[]{TestCaseBuilder.HEADER_LABELS, labels})
+            .write(file);
   }
 
 }
@@ -19,11 +19,28 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.LinkedList;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.ActionPlugin;
+import nl.dictu.prova.plugins.input.msexcel.MsExcel;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -32,6 +49,9 @@ import org.junit.Test;
 public class TestCaseBuilderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public TestCaseBuilderTest()
   {
   }
@@ -65,8 +85,78 @@ public class TestCaseBuilderTest
    * Test of buildTestCase method, of class TestCaseBuilder.
    */
   @Test
-  public void testBuildTestCase()
+  public void testBuildTestCase() throws Exception
+  {
+    File workbook = new TestWorkbookWriter()
+            .addSheet("Test", new String[]{"Action", "Locator"}, new String[]{"SetText", "id"})
+            .addSheet(TestCaseBuilder.SHEET_HEADERS,
+                      new String[]{TestCaseBuilder.HEADER_TYPE, "Web"},
+                      new String[]{"Owner", "Prova"})
+            .write(folder.newFile("test.xlsx"));
+
+    TestCase testCase = new TestCaseBuilder(new Prova()).buildTestCase(workbook);
+
+    assertEquals(workbook.getPath(), testCase.getId());
+    assertEquals(TestType.WEB, testCase.getTestType());
+    assertEquals("Prova", testCase.getHeader("Owner"));
+    assertTrue(testCase.getTestActions().isEmpty());
+  }
+
+
+  /**
+   * Test of buildTestCase method, of class TestCaseBuilder, with an unknown
+   * test type.
+   */
+  @Test
+  public void testBuildTestCaseInvalidType() throws Exception
+  {
+    File workbook = new TestWorkbookWriter()
+            .addSheet(TestCaseBuilder.SHEET_HEADERS,
+                      new String[]{TestCaseBuilder.HEADER_TYPE, "Mainframe"})
+            .write(folder.newFile("invalid.xlsx"));
+
+    try
+    {
+      new TestCaseBuilder(new Prova()).buildTestCase(workbook);
+      fail("Invalid test type accepted");
+    }
+    catch(InvalidParameterException eX)
+    {
+      assertTrue(eX.getMessage().contains("'Mainframe'"));
+      assertTrue(eX.getMessage().contains(workbook.getPath()));
+    }
+  }
+
+
+  /**
+   * Test of parseActionSheets method, of class TestCaseBuilder.
+   */
+  @Test
+  public void testParseActionSheets() throws Exception
   {
+    File workbook = new TestWorkbookWriter()
+            .addSheet(MsExcel.SHEET_TEST,
+                      new String[]{"action", "locator"},
+                      new String[]{"Click", "//button"},
+                      new String[]{"Click", "//link"})
+            .addSheet("Notes", new String[]{"Not", "an action"})
+            .addSheet(MsExcel.SHEET_SETUP,
+                      new String[]{"action", "locator"},
+                      new String[]{"Open", "http://localhost"})
+            .write(folder.newFile("actions.xlsx"));
+    Prova prova = new Prova();
+
+    prova.addOutputPlugin(new ActionPlugin(), TestType.WEB);
+
+    HashMap<String, LinkedList<TestAction>> testActions = new TestCaseBuilder(prova).
+            parseActionSheets(workbook, TestType.WEB, MsExcel.SHEET_SETUP, MsExcel.SHEET_TEST,
+                              MsExcel.SHEET_TEARDOWN);
+
+    assertEquals(2, testActions.size());
+    assertEquals(1, testActions.get(MsExcel.SHEET_SETUP).size());
+    assertEquals("Open", testActions.get(MsExcel.SHEET_SETUP).getFirst().getAttribute("name"));
+    assertEquals(2, testActions.get(MsExcel.SHEET_TEST).size());
+    assertEquals("//link", testActions.get(MsExcel.SHEET_TEST).getLast().getAttribute("locator"));
   }
 
 
@@ -19,11 +19,28 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.MsExcelConfig;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -32,6 +49,9 @@ import org.junit.Test;
 public class TestSuiteBuilderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public TestSuiteBuilderTest()
   {
   }
@@ -65,8 +85,172 @@ public class TestSuiteBuilderTest
    * Test of buildTestSuite method, of class TestSuiteBuilder.
    */
   @Test
-  public void testBuildTestSuite()
+  public void testBuildTestSuite() throws Exception
   {
+    writeTestCase("b.xlsx", "web", "smoke");
+    writeTestCase("a.xlsx", "shell", "regression");
+    writeTestCase("sub/deeper/c.xlsx", "web", "smoke, regression");
+    writeTestCase("sub/d.xlsx", "db", "");
+    writeTestCase("empty/~$lock.xlsx", "web", "smoke");
+    new File(folder.getRoot(), "readme.txt").createNewFile();
+
+    TestSuiteBuilder testSuiteBuilder = new TestSuiteBuilder(new Prova());
+    TestSuite testSuite = testSuiteBuilder.buildTestSuite(folder.getRoot().getPath(), null);
+
+    assertEquals(Arrays.asList("a.xlsx", "b.xlsx"), getFileNames(testSuite));
+    assertEquals(1, testSuite.numberOfTestSuites());
+    assertEquals(4, testSuite.numberOfTestCases(true));
+
+    TestSuite sub = testSuite.getTestSuites().values().iterator().next();
+
+    assertEquals(Arrays.asList("d.xlsx"), getFileNames(sub));
+    assertEquals(Arrays.asList("c.xlsx"), getFileNames(sub.getTestSuites().values().iterator().
+            next()));
+
+    TestCase testCase = testSuite.getTestCases().values().iterator().next();
+
+    assertEquals(TestType.SHELL, testCase.getTestType());
+    assertEquals("regression", testCase.getHeader(TestCaseBuilder.HEADER_LABELS));
+    assertEquals(4, testSuiteBuilder.getParseTimes().size());
+  }
+
+
+  /**
+   * Test that only test cases with one of the labels of the filter are added
+   */
+  @Test
+  public void testBuildTestSuiteWithFilter() throws Exception
+  {
+    writeTestCase("a.xlsx", "shell", "regression");
+    writeTestCase("b.xlsx", "web", "Smoke");
+    writeTestCase("sub/c.xlsx", "web", "other");
+
+    TestSuite testSuite = new TestSuiteBuilder(new Prova()).buildTestSuite(folder.getRoot().
+            getPath(), new String[]{"smoke"});
+
+    assertEquals(Arrays.asList("b.xlsx"), getFileNames(testSuite));
+    assertEquals(0, testSuite.numberOfTestSuites());
+  }
+
+
+  /**
+   * Test that the structure doesn't depend on the number of parse threads
+   */
+  @Test
+  public void testBuildTestSuiteIsDeterministic() throws Exception
+  {
+    for(int i = 0; i < 30; i++)
+    {
+      writeTestCase("dir" + (i % 4) + "/test" + i + ".xlsx", "web", "label" + i);
+    }
+
+    Prova sequential = new Prova();
+    Prova parallel = new Prova();
+
+    sequential.setProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_PARSE_THREADS, "1");
+    parallel.setProperty(MsExcelConfig.PROVA_PLUGINS_MSEXCEL_PARSE_THREADS, "8");
+
+    assertEquals(describe(new TestSuiteBuilder(sequential).buildTestSuite(folder.getRoot().
+            getPath(), null)),
+                 describe(new TestSuiteBuilder(parallel).buildTestSuite(folder.getRoot().
+                         getPath(), null)));
+  }
+
+
+  /**
+   * Test that a second build only opens new and changed workbooks
+   */
+  @Test
+  public void testRebuildSkipsUnchangedWorkbooks() throws Exception
+  {
+    writeTestCase("a.xlsx", "shell", "regression");
+    writeTestCase("b.xlsx", "web", "smoke");
+
+    TestSuiteBuilder testSuiteBuilder = new TestSuiteBuilder(new Prova());
+    testSuiteBuilder.buildTestSuite(folder.getRoot().getPath(), null);
+
+    // Unreadable content with the same size and modification time
+    Path workbook = new File(folder.getRoot(), "a.xlsx").toPath();
+    FileTime lastModified = Files.getLastModifiedTime(workbook);
+    Files.write(workbook, new byte[(int) Files.size(workbook)]);
+    Files.setLastModifiedTime(workbook, lastModified);
+
+    TestSuite testSuite = testSuiteBuilder.buildTestSuite(folder.getRoot().getPath(), null);
+
+    assertEquals(Arrays.asList("a.xlsx", "b.xlsx"), getFileNames(testSuite));
+    assertEquals(TestType.SHELL, testSuite.getTestCases().values().iterator().next().
+            getTestType());
+
+    // Changed workbooks are parsed again
+    Files.setLastModifiedTime(workbook, FileTime.fromMillis(lastModified.toMillis() + 2000));
+
+    testSuite = testSuiteBuilder.buildTestSuite(folder.getRoot().getPath(), null);
+
+    assertEquals(Arrays.asList("b.xlsx"), getFileNames(testSuite));
+  }
+
+
+  /**
+   * Write a test case workbook with a headers sheet
+   *
+   * @param path
+   * @param type
+   * @param labels
+   *
+   * @throws Exception
+   */
+  private void writeTestCase(String path, String type, String labels) throws Exception
+  {
+    File file = new File(folder.getRoot(), path);
+
+    assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+
+    new TestWorkbookWriter()
+            .addSheet(TestCaseBuilder.SHEET_HEADERS,
+                      new String[]{TestCaseBuilder.HEADER_TYPE, type},
+                      new String[]{TestCaseBuilder.HEADER_LABELS, labels})
+            .write(file);
+  }
+
+
+  /**
+   * Get the file names of the test cases of {@link testSuite}
+   *
+   * @param testSuite
+   *
+   * @return
+   */
+  private ArrayList<String> getFileNames(TestSuite testSuite)
+  {
+    ArrayList<String> fileNames = new ArrayList<>();
+
+    for(String id : testSuite.getTestCases().keySet())
+    {
+      fileNames.add(new File(id).getName());
+    }
+
+    return fileNames;
+  }
+
+
+  /**
+   * Describe the structure of {@link testSuite} in order
+   *
+   * @param testSuite
+   *
+   * @return
+   */
+  private String describe(TestSuite testSuite)
+  {
+    StringBuilder description = new StringBuilder(testSuite.getId()).append(testSuite.
+            getTestCases().keySet()).append("{");
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      description.append(describe(subTestSuite));
+    }
+
+    return description.append("}").toString();
   }
 
 }
@@ -19,11 +19,22 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
 
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.LinkedList;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.plugins.input.msexcel.ActionPlugin;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -32,6 +43,9 @@ import org.junit.Test;
 public class TestCaseReaderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public TestCaseReaderTest()
   {
   }
@@ -67,6 +81,39 @@ public class TestCaseReaderTest
   @Test
   public void testParseActionSheet() throws Exception
   {
+    File workbook = new TestWorkbookWriter()
+            .addSheet("Actions",
+                      null,
+                      new String[]{"action", "locator", "value"},
+                      new String[]{"SetText", "//input", "hello"},
+                      new String[]{"", "ignored"},
+                      new String[]{"Click", "//button"})
+            .write(folder.newFile("actions.xlsx"));
+    TestCaseReader testCaseReader = new WebTestCaseReader();
+
+    for(boolean streaming : new boolean[]{false, true})
+    {
+      testCaseReader.setStreaming(streaming);
+
+      LinkedList<TestAction> testActions = testCaseReader.parseActionSheet(workbook, "Actions",
+                                                                           new ActionPlugin());
+
+      assertEquals(2, testActions.size());
+      assertEquals("SetText", testActions.get(0).getAttribute("name"));
+      assertEquals("//input", testActions.get(0).getAttribute("locator"));
+      assertEquals("hello", testActions.get(0).getAttribute("value"));
+      assertEquals("Click", testActions.get(1).getAttribute("name"));
+      assertEquals("//button", testActions.get(1).getAttribute("locator"));
+
+      try
+      {
+        testActions.get(1).getAttribute("value");
+        fail("Empty cells should not be set as attribute");
+      }
+      catch(InvalidParameterException eX)
+      {
+      }
+    }
   }
 
 
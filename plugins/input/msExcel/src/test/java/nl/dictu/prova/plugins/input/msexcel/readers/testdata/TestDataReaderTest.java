@@ -19,11 +19,19 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.Properties;
+import nl.dictu.prova.plugins.input.msexcel.util.TestWorkbookWriter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  *
@@ -32,6 +40,9 @@ import org.junit.Test;
 public class TestDataReaderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public TestDataReaderTest()
   {
   }
@@ -67,6 +78,16 @@ public class TestDataReaderTest
   @Test
   public void testGetDataSetNames() throws Exception
   {
+    File dataSetFile = writeDataSets();
+    TestDataReader testDataReader = new WebTestDataReader();
+
+    for(boolean streaming : new boolean[]{false, true})
+    {
+      testDataReader.setStreaming(streaming);
+
+      assertEquals(Arrays.asList("Default", "Other"), testDataReader.getDataSetNames(
+                   dataSetFile));
+    }
   }
 
 
@@ -76,6 +97,43 @@ public class TestDataReaderTest
   @Test
   public void testGetVariables() throws Exception
   {
+    File dataSetFile = writeDataSets();
+    TestDataReader testDataReader = new WebTestDataReader();
+
+    for(boolean streaming : new boolean[]{false, true})
+    {
+      testDataReader.setStreaming(streaming);
+
+      Properties variables = testDataReader.getVariables(dataSetFile, "Default");
+
+      assertEquals(3, variables.size());
+      assertEquals("admin", variables.getProperty("user"));
+      assertEquals("secret", variables.getProperty("password"));
+      assertEquals("", variables.getProperty("empty"));
+
+      assertEquals("other", testDataReader.getVariables(dataSetFile, "Other").getProperty("user"));
+    }
+  }
+
+
+  /**
+   * Write a data set file with two data sets
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writeDataSets() throws Exception
+  {
+    return new TestWorkbookWriter()
+            .addSheet("Default",
+                      new String[]{"user", "admin"},
+                      new String[]{"password", "secret"},
+                      new String[]{"", "no name"},
+                      new String[]{"empty"})
+            .addSheet("Other",
+                      new String[]{"user", "other"})
+            .write(folder.newFile("data.xlsx"));
   }
 
 }
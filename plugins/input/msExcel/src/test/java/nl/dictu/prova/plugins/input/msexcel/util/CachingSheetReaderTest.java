@@ -0,0 +1,288 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CachingSheetReaderTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public CachingSheetReaderTest()
+  {
+  }
+
+
+  /**
+   * Write a workbook with two sheets
+   *
+   * @param value
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writeWorkbook(String value) throws Exception
+  {
+    return new TestWorkbookWriter()
+            .addSheet("First", new String[]{"a", value})
+            .addSheet("Second",
+                      new String[]{"name", "value"},
+                      null,
+                      new String[]{"x", "", "", "z"})
+            .write(new File(folder.getRoot(), "test.xlsx"));
+  }
+
+
+  /**
+   * Read all rows of a sheet
+   *
+   * @param sheetReader
+   * @param workbook
+   * @param sheetName
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private ArrayList<String> readRows(SheetReader sheetReader, File workbook, String sheetName)
+          throws Exception
+  {
+    ArrayList<String> rows = new ArrayList<>();
+
+    sheetReader.readSheet(workbook, sheetName, (rowNumber, cells) ->
+                  {
+                    rows.add(rowNumber + ":" + Arrays.toString(cells));
+                    return true;
+                  });
+
+    return rows;
+  }
+
+
+  @Test
+  public void testThatCachedRowsMatchTheWorkbook() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    File cacheDirectory = new File(folder.getRoot(), "cache");
+    CountingSheetReader countingSheetReader = new CountingSheetReader(new StreamingSheetReader());
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(countingSheetReader,
+                                                                   cacheDirectory);
+
+    assertEquals(Arrays.asList("First", "Second"), cachingSheetReader.getSheetNames(workbook));
+    assertTrue(cachingSheetReader.getCacheFile(workbook).exists());
+
+    for(String sheetName : new String[]{"First", "Second"})
+    {
+      assertEquals(readRows(new StreamingSheetReader(), workbook, sheetName),
+                   readRows(cachingSheetReader, workbook, sheetName));
+    }
+
+    // A new reader uses the cache file of the previous one
+    assertEquals(readRows(new StreamingSheetReader(), workbook, "Second"),
+                 readRows(new CachingSheetReader(countingSheetReader, cacheDirectory), workbook,
+                          "Second"));
+    assertEquals(1, countingSheetReader.numberOfOpens.get());
+  }
+
+
+  @Test
+  public void testThatChangedWorkbooksAreReadAgain() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    CountingSheetReader countingSheetReader = new CountingSheetReader(new WorkbookSheetReader());
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(countingSheetReader,
+                                                                   folder.newFolder("cache"));
+
+    assertEquals(Arrays.asList("0:[a, b]"), readRows(cachingSheetReader, workbook, "First"));
+
+    // Same content with a new modification time
+    workbook.setLastModified(workbook.lastModified() + 10000);
+
+    assertEquals(Arrays.asList("0:[a, b]"), readRows(cachingSheetReader, workbook, "First"));
+    assertEquals(1, countingSheetReader.numberOfOpens.get());
+
+    writeWorkbook("changed").setLastModified(workbook.lastModified() + 10000);
+
+    assertEquals(Arrays.asList("0:[a, changed]"), readRows(cachingSheetReader, workbook,
+                                                          "First"));
+    assertEquals(2, countingSheetReader.numberOfOpens.get());
+  }
+
+
+  @Test
+  public void testThatANewModificationTimeIsStored() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(new WorkbookSheetReader(),
+                                                                   folder.newFolder("cache"));
+    File cacheFile = cachingSheetReader.getCacheFile(workbook);
+
+    cachingSheetReader.getSheetNames(workbook);
+    workbook.setLastModified(workbook.lastModified() + 10000);
+
+    assertEquals(Arrays.asList("0:[a, b]"), readRows(cachingSheetReader, workbook, "First"));
+
+    // The next read compares the modification time only
+    try(DataInputStream input = new DataInputStream(new FileInputStream(cacheFile)))
+    {
+      input.skipBytes(8);
+      input.skipBytes(input.readInt());
+
+      assertEquals(workbook.lastModified(), input.readLong());
+    }
+  }
+
+
+  @Test
+  public void testReadSheets() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(new WorkbookSheetReader(),
+                                                                   folder.newFolder("cache"));
+    ArrayList<String> rows = new ArrayList<>();
+
+    cachingSheetReader.readSheets(workbook, sheetName ->
+                          {
+                            rows.add(sheetName);
+
+                            // Stop the first sheet at its first row
+                            return (rowNumber, cells) ->
+                            {
+                              rows.add(rowNumber + ":" + Arrays.toString(cells));
+                              return !sheetName.equals("First");
+                            };
+                          });
+
+    assertEquals(Arrays.asList("First", "0:[a, b]", "Second", "0:[name, value]", "2:[x, , , z]"),
+                 rows);
+  }
+
+
+  @Test
+  public void testThatInvalidCacheFilesAreReplaced() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    CountingSheetReader countingSheetReader = new CountingSheetReader(new WorkbookSheetReader());
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(countingSheetReader,
+                                                                   folder.newFolder("cache"));
+
+    Files.write(cachingSheetReader.getCacheFile(workbook).toPath(), new byte[]{1, 2, 3});
+
+    assertEquals(Arrays.asList("0:[a, b]"), readRows(cachingSheetReader, workbook, "First"));
+    assertEquals(1, countingSheetReader.numberOfOpens.get());
+  }
+
+
+  @Test
+  public void testReadSheetStopsWhenRequested() throws Exception
+  {
+    File workbook = writeWorkbook("b");
+    CachingSheetReader cachingSheetReader = new CachingSheetReader(new WorkbookSheetReader(),
+                                                                   folder.newFolder("cache"));
+    LinkedList<String> rows = new LinkedList<>();
+
+    cachingSheetReader.readSheet(workbook, "Second", (rowNumber, cells) ->
+                         {
+                           rows.add(cells[0]);
+                           return false;
+                         });
+
+    assertEquals(Arrays.asList("name"), rows);
+  }
+
+
+  @Test(expected = NoSuchElementException.class)
+  public void testReadUnknownSheet() throws Exception
+  {
+    new CachingSheetReader(new WorkbookSheetReader(), folder.newFolder("cache")).
+            readSheet(writeWorkbook("b"), "Unknown", (rowNumber, cells) -> true);
+  }
+
+
+  /**
+   * Counts the number of times a workbook is opened
+   */
+  private static class CountingSheetReader implements SheetReader
+  {
+
+    private final SheetReader sheetReader;
+    private final AtomicInteger numberOfOpens = new AtomicInteger();
+
+
+    private CountingSheetReader(SheetReader sheetReader)
+    {
+      this.sheetReader = sheetReader;
+    }
+
+
+    @Override
+    public LinkedList<String> getSheetNames(File workbook) throws Exception
+    {
+      numberOfOpens.incrementAndGet();
+
+      return sheetReader.getSheetNames(workbook);
+    }
+
+
+    @Override
+    public void readSheet(File workbook, String sheetName, RowHandler rowHandler) throws
+            Exception
+    {
+      numberOfOpens.incrementAndGet();
+
+      sheetReader.readSheet(workbook, sheetName, rowHandler);
+    }
+
+
+    @Override
+    public void readSheets(File workbook, Function<String, RowHandler> sheetHandler) throws
+            Exception
+    {
+      numberOfOpens.incrementAndGet();
+
+      sheetReader.readSheets(workbook, sheetHandler);
+    }
+
+  }
+
+}
@@ -19,12 +19,17 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.util;
 
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  *
  * @author Sjoerd Boerhout
@@ -67,6 +72,27 @@ public class CellReaderTest
   @Test
   public void testParseCellContent() throws Exception
   {
+    try(XSSFWorkbook workbook = new XSSFWorkbook())
+    {
+      Row row = workbook.createSheet("Sheet").createRow(0);
+
+      row.createCell(0).setCellValue("  text ");
+      row.createCell(1).setCellValue(42);
+      row.createCell(2).setCellValue(1.5);
+      row.createCell(3).setCellValue(true);
+      row.createCell(4);
+      row.createCell(5).setCellFormula("B1*2");
+      workbook.getCreationHelper().createFormulaEvaluator().evaluateFormulaCell(row.getCell(5));
+
+      assertEquals("text", CellReader.parseCellContent(row.getCell(0)));
+      assertEquals("42", CellReader.parseCellContent(row.getCell(1)));
+      assertEquals("1.5", CellReader.parseCellContent(row.getCell(2)));
+      assertEquals("TRUE", CellReader.parseCellContent(row.getCell(3)));
+      assertEquals("", CellReader.parseCellContent(row.getCell(4)));
+      assertEquals(Cell.CELL_TYPE_FORMULA, row.getCell(5).getCellType());
+      assertEquals("84", CellReader.parseCellContent(row.getCell(5)));
+      assertEquals("", CellReader.parseCellContent(row.getCell(6)));
+    }
   }
 
 }
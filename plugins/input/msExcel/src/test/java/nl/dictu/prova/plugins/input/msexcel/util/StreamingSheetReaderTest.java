@@ -0,0 +1,241 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class StreamingSheetReaderTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public StreamingSheetReaderTest()
+  {
+  }
+
+
+  /**
+   * Write a workbook with empty rows and cells
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writeWorkbook() throws Exception
+  {
+    return new TestWorkbookWriter()
+            .addSheet("First", new String[]{"a", "b"})
+            .addSheet("Second",
+                      new String[]{"name", "value"},
+                      null,
+                      new String[]{"x", "", "", "z"},
+                      new String[]{"", "", ""},
+                      new String[]{"", "y"},
+                      new String[]{" padded ", "1"})
+            .write(folder.newFile("test.xlsx"));
+  }
+
+
+  /**
+   * Read all rows of a sheet
+   *
+   * @param sheetReader
+   * @param workbook
+   * @param sheetName
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private ArrayList<String> readRows(SheetReader sheetReader, File workbook, String sheetName)
+          throws Exception
+  {
+    ArrayList<String> rows = new ArrayList<>();
+
+    sheetReader.readSheet(workbook, sheetName, (rowNumber, cells) ->
+                  {
+                    rows.add(rowNumber + ":" + Arrays.toString(cells));
+                    return true;
+                  });
+
+    return rows;
+  }
+
+
+  @Test
+  public void testGetSheetNames() throws Exception
+  {
+    LinkedList<String> sheetNames = new StreamingSheetReader().getSheetNames(writeWorkbook());
+
+    assertEquals(Arrays.asList("First", "Second"), sheetNames);
+  }
+
+
+  @Test
+  public void testReadSheetSkipsEmptyRowsAndFillsEmptyCells() throws Exception
+  {
+    ArrayList<String> rows = readRows(new StreamingSheetReader(), writeWorkbook(), "Second");
+
+    assertEquals(Arrays.asList("0:[name, value]",
+                               "2:[x, , , z]",
+                               "4:[, y]",
+                               "5:[padded, 1]"), rows);
+  }
+
+
+  @Test
+  public void testReadSheetGivesTheSameRowsAsTheWorkbookReader() throws Exception
+  {
+    File workbook = writeWorkbook();
+
+    for(String sheetName : new String[]{"First", "Second"})
+    {
+      assertEquals(readRows(new WorkbookSheetReader(), workbook, sheetName),
+                   readRows(new StreamingSheetReader(), workbook, sheetName));
+    }
+  }
+
+
+  @Test
+  public void testReadSheetsGivesTheSameRowsAsReadSheet() throws Exception
+  {
+    File workbook = writeWorkbook();
+
+    for(SheetReader sheetReader : new SheetReader[]{new WorkbookSheetReader(),
+                                                    new StreamingSheetReader()})
+    {
+      ArrayList<String> sheetNames = new ArrayList<>();
+      ArrayList<String> rows = new ArrayList<>();
+
+      sheetReader.readSheets(workbook, sheetName ->
+                     {
+                       sheetNames.add(sheetName);
+
+                       // Stop the first sheet after one row
+                       return (rowNumber, cells) ->
+                       {
+                         rows.add(rowNumber + ":" + Arrays.toString(cells));
+                         return !sheetName.equals("First");
+                       };
+                     });
+
+      ArrayList<String> expected = new ArrayList<>(readRows(sheetReader, workbook, "First").
+              subList(0, 1));
+      expected.addAll(readRows(sheetReader, workbook, "Second"));
+
+      assertEquals(Arrays.asList("First", "Second"), sheetNames);
+      assertEquals(expected, rows);
+    }
+  }
+
+
+  @Test
+  public void testReadSheetStopsWhenRequested() throws Exception
+  {
+    ArrayList<String> rows = new ArrayList<>();
+
+    new StreamingSheetReader().readSheet(writeWorkbook(), "Second", (rowNumber, cells) ->
+                                 {
+                                   rows.add(cells[0]);
+                                   return rows.size() < 2;
+                                 });
+
+    assertEquals(Arrays.asList("name", "x"), rows);
+  }
+
+
+  @Test
+  public void testReadSheetRethrowsExceptionOfTheRowHandler() throws Exception
+  {
+    try
+    {
+      new StreamingSheetReader().readSheet(writeWorkbook(), "Second", (rowNumber, cells) ->
+                                   {
+                                     throw new IllegalStateException("Row " + rowNumber);
+                                   });
+      fail("Exception of the row handler expected");
+    }
+    catch(IllegalStateException eX)
+    {
+      assertEquals("Row 0", eX.getMessage());
+    }
+  }
+
+
+  @Test(expected = NoSuchElementException.class)
+  public void testReadUnknownSheet() throws Exception
+  {
+    new StreamingSheetReader().readSheet(writeWorkbook(), "Unknown", (rowNumber, cells) -> true);
+  }
+
+
+  @Test
+  public void testReadLargeSheet() throws Exception
+  {
+    int numberOfRows = 5000;
+    String[][] rows = new String[numberOfRows][];
+
+    for(int i = 0; i < numberOfRows; i++)
+    {
+      rows[i] = new String[]{"Action" + i, "Value" + i, Integer.toString(i)};
+    }
+
+    File workbook = new TestWorkbookWriter().addSheet("Large", rows).write(folder.newFile(
+            "large.xlsx"));
+    int[] numberOfRowsRead = new int[1];
+
+    new StreamingSheetReader().readSheet(workbook, "Large", (rowNumber, cells) ->
+                                 {
+                                   assertArrayEquals(rows[rowNumber], cells);
+                                   numberOfRowsRead[0]++;
+                                   return true;
+                                 });
+
+    assertEquals(numberOfRows, numberOfRowsRead[0]);
+  }
+
+
+  @Test
+  public void testGetColumnIndex()
+  {
+    assertEquals(0, StreamingSheetReader.getColumnIndex("A1"));
+    assertEquals(25, StreamingSheetReader.getColumnIndex("Z10"));
+    assertEquals(26, StreamingSheetReader.getColumnIndex("AA3"));
+    assertEquals(731, StreamingSheetReader.getColumnIndex("ABD1"));
+  }
+
+}
@@ -0,0 +1,108 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Writes .xlsx workbooks for tests
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestWorkbookWriter
+{
+
+  private final LinkedHashMap<String, String[][]> sheets = new LinkedHashMap<>();
+
+
+  /**
+   * Add a sheet with the given rows. A null row is left empty, just like null
+   * or empty cells.
+   *
+   * @param sheetName
+   * @param rows
+   *
+   * @return
+   */
+  public TestWorkbookWriter addSheet(String sheetName, String[]... rows)
+  {
+    sheets.put(sheetName, rows);
+
+    return this;
+  }
+
+
+  /**
+   * Write the workbook to {@link file}
+   *
+   * @param file
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public File write(File file) throws Exception
+  {
+    // Shared strings like workbooks saved by Excel itself
+    SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, false, true);
+
+    try(FileOutputStream outputStream = new FileOutputStream(file))
+    {
+      for(Map.Entry<String, String[][]> entry : sheets.entrySet())
+      {
+        Sheet sheet = workbook.createSheet(entry.getKey());
+
+        for(int i = 0; i < entry.getValue().length; i++)
+        {
+          if(entry.getValue()[i] == null)
+          {
+            continue;
+          }
+
+          Row row = sheet.createRow(i);
+
+          for(int j = 0; j < entry.getValue()[i].length; j++)
+          {
+            if(entry.getValue()[i][j] != null && !entry.getValue()[i][j].isEmpty())
+            {
+              row.createCell(j).setCellValue(entry.getValue()[i][j]);
+            }
+          }
+        }
+      }
+
+      workbook.write(outputStream);
+    }
+    finally
+    {
+      workbook.dispose();
+      workbook.close();
+    }
+
+    return file;
+  }
+
+}
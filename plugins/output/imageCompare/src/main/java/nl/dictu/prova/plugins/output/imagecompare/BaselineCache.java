@@ -0,0 +1,179 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the most recently used baseline images decoded in memory. Decoding a
+ * full HD PNG takes much longer than comparing it, and the same baselines are
+ * used by many test runs. A cached baseline is read again when its file
+ * changed.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BaselineCache
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(BaselineCache.class.
+          getName());
+
+  private final LinkedHashMap<File, Baseline> baselines;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param maxSize Maximum number of baselines to keep
+   *
+   * @throws InvalidParameterException
+   */
+  public BaselineCache(int maxSize) throws InvalidParameterException
+  {
+    if(maxSize < 0)
+    {
+      throw new InvalidParameterException("Invalid cache size (" + maxSize + ")");
+    }
+
+    baselines = new LinkedHashMap<File, Baseline>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<File, Baseline> eldest)
+      {
+        return size() > maxSize;
+      }
+    };
+  }
+
+
+  /**
+   * Return the image in baseline {@link file}
+   *
+   * @param file
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public ImagePixels get(File file) throws IOException
+  {
+    File key = file.getAbsoluteFile();
+    long lastModified = key.lastModified();
+    long length = key.length();
+    Baseline baseline;
+
+    synchronized(baselines)
+    {
+      baseline = baselines.get(key);
+    }
+
+    if(baseline != null && baseline.lastModified == lastModified && baseline.length == length)
+    {
+      hits.incrementAndGet();
+      return baseline.imagePixels;
+    }
+
+    misses.incrementAndGet();
+
+    if( !key.isFile())
+    {
+      throw new IOException("Baseline '" + key + "' not found");
+    }
+
+    LOGGER.debug("Read baseline '{}'", key);
+
+    // Read outside the lock, so other baselines can be used meanwhile
+    baseline = new Baseline(ImagePixels.read(key), lastModified, length);
+
+    synchronized(baselines)
+    {
+      baselines.put(key, baseline);
+    }
+
+    return baseline.imagePixels;
+  }
+
+
+  /**
+   * Return the number of baselines found in the cache
+   *
+   * @return
+   */
+  public long getHits()
+  {
+    return hits.get();
+  }
+
+
+  /**
+   * Return the number of baselines read from file
+   *
+   * @return
+   */
+  public long getMisses()
+  {
+    return misses.get();
+  }
+
+
+  /**
+   * Return the number of cached baselines
+   *
+   * @return
+   */
+  public int getSize()
+  {
+    synchronized(baselines)
+    {
+      return baselines.size();
+    }
+  }
+
+
+  /**
+   * A decoded baseline and the state of its file
+   */
+  private static class Baseline
+  {
+
+    private final ImagePixels imagePixels;
+    private final long lastModified;
+    private final long length;
+
+
+    private Baseline(ImagePixels imagePixels, long lastModified, long length)
+    {
+      this.imagePixels = imagePixels;
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+  }
+
+}
@@ -0,0 +1,196 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import nl.dictu.prova.plugins.output.imagecompare.actions.CompareImage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Output plug-in comparing images, e.g. screenshots taken by a web test, with
+ * baseline images to detect visual regressions. The images are compared with
+ * an {@link ImageDiff} and the baselines are kept in a {@link BaselineCache}
+ * shared by all test cases.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImageCompare implements OutputPlugin
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ImageCompare.class.
+          getName());
+
+  private final static int DEFAULT_CACHE_SIZE = 8;
+
+  private TestRunner testRunner;
+  private ExecutorService executorService;
+  private ImageDiff imageDiff;
+  private BaselineCache baselineCache;
+
+  private final AtomicInteger lastActionId = new AtomicInteger();
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+    if(testRunner == null)
+    {
+      throw new InvalidParameterException("Test runner can not be null");
+    }
+
+    this.testRunner = testRunner;
+
+    int threads = Integer.parseInt(getProperty(
+            ImageCompareConfig.PROVA_PLUGINS_IMAGECOMPARE_THREADS,
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+    AtomicInteger threadNumber = new AtomicInteger();
+
+    if(threads < 1)
+    {
+      throw new InvalidParameterException("Invalid number of threads (" + threads + ")");
+    }
+
+    executorService = Executors.newFixedThreadPool(threads, (runnable) ->
+                                           {
+                                             Thread thread = new Thread(runnable, "ImageCompare-"
+                                                                                  + threadNumber.
+                                                                                  incrementAndGet());
+                                             thread.setDaemon(true);
+                                             return thread;
+                                           });
+    imageDiff = new ImageDiff(executorService);
+    baselineCache = new BaselineCache(Integer.parseInt(getProperty(
+            ImageCompareConfig.PROVA_PLUGINS_IMAGECOMPARE_CACHE_SIZE,
+            String.valueOf(DEFAULT_CACHE_SIZE))));
+
+    LOGGER.debug("Image compare initialized ({} threads)", threads);
+  }
+
+
+  @Override
+  public void shutDown()
+  {
+    if(executorService != null)
+    {
+      executorService.shutdownNow();
+    }
+
+    if(baselineCache != null)
+    {
+      LOGGER.info("Baselines: {} cached, {} hits, {} misses", baselineCache.getSize(),
+                  baselineCache.getHits(), baselineCache.getMisses());
+    }
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Image compare";
+  }
+
+
+  @Override
+  public TestType[] getTestType()
+  {
+    return new TestType[]
+    {
+      TestType.IMAGE
+    };
+  }
+
+
+  @Override
+  public void setUp(TestCase testCase)
+  {
+    LOGGER.debug("Set up test case '{}'", testCase.getId());
+  }
+
+
+  @Override
+  public void tearDown(TestCase testCase)
+  {
+    LOGGER.debug("Tear down test case '{}'", testCase.getId());
+  }
+
+
+  @Override
+  public TestAction getTestAction(String actionName) throws
+          InvalidParameterException
+  {
+    Integer id = lastActionId.incrementAndGet();
+
+    switch(actionName == null ? "" : actionName.trim().toLowerCase())
+    {
+      case "compareimage":
+        return new CompareImage(id, this);
+
+      default:
+        throw new InvalidParameterException("Unknown action '" + actionName + "'");
+    }
+  }
+
+
+  /**
+   * Return the comparison engine
+   *
+   * @return
+   */
+  public ImageDiff getImageDiff()
+  {
+    return imageDiff;
+  }
+
+
+  /**
+   * Return the baselines shared by all test cases
+   *
+   * @return
+   */
+  public BaselineCache getBaselineCache()
+  {
+    return baselineCache;
+  }
+
+
+  /**
+   * Return property {@link key} of the test runner or {@link defaultValue}
+   * when it's not set
+   *
+   * @param key
+   * @param defaultValue
+   *
+   * @return
+   */
+  private String getProperty(String key, String defaultValue)
+  {
+    return (testRunner.hasProperty(key) ? testRunner.getProperty(key) : defaultValue);
+  }
+
+}
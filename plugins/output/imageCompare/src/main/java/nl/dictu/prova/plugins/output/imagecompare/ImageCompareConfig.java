@@ -0,0 +1,44 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import nl.dictu.prova.Config;
+
+/**
+ * Configuration options of the image compare output plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImageCompareConfig extends Config
+{
+
+  /**
+   * Number of threads comparing images. Defaults to the number of processors.
+   */
+  public final static String PROVA_PLUGINS_IMAGECOMPARE_THREADS =
+          "prova.plugins.output.imagecompare.threads";
+
+  /**
+   * Maximum number of baseline images kept in memory. Defaults to 8.
+   */
+  public final static String PROVA_PLUGINS_IMAGECOMPARE_CACHE_SIZE =
+          "prova.plugins.output.imagecompare.cacheSize";
+
+}
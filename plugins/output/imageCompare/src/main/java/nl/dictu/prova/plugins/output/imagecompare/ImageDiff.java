@@ -0,0 +1,240 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Perceptual comparison of two images of the same size. Two pixels differ
+ * when their distance in the YIQ color space, which weighs brightness more
+ * than color like the human eye does, exceeds a tolerance.
+ * <p>
+ * The images are divided in tiles which are compared in parallel. The inner
+ * loops only use int and long arithmetic on the pixel arrays, which the JIT
+ * compiler can unroll and vectorize. Comparison stops as soon as more pixels
+ * differ than allowed, unless a diff image is requested.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImageDiff
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ImageDiff.class.
+          getName());
+
+  /**
+   * Default tolerance per pixel, between 0 (exact) and 1 (any color)
+   */
+  public final static double DEFAULT_TOLERANCE = 0.1;
+
+  /**
+   * Width and height in pixels of the tiles compared in parallel
+   */
+  public final static int TILE_SIZE = 256;
+
+  /**
+   * Color of the different pixels in a diff image
+   */
+  public final static int DIFF_COLOR = 0xff0000;
+
+  // YIQ conversion and weights in fixed point, scaled by 256 and 10000
+  private final static int Y_R = 77, Y_G = 150, Y_B = 29;
+  private final static int I_R = 153, I_G = -70, I_B = -82;
+  private final static int Q_R = 54, Q_G = -134, Q_B = 80;
+  private final static long Y_WEIGHT = 5053, I_WEIGHT = 2990, Q_WEIGHT = 1957;
+
+  // Largest possible distance between two colors
+  private final static double MAX_DELTA = 35215.0 * 256 * 256 * 10000;
+
+  private final ExecutorService executorService;
+
+
+  /**
+   * Constructor
+   *
+   * @param executorService Threads to compare the tiles with
+   *
+   * @throws InvalidParameterException
+   */
+  public ImageDiff(ExecutorService executorService) throws InvalidParameterException
+  {
+    if(executorService == null)
+    {
+      throw new InvalidParameterException("Executor service can not be null");
+    }
+
+    this.executorService = executorService;
+  }
+
+
+  /**
+   * Count the pixels of {@link actual} which differ from {@link baseline}.
+   * When more than {@link maxDifferent} pixels differ the comparison may stop
+   * early, so the returned number is only exact up to {@link maxDifferent} + 1.
+   *
+   * @param baseline
+   * @param actual
+   * @param tolerance    Tolerance per pixel, between 0 and 1
+   * @param maxDifferent Number of different pixels allowed
+   * @param diff         Pixels to mark the differences in with
+   *                     {@link #DIFF_COLOR}, or null. All pixels are compared
+   *                     when given.
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The images have different sizes
+   * @throws InterruptedException
+   */
+  public long compare(ImagePixels baseline, ImagePixels actual, double tolerance,
+                      long maxDifferent, int[] diff) throws InvalidParameterException,
+                                                            InterruptedException
+  {
+    if(baseline.getWidth() != actual.getWidth() || baseline.getHeight() != actual.getHeight())
+    {
+      throw new InvalidParameterException("Image size " + actual.getWidth() + "x"
+                                          + actual.getHeight() + " differs from "
+                                          + baseline.getWidth() + "x" + baseline.getHeight());
+    }
+
+    if(tolerance < 0 || tolerance > 1)
+    {
+      throw new InvalidParameterException("Invalid tolerance (" + tolerance + ")");
+    }
+
+    long maxDelta = (long) (MAX_DELTA * tolerance * tolerance);
+    long limit = (diff == null ? maxDifferent : Long.MAX_VALUE);
+    AtomicLong different = new AtomicLong();
+    List<Callable<Void>> tiles = new ArrayList<>();
+
+    for(int top = 0; top < actual.getHeight(); top += TILE_SIZE)
+    {
+      for(int left = 0; left < actual.getWidth(); left += TILE_SIZE)
+      {
+        int tileTop = top, tileLeft = left;
+
+        tiles.add(() ->
+        {
+          compareTile(baseline, actual, tileLeft, tileTop, maxDelta, limit, different, diff);
+          return null;
+        });
+      }
+    }
+
+    try
+    {
+      for(Future<Void> tile : executorService.invokeAll(tiles))
+      {
+        tile.get();
+      }
+    }
+    catch(ExecutionException eX)
+    {
+      throw new IllegalStateException("Comparison failed: " + eX.getCause().getMessage(),
+                                      eX.getCause());
+    }
+
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Compared {} tiles, {} pixels differ", tiles.size(), different.get());
+    }
+
+    return different.get();
+  }
+
+
+  /**
+   * Compare the tile at {@link left}, {@link top} and add the number of
+   * different pixels to {@link different}. Stops when it exceeds
+   * {@link limit}.
+   *
+   * @param baseline
+   * @param actual
+   * @param left
+   * @param top
+   * @param maxDelta
+   * @param limit
+   * @param different
+   * @param diff
+   */
+  private static void compareTile(ImagePixels baseline, ImagePixels actual, int left, int top,
+                                  long maxDelta, long limit, AtomicLong different, int[] diff)
+  {
+    int[] expected = baseline.getPixels();
+    int[] pixels = actual.getPixels();
+    int width = actual.getWidth();
+    int right = Math.min(left + TILE_SIZE, width);
+    int bottom = Math.min(top + TILE_SIZE, actual.getHeight());
+
+    for(int y = top; y < bottom; y++)
+    {
+      int rowDifferent = 0;
+
+      for(int i = y * width + left, end = y * width + right; i < end; i++)
+      {
+        int expectedPixel = expected[i];
+        int pixel = pixels[i];
+
+        if(expectedPixel == pixel)
+        {
+          continue;
+        }
+
+        int r = ((pixel >> 16) & 0xff) - ((expectedPixel >> 16) & 0xff);
+        int g = ((pixel >> 8) & 0xff) - ((expectedPixel >> 8) & 0xff);
+        int b = (pixel & 0xff) - (expectedPixel & 0xff);
+
+        long dy = Y_R * r + Y_G * g + Y_B * b;
+        long di = I_R * r + I_G * g + I_B * b;
+        long dq = Q_R * r + Q_G * g + Q_B * b;
+
+        if(Y_WEIGHT * dy * dy + I_WEIGHT * di * di + Q_WEIGHT * dq * dq > maxDelta)
+        {
+          rowDifferent++;
+
+          if(diff != null)
+          {
+            diff[i] = DIFF_COLOR;
+          }
+        }
+      }
+
+      if(rowDifferent > 0)
+      {
+        different.addAndGet(rowDifferent);
+      }
+
+      // Other tiles may have exceeded the limit already
+      if(different.get() > limit)
+      {
+        return;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import javax.imageio.ImageIO;
+
+/**
+ * The pixels of an image as RGB values, one int per pixel, row by row
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImagePixels
+{
+
+  private final int width;
+  private final int height;
+  private final int[] pixels;
+
+
+  /**
+   * Constructor
+   *
+   * @param width
+   * @param height
+   * @param pixels RGB value per pixel, row by row
+   *
+   * @throws InvalidParameterException
+   */
+  public ImagePixels(int width, int height, int[] pixels) throws InvalidParameterException
+  {
+    if(width < 1 || height < 1 || pixels == null || pixels.length != width * height)
+    {
+      throw new InvalidParameterException("Invalid image size (" + width + "x" + height + ")");
+    }
+
+    this.width = width;
+    this.height = height;
+    this.pixels = pixels;
+  }
+
+
+  /**
+   * Read the image in {@link file}
+   *
+   * @param file
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public static ImagePixels read(File file) throws IOException
+  {
+    BufferedImage image = ImageIO.read(file);
+
+    if(image == null)
+    {
+      throw new IOException("'" + file + "' is not a supported image");
+    }
+
+    int width = image.getWidth();
+    int height = image.getHeight();
+
+    return new ImagePixels(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+  }
+
+
+  /**
+   * Write this image to {@link file} as PNG
+   *
+   * @param file
+   *
+   * @throws IOException
+   */
+  public void write(File file) throws IOException
+  {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+    image.setRGB(0, 0, width, height, pixels, 0, width);
+
+    if(file.getAbsoluteFile().getParentFile() != null)
+    {
+      file.getAbsoluteFile().getParentFile().mkdirs();
+    }
+
+    ImageIO.write(image, "png", file);
+  }
+
+
+  /**
+   * Return the width in pixels
+   *
+   * @return
+   */
+  public int getWidth()
+  {
+    return width;
+  }
+
+
+  /**
+   * Return the height in pixels
+   *
+   * @return
+   */
+  public int getHeight()
+  {
+    return height;
+  }
+
+
+  /**
+   * Return the RGB values of the pixels, row by row. The array is not copied.
+   *
+   * @return
+   */
+  public int[] getPixels()
+  {
+    return pixels;
+  }
+
+}
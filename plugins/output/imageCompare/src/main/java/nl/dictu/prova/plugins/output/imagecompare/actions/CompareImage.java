@@ -0,0 +1,208 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare.actions;
+
+import java.io.File;
+import java.security.InvalidParameterException;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.imagecompare.ImageCompare;
+import nl.dictu.prova.plugins.output.imagecompare.ImageDiff;
+import nl.dictu.prova.plugins.output.imagecompare.ImagePixels;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compare an image with its baseline. Passes when at most the given fraction
+ * of the pixels differs perceptibly.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CompareImage extends TestAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(CompareImage.class.
+          getName());
+
+  /**
+   * Image to compare
+   */
+  public final static String ATTR_FILE_NAME = "fileName";
+
+  /**
+   * Baseline image the image should match
+   */
+  public final static String ATTR_BASELINE = "baseline";
+
+  /**
+   * Tolerance per pixel, between 0 (exact) and 1 (any color). Defaults to
+   * {@link ImageDiff#DEFAULT_TOLERANCE}.
+   */
+  public final static String ATTR_TOLERANCE = "tolerance";
+
+  /**
+   * Fraction of the pixels allowed to differ, between 0 and 1. Defaults to 0.
+   */
+  public final static String ATTR_THRESHOLD = "threshold";
+
+  /**
+   * Optional file to write the image with the differences marked to
+   */
+  public final static String ATTR_DIFF_FILE_NAME = "diffFileName";
+
+  private final ImageCompare imageCompare;
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param imageCompare
+   *
+   * @throws InvalidParameterException
+   */
+  public CompareImage(Integer id, ImageCompare imageCompare) throws InvalidParameterException
+  {
+    super(LOGGER, id);
+
+    if(imageCompare == null)
+    {
+      throw new InvalidParameterException("Image compare plug-in can not be null");
+    }
+
+    this.imageCompare = imageCompare;
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    TestStatus testStatus;
+
+    startExecution();
+
+    try
+    {
+      if( !isValid())
+      {
+        throw new InvalidParameterException("Invalid attributes for action " + this);
+      }
+
+      testStatus = compare();
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Action '{}' failed: {}", this, eX.getMessage());
+      testStatus = TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
+
+    return updateStatus(testStatus);
+  }
+
+
+  /**
+   * Compare the image with its baseline
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private TestStatus compare() throws Exception
+  {
+    ImagePixels baseline = imageCompare.getBaselineCache().get(new File(getAttribute(
+            ATTR_BASELINE)));
+    ImagePixels actual = ImagePixels.read(new File(getAttribute(ATTR_FILE_NAME)));
+    double tolerance = getDouble(ATTR_TOLERANCE, ImageDiff.DEFAULT_TOLERANCE);
+    double threshold = getDouble(ATTR_THRESHOLD, 0);
+    long pixels = (long) actual.getWidth() * actual.getHeight();
+    long maxDifferent = (long) (threshold * pixels);
+    int[] diff = (hasAttribute(ATTR_DIFF_FILE_NAME) ? actual.getPixels().clone() : null);
+
+    long different = imageCompare.getImageDiff().compare(baseline, actual, tolerance,
+                                                         maxDifferent, diff);
+
+    if(diff != null)
+    {
+      File diffFile = new File(getAttribute(ATTR_DIFF_FILE_NAME)).getAbsoluteFile();
+
+      new ImagePixels(actual.getWidth(), actual.getHeight(), diff).write(diffFile);
+      setResultFile(diffFile);
+    }
+
+    if(different > maxDifferent)
+    {
+      LOGGER.info("Image '{}' differs from '{}' ({}{} of {} pixels)",
+                  getAttribute(ATTR_FILE_NAME), getAttribute(ATTR_BASELINE),
+                  diff == null ? "more than " : "", diff == null ? maxDifferent : different,
+                  pixels);
+      return TestStatus.FAILED;
+    }
+
+    return TestStatus.PASSED;
+  }
+
+
+  /**
+   * Return attribute {@link key} as a number between 0 and 1, or
+   * {@link defaultValue} when not set
+   *
+   * @param key
+   * @param defaultValue
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private double getDouble(String key, double defaultValue) throws InvalidParameterException
+  {
+    if( !hasAttribute(key))
+    {
+      return defaultValue;
+    }
+
+    double value = Double.parseDouble(getAttribute(key));
+
+    if(value < 0 || value > 1)
+    {
+      throw new InvalidParameterException("Invalid " + key + " (" + value + ")");
+    }
+
+    return value;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_FILE_NAME) && hasAttribute(ATTR_BASELINE);
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(" + getId() + ") " + getAttributes();
+  }
+
+}
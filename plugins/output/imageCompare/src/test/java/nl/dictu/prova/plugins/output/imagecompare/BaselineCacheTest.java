@@ -0,0 +1,93 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.io.File;
+import java.io.IOException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BaselineCacheTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Test of get method, of class BaselineCache.
+   */
+  @Test
+  public void testGet() throws Exception
+  {
+    BaselineCache baselineCache = new BaselineCache(1);
+    File first = TestImages.write(TestImages.create(50, 40), folder.newFile("first.png"));
+    File second = TestImages.write(TestImages.create(40, 50), folder.newFile("second.png"));
+
+    ImagePixels baseline = baselineCache.get(first);
+
+    assertEquals(50, baseline.getWidth());
+    assertSame(baseline, baselineCache.get(first));
+    assertEquals(1, baselineCache.getHits());
+
+    // Only one baseline fits in the cache
+    assertEquals(40, baselineCache.get(second).getWidth());
+    assertNotSame(baseline, baselineCache.get(first));
+    assertEquals(1, baselineCache.getSize());
+    assertEquals(3, baselineCache.getMisses());
+  }
+
+
+  /**
+   * Test of get method, of class BaselineCache, with a changed baseline.
+   */
+  @Test
+  public void testGetChanged() throws Exception
+  {
+    BaselineCache baselineCache = new BaselineCache(4);
+    File file = TestImages.write(TestImages.create(50, 40), folder.newFile("baseline.png"));
+
+    assertEquals(50, baselineCache.get(file).getWidth());
+
+    TestImages.write(TestImages.create(60, 40), file);
+    file.setLastModified(file.lastModified() + 2000);
+
+    assertEquals(60, baselineCache.get(file).getWidth());
+  }
+
+
+  /**
+   * Test of get method, of class BaselineCache, with a missing baseline.
+   */
+  @Test(expected = IOException.class)
+  public void testGetMissing() throws Exception
+  {
+    new BaselineCache(4).get(new File(folder.getRoot(), "missing.png"));
+  }
+
+}
@@ -0,0 +1,96 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.plugins.output.imagecompare.actions.CompareImage;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImageCompareTest
+{
+
+  private ImageCompare imageCompare;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    imageCompare = new ImageCompare();
+    imageCompare.init(new Prova());
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    imageCompare.shutDown();
+  }
+
+
+  /**
+   * Test of getTestType method, of class ImageCompare.
+   */
+  @Test
+  public void testGetTestType()
+  {
+    assertArrayEquals(new TestType[]
+    {
+      TestType.IMAGE
+    }, imageCompare.getTestType());
+  }
+
+
+  /**
+   * Test of getTestAction method, of class ImageCompare.
+   */
+  @Test
+  public void testGetTestAction()
+  {
+    TestAction first = imageCompare.getTestAction("CompareImage");
+    TestAction second = imageCompare.getTestAction("compareimage");
+
+    assertTrue(first instanceof CompareImage);
+    assertNotEquals(first.getId(), second.getId());
+  }
+
+
+  /**
+   * Test of getTestAction method, of class ImageCompare, with an unknown
+   * action.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testGetTestActionUnknown()
+  {
+    imageCompare.getTestAction("unknown");
+  }
+
+}
@@ -0,0 +1,128 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ImageDiffTest
+{
+
+  private ExecutorService executorService;
+  private ImageDiff imageDiff;
+
+
+  @Before
+  public void setUp()
+  {
+    executorService = Executors.newFixedThreadPool(4);
+    imageDiff = new ImageDiff(executorService);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    executorService.shutdownNow();
+  }
+
+
+  /**
+   * Test of compare method, of class ImageDiff, with identical images.
+   */
+  @Test
+  public void testCompareIdentical() throws Exception
+  {
+    ImagePixels baseline = TestImages.create(1920, 1080);
+
+    assertEquals(0, imageDiff.compare(baseline, TestImages.create(1920, 1080), 0, 0, null));
+  }
+
+
+  /**
+   * Test of compare method, of class ImageDiff, with differences.
+   */
+  @Test
+  public void testCompareDifferent() throws Exception
+  {
+    ImagePixels baseline = TestImages.paint(TestImages.create(600, 400), 250, 250, 20, 10, 0);
+    ImagePixels actual = TestImages.paint(baseline, 250, 250, 20, 10, 0xffffff);
+    int[] diff = actual.getPixels().clone();
+
+    assertEquals(200, imageDiff.compare(baseline, actual, ImageDiff.DEFAULT_TOLERANCE, 0, diff));
+    assertEquals(ImageDiff.DIFF_COLOR, diff[255 * 600 + 255]);
+    assertEquals(actual.getPixels()[0], diff[0]);
+  }
+
+
+  /**
+   * Test of compare method, of class ImageDiff, with differences below the
+   * tolerance.
+   */
+  @Test
+  public void testCompareTolerance() throws Exception
+  {
+    ImagePixels baseline = TestImages.paint(TestImages.create(300, 300), 0, 0, 300, 300,
+                                            0x808080);
+    ImagePixels actual = TestImages.paint(baseline, 0, 0, 100, 100, 0x828282);
+
+    assertEquals(0, imageDiff.compare(baseline, actual, ImageDiff.DEFAULT_TOLERANCE, 0, null));
+    assertEquals(10000, imageDiff.compare(baseline, actual, 0, Long.MAX_VALUE, null));
+  }
+
+
+  /**
+   * Test of compare method, of class ImageDiff, stopping once more pixels
+   * differ than allowed.
+   */
+  @Test
+  public void testCompareEarlyExit() throws Exception
+  {
+    ImagePixels baseline = TestImages.create(1920, 1080);
+    ImagePixels actual = TestImages.paint(baseline, 0, 0, 1920, 1080, 0x000000);
+
+    long different = imageDiff.compare(baseline, actual, 0, 100, null);
+
+    assertTrue(different > 100);
+    assertTrue(different < 1920 * 1080);
+  }
+
+
+  /**
+   * Test of compare method, of class ImageDiff, with images of different
+   * sizes.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testCompareSize() throws Exception
+  {
+    imageDiff.compare(TestImages.create(100, 100), TestImages.create(100, 101), 0, 0, null);
+  }
+
+}
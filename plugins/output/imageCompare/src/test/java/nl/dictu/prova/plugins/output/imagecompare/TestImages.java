@@ -0,0 +1,104 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Creates images for the tests
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestImages
+{
+
+  /**
+   * Create an image of {@link width} x {@link height} pixels with a gradient
+   *
+   * @param width
+   * @param height
+   *
+   * @return
+   */
+  public static ImagePixels create(int width, int height)
+  {
+    int[] pixels = new int[width * height];
+
+    for(int y = 0; y < height; y++)
+    {
+      for(int x = 0; x < width; x++)
+      {
+        pixels[y * width + x] = ((x & 0xff) << 16) | ((y & 0xff) << 8) | ((x + y) & 0xff);
+      }
+    }
+
+    return new ImagePixels(width, height, pixels);
+  }
+
+
+  /**
+   * Return a copy of {@link image} with a rectangle of {@link rgb} at
+   * {@link left}, {@link top}
+   *
+   * @param image
+   * @param left
+   * @param top
+   * @param width
+   * @param height
+   * @param rgb
+   *
+   * @return
+   */
+  public static ImagePixels paint(ImagePixels image, int left, int top, int width, int height,
+                                  int rgb)
+  {
+    int[] pixels = image.getPixels().clone();
+
+    for(int y = top; y < top + height; y++)
+    {
+      for(int x = left; x < left + width; x++)
+      {
+        pixels[y * image.getWidth() + x] = rgb;
+      }
+    }
+
+    return new ImagePixels(image.getWidth(), image.getHeight(), pixels);
+  }
+
+
+  /**
+   * Write {@link image} to {@link file} and return the file
+   *
+   * @param image
+   * @param file
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public static File write(ImagePixels image, File file) throws IOException
+  {
+    image.write(file);
+
+    return file;
+  }
+
+}
@@ -0,0 +1,159 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.imagecompare.actions;
+
+import java.io.File;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.imagecompare.ImageCompare;
+import nl.dictu.prova.plugins.output.imagecompare.ImageDiff;
+import nl.dictu.prova.plugins.output.imagecompare.ImagePixels;
+import nl.dictu.prova.plugins.output.imagecompare.TestImages;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CompareImageTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ImageCompare imageCompare;
+  private File baseline;
+  private File changed;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    imageCompare = new ImageCompare();
+    imageCompare.init(new Prova());
+
+    ImagePixels image = TestImages.create(400, 300);
+
+    baseline = TestImages.write(image, folder.newFile("baseline.png"));
+    changed = TestImages.write(TestImages.paint(image, 10, 10, 30, 10, 0xffffff),
+                               folder.newFile("changed.png"));
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    imageCompare.shutDown();
+  }
+
+
+  /**
+   * Test of execute method, of class CompareImage.
+   */
+  @Test
+  public void testExecute() throws Exception
+  {
+    assertEquals(TestStatus.PASSED, action(CompareImage.ATTR_FILE_NAME, baseline.getPath(),
+                                           CompareImage.ATTR_BASELINE, baseline.getPath())
+                 .execute());
+    assertEquals(TestStatus.FAILED, action(CompareImage.ATTR_FILE_NAME, changed.getPath(),
+                                           CompareImage.ATTR_BASELINE, baseline.getPath())
+                 .execute());
+
+    // 300 of 120000 pixels differ
+    assertEquals(TestStatus.PASSED, action(CompareImage.ATTR_FILE_NAME, changed.getPath(),
+                                           CompareImage.ATTR_BASELINE, baseline.getPath(),
+                                           CompareImage.ATTR_THRESHOLD, "0.01").execute());
+    assertEquals(TestStatus.FAILED, action(CompareImage.ATTR_FILE_NAME, changed.getPath(),
+                                           CompareImage.ATTR_BASELINE, "missing.png").execute());
+    assertEquals(TestStatus.FAILED, action(CompareImage.ATTR_FILE_NAME, changed.getPath())
+                 .execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareImage, writing the differences.
+   */
+  @Test
+  public void testExecuteDiffFile() throws Exception
+  {
+    File diffFile = new File(folder.getRoot(), "diff/changed.png");
+
+    assertEquals(TestStatus.FAILED, action(CompareImage.ATTR_FILE_NAME, changed.getPath(),
+                                           CompareImage.ATTR_BASELINE, baseline.getPath(),
+                                           CompareImage.ATTR_DIFF_FILE_NAME, diffFile.getPath())
+                 .execute());
+
+    ImagePixels diff = ImagePixels.read(diffFile);
+
+    assertEquals(ImageDiff.DIFF_COLOR, diff.getPixels()[10 * 400 + 10] & 0xffffff);
+  }
+
+
+  /**
+   * Test of isValid method, of class CompareImage.
+   */
+  @Test
+  public void testIsValid()
+  {
+    assertTrue(action(CompareImage.ATTR_FILE_NAME, "a.png", CompareImage.ATTR_BASELINE,
+                      "b.png").isValid());
+    assertFalse(action(CompareImage.ATTR_FILE_NAME, "a.png").isValid());
+  }
+
+
+  /**
+   * Test of toString method, of class CompareImage.
+   */
+  @Test
+  public void testToString()
+  {
+    assertTrue(action().toString().startsWith("CompareImage("));
+  }
+
+
+  /**
+   * Create a compare action with the attributes given as name/value pairs
+   *
+   * @param attributes
+   *
+   * @return
+   */
+  private TestAction action(String... attributes)
+  {
+    TestAction testAction = imageCompare.getTestAction("CompareImage");
+
+    for(int i = 0; i + 1 < attributes.length; i += 2)
+    {
+      testAction.setAttribute(attributes[i], attributes[i + 1]);
+    }
+
+    return testAction;
+  }
+
+}
@@ -0,0 +1,479 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pool of connections to one datasource, shared by the test cases. Opening a
+ * connection and preparing its statements is expensive, so a connection is
+ * leased by a test case and reset when it is released: open transactions are
+ * rolled back and auto commit is switched on again. Connections which were
+ * idle for a while are validated at the next lease and replaced when the
+ * database doesn't respond.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ConnectionPool
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ConnectionPool.class.getName());
+
+  /**
+   * Connections idle for longer than this number of milliseconds are
+   * validated before they are leased
+   */
+  public final static long VALIDATE_AFTER_IDLE = 30000;
+
+  private final String name;
+  private final Callable<Connection> connectionFactory;
+  private final int maxSize;
+  private final int statementCacheSize;
+
+  // Most recently released connection first, so the other connections may time out
+  private final ArrayDeque<PooledConnection> idleConnections = new ArrayDeque<>();
+  private int connections = 0;
+  private boolean closed = false;
+  private volatile long validateAfterIdle = VALIDATE_AFTER_IDLE;
+
+  private final AtomicLong leases = new AtomicLong();
+  private final AtomicLong reuses = new AtomicLong();
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong recycled = new AtomicLong();
+  private final AtomicLong statementHits = new AtomicLong();
+  private final AtomicLong statementMisses = new AtomicLong();
+  private final AtomicLong totalLeaseWait = new AtomicLong();
+  private final AtomicLong maxLeaseWait = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param name               Name of the datasource
+   * @param connectionFactory  Opens a new connection
+   * @param maxSize            Maximum number of open connections
+   * @param statementCacheSize Maximum number of prepared statements per
+   *                           connection
+   *
+   * @throws InvalidParameterException
+   */
+  public ConnectionPool(String name, Callable<Connection> connectionFactory, int maxSize,
+                        int statementCacheSize) throws InvalidParameterException
+  {
+    if(name == null || connectionFactory == null || maxSize < 1 || statementCacheSize < 1)
+    {
+      throw new InvalidParameterException("Invalid name, factory or size for the pool (" + name
+                                          + ", " + maxSize + ", " + statementCacheSize + ")");
+    }
+
+    this.name = name;
+    this.connectionFactory = connectionFactory;
+    this.maxSize = maxSize;
+    this.statementCacheSize = statementCacheSize;
+  }
+
+
+  /**
+   * Return the name of the datasource
+   *
+   * @return
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+
+  /**
+   * Lease a connection. Waits at most {@link timeout} milliseconds for a free
+   * connection when all connections are in use.
+   *
+   * @param timeout
+   *
+   * @return
+   *
+   * @throws TimeoutException     No connection became available in time
+   * @throws InterruptedException
+   * @throws Exception            Opening a new connection failed
+   */
+  public PooledConnection lease(long timeout) throws Exception
+  {
+    long startTime = System.nanoTime();
+    PooledConnection connection = null;
+
+    synchronized(this)
+    {
+      long end = System.currentTimeMillis() + timeout;
+
+      while(connection == null)
+      {
+        if(closed)
+        {
+          throw new IllegalStateException("Pool is closed");
+        }
+
+        if( !idleConnections.isEmpty())
+        {
+          connection = idleConnections.pop();
+          break;
+        }
+
+        if(connections < maxSize)
+        {
+          // Reserve a place for a new connection, it is opened outside the lock
+          connections++;
+          break;
+        }
+
+        long remaining = end - System.currentTimeMillis();
+
+        if(remaining <= 0)
+        {
+          throw new TimeoutException("No connection to '" + name + "' available within "
+                                     + timeout + "ms");
+        }
+
+        wait(remaining);
+      }
+    }
+
+    long leaseWait = (System.nanoTime() - startTime) / 1000000;
+
+    totalLeaseWait.addAndGet(leaseWait);
+    maxLeaseWait.accumulateAndGet(leaseWait, Math::max);
+    leases.incrementAndGet();
+
+    if(connection != null
+       && System.currentTimeMillis() - connection.getLastUsed() > validateAfterIdle
+       && !connection.isValid())
+    {
+      LOGGER.warn("Connection to '{}' failed the validation, open a new connection", name);
+
+      // The new connection takes the place of the broken one
+      recycled.incrementAndGet();
+      closeConnection(connection);
+      connection = null;
+    }
+
+    if(connection != null)
+    {
+      reuses.incrementAndGet();
+      return connection;
+    }
+
+    try
+    {
+      connection = new PooledConnection(connectionFactory.call(), statementCacheSize);
+      created.incrementAndGet();
+
+      LOGGER.debug("New connection to '{}' opened ({} of {})", name, connections, maxSize);
+
+      return connection;
+    }
+    catch(Exception eX)
+    {
+      removeConnection();
+      throw eX;
+    }
+  }
+
+
+  /**
+   * Reset {@link connection} and return it to the pool. Connections which
+   * can't be reset are closed.
+   *
+   * @param connection
+   */
+  public void release(PooledConnection connection)
+  {
+    if(connection == null)
+    {
+      return;
+    }
+
+    boolean reset = reset(connection);
+
+    synchronized(this)
+    {
+      if(reset && !closed)
+      {
+        idleConnections.push(connection);
+        notifyAll();
+        return;
+      }
+    }
+
+    if( !reset)
+    {
+      LOGGER.warn("Reset of connection to '{}' failed, connection is recycled", name);
+      discard(connection);
+    }
+    else
+    {
+      close(connection);
+    }
+  }
+
+
+  /**
+   * Close a broken connection instead of returning it to the pool
+   *
+   * @param connection
+   */
+  public void invalidate(PooledConnection connection)
+  {
+    if(connection == null)
+    {
+      return;
+    }
+
+    discard(connection);
+  }
+
+
+  /**
+   * Close all idle connections and stop leasing. Leased connections are
+   * closed when they are released.
+   */
+  public void close()
+  {
+    ArrayDeque<PooledConnection> pooledConnections;
+
+    synchronized(this)
+    {
+      closed = true;
+      pooledConnections = new ArrayDeque<>(idleConnections);
+      idleConnections.clear();
+      notifyAll();
+    }
+
+    for(PooledConnection connection : pooledConnections)
+    {
+      close(connection);
+    }
+
+    LOGGER.info("Connections to '{}': {} opened, {} leases ({} reused, {} recycled), "
+                + "statements: {} prepared, {} reused, lease wait: average {}ms, max {}ms", name,
+                getCreated(), getLeases(), getReuses(), getRecycled(), getStatementMisses(),
+                getStatementHits(), getAverageLeaseWait(), getMaxLeaseWait());
+  }
+
+
+  /**
+   * Set the number of milliseconds a connection may be idle before it is
+   * validated at the next lease
+   *
+   * @param validateAfterIdle
+   */
+  void setValidateAfterIdle(long validateAfterIdle)
+  {
+    this.validateAfterIdle = validateAfterIdle;
+  }
+
+
+  /**
+   * Return the number of open connections, leased and idle
+   *
+   * @return
+   */
+  public synchronized int getSize()
+  {
+    return connections;
+  }
+
+
+  /**
+   * Return the number of idle connections
+   *
+   * @return
+   */
+  public synchronized int getIdle()
+  {
+    return idleConnections.size();
+  }
+
+
+  /**
+   * Return the number of leases
+   *
+   * @return
+   */
+  public long getLeases()
+  {
+    return leases.get();
+  }
+
+
+  /**
+   * Return the number of leases served by an already open connection
+   *
+   * @return
+   */
+  public long getReuses()
+  {
+    return reuses.get();
+  }
+
+
+  /**
+   * Return the number of opened connections
+   *
+   * @return
+   */
+  public long getCreated()
+  {
+    return created.get();
+  }
+
+
+  /**
+   * Return the number of connections closed because they were broken
+   *
+   * @return
+   */
+  public long getRecycled()
+  {
+    return recycled.get();
+  }
+
+
+  /**
+   * Return the number of statements reused by closed connections
+   *
+   * @return
+   */
+  public long getStatementHits()
+  {
+    return statementHits.get();
+  }
+
+
+  /**
+   * Return the number of statements prepared by closed connections
+   *
+   * @return
+   */
+  public long getStatementMisses()
+  {
+    return statementMisses.get();
+  }
+
+
+  /**
+   * Return the average time in milliseconds a lease waited for a connection
+   *
+   * @return
+   */
+  public long getAverageLeaseWait()
+  {
+    long count = leases.get();
+
+    return (count == 0 ? 0 : totalLeaseWait.get() / count);
+  }
+
+
+  /**
+   * Return the longest time in milliseconds a lease waited for a connection
+   *
+   * @return
+   */
+  public long getMaxLeaseWait()
+  {
+    return maxLeaseWait.get();
+  }
+
+
+  /**
+   * Free the place of a closed connection for a new one
+   */
+  private synchronized void removeConnection()
+  {
+    connections--;
+    notifyAll();
+  }
+
+
+  /**
+   * Close a broken connection and count it as recycled
+   *
+   * @param connection
+   */
+  private void discard(PooledConnection connection)
+  {
+    recycled.incrementAndGet();
+    close(connection);
+  }
+
+
+  /**
+   * Close {@link connection} and free its place in the pool
+   *
+   * @param connection
+   */
+  private void close(PooledConnection connection)
+  {
+    closeConnection(connection);
+    removeConnection();
+  }
+
+
+  /**
+   * Close {@link connection} and add its statement statistics, keeping its
+   * place in the pool
+   *
+   * @param connection
+   */
+  private void closeConnection(PooledConnection connection)
+  {
+    statementHits.addAndGet(connection.getHits());
+    statementMisses.addAndGet(connection.getMisses());
+    connection.close();
+  }
+
+
+  /**
+   * Remove all state of the previous test case from {@link connection}
+   *
+   * @param connection
+   *
+   * @return False when the connection couldn't be reset
+   */
+  private boolean reset(PooledConnection connection)
+  {
+    try
+    {
+      connection.reset();
+      return true;
+    }
+    catch(Exception eX)
+    {
+      LOGGER.debug("Reset failed: {}", eX.getMessage());
+      return false;
+    }
+  }
+
+}
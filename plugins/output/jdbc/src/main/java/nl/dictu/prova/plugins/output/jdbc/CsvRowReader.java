@@ -0,0 +1,227 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+
+/**
+ * Reads the rows of a CSV file with a header line. Values are separated by a
+ * comma and may be quoted with double quotes, which allows commas, quotes
+ * ("") and line breaks in a value. An empty unquoted value is read as null,
+ * an empty quoted value ("") as an empty text.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CsvRowReader implements RowReader
+{
+
+  private final static char SEPARATOR = ',';
+  private final static char QUOTE = '"';
+
+  private final File file;
+  private final BufferedReader reader;
+  private final int columnCount;
+  private final ArrayList<String> values = new ArrayList<>();
+  private final StringBuilder value = new StringBuilder();
+  private long rowNumber = 0;
+
+
+  /**
+   * Constructor. Reads the header line of {@link file}, which determines the
+   * number of columns.
+   *
+   * @param file
+   *
+   * @throws IOException
+   * @throws InvalidParameterException The file has no header line
+   */
+  public CsvRowReader(File file) throws IOException, InvalidParameterException
+  {
+    this.file = file;
+    this.reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+
+    if( !readLine())
+    {
+      reader.close();
+      throw new InvalidParameterException("No header line in '" + file + "'");
+    }
+
+    columnCount = values.size();
+  }
+
+
+  @Override
+  public boolean next() throws IOException, InvalidParameterException
+  {
+    if( !readLine())
+    {
+      return false;
+    }
+
+    rowNumber++;
+
+    if(values.size() != columnCount)
+    {
+      throw new InvalidParameterException("Row " + rowNumber + " of '" + file + "' has "
+                                          + values.size() + " columns instead of "
+                                          + columnCount);
+    }
+
+    return true;
+  }
+
+
+  @Override
+  public int getColumnCount()
+  {
+    return columnCount;
+  }
+
+
+  @Override
+  public String getValue(int column)
+  {
+    return values.get(column - 1);
+  }
+
+
+  @Override
+  public long getRowNumber()
+  {
+    return rowNumber;
+  }
+
+
+  @Override
+  public void close() throws IOException
+  {
+    reader.close();
+  }
+
+
+  /**
+   * Read the values of the next line, skipping empty lines
+   *
+   * @return False at the end of the file
+   *
+   * @throws IOException
+   */
+  private boolean readLine() throws IOException
+  {
+    String line;
+
+    do
+    {
+      line = reader.readLine();
+
+      if(line == null)
+      {
+        return false;
+      }
+    }
+    while(line.isEmpty());
+
+    values.clear();
+    value.setLength(0);
+
+    boolean quoted = false;
+    boolean wasQuoted = false;
+    int index = 0;
+
+    while(true)
+    {
+      if(index >= line.length())
+      {
+        if( !quoted)
+        {
+          break;
+        }
+
+        // Line break in a quoted value
+        line = reader.readLine();
+
+        if(line == null)
+        {
+          throw new InvalidParameterException("Unterminated quoted value in '" + file + "'");
+        }
+
+        value.append('\n');
+        index = 0;
+        continue;
+      }
+
+      char character = line.charAt(index++);
+
+      if(quoted)
+      {
+        if(character != QUOTE)
+        {
+          value.append(character);
+        }
+        else if(index < line.length() && line.charAt(index) == QUOTE)
+        {
+          value.append(QUOTE);
+          index++;
+        }
+        else
+        {
+          quoted = false;
+        }
+      }
+      else if(character == QUOTE)
+      {
+        quoted = true;
+        wasQuoted = true;
+      }
+      else if(character == SEPARATOR)
+      {
+        addValue(wasQuoted);
+        wasQuoted = false;
+      }
+      else
+      {
+        value.append(character);
+      }
+    }
+
+    addValue(wasQuoted);
+
+    return true;
+  }
+
+
+  /**
+   * Add the value read so far to the values of the current line
+   *
+   * @param wasQuoted
+   */
+  private void addValue(boolean wasQuoted)
+  {
+    values.add(value.length() == 0 && !wasQuoted ? null : value.toString());
+    value.setLength(0);
+  }
+
+}
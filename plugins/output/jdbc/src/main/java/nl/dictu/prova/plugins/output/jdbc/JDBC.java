@@ -20,15 +20,30 @@
 package nl.dictu.prova.plugins.output.jdbc;
 
 import java.security.InvalidParameterException;
+import java.sql.DriverManager;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import nl.dictu.prova.TestRunner;
 import nl.dictu.prova.TestType;
 import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.plugins.output.OutputPlugin;
+import nl.dictu.prova.plugins.output.jdbc.actions.BatchExecute;
+import nl.dictu.prova.plugins.output.jdbc.actions.CompareQuery;
+import nl.dictu.prova.plugins.output.jdbc.actions.Execute;
+import nl.dictu.prova.plugins.output.jdbc.actions.ValidateQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Output plug-in executing database test cases with JDBC. Each datasource
+ * configured in the properties (see {@link JDBCConfig}) gets its own
+ * {@link ConnectionPool}, created when a test case uses it for the first
+ * time. Test cases lease their connections through a {@link JDBCContext}
+ * which is created during the setup and releases the connections during the
+ * teardown, so connections and their prepared statements are reused by the
+ * following test cases.
  *
  * @author Sjoerd Boerhout
  */
@@ -38,54 +53,267 @@ public class JDBC implements OutputPlugin
   private final static Logger LOGGER = LogManager.getLogger(JDBC.class.
           getName());
 
+  /**
+   * Test case header with the datasource used by actions without a
+   * 'database' attribute
+   */
+  public final static String HEADER_DATABASE = "database";
+
+  /**
+   * Datasource used when neither the action nor the test case names one
+   */
+  public final static String DEFAULT_DATASOURCE = "default";
+
+  private final static int DEFAULT_POOL_SIZE = 4;
+  private final static int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+  private final static long DEFAULT_LEASE_TIMEOUT = 60000;
+  private final static int DEFAULT_FETCH_SIZE = 1000;
+  private final static int DEFAULT_BATCH_SIZE = 1000;
+
+  private TestRunner testRunner;
+  private int statementCacheSize;
+  private long leaseTimeout;
+  private int fetchSize;
+  private int batchSize;
+
+  private final ConcurrentHashMap<String, ConnectionPool> connectionPools =
+          new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<TestCase, JDBCContext> contexts = new ConcurrentHashMap<>();
+  private final AtomicInteger lastActionId = new AtomicInteger();
+
 
   @Override
-  public void init(TestRunner tr) throws Exception
+  public void init(TestRunner testRunner) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testRunner == null)
+    {
+      throw new InvalidParameterException("Test runner can not be null");
+    }
+
+    this.testRunner = testRunner;
+
+    statementCacheSize = Integer.parseInt(getProperty(
+            JDBCConfig.PROVA_PLUGINS_JDBC_STATEMENT_CACHE_SIZE,
+            String.valueOf(DEFAULT_STATEMENT_CACHE_SIZE)));
+
+    if(statementCacheSize < 1)
+    {
+      throw new InvalidParameterException("Invalid statement cache size (" + statementCacheSize
+                                          + ")");
+    }
+
+    leaseTimeout = Long.parseLong(getProperty(JDBCConfig.PROVA_PLUGINS_JDBC_LEASE_TIMEOUT,
+                                              String.valueOf(DEFAULT_LEASE_TIMEOUT)));
+    fetchSize = Integer.parseInt(getProperty(JDBCConfig.PROVA_PLUGINS_JDBC_FETCH_SIZE,
+                                             String.valueOf(DEFAULT_FETCH_SIZE)));
+    batchSize = Integer.parseInt(getProperty(JDBCConfig.PROVA_PLUGINS_JDBC_BATCH_SIZE,
+                                             String.valueOf(DEFAULT_BATCH_SIZE)));
+
+    LOGGER.debug("JDBC initialized (statement cache size: {}, lease timeout: {}ms)",
+                 statementCacheSize, leaseTimeout);
   }
 
 
   @Override
   public void shutDown()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    for(ConnectionPool connectionPool : connectionPools.values())
+    {
+      connectionPool.close();
+    }
+
+    connectionPools.clear();
   }
 
 
   @Override
   public String getName()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "JDBC";
   }
 
 
   @Override
   public TestType[] getTestType()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new TestType[]
+    {
+      TestType.DB
+    };
   }
 
 
   @Override
-  public void setUp(TestCase tc)
+  public void setUp(TestCase testCase)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    // Connections are leased when an action uses a datasource
+    contexts.put(testCase, new JDBCContext(testCase, this));
   }
 
 
   @Override
-  public void tearDown(TestCase tc)
+  public void tearDown(TestCase testCase)
+  {
+    JDBCContext context = contexts.remove(testCase);
+
+    if(context != null)
+    {
+      context.releaseConnections();
+    }
+  }
+
+
+  /**
+   * Return the context of {@link testCase}, which exists between its setup
+   * and teardown
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws NoSuchElementException
+   */
+  public JDBCContext getContext(TestCase testCase) throws NoSuchElementException
+  {
+    JDBCContext context = (testCase == null ? null : contexts.get(testCase));
+
+    if(context == null)
+    {
+      throw new NoSuchElementException("No database context for test case '"
+                                       + (testCase == null ? "null" : testCase.getId()) + "'");
+    }
+
+    return context;
+  }
+
+
+  /**
+   * Return the pool of {@link datasource}, created from its properties at
+   * first use
+   *
+   * @param datasource
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The datasource is not configured
+   */
+  public ConnectionPool getConnectionPool(String datasource) throws InvalidParameterException
+  {
+    if(datasource == null)
+    {
+      throw new InvalidParameterException("Datasource can not be null");
+    }
+
+    return connectionPools.computeIfAbsent(datasource, this::createConnectionPool);
+  }
+
+
+  /**
+   * Return the maximum time in milliseconds a test case waits for a
+   * connection
+   *
+   * @return
+   */
+  public long getLeaseTimeout()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return leaseTimeout;
+  }
+
+
+  /**
+   * Return the number of rows fetched at once when a query result is streamed
+   *
+   * @return
+   */
+  public int getFetchSize()
+  {
+    return fetchSize;
+  }
+
+
+  /**
+   * Return the number of rows executed in one batch
+   *
+   * @return
+   */
+  public int getBatchSize()
+  {
+    return batchSize;
   }
 
 
   @Override
-  public TestAction getTestAction(String string) throws
+  public TestAction getTestAction(String actionName) throws
+          InvalidParameterException
+  {
+    Integer id = lastActionId.incrementAndGet();
+
+    switch(actionName == null ? "" : actionName.trim().toLowerCase())
+    {
+      case "batchexecute":
+        return new BatchExecute(id, this);
+
+      case "comparequery":
+        return new CompareQuery(id, this);
+
+      case "execute":
+        return new Execute(id, this);
+
+      case "validatequery":
+        return new ValidateQuery(id, this);
+
+      default:
+        throw new InvalidParameterException("Unknown action '" + actionName + "'");
+    }
+  }
+
+
+  /**
+   * Create the pool of {@link datasource} from its properties
+   *
+   * @param datasource
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The url of the datasource is not set
+   */
+  private ConnectionPool createConnectionPool(String datasource) throws
           InvalidParameterException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    String prefix = JDBCConfig.PROVA_PLUGINS_JDBC_DATASOURCE_PREFIX + datasource;
+
+    if( !testRunner.hasProperty(prefix + JDBCConfig.DATASOURCE_URL))
+    {
+      throw new InvalidParameterException("No url configured for datasource '" + datasource
+                                          + "'");
+    }
+
+    String url = testRunner.getProperty(prefix + JDBCConfig.DATASOURCE_URL);
+    String user = getProperty(prefix + JDBCConfig.DATASOURCE_USER, null);
+    String password = getProperty(prefix + JDBCConfig.DATASOURCE_PASSWORD, null);
+    int poolSize = Integer.parseInt(getProperty(prefix + JDBCConfig.DATASOURCE_POOL_SIZE,
+                                                String.valueOf(DEFAULT_POOL_SIZE)));
+
+    LOGGER.debug("Create pool for datasource '{}' (url: {}, size: {})", datasource, url,
+                 poolSize);
+
+    return new ConnectionPool(datasource, () -> DriverManager.getConnection(url, user, password),
+                              poolSize, statementCacheSize);
+  }
+
+
+  /**
+   * Return property {@link key} of the test runner or {@link defaultValue}
+   * when it isn't set
+   *
+   * @param key
+   * @param defaultValue
+   *
+   * @return
+   */
+  private String getProperty(String key, String defaultValue)
+  {
+    return (testRunner.hasProperty(key) ? testRunner.getProperty(key) : defaultValue);
   }
 
 }
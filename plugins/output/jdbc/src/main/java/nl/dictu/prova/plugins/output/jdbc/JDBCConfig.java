@@ -0,0 +1,93 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import nl.dictu.prova.Config;
+
+/**
+ * Configuration options of the JDBC output plug-in. Each datasource is
+ * configured with its own set of properties, e.g. for datasource 'orders':
+ * <p>
+ * prova.plugins.output.jdbc.datasource.orders.url = jdbc:...
+ * prova.plugins.output.jdbc.datasource.orders.user = ...
+ * prova.plugins.output.jdbc.datasource.orders.password = ...
+ * prova.plugins.output.jdbc.datasource.orders.poolSize = 4
+ *
+ * @author Sjoerd Boerhout
+ */
+public class JDBCConfig extends Config
+{
+
+  /**
+   * Prefix of the properties of a datasource, followed by its name and one of
+   * the datasource suffixes
+   */
+  public final static String PROVA_PLUGINS_JDBC_DATASOURCE_PREFIX =
+          "prova.plugins.output.jdbc.datasource.";
+
+  /**
+   * JDBC url of a datasource (required)
+   */
+  public final static String DATASOURCE_URL = ".url";
+
+  /**
+   * User of a datasource
+   */
+  public final static String DATASOURCE_USER = ".user";
+
+  /**
+   * Password of a datasource
+   */
+  public final static String DATASOURCE_PASSWORD = ".password";
+
+  /**
+   * Maximum number of open connections of a datasource. Defaults to 4.
+   */
+  public final static String DATASOURCE_POOL_SIZE = ".poolSize";
+
+  /**
+   * Maximum number of prepared statements kept open per connection, at least
+   * 1. Defaults to 50.
+   */
+  public final static String PROVA_PLUGINS_JDBC_STATEMENT_CACHE_SIZE =
+          "prova.plugins.output.jdbc.statementCacheSize";
+
+  /**
+   * Number of rows fetched from the database at once when a query result is
+   * streamed. Defaults to 1000.
+   */
+  public final static String PROVA_PLUGINS_JDBC_FETCH_SIZE =
+          "prova.plugins.output.jdbc.fetchSize";
+
+  /**
+   * Number of rows executed in one batch and transaction by the 'BatchExecute'
+   * action. Defaults to 1000.
+   */
+  public final static String PROVA_PLUGINS_JDBC_BATCH_SIZE =
+          "prova.plugins.output.jdbc.batchSize";
+
+  /**
+   * Maximum time in milliseconds a test case waits for a free connection.
+   * Defaults to 60000.
+   */
+  public final static String PROVA_PLUGINS_JDBC_LEASE_TIMEOUT =
+          "prova.plugins.output.jdbc.leaseTimeout";
+
+}
@@ -0,0 +1,120 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import nl.dictu.prova.framework.TestCase;
+
+/**
+ * State of a single test case executed by the {@link JDBC} plug-in. The
+ * context leases a connection per datasource the first time an action of the
+ * test case uses it and keeps it until the teardown of the test case, so all
+ * actions of a test case share the same connection and prepared statements.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class JDBCContext
+{
+
+  private final TestCase testCase;
+  private final JDBC jdbc;
+  private final HashMap<String, PooledConnection> connections = new HashMap<>();
+
+
+  /**
+   * Constructor
+   *
+   * @param testCase
+   * @param jdbc     Plug-in providing the connection pools
+   */
+  public JDBCContext(TestCase testCase, JDBC jdbc)
+  {
+    this.testCase = testCase;
+    this.jdbc = jdbc;
+  }
+
+
+  /**
+   * Return the test case of this context
+   *
+   * @return
+   */
+  public TestCase getTestCase()
+  {
+    return testCase;
+  }
+
+
+  /**
+   * Return the connection of the test case to {@link datasource}, leased from
+   * its pool at first use
+   *
+   * @param datasource
+   *
+   * @return
+   *
+   * @throws Exception No connection available
+   */
+  public PooledConnection getConnection(String datasource) throws Exception
+  {
+    PooledConnection connection = connections.get(datasource);
+
+    if(connection == null)
+    {
+      connection = jdbc.getConnectionPool(datasource).lease(jdbc.getLeaseTimeout());
+      connections.put(datasource, connection);
+    }
+
+    return connection;
+  }
+
+
+  /**
+   * Close the connection to {@link datasource} because it's broken. The next
+   * action using the datasource gets a new connection.
+   *
+   * @param datasource
+   */
+  public void invalidate(String datasource)
+  {
+    PooledConnection connection = connections.remove(datasource);
+
+    if(connection != null)
+    {
+      jdbc.getConnectionPool(datasource).invalidate(connection);
+    }
+  }
+
+
+  /**
+   * Return all connections of the test case to their pools
+   */
+  public void releaseConnections()
+  {
+    for(Map.Entry<String, PooledConnection> entry : connections.entrySet())
+    {
+      jdbc.getConnectionPool(entry.getKey()).release(entry.getValue());
+    }
+
+    connections.clear();
+  }
+
+}
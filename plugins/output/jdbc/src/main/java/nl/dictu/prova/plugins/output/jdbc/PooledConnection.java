@@ -0,0 +1,244 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A database connection of a {@link ConnectionPool} with its own cache of
+ * prepared statements. Test scripts execute the same statements over and
+ * over, so statements are prepared once per connection and reused with new
+ * parameters. The least recently used statement is closed when the cache is
+ * full.
+ * <p>
+ * A pooled connection is used by one test case at a time.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class PooledConnection
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(PooledConnection.class.
+          getName());
+
+  private final Connection connection;
+  private final LinkedHashMap<String, PreparedStatement> statements;
+
+  private long lastUsed = System.currentTimeMillis();
+  private long hits = 0;
+  private long misses = 0;
+
+
+  /**
+   * Constructor
+   *
+   * @param connection
+   * @param statementCacheSize Maximum number of statements kept open, at
+   *                           least 1 because the statement last prepared
+   *                           is in use
+   *
+   * @throws InvalidParameterException
+   */
+  public PooledConnection(Connection connection, int statementCacheSize) throws
+          InvalidParameterException
+  {
+    if(connection == null || statementCacheSize < 1)
+    {
+      throw new InvalidParameterException("Invalid connection or statement cache size ("
+                                          + statementCacheSize + ")");
+    }
+
+    this.connection = connection;
+    this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true)
+    {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest)
+      {
+        if(size() <= statementCacheSize)
+        {
+          return false;
+        }
+
+        closeStatement(eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+
+  /**
+   * Return the database connection
+   *
+   * @return
+   */
+  public Connection getConnection()
+  {
+    return connection;
+  }
+
+
+  /**
+   * Return a prepared statement for {@link sql}, from the cache when it was
+   * prepared before. Parameters of a previous execution are cleared.
+   *
+   * @param sql
+   *
+   * @return
+   *
+   * @throws SQLException
+   */
+  public PreparedStatement prepareStatement(String sql) throws SQLException
+  {
+    PreparedStatement statement = statements.get(sql);
+
+    if(statement != null && !statement.isClosed())
+    {
+      hits++;
+      statement.clearParameters();
+      return statement;
+    }
+
+    misses++;
+    statement = connection.prepareStatement(sql);
+    statements.put(sql, statement);
+
+    return statement;
+  }
+
+
+  /**
+   * Return the number of statements found in the cache
+   *
+   * @return
+   */
+  public long getHits()
+  {
+    return hits;
+  }
+
+
+  /**
+   * Return the number of statements prepared
+   *
+   * @return
+   */
+  public long getMisses()
+  {
+    return misses;
+  }
+
+
+  /**
+   * Return the time in milliseconds this connection was last released
+   *
+   * @return
+   */
+  long getLastUsed()
+  {
+    return lastUsed;
+  }
+
+
+  /**
+   * Remove the state of the previous test case: open transactions are rolled
+   * back and auto commit is switched on again
+   *
+   * @throws SQLException
+   */
+  void reset() throws SQLException
+  {
+    if( !connection.getAutoCommit())
+    {
+      connection.rollback();
+      connection.setAutoCommit(true);
+    }
+
+    connection.clearWarnings();
+    lastUsed = System.currentTimeMillis();
+  }
+
+
+  /**
+   * Check if the database still responds
+   *
+   * @return
+   */
+  boolean isValid()
+  {
+    try
+    {
+      return connection.isValid(5);
+    }
+    catch(SQLException eX)
+    {
+      LOGGER.debug("Validation failed: {}", eX.getMessage());
+      return false;
+    }
+  }
+
+
+  /**
+   * Close the cached statements and the connection
+   */
+  void close()
+  {
+    for(Iterator<PreparedStatement> iterator = statements.values().iterator(); iterator.hasNext();)
+    {
+      closeStatement(iterator.next());
+      iterator.remove();
+    }
+
+    try
+    {
+      connection.close();
+    }
+    catch(SQLException eX)
+    {
+      LOGGER.debug("Close of connection failed: {}", eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Close {@link statement}, ignoring failures
+   *
+   * @param statement
+   */
+  private static void closeStatement(PreparedStatement statement)
+  {
+    try
+    {
+      statement.close();
+    }
+    catch(SQLException eX)
+    {
+      LOGGER.debug("Close of statement failed: {}", eX.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,134 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Reads the rows of a {@link ResultSet}. The result set is read forward only,
+ * so with a fetch size set on its statement the driver streams the rows
+ * instead of loading the complete result.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ResultSetRowReader implements RowReader
+{
+
+  private final ResultSet resultSet;
+  private final String[] values;
+  private final boolean[] numeric;
+  private long rowNumber = 0;
+
+
+  /**
+   * Constructor
+   *
+   * @param resultSet
+   *
+   * @throws SQLException
+   */
+  public ResultSetRowReader(ResultSet resultSet) throws SQLException
+  {
+    ResultSetMetaData metaData = resultSet.getMetaData();
+
+    this.resultSet = resultSet;
+    this.values = new String[metaData.getColumnCount()];
+    this.numeric = new boolean[values.length];
+
+    for(int column = 0; column < values.length; column++)
+    {
+      switch(metaData.getColumnType(column + 1))
+      {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+          numeric[column] = true;
+          break;
+        default:
+          numeric[column] = false;
+      }
+    }
+  }
+
+
+  @Override
+  public boolean next() throws SQLException
+  {
+    if( !resultSet.next())
+    {
+      return false;
+    }
+
+    // Each value is read once, it's used for hashing and key comparison
+    for(int column = 0; column < values.length; column++)
+    {
+      values[column] = resultSet.getString(column + 1);
+    }
+
+    rowNumber++;
+
+    return true;
+  }
+
+
+  @Override
+  public int getColumnCount()
+  {
+    return values.length;
+  }
+
+
+  @Override
+  public boolean isNumeric(int column)
+  {
+    return numeric[column - 1];
+  }
+
+
+  @Override
+  public String getValue(int column)
+  {
+    return values[column - 1];
+  }
+
+
+  @Override
+  public long getRowNumber()
+  {
+    return rowNumber;
+  }
+
+
+  @Override
+  public void close() throws SQLException
+  {
+    resultSet.close();
+  }
+
+}
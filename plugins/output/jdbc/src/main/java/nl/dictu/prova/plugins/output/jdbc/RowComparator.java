@@ -0,0 +1,622 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.math.BigDecimal;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Compares the rows of an expected and an actual data set while streaming
+ * both. Rows are compared by their {@link RowHash}; only when the hashes
+ * differ the values are compared to describe the difference. The comparison
+ * stops after the maximum number of mismatches is found.
+ * <p>
+ * Two strategies are supported:
+ * <p>
+ * - {@link #compareSorted}: a merge of two data sets sorted on their key
+ * columns. Takes constant memory and reports differing values per key.
+ * Whether a key column is numeric is decided once per column: from the
+ * {@link KeyType} set for it, or else from the column types of the readers.
+ * Numeric keys are compared as numbers, text keys with the collation, by
+ * default their binary value (UTF-16 code units, e.g. a 'C' collation). Null
+ * keys sort first by default (NULLS FIRST); Oracle and PostgreSQL sort them
+ * last in ascending order.
+ * <p>
+ * - {@link #compareHashed}: a hash join on the complete row for data sets in
+ * any order. Keeps the hash of each expected row in memory, not its values,
+ * and reports missing and unexpected rows.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class RowComparator
+{
+
+  /**
+   * How the values of a key column are ordered
+   */
+  public enum KeyType
+  {
+    /**
+     * Numeric when the column type of either data set is numeric
+     */
+    AUTO,
+    /**
+     * Compared as decimal numbers
+     */
+    NUMBER,
+    /**
+     * Compared with the collation
+     */
+    TEXT
+  }
+
+  private final int[] keyColumns;
+  private final int maxMismatches;
+  private final KeyType[] keyTypes;
+  private Comparator<String> collation = Comparator.naturalOrder();
+  private boolean nullsFirst = true;
+
+  private final ArrayList<Comparator<String>> keyComparators = new ArrayList<>();
+  private final ArrayList<Mismatch> mismatches = new ArrayList<>();
+  private long expectedRows = 0;
+  private long actualRows = 0;
+
+
+  /**
+   * Constructor
+   *
+   * @param keyColumns    Columns (starting at 1) the data sets are sorted on
+   * @param maxMismatches Number of mismatches after which the comparison
+   *                      stops
+   *
+   * @throws InvalidParameterException
+   */
+  public RowComparator(int[] keyColumns, int maxMismatches) throws InvalidParameterException
+  {
+    if(keyColumns == null || keyColumns.length < 1 || maxMismatches < 1)
+    {
+      throw new InvalidParameterException("Invalid key columns or maximum number of mismatches ("
+                                          + maxMismatches + ")");
+    }
+
+    for(int keyColumn : keyColumns)
+    {
+      if(keyColumn < 1)
+      {
+        throw new InvalidParameterException("Invalid key column (" + keyColumn + ")");
+      }
+    }
+
+    this.keyColumns = keyColumns.clone();
+    this.maxMismatches = maxMismatches;
+    this.keyTypes = new KeyType[keyColumns.length];
+
+    Arrays.fill(keyTypes, KeyType.AUTO);
+  }
+
+
+  /**
+   * Set the type of each key column, in the order of the key columns
+   *
+   * @param keyTypes
+   *
+   * @throws InvalidParameterException
+   */
+  public void setKeyTypes(KeyType... keyTypes) throws InvalidParameterException
+  {
+    if(keyTypes == null || keyTypes.length != keyColumns.length)
+    {
+      throw new InvalidParameterException("Expected " + keyColumns.length + " key types");
+    }
+
+    for(int index = 0; index < keyTypes.length; index++)
+    {
+      this.keyTypes[index] = (keyTypes[index] == null ? KeyType.AUTO : keyTypes[index]);
+    }
+  }
+
+
+  /**
+   * Set the order of text keys, e.g. String.CASE_INSENSITIVE_ORDER or a
+   * java.text.Collator matching the collation of the database. Defaults to
+   * the binary value.
+   *
+   * @param collation
+   *
+   * @throws InvalidParameterException
+   */
+  public void setCollation(Comparator<String> collation) throws InvalidParameterException
+  {
+    if(collation == null)
+    {
+      throw new InvalidParameterException("Collation can not be null");
+    }
+
+    this.collation = collation;
+  }
+
+
+  /**
+   * Set whether null keys sort before (default) or after other keys
+   *
+   * @param nullsFirst
+   */
+  public void setNullsFirst(boolean nullsFirst)
+  {
+    this.nullsFirst = nullsFirst;
+  }
+
+
+  /**
+   * Compare two data sets sorted ascending on the key columns
+   *
+   * @param expected
+   * @param actual
+   *
+   * @return True when both data sets contain the same rows
+   *
+   * @throws InvalidParameterException A data set is not sorted on the key
+   *                                   columns
+   * @throws Exception                 Reading a data set failed
+   */
+  public boolean compareSorted(RowReader expected, RowReader actual) throws Exception
+  {
+    if( !hasSameColumns(expected, actual))
+    {
+      return false;
+    }
+
+    keyComparators.clear();
+
+    for(int index = 0; index < keyColumns.length; index++)
+    {
+      int keyColumn = keyColumns[index];
+
+      if(keyColumn > expected.getColumnCount())
+      {
+        throw new InvalidParameterException("Key column " + keyColumn + " doesn't exist");
+      }
+
+      boolean numeric = keyTypes[index] == KeyType.NUMBER
+                        || (keyTypes[index] == KeyType.AUTO && (expected.isNumeric(keyColumn)
+                                                                || actual.isNumeric(keyColumn)));
+      Comparator<String> comparator = numeric ? Comparator.comparing(
+              (String value) -> toNumber(value, keyColumn)) : collation;
+
+      keyComparators.add(nullsFirst ? Comparator.nullsFirst(comparator) : Comparator.nullsLast(
+              comparator));
+    }
+
+    String[] previousExpected = new String[keyColumns.length];
+    String[] previousActual = new String[keyColumns.length];
+    boolean hasExpected = next(expected, previousExpected, "expected");
+    boolean hasActual = next(actual, previousActual, "actual");
+
+    while((hasExpected || hasActual) && mismatches.size() < maxMismatches)
+    {
+      int order = !hasActual ? -1 : !hasExpected ? 1 : compareKeys(expected, actual);
+
+      if(order < 0)
+      {
+        addMismatch(expected.getRowNumber(), 0, "Missing row with key " + getKey(expected));
+        hasExpected = next(expected, previousExpected, "expected");
+      }
+      else if(order > 0)
+      {
+        addMismatch(0, actual.getRowNumber(), "Unexpected row with key " + getKey(actual));
+        hasActual = next(actual, previousActual, "actual");
+      }
+      else
+      {
+        if(RowHash.hash(expected) != RowHash.hash(actual))
+        {
+          addMismatch(expected.getRowNumber(), actual.getRowNumber(), describeDifference(
+                      expected, actual));
+        }
+
+        hasExpected = next(expected, previousExpected, "expected");
+        hasActual = next(actual, previousActual, "actual");
+      }
+    }
+
+    expectedRows = expected.getRowNumber();
+    actualRows = actual.getRowNumber();
+
+    return mismatches.isEmpty();
+  }
+
+
+  /**
+   * Compare two data sets in any order. Rows occurring more than once must
+   * occur equally often in both data sets.
+   *
+   * @param expected
+   * @param actual
+   *
+   * @return True when both data sets contain the same rows
+   *
+   * @throws Exception Reading a data set failed
+   */
+  public boolean compareHashed(RowReader expected, RowReader actual) throws Exception
+  {
+    if( !hasSameColumns(expected, actual))
+    {
+      return false;
+    }
+
+    RowHashCounts expectedHashes = new RowHashCounts();
+
+    while(expected.next())
+    {
+      expectedHashes.add(RowHash.hash(expected), expected.getRowNumber());
+    }
+
+    while(mismatches.size() < maxMismatches && actual.next())
+    {
+      if( !expectedHashes.remove(RowHash.hash(actual)))
+      {
+        addMismatch(0, actual.getRowNumber(), "Unexpected row " + getRow(actual));
+      }
+    }
+
+    expectedRows = expected.getRowNumber();
+    actualRows = actual.getRowNumber();
+
+    if(mismatches.size() < maxMismatches && expectedHashes.size() > 0)
+    {
+      // Report the first missing rows in the order of the expected data set
+      PriorityQueue<Long> missing = new PriorityQueue<>(Collections.reverseOrder());
+      int maxMissing = maxMismatches - mismatches.size();
+
+      expectedHashes.forEachRowNumber((rowNumber) ->
+      {
+        missing.add(rowNumber);
+
+        if(missing.size() > maxMissing)
+        {
+          missing.poll();
+        }
+      });
+
+      ArrayList<Long> rowNumbers = new ArrayList<>(missing);
+      Collections.sort(rowNumbers);
+
+      for(long rowNumber : rowNumbers)
+      {
+        addMismatch(rowNumber, 0, "Missing row");
+      }
+    }
+
+    return mismatches.isEmpty();
+  }
+
+
+  /**
+   * Return the mismatches found, at most the maximum number of mismatches
+   *
+   * @return
+   */
+  public ArrayList<Mismatch> getMismatches()
+  {
+    return mismatches;
+  }
+
+
+  /**
+   * Return the number of expected rows read, less than the size of the data
+   * set when the comparison stopped early
+   *
+   * @return
+   */
+  public long getExpectedRows()
+  {
+    return expectedRows;
+  }
+
+
+  /**
+   * Return the number of actual rows read, less than the size of the data set
+   * when the comparison stopped early
+   *
+   * @return
+   */
+  public long getActualRows()
+  {
+    return actualRows;
+  }
+
+
+  /**
+   * Check if both data sets have the same number of columns, and register a
+   * mismatch if they don't
+   *
+   * @param expected
+   * @param actual
+   *
+   * @return
+   */
+  private boolean hasSameColumns(RowReader expected, RowReader actual)
+  {
+    if(expected.getColumnCount() == actual.getColumnCount())
+    {
+      return true;
+    }
+
+    addMismatch(0, 0, "Expected " + expected.getColumnCount() + " columns, actual "
+                      + actual.getColumnCount());
+
+    return false;
+  }
+
+
+  /**
+   * Move {@link rowReader} to its next row and check that the key of the row
+   * is not smaller than {@link previousKey}, which is replaced by the new key
+   *
+   * @param rowReader
+   * @param previousKey
+   * @param name
+   *
+   * @return False when there are no more rows
+   *
+   * @throws InvalidParameterException The data set is not sorted
+   * @throws Exception
+   */
+  private boolean next(RowReader rowReader, String[] previousKey, String name) throws Exception
+  {
+    if( !rowReader.next())
+    {
+      return false;
+    }
+
+    if(rowReader.getRowNumber() > 1)
+    {
+      for(int index = 0; index < keyColumns.length; index++)
+      {
+        int order = keyComparators.get(index).compare(previousKey[index], rowReader.getValue(
+                keyColumns[index]));
+
+        if(order > 0)
+        {
+          throw new InvalidParameterException("The " + name + " rows are not sorted on the key"
+                                              + " columns at row " + rowReader.getRowNumber());
+        }
+
+        if(order < 0)
+        {
+          break;
+        }
+      }
+    }
+
+    for(int index = 0; index < keyColumns.length; index++)
+    {
+      previousKey[index] = rowReader.getValue(keyColumns[index]);
+    }
+
+    return true;
+  }
+
+
+  /**
+   * Compare the keys of the current rows of {@link expected} and
+   * {@link actual}
+   *
+   * @param expected
+   * @param actual
+   *
+   * @return
+   */
+  private int compareKeys(RowReader expected, RowReader actual)
+  {
+    for(int index = 0; index < keyColumns.length; index++)
+    {
+      int order = keyComparators.get(index).compare(expected.getValue(keyColumns[index]),
+                                                    actual.getValue(keyColumns[index]));
+
+      if(order != 0)
+      {
+        return order;
+      }
+    }
+
+    return 0;
+  }
+
+
+  /**
+   * Convert the value of numeric key column {@link column} to a number
+   *
+   * @param value
+   * @param column
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The value is not a number
+   */
+  private static BigDecimal toNumber(String value, int column) throws InvalidParameterException
+  {
+    try
+    {
+      return new BigDecimal(value.trim());
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Key value '" + value + "' of column " + column
+                                          + " is not a number");
+    }
+  }
+
+
+  /**
+   * Describe the differing values of two rows with the same key
+   *
+   * @param expected
+   * @param actual
+   *
+   * @return
+   */
+  private String describeDifference(RowReader expected, RowReader actual)
+  {
+    StringBuilder description = new StringBuilder("Different values for key ").append(getKey(
+            expected)).append(":");
+
+    for(int column = 1; column <= expected.getColumnCount(); column++)
+    {
+      String expectedValue = expected.getValue(column);
+      String actualValue = actual.getValue(column);
+
+      if(expectedValue == null ? actualValue != null : !expectedValue.equals(actualValue))
+      {
+        description.append(" column ").append(column).append(" expected '").append(expectedValue).
+                append("', actual '").append(actualValue).append("'");
+      }
+    }
+
+    return description.toString();
+  }
+
+
+  /**
+   * Return the key of the current row of {@link rowReader} as text
+   *
+   * @param rowReader
+   *
+   * @return
+   */
+  private String getKey(RowReader rowReader)
+  {
+    StringBuilder key = new StringBuilder("[");
+
+    for(int index = 0; index < keyColumns.length; index++)
+    {
+      key.append(index > 0 ? ", " : "").append(rowReader.getValue(keyColumns[index]));
+    }
+
+    return key.append("]").toString();
+  }
+
+
+  /**
+   * Return the values of the current row of {@link rowReader} as text
+   *
+   * @param rowReader
+   *
+   * @return
+   */
+  private static String getRow(RowReader rowReader)
+  {
+    StringBuilder row = new StringBuilder("[");
+
+    for(int column = 1; column <= rowReader.getColumnCount(); column++)
+    {
+      row.append(column > 1 ? ", " : "").append(rowReader.getValue(column));
+    }
+
+    return row.append("]").toString();
+  }
+
+
+  /**
+   * Register a mismatch
+   *
+   * @param expectedRow
+   * @param actualRow
+   * @param description
+   */
+  private void addMismatch(long expectedRow, long actualRow, String description)
+  {
+    mismatches.add(new Mismatch(expectedRow, actualRow, description));
+  }
+
+  /**
+   * A difference between the expected and the actual data set
+   */
+  public static class Mismatch
+  {
+
+    private final long expectedRow;
+    private final long actualRow;
+    private final String description;
+
+
+    /**
+     * Constructor
+     *
+     * @param expectedRow Position of the expected row or 0 if there is none
+     * @param actualRow   Position of the actual row or 0 if there is none
+     * @param description
+     */
+    public Mismatch(long expectedRow, long actualRow, String description)
+    {
+      this.expectedRow = expectedRow;
+      this.actualRow = actualRow;
+      this.description = description;
+    }
+
+
+    /**
+     * Return the position of the expected row, or 0 if there is none
+     *
+     * @return
+     */
+    public long getExpectedRow()
+    {
+      return expectedRow;
+    }
+
+
+    /**
+     * Return the position of the actual row, or 0 if there is none
+     *
+     * @return
+     */
+    public long getActualRow()
+    {
+      return actualRow;
+    }
+
+
+    /**
+     * Return the description of the difference
+     *
+     * @return
+     */
+    public String getDescription()
+    {
+      return description;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return "Expected row " + (expectedRow > 0 ? expectedRow : "-") + ", actual row "
+             + (actualRow > 0 ? actualRow : "-") + ": " + description;
+    }
+
+  }
+
+}
@@ -0,0 +1,82 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+/**
+ * 64-bit hash of the values of a row. The hash is built incrementally per
+ * value (FNV-1a), including the length of each value and a marker for null,
+ * so rows with the same text spread differently over their columns get a
+ * different hash. The result is mixed to spread well in hash tables.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class RowHash
+{
+
+  private final static long OFFSET_BASIS = 0xcbf29ce484222325L;
+  private final static long PRIME = 0x100000001b3L;
+  private final static long NULL_VALUE = 0x9e3779b97f4a7c15L;
+
+
+  /**
+   * Private constructor, only static methods
+   */
+  private RowHash()
+  {
+  }
+
+
+  /**
+   * Return the hash of the current row of {@link rowReader}
+   *
+   * @param rowReader
+   *
+   * @return
+   */
+  public static long hash(RowReader rowReader)
+  {
+    long hash = OFFSET_BASIS;
+
+    for(int column = 1; column <= rowReader.getColumnCount(); column++)
+    {
+      String value = rowReader.getValue(column);
+
+      if(value == null)
+      {
+        hash = (hash ^ NULL_VALUE) * PRIME;
+        continue;
+      }
+
+      hash = (hash ^ value.length()) * PRIME;
+
+      for(int index = 0; index < value.length(); index++)
+      {
+        hash = (hash ^ value.charAt(index)) * PRIME;
+      }
+    }
+
+    // Final mix (MurmurHash3)
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+    return hash ^ (hash >>> 33);
+  }
+
+}
@@ -0,0 +1,190 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Multiset of row hashes with the position of the first row of each hash,
+ * stored in primitive arrays with open addressing. A distinct row takes less
+ * than 60 bytes whatever the size of its values, which makes it possible to
+ * compare millions of rows in any order.
+ *
+ * @author Sjoerd Boerhout
+ */
+class RowHashCounts
+{
+
+  private final static int INITIAL_CAPACITY = 1024;
+
+  // Hash 0 marks an empty slot, so row hash 0 is stored as 1
+  private long[] hashes = new long[INITIAL_CAPACITY];
+  private int[] counts = new int[INITIAL_CAPACITY];
+  private long[] rowNumbers = new long[INITIAL_CAPACITY];
+  private int slots = 0;
+  private long size = 0;
+
+
+  /**
+   * Add a row with {@link hash} at position {@link rowNumber}
+   *
+   * @param hash
+   * @param rowNumber
+   */
+  void add(long hash, long rowNumber)
+  {
+    if((slots + 1) * 4L > hashes.length * 3L)
+    {
+      grow();
+    }
+
+    int slot = find(hashes, normalize(hash));
+
+    if(hashes[slot] == 0)
+    {
+      hashes[slot] = normalize(hash);
+      rowNumbers[slot] = rowNumber;
+      slots++;
+    }
+    else if(counts[slot] == 0)
+    {
+      rowNumbers[slot] = rowNumber;
+    }
+
+    counts[slot]++;
+    size++;
+  }
+
+
+  /**
+   * Remove a row with {@link hash}
+   *
+   * @param hash
+   *
+   * @return False when there is no row with {@link hash}
+   */
+  boolean remove(long hash)
+  {
+    int slot = find(hashes, normalize(hash));
+
+    if(hashes[slot] == 0 || counts[slot] == 0)
+    {
+      return false;
+    }
+
+    counts[slot]--;
+    size--;
+
+    return true;
+  }
+
+
+  /**
+   * Return the number of rows
+   *
+   * @return
+   */
+  long size()
+  {
+    return size;
+  }
+
+
+  /**
+   * Pass the position of the first remaining row of each hash to
+   * {@link consumer}
+   *
+   * @param consumer
+   */
+  void forEachRowNumber(LongConsumer consumer)
+  {
+    for(int slot = 0; slot < hashes.length; slot++)
+    {
+      if(counts[slot] > 0)
+      {
+        consumer.accept(rowNumbers[slot]);
+      }
+    }
+  }
+
+
+  /**
+   * Return the slot of {@link hash} in {@link table}, or the empty slot
+   * where it belongs
+   *
+   * @param table
+   * @param hash
+   *
+   * @return
+   */
+  private static int find(long[] table, long hash)
+  {
+    int mask = table.length - 1;
+    int slot = (int) hash & mask;
+
+    while(table[slot] != 0 && table[slot] != hash)
+    {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+
+  /**
+   * Return {@link hash} as stored in the table
+   *
+   * @param hash
+   *
+   * @return
+   */
+  private static long normalize(long hash)
+  {
+    return (hash == 0 ? 1 : hash);
+  }
+
+
+  /**
+   * Double the capacity of the table
+   */
+  private void grow()
+  {
+    long[] oldHashes = hashes;
+    int[] oldCounts = counts;
+    long[] oldRowNumbers = rowNumbers;
+
+    hashes = new long[oldHashes.length * 2];
+    counts = new int[hashes.length];
+    rowNumbers = new long[hashes.length];
+
+    for(int slot = 0; slot < oldHashes.length; slot++)
+    {
+      if(oldHashes[slot] != 0)
+      {
+        int newSlot = find(hashes, oldHashes[slot]);
+
+        hashes[newSlot] = oldHashes[slot];
+        counts[newSlot] = oldCounts[slot];
+        rowNumbers[newSlot] = oldRowNumbers[slot];
+      }
+    }
+  }
+
+}
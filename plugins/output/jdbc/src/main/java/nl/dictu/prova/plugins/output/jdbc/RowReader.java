@@ -0,0 +1,83 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+/**
+ * Forward-only reader of the rows of a data set, e.g. a query result or a
+ * file. Only the current row is kept in memory, so data sets of any size can
+ * be compared.
+ *
+ * @author Sjoerd Boerhout
+ */
+public interface RowReader extends AutoCloseable
+{
+
+  /**
+   * Move to the next row
+   *
+   * @return False when there are no more rows
+   *
+   * @throws Exception
+   */
+  public boolean next() throws Exception;
+
+
+  /**
+   * Return the number of columns of each row
+   *
+   * @return
+   */
+  public int getColumnCount();
+
+
+  /**
+   * Check if the values of {@link column} (starting at 1) are numbers, e.g.
+   * from the column type of a query. Readers without column types return
+   * false.
+   *
+   * @param column
+   *
+   * @return
+   */
+  public default boolean isNumeric(int column)
+  {
+    return false;
+  }
+
+
+  /**
+   * Return the value of {@link column} (starting at 1) of the current row as
+   * text, or null when the value is not set
+   *
+   * @param column
+   *
+   * @return
+   */
+  public String getValue(int column);
+
+
+  /**
+   * Return the position of the current row, starting at 1
+   *
+   * @return
+   */
+  public long getRowNumber();
+
+}
@@ -0,0 +1,284 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.CsvRowReader;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import nl.dictu.prova.plugins.output.jdbc.RowReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Execute a statement for each row of a data set, e.g. to insert test data.
+ * The columns of a row fill the '?' placeholders of the statement in order.
+ * Rows are sent to the database in JDBC batches of 'batchSize' rows and each
+ * batch is committed in its own transaction, so a failing batch leaves the
+ * previous batches in place.
+ * <p>
+ * When the test case already started a transaction (auto commit is off) the
+ * batches become part of it and nothing is committed or rolled back beyond
+ * this action: each batch gets a savepoint and a failing batch is rolled back
+ * to its savepoint, keeping the previous batches and the earlier statements
+ * of the test case in the open transaction.
+ * <p>
+ * When attribute 'rows' is set, the statement must update exactly that number
+ * of rows in total. Rows a driver reports as updated without a count are
+ * counted as one.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BatchExecute extends JDBCAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(BatchExecute.class.
+          getName());
+
+  /**
+   * CSV file with a header line and a row for each execution
+   */
+  public final static String ATTR_DATA_FILE = "dataFile";
+
+  /**
+   * Number of rows per batch. Defaults to the batch size of the plug-in.
+   */
+  public final static String ATTR_BATCH_SIZE = "batchSize";
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param jdbc
+   */
+  public BatchExecute(Integer id, JDBC jdbc)
+  {
+    super(LOGGER, id, jdbc);
+  }
+
+
+  @Override
+  protected TestStatus execute(PooledConnection connection) throws Exception
+  {
+    int batchSize = hasAttribute(ATTR_BATCH_SIZE) ? Integer.parseInt(getAttribute(
+            ATTR_BATCH_SIZE).trim()) : getJDBC().getBatchSize();
+
+    if(batchSize < 1)
+    {
+      throw new InvalidParameterException("Invalid batch size (" + batchSize + ")");
+    }
+
+    Connection jdbcConnection = connection.getConnection();
+    PreparedStatement statement = connection.prepareStatement(getAttribute(ATTR_SQL));
+    boolean autoCommit = jdbcConnection.getAutoCommit();
+    long startTime = System.nanoTime();
+    long updateCount = 0;
+    int batches = 0;
+    int batchRows = 0;
+
+    // Within a transaction of the test case the batches are not committed
+    boolean commit = autoCommit;
+
+    jdbcConnection.setAutoCommit(false);
+
+    try(RowReader rowReader = new CsvRowReader(new File(getAttribute(ATTR_DATA_FILE))))
+    {
+      int[] types = getParameterTypes(statement, rowReader.getColumnCount());
+
+      while(rowReader.next())
+      {
+        for(int column = 1; column <= types.length; column++)
+        {
+          String value = rowReader.getValue(column);
+
+          if(value == null)
+          {
+            statement.setNull(column, types[column - 1]);
+          }
+          else
+          {
+            statement.setObject(column, value);
+          }
+        }
+
+        statement.addBatch();
+
+        if(++batchRows == batchSize)
+        {
+          updateCount += executeBatch(statement, commit);
+          batches++;
+          batchRows = 0;
+        }
+      }
+
+      if(batchRows > 0)
+      {
+        updateCount += executeBatch(statement, commit);
+        batches++;
+        batchRows = 0;
+      }
+    }
+    catch(Exception eX)
+    {
+      LOGGER.info("Action '{}': batch {} failed, {} batches {}", this, batches + 1, batches,
+                  commit ? "committed" : "kept in the transaction");
+      statement.clearBatch();
+
+      if(commit)
+      {
+        jdbcConnection.rollback();
+      }
+
+      throw eX;
+    }
+    finally
+    {
+      jdbcConnection.setAutoCommit(autoCommit);
+    }
+
+    long duration = Math.max(1, (System.nanoTime() - startTime) / 1000000);
+
+    LOGGER.info("Action '{}': {} rows updated in {} batches in {}ms ({} rows/s)", this,
+                updateCount, batches, duration, updateCount * 1000 / duration);
+
+    if(hasAttribute(ATTR_ROWS) && updateCount != getExpectedRows())
+    {
+      return TestStatus.FAILED;
+    }
+
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_SQL) && hasAttribute(ATTR_DATA_FILE);
+  }
+
+
+  /**
+   * Execute the rows added to {@link statement} and commit them, or, within a
+   * transaction of the test case, keep them in the transaction. In a
+   * transaction a failing batch is rolled back to the savepoint before it.
+   *
+   * @param statement
+   * @param commit
+   *
+   * @return The number of updated rows
+   *
+   * @throws SQLException
+   */
+  private static long executeBatch(PreparedStatement statement, boolean commit) throws
+          SQLException
+  {
+    Connection connection = statement.getConnection();
+    Savepoint savepoint = (commit ? null : connection.setSavepoint());
+    long updateCount = 0;
+
+    try
+    {
+      for(int count : statement.executeBatch())
+      {
+        updateCount += (count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count));
+      }
+    }
+    catch(SQLException eX)
+    {
+      if(savepoint != null)
+      {
+        connection.rollback(savepoint);
+      }
+
+      throw eX;
+    }
+
+    if(commit)
+    {
+      connection.commit();
+    }
+    else
+    {
+      releaseSavepoint(connection, savepoint);
+    }
+
+    return updateCount;
+  }
+
+
+  /**
+   * Release {@link savepoint}. Not all drivers support this; their savepoints
+   * end with the transaction.
+   *
+   * @param connection
+   * @param savepoint
+   */
+  private static void releaseSavepoint(Connection connection, Savepoint savepoint)
+  {
+    try
+    {
+      connection.releaseSavepoint(savepoint);
+    }
+    catch(SQLException eX)
+    {
+      LOGGER.trace("Savepoint not released: {}", eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Return the SQL types of the {@link columns} parameters of
+   * {@link statement}, used to set null values. Drivers which don't describe
+   * their parameters get type VARCHAR.
+   *
+   * @param statement
+   * @param columns
+   *
+   * @return
+   */
+  private static int[] getParameterTypes(PreparedStatement statement, int columns)
+  {
+    int[] types = new int[columns];
+
+    for(int column = 1; column <= columns; column++)
+    {
+      try
+      {
+        types[column - 1] = statement.getParameterMetaData().getParameterType(column);
+      }
+      catch(SQLException eX)
+      {
+        types[column - 1] = Types.VARCHAR;
+      }
+    }
+
+    return types;
+  }
+
+}
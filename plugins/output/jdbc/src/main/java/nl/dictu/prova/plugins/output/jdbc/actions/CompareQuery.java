@@ -0,0 +1,479 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.CsvRowReader;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import nl.dictu.prova.plugins.output.jdbc.ResultSetRowReader;
+import nl.dictu.prova.plugins.output.jdbc.RowComparator;
+import nl.dictu.prova.plugins.output.jdbc.RowReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compare the result of a query with an expected data set: the result of
+ * another query, possibly on another datasource, or a CSV file. Both are
+ * streamed with the configured fetch size and compared row by row with a
+ * {@link RowComparator}, so data sets of millions of rows can be compared
+ * without loading them. The first mismatches are reported with their row
+ * positions.
+ * <p>
+ * By default both data sets must be sorted on the 'keyColumns' (e.g. with
+ * ORDER BY). With 'mode' set to 'hash' they may be in any order. Numeric key
+ * columns, from the column types or 'keyTypes', are sorted as numbers. Text
+ * keys are sorted by their binary value with nulls first, unless 'collation'
+ * and 'nulls' match the order of the database.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CompareQuery extends JDBCAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(CompareQuery.class.
+          getName());
+
+  /**
+   * Query returning the expected data set
+   */
+  public final static String ATTR_EXPECTED_SQL = "expectedSql";
+
+  /**
+   * Datasource of the expected query. Defaults to the datasource of the
+   * action.
+   */
+  public final static String ATTR_EXPECTED_DATABASE = "expectedDatabase";
+
+  /**
+   * CSV file with the expected data set, alternative to
+   * {@link #ATTR_EXPECTED_SQL}
+   */
+  public final static String ATTR_EXPECTED_FILE = "expectedFile";
+
+  /**
+   * Comma separated columns (starting at 1) the data sets are sorted on.
+   * Defaults to the first column.
+   */
+  public final static String ATTR_KEY_COLUMNS = "keyColumns";
+
+  /**
+   * Comparison of sorted data sets ('merge', default) or data sets in any
+   * order ('hash')
+   */
+  public final static String ATTR_MODE = "mode";
+
+  /**
+   * Number of mismatches after which the comparison stops. Defaults to 10.
+   */
+  public final static String ATTR_MAX_MISMATCHES = "maxMismatches";
+
+  /**
+   * Number of rows fetched at once. Defaults to the fetch size of the
+   * plug-in.
+   */
+  public final static String ATTR_FETCH_SIZE = "fetchSize";
+
+  /**
+   * Comma separated type per key column: 'number', 'text' or 'auto'
+   * (default), which takes the column type of the queries
+   */
+  public final static String ATTR_KEY_TYPES = "keyTypes";
+
+  /**
+   * Order of text keys: 'binary' (default), 'nocase' or a language tag
+   * (e.g. 'nl') for the collation of that language. With 'nocase' keys
+   * differing only in case are the same key.
+   */
+  public final static String ATTR_COLLATION = "collation";
+
+  /**
+   * Position of null keys: 'first' (default) or 'last'
+   */
+  public final static String ATTR_NULLS = "nulls";
+
+  public final static String MODE_MERGE = "merge";
+  public final static String MODE_HASH = "hash";
+  public final static String COLLATION_BINARY = "binary";
+  public final static String COLLATION_NOCASE = "nocase";
+  public final static String NULLS_FIRST = "first";
+  public final static String NULLS_LAST = "last";
+
+  private final static int DEFAULT_MAX_MISMATCHES = 10;
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param jdbc
+   */
+  public CompareQuery(Integer id, JDBC jdbc)
+  {
+    super(LOGGER, id, jdbc);
+  }
+
+
+  @Override
+  protected TestStatus execute(PooledConnection connection) throws Exception
+  {
+    int fetchSize = hasAttribute(ATTR_FETCH_SIZE) ? Integer.parseInt(getAttribute(
+            ATTR_FETCH_SIZE).trim()) : getJDBC().getFetchSize();
+    int[] keyColumns = getKeyColumns();
+    RowComparator rowComparator = new RowComparator(keyColumns,
+                                                    hasAttribute(ATTR_MAX_MISMATCHES)
+                                                    ? Integer.parseInt(getAttribute(
+                                                            ATTR_MAX_MISMATCHES).trim())
+                                                    : DEFAULT_MAX_MISMATCHES);
+
+    rowComparator.setKeyTypes(getKeyTypes(keyColumns.length));
+    rowComparator.setCollation(getCollation());
+    rowComparator.setNullsFirst(isNullsFirst());
+
+    String mode = hasAttribute(ATTR_MODE) ? getAttribute(ATTR_MODE).trim().toLowerCase()
+                  : MODE_MERGE;
+    PooledConnection expectedConnection = hasAttribute(ATTR_EXPECTED_DATABASE)
+                                          ? getJDBC().getContext(getParent()).getConnection(
+                    getAttribute(ATTR_EXPECTED_DATABASE)) : connection;
+
+    if( !mode.equals(MODE_MERGE) && !mode.equals(MODE_HASH))
+    {
+      throw new InvalidParameterException("Unknown mode '" + mode + "'");
+    }
+
+    // Both queries would share the same cached statement
+    if(expectedConnection == connection && hasAttribute(ATTR_EXPECTED_SQL)
+       && getAttribute(ATTR_EXPECTED_SQL).equals(getAttribute(ATTR_SQL)))
+    {
+      throw new InvalidParameterException("Query and expected query are the same");
+    }
+
+    long startTime = System.nanoTime();
+    boolean equal;
+
+    boolean streaming = startStreaming(connection);
+    boolean expectedStreaming = startStreaming(expectedConnection);
+    Map<PreparedStatement, Integer> fetchSizes = new HashMap<>();
+
+    try(RowReader expected = openExpected(expectedConnection, fetchSize, fetchSizes);
+        RowReader actual = new ResultSetRowReader(executeQuery(prepareStatement(connection),
+                                                               fetchSize, fetchSizes)))
+    {
+      equal = mode.equals(MODE_HASH) ? rowComparator.compareHashed(expected, actual)
+              : rowComparator.compareSorted(expected, actual);
+    }
+    finally
+    {
+      restoreFetchSizes(fetchSizes);
+      stopStreaming(connection, streaming);
+      stopStreaming(expectedConnection, expectedStreaming);
+    }
+
+    long duration = Math.max(1, (System.nanoTime() - startTime) / 1000000);
+    long rows = rowComparator.getExpectedRows() + rowComparator.getActualRows();
+
+    LOGGER.info("Action '{}': {} expected and {} actual rows compared in {}ms ({} rows/s)", this,
+                rowComparator.getExpectedRows(), rowComparator.getActualRows(), duration,
+                rows * 1000 / duration);
+
+    for(RowComparator.Mismatch mismatch : rowComparator.getMismatches())
+    {
+      LOGGER.info("Action '{}': {}", this, mismatch);
+    }
+
+    return equal ? TestStatus.PASSED : TestStatus.FAILED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_SQL) && (hasAttribute(ATTR_EXPECTED_SQL) != hasAttribute(
+                                      ATTR_EXPECTED_FILE));
+  }
+
+
+  /**
+   * Return the columns of attribute {@link #ATTR_KEY_COLUMNS}
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private int[] getKeyColumns() throws InvalidParameterException
+  {
+    if( !hasAttribute(ATTR_KEY_COLUMNS))
+    {
+      return new int[]
+      {
+        1
+      };
+    }
+
+    String[] columns = getAttribute(ATTR_KEY_COLUMNS).split(",");
+    int[] keyColumns = new int[columns.length];
+
+    try
+    {
+      for(int index = 0; index < columns.length; index++)
+      {
+        keyColumns[index] = Integer.parseInt(columns[index].trim());
+      }
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Invalid key columns '"
+                                          + getAttribute(ATTR_KEY_COLUMNS) + "'");
+    }
+
+    return keyColumns;
+  }
+
+
+  /**
+   * Return the key types of attribute {@link #ATTR_KEY_TYPES}, one for each
+   * key column
+   *
+   * @param numberOfKeyColumns
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private RowComparator.KeyType[] getKeyTypes(int numberOfKeyColumns) throws
+          InvalidParameterException
+  {
+    RowComparator.KeyType[] keyTypes = new RowComparator.KeyType[numberOfKeyColumns];
+
+    if( !hasAttribute(ATTR_KEY_TYPES))
+    {
+      return keyTypes;
+    }
+
+    String[] types = getAttribute(ATTR_KEY_TYPES).split(",");
+
+    if(types.length != numberOfKeyColumns)
+    {
+      throw new InvalidParameterException("Expected " + numberOfKeyColumns + " key types: '"
+                                          + getAttribute(ATTR_KEY_TYPES) + "'");
+    }
+
+    try
+    {
+      for(int index = 0; index < types.length; index++)
+      {
+        keyTypes[index] = RowComparator.KeyType.valueOf(types[index].trim().toUpperCase());
+      }
+    }
+    catch(IllegalArgumentException eX)
+    {
+      throw new InvalidParameterException("Invalid key types '" + getAttribute(ATTR_KEY_TYPES)
+                                          + "'");
+    }
+
+    return keyTypes;
+  }
+
+
+  /**
+   * Return the order of text keys of attribute {@link #ATTR_COLLATION}
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private Comparator<String> getCollation() throws InvalidParameterException
+  {
+    String collation = hasAttribute(ATTR_COLLATION) ? getAttribute(ATTR_COLLATION).trim()
+                       : COLLATION_BINARY;
+
+    if(collation.equalsIgnoreCase(COLLATION_BINARY))
+    {
+      return Comparator.naturalOrder();
+    }
+
+    if(collation.equalsIgnoreCase(COLLATION_NOCASE))
+    {
+      return String.CASE_INSENSITIVE_ORDER;
+    }
+
+    Locale locale = Locale.forLanguageTag(collation);
+
+    if(locale.getLanguage().isEmpty())
+    {
+      throw new InvalidParameterException("Unknown collation '" + collation + "'");
+    }
+
+    Collator collator = Collator.getInstance(locale);
+
+    return collator::compare;
+  }
+
+
+  /**
+   * Check if attribute {@link #ATTR_NULLS} puts null keys first
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private boolean isNullsFirst() throws InvalidParameterException
+  {
+    String nulls = hasAttribute(ATTR_NULLS) ? getAttribute(ATTR_NULLS).trim().toLowerCase()
+                   : NULLS_FIRST;
+
+    if( !nulls.equals(NULLS_FIRST) && !nulls.equals(NULLS_LAST))
+    {
+      throw new InvalidParameterException("Unknown null order '" + nulls + "'");
+    }
+
+    return nulls.equals(NULLS_FIRST);
+  }
+
+
+  /**
+   * Open the expected data set
+   *
+   * @param connection
+   * @param fetchSize
+   * @param fetchSizes Previous fetch size per statement
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private RowReader openExpected(PooledConnection connection, int fetchSize,
+                                 Map<PreparedStatement, Integer> fetchSizes) throws Exception
+  {
+    if(hasAttribute(ATTR_EXPECTED_FILE))
+    {
+      return new CsvRowReader(new File(getAttribute(ATTR_EXPECTED_FILE)));
+    }
+
+    return new ResultSetRowReader(executeQuery(connection.prepareStatement(getAttribute(
+            ATTR_EXPECTED_SQL)), fetchSize, fetchSizes));
+  }
+
+
+  /**
+   * Execute the query of {@link statement}, fetching {@link fetchSize} rows at
+   * once. The statement comes from the statement cache of the connection, so
+   * its previous fetch size is stored in {@link fetchSizes} to be restored by
+   * {@link #restoreFetchSizes}.
+   *
+   * @param statement
+   * @param fetchSize
+   * @param fetchSizes Previous fetch size per statement
+   *
+   * @return
+   *
+   * @throws SQLException
+   */
+  private static ResultSet executeQuery(PreparedStatement statement, int fetchSize,
+                                        Map<PreparedStatement, Integer> fetchSizes)
+          throws SQLException
+  {
+    fetchSizes.putIfAbsent(statement, statement.getFetchSize());
+    statement.setFetchSize(fetchSize);
+
+    return statement.executeQuery();
+  }
+
+
+  /**
+   * Restore the fetch sizes stored by {@link #executeQuery}, so later users of
+   * the cached statements don't inherit the fetch size of this action
+   *
+   * @param fetchSizes Previous fetch size per statement
+   */
+  private static void restoreFetchSizes(Map<PreparedStatement, Integer> fetchSizes)
+  {
+    for(Map.Entry<PreparedStatement, Integer> entry : fetchSizes.entrySet())
+    {
+      try
+      {
+        if( !entry.getKey().isClosed())
+        {
+          entry.getKey().setFetchSize(entry.getValue());
+        }
+      }
+      catch(SQLException eX)
+      {
+        LOGGER.debug("Unable to restore fetch size of statement: {}", eX.getMessage());
+      }
+    }
+  }
+
+
+  /**
+   * Switch off auto commit. Some drivers (e.g. PostgreSQL) only use the fetch
+   * size within a transaction; otherwise they load the complete result.
+   *
+   * @param connection
+   *
+   * @return False when a transaction was already started
+   *
+   * @throws SQLException
+   */
+  private static boolean startStreaming(PooledConnection connection) throws SQLException
+  {
+    if( !connection.getConnection().getAutoCommit())
+    {
+      return false;
+    }
+
+    connection.getConnection().setAutoCommit(false);
+
+    return true;
+  }
+
+
+  /**
+   * End the read-only transaction of {@link #startStreaming}
+   *
+   * @param connection
+   * @param started    Value returned by {@link #startStreaming}
+   *
+   * @throws SQLException
+   */
+  private static void stopStreaming(PooledConnection connection, boolean started) throws
+          SQLException
+  {
+    if(started)
+    {
+      Connection jdbcConnection = connection.getConnection();
+
+      jdbcConnection.rollback();
+      jdbcConnection.setAutoCommit(true);
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.sql.PreparedStatement;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Execute a SQL statement, e.g. to prepare test data. When attribute 'rows'
+ * is set, the statement must update exactly that number of rows.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Execute extends JDBCAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(Execute.class.
+          getName());
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param jdbc
+   */
+  public Execute(Integer id, JDBC jdbc)
+  {
+    super(LOGGER, id, jdbc);
+  }
+
+
+  @Override
+  protected TestStatus execute(PooledConnection connection) throws Exception
+  {
+    PreparedStatement statement = prepareStatement(connection);
+
+    if(statement.execute())
+    {
+      // A query only has to succeed
+      statement.getResultSet().close();
+      return TestStatus.PASSED;
+    }
+
+    int updateCount = statement.getUpdateCount();
+
+    if(hasAttribute(ATTR_ROWS) && updateCount != getExpectedRows())
+    {
+      LOGGER.info("Action '{}': {} rows updated", this, updateCount);
+      return TestStatus.FAILED;
+    }
+
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_SQL);
+  }
+
+}
@@ -0,0 +1,237 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.security.InvalidParameterException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.JDBCContext;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Base class of the JDBC actions. An action only holds its attributes; the
+ * connection is taken from the {@link JDBCContext} of the test case it
+ * belongs to, so the same plug-in serves test cases running in parallel.
+ * <p>
+ * Statements are prepared with '?' placeholders which are filled with the
+ * attributes 'param1', 'param2', etc.
+ *
+ * @author Sjoerd Boerhout
+ */
+public abstract class JDBCAction extends TestAction
+{
+
+  /**
+   * Datasource to execute the statement on. Defaults to the test case header
+   * {@link JDBC#HEADER_DATABASE} or {@link JDBC#DEFAULT_DATASOURCE}.
+   */
+  public final static String ATTR_DATABASE = "database";
+
+  /**
+   * SQL statement to execute
+   */
+  public final static String ATTR_SQL = "sql";
+
+  /**
+   * Prefix of the parameters of the statement, followed by their position
+   * starting at 1
+   */
+  public final static String ATTR_PARAMETER_PREFIX = "param";
+
+  /**
+   * Expected number of rows
+   */
+  public final static String ATTR_ROWS = "rows";
+
+  // SQL states of the class 'connection exception'
+  private final static String SQL_STATE_CONNECTION = "08";
+
+  private final Logger logger;
+  private final JDBC jdbc;
+
+
+  /**
+   * Constructor
+   *
+   * @param logger
+   * @param id
+   * @param jdbc   Plug-in providing the context of the test case
+   *
+   * @throws InvalidParameterException
+   */
+  protected JDBCAction(Logger logger, Integer id, JDBC jdbc) throws InvalidParameterException
+  {
+    super(logger, id);
+
+    if(jdbc == null)
+    {
+      throw new InvalidParameterException("JDBC plug-in can not be null");
+    }
+
+    this.logger = logger;
+    this.jdbc = jdbc;
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    TestStatus testStatus;
+
+    startExecution();
+
+    try
+    {
+      if( !isValid())
+      {
+        throw new InvalidParameterException("Invalid attributes for action " + this);
+      }
+
+      JDBCContext context = jdbc.getContext(getParent());
+      String datasource = getDatasource();
+
+      try
+      {
+        testStatus = execute(context.getConnection(datasource));
+      }
+      catch(SQLException eX)
+      {
+        if(eX.getSQLState() != null && eX.getSQLState().startsWith(SQL_STATE_CONNECTION))
+        {
+          logger.warn("Connection to '{}' is broken: {}", datasource, eX.getMessage());
+          context.invalidate(datasource);
+        }
+
+        throw eX;
+      }
+    }
+    catch(Exception eX)
+    {
+      logger.error("Action '{}' failed: {}", this, eX.getMessage());
+      testStatus = TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
+
+    return updateStatus(testStatus);
+  }
+
+
+  /**
+   * Execute this action on {@link connection}
+   *
+   * @param connection
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  protected abstract TestStatus execute(PooledConnection connection) throws Exception;
+
+
+  /**
+   * Return the plug-in of this action
+   *
+   * @return
+   */
+  protected JDBC getJDBC()
+  {
+    return jdbc;
+  }
+
+
+  /**
+   * Return the name of the datasource this action is executed on
+   *
+   * @return
+   */
+  protected String getDatasource()
+  {
+    if(hasAttribute(ATTR_DATABASE))
+    {
+      return getAttribute(ATTR_DATABASE);
+    }
+
+    if(getParent() != null && getParent().hasHeader(JDBC.HEADER_DATABASE))
+    {
+      return getParent().getHeader(JDBC.HEADER_DATABASE);
+    }
+
+    return JDBC.DEFAULT_DATASOURCE;
+  }
+
+
+  /**
+   * Return the (cached) statement of attribute {@link #ATTR_SQL} with the
+   * parameters of this action
+   *
+   * @param connection
+   *
+   * @return
+   *
+   * @throws SQLException
+   */
+  protected PreparedStatement prepareStatement(PooledConnection connection) throws SQLException
+  {
+    PreparedStatement statement = connection.prepareStatement(getAttribute(ATTR_SQL));
+
+    for(int position = 1; hasAttribute(ATTR_PARAMETER_PREFIX + position); position++)
+    {
+      statement.setObject(position, getAttribute(ATTR_PARAMETER_PREFIX + position));
+    }
+
+    return statement;
+  }
+
+
+  /**
+   * Return the value of attribute {@link #ATTR_ROWS}
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The value is not a number
+   */
+  protected long getExpectedRows() throws InvalidParameterException
+  {
+    try
+    {
+      return Long.parseLong(getAttribute(ATTR_ROWS).trim());
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Invalid number of rows '"
+                                          + getAttribute(ATTR_ROWS) + "'");
+    }
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(" + getId() + ") " + getAttributes();
+  }
+
+}
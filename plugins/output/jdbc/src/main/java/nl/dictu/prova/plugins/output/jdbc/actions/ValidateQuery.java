@@ -0,0 +1,106 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.sql.ResultSet;
+import java.util.Objects;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Execute a query and validate its result: the value of the first column of
+ * the first row must be equal to attribute 'expected' and/or the number of
+ * rows must be equal to attribute 'rows'.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ValidateQuery extends JDBCAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ValidateQuery.class.
+          getName());
+
+  /**
+   * Expected value of the first column of the first row
+   */
+  public final static String ATTR_EXPECTED = "expected";
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param jdbc
+   */
+  public ValidateQuery(Integer id, JDBC jdbc)
+  {
+    super(LOGGER, id, jdbc);
+  }
+
+
+  @Override
+  protected TestStatus execute(PooledConnection connection) throws Exception
+  {
+    String value = null;
+    long rows = 0;
+
+    try(ResultSet resultSet = prepareStatement(connection).executeQuery())
+    {
+      while(resultSet.next())
+      {
+        if(rows++ == 0)
+        {
+          value = resultSet.getString(1);
+        }
+        else if( !hasAttribute(ATTR_ROWS))
+        {
+          // Only the first row is validated
+          break;
+        }
+      }
+    }
+
+    if(hasAttribute(ATTR_ROWS) && rows != getExpectedRows())
+    {
+      LOGGER.info("Action '{}': query returned {} rows", this, rows);
+      return TestStatus.FAILED;
+    }
+
+    if(hasAttribute(ATTR_EXPECTED) && (rows == 0 || !Objects.equals(value, getAttribute(
+                                       ATTR_EXPECTED))))
+    {
+      LOGGER.info("Action '{}': query returned '{}'", this, value);
+      return TestStatus.FAILED;
+    }
+
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_SQL) && (hasAttribute(ATTR_EXPECTED) || hasAttribute(ATTR_ROWS));
+  }
+
+}
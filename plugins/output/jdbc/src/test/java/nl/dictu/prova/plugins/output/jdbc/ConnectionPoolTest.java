@@ -0,0 +1,289 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.security.InvalidParameterException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ConnectionPoolTest
+{
+
+  private final String url = TestDatabase.createUrl();
+  private final ConnectionPool connectionPool = new ConnectionPool("test", () -> DriverManager.
+          getConnection(url), 1, 2);
+
+
+  @After
+  public void tearDown()
+  {
+    connectionPool.close();
+  }
+
+
+  /**
+   * Test of lease method, of class ConnectionPool.
+   */
+  @Test
+  public void testLeaseReusesConnection() throws Exception
+  {
+    PooledConnection connection = connectionPool.lease(1000);
+    connectionPool.release(connection);
+
+    assertSame(connection, connectionPool.lease(1000));
+    assertEquals(1, connectionPool.getCreated());
+    assertEquals(2, connectionPool.getLeases());
+    assertEquals(1, connectionPool.getReuses());
+    assertEquals(1, connectionPool.getSize());
+  }
+
+
+  /**
+   * Test of release method, of class ConnectionPool.
+   */
+  @Test
+  public void testReleaseRollsBack() throws Exception
+  {
+    PooledConnection connection = connectionPool.lease(1000);
+    connection.getConnection().createStatement().execute("CREATE TABLE item (id INT)");
+    connection.getConnection().setAutoCommit(false);
+    connection.getConnection().createStatement().execute("INSERT INTO item VALUES (1)");
+    connectionPool.release(connection);
+
+    connection = connectionPool.lease(1000);
+
+    assertTrue(connection.getConnection().getAutoCommit());
+    assertFalse(connection.getConnection().createStatement().executeQuery(
+            "SELECT * FROM item").next());
+    assertEquals(0, connectionPool.getRecycled());
+  }
+
+
+  /**
+   * Test of lease method, of class ConnectionPool.
+   */
+  @Test
+  public void testLeaseWaitsForFreeConnection() throws Exception
+  {
+    PooledConnection connection = connectionPool.lease(1000);
+
+    try
+    {
+      connectionPool.lease(50);
+      fail("Lease should time out");
+    }
+    catch(TimeoutException eX)
+    {
+      // Expected
+    }
+
+    Thread thread = new Thread(() ->
+    {
+      try
+      {
+        Thread.sleep(200);
+      }
+      catch(InterruptedException eX)
+      {
+        Thread.currentThread().interrupt();
+      }
+
+      connectionPool.release(connection);
+    });
+
+    thread.start();
+
+    assertSame(connection, connectionPool.lease(10000));
+    assertTrue(connectionPool.getMaxLeaseWait() >= 100);
+    thread.join();
+  }
+
+
+  /**
+   * Test of invalidate method, of class ConnectionPool.
+   */
+  @Test
+  public void testBrokenConnectionRecycled() throws Exception
+  {
+    PooledConnection connection = connectionPool.lease(1000);
+    connectionPool.invalidate(connection);
+
+    assertEquals(0, connectionPool.getSize());
+    assertTrue(connection.getConnection().isClosed());
+    assertNotSame(connection, connectionPool.lease(1000));
+    assertEquals(1, connectionPool.getRecycled());
+    assertEquals(2, connectionPool.getCreated());
+  }
+
+
+  /**
+   * Test of prepareStatement method, of class PooledConnection.
+   */
+  @Test
+  public void testStatementCache() throws Exception
+  {
+    PooledConnection connection = connectionPool.lease(1000);
+    PreparedStatement first = connection.prepareStatement("SELECT 1");
+
+    assertSame(first, connection.prepareStatement("SELECT 1"));
+
+    connection.prepareStatement("SELECT 2");
+    connection.prepareStatement("SELECT 3");
+
+    // Least recently used statement is closed
+    assertTrue(first.isClosed());
+    assertEquals(1, connection.getHits());
+    assertEquals(3, connection.getMisses());
+  }
+
+
+  /**
+   * Test of lease method, of class ConnectionPool, with a failing factory.
+   */
+  @Test
+  public void testLeaseFailure() throws Exception
+  {
+    ConnectionPool failingPool = new ConnectionPool("failing", () ->
+                                                    {
+                                                      throw new SQLException("No database");
+                                                    }, 1, 2);
+
+    try
+    {
+      failingPool.lease(1000);
+      fail("Lease should fail");
+    }
+    catch(SQLException eX)
+    {
+      // Expected
+    }
+
+    assertEquals(0, failingPool.getSize());
+    failingPool.close();
+  }
+
+
+  /**
+   * Test of lease method, of class ConnectionPool, when a connection fails
+   * the validation and opening its replacement fails.
+   */
+  @Test
+  public void testLeaseValidationFailureKeepsPlace() throws Exception
+  {
+    AtomicInteger calls = new AtomicInteger();
+    AtomicInteger sizeWhileOpening = new AtomicInteger();
+    ConnectionPool[] pool = new ConnectionPool[1];
+
+    pool[0] = new ConnectionPool("validating", () ->
+                         {
+                           sizeWhileOpening.set(pool[0].getSize());
+
+                           if(calls.incrementAndGet() > 1)
+                           {
+                             throw new SQLException("No database");
+                           }
+
+                           return DriverManager.getConnection(url);
+                         }, 1, 2);
+
+    PooledConnection connection = pool[0].lease(1000);
+    Connection jdbcConnection = connection.getConnection();
+
+    pool[0].release(connection);
+    jdbcConnection.close();
+    pool[0].setValidateAfterIdle(-1);
+
+    try
+    {
+      pool[0].lease(1000);
+      fail("Lease should fail");
+    }
+    catch(SQLException eX)
+    {
+      // Expected
+    }
+
+    // The replacement was opened in the place of the broken connection
+    assertEquals(2, calls.get());
+    assertEquals(1, sizeWhileOpening.get());
+    assertEquals(0, pool[0].getSize());
+    assertEquals(1, pool[0].getRecycled());
+
+    try
+    {
+      pool[0].lease(1000);
+      fail("Lease should fail");
+    }
+    catch(SQLException eX)
+    {
+      // Expected
+    }
+
+    assertEquals(0, pool[0].getSize());
+    pool[0].close();
+  }
+
+
+  /**
+   * Test of the constructor of class ConnectionPool with a statement cache
+   * size of 0.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testStatementCacheSizeZero()
+  {
+    new ConnectionPool("test", () -> DriverManager.getConnection(url), 1, 0);
+  }
+
+
+  /**
+   * Test of the constructor of class PooledConnection with a statement cache
+   * size of 0.
+   */
+  @Test
+  public void testPooledConnectionStatementCacheSizeZero() throws Exception
+  {
+    try(Connection jdbcConnection = DriverManager.getConnection(url))
+    {
+      new PooledConnection(jdbcConnection, 0);
+      fail("Statement cache size 0 should be rejected");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+  }
+
+}
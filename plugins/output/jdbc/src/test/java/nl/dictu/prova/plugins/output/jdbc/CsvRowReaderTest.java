@@ -0,0 +1,113 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CsvRowReaderTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Write {@link content} to a new CSV file
+   *
+   * @param content
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writeFile(String content) throws Exception
+  {
+    File file = folder.newFile();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+    return file;
+  }
+
+
+  /**
+   * Test of next method, of class CsvRowReader.
+   */
+  @Test
+  public void testNext() throws Exception
+  {
+    try(CsvRowReader reader = new CsvRowReader(writeFile(
+            "id,name,remark\n1,Alice,\n\n2,\"Bob, \"\"Jr\"\"\",\"\"\n3,Carol,\"two\nlines\"\n")))
+    {
+      assertEquals(3, reader.getColumnCount());
+
+      assertTrue(reader.next());
+      assertEquals("Alice", reader.getValue(2));
+      assertNull(reader.getValue(3));
+
+      assertTrue(reader.next());
+      assertEquals("Bob, \"Jr\"", reader.getValue(2));
+      assertEquals("", reader.getValue(3));
+
+      assertTrue(reader.next());
+      assertEquals("two\nlines", reader.getValue(3));
+      assertEquals(3, reader.getRowNumber());
+
+      assertFalse(reader.next());
+    }
+  }
+
+
+  /**
+   * Test of next method, of class CsvRowReader, with a missing column.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testNextMissingColumn() throws Exception
+  {
+    try(CsvRowReader reader = new CsvRowReader(writeFile("id,name\n1\n")))
+    {
+      reader.next();
+    }
+  }
+
+
+  /**
+   * Test of constructor, of class CsvRowReader, with an empty file.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testEmptyFile() throws Exception
+  {
+    new CsvRowReader(writeFile(""));
+  }
+
+}
@@ -19,10 +19,24 @@
  */
 package nl.dictu.prova.plugins.output.jdbc;
 
+import java.security.InvalidParameterException;
+import java.util.NoSuchElementException;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.output.jdbc.actions.BatchExecute;
+import nl.dictu.prova.plugins.output.jdbc.actions.CompareQuery;
+import nl.dictu.prova.plugins.output.jdbc.actions.Execute;
+import nl.dictu.prova.plugins.output.jdbc.actions.ValidateQuery;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
-import org.junit.AfterClass;
 import org.junit.Before;
-import org.junit.BeforeClass;
 import org.junit.Test;
 
 /**
@@ -32,41 +46,59 @@ import org.junit.Test;
 public class JDBCTest
 {
 
-  public JDBCTest()
-  {
-  }
+  private Prova prova;
+  private JDBC jdbc;
 
 
-  @BeforeClass
-  public static void setUpClass()
+  @Before
+  public void setUp() throws Exception
   {
+    prova = new Prova();
+    TestDatabase.configure(prova, JDBC.DEFAULT_DATASOURCE);
+
+    jdbc = new JDBC();
+    jdbc.init(prova);
   }
 
 
-  @AfterClass
-  public static void tearDownClass()
+  @After
+  public void tearDown()
   {
+    jdbc.shutDown();
   }
 
 
-  @Before
-  public void setUp()
+  /**
+   * Test of init method, of class JDBC.
+   */
+  @Test
+  public void testInit() throws Exception
   {
+    prova.setProperty(JDBCConfig.PROVA_PLUGINS_JDBC_LEASE_TIMEOUT, "1234");
+    jdbc.init(prova);
+
+    assertEquals(1234, jdbc.getLeaseTimeout());
   }
 
 
-  @After
-  public void tearDown()
+  /**
+   * Test of init method, of class JDBC, with a statement cache size of 0.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testInitStatementCacheSizeZero() throws Exception
   {
+    prova.setProperty(JDBCConfig.PROVA_PLUGINS_JDBC_STATEMENT_CACHE_SIZE, "0");
+    jdbc.init(prova);
   }
 
 
   /**
-   * Test of init method, of class JDBC.
+   * Test of init method, of class JDBC, without test runner.
    */
-  @Test
-  public void testInit() throws Exception
+  @Test(expected = InvalidParameterException.class)
+  public void testInitWithoutTestRunner() throws Exception
   {
+    new JDBC().init(null);
   }
 
 
@@ -74,8 +106,14 @@ public class JDBCTest
    * Test of shutDown method, of class JDBC.
    */
   @Test
-  public void testShutDown()
+  public void testShutDown() throws Exception
   {
+    ConnectionPool connectionPool = jdbc.getConnectionPool(JDBC.DEFAULT_DATASOURCE);
+    connectionPool.release(connectionPool.lease(1000));
+
+    jdbc.shutDown();
+
+    assertEquals(0, connectionPool.getSize());
   }
 
 
@@ -85,6 +123,7 @@ public class JDBCTest
   @Test
   public void testGetName()
   {
+    assertEquals("JDBC", jdbc.getName());
   }
 
 
@@ -94,6 +133,32 @@ public class JDBCTest
   @Test
   public void testGetTestType()
   {
+    assertArrayEquals(new TestType[]
+    {
+      TestType.DB
+    }, jdbc.getTestType());
+  }
+
+
+  /**
+   * Test of getConnectionPool method, of class JDBC.
+   */
+  @Test
+  public void testGetConnectionPool()
+  {
+    assertSame(jdbc.getConnectionPool(JDBC.DEFAULT_DATASOURCE), jdbc.getConnectionPool(
+               JDBC.DEFAULT_DATASOURCE));
+  }
+
+
+  /**
+   * Test of getConnectionPool method, of class JDBC, with an unknown
+   * datasource.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testGetConnectionPoolUnknown()
+  {
+    jdbc.getConnectionPool("unknown");
   }
 
 
@@ -101,8 +166,17 @@ public class JDBCTest
    * Test of setUp method, of class JDBC.
    */
   @Test
-  public void testSetUp()
+  public void testSetUp() throws Exception
   {
+    TestCase testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+
+    JDBCContext context = jdbc.getContext(testCase);
+
+    assertSame(testCase, context.getTestCase());
+    assertSame(context.getConnection(JDBC.DEFAULT_DATASOURCE), context.getConnection(
+               JDBC.DEFAULT_DATASOURCE));
+    assertEquals(1, jdbc.getConnectionPool(JDBC.DEFAULT_DATASOURCE).getLeases());
   }
 
 
@@ -110,8 +184,35 @@ public class JDBCTest
    * Test of tearDown method, of class JDBC.
    */
   @Test
-  public void testTearDown()
+  public void testTearDown() throws Exception
+  {
+    TestCase first = new TestCase("first");
+    TestCase second = new TestCase("second");
+
+    jdbc.setUp(first);
+    PooledConnection connection = jdbc.getContext(first).getConnection(JDBC.DEFAULT_DATASOURCE);
+    jdbc.tearDown(first);
+
+    // The next test case reuses the connection
+    jdbc.setUp(second);
+    assertSame(connection, jdbc.getContext(second).getConnection(JDBC.DEFAULT_DATASOURCE));
+    jdbc.tearDown(second);
+
+    assertEquals(1, jdbc.getConnectionPool(JDBC.DEFAULT_DATASOURCE).getIdle());
+  }
+
+
+  /**
+   * Test of getContext method, of class JDBC, after the teardown.
+   */
+  @Test(expected = NoSuchElementException.class)
+  public void testGetContextAfterTearDown()
   {
+    TestCase testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+    jdbc.tearDown(testCase);
+
+    jdbc.getContext(testCase);
   }
 
 
@@ -121,6 +222,25 @@ public class JDBCTest
   @Test
   public void testGetTestAction()
   {
+    TestAction first = jdbc.getTestAction("Execute");
+    TestAction second = jdbc.getTestAction("validatequery");
+
+    assertTrue(first instanceof Execute);
+    assertTrue(second instanceof ValidateQuery);
+    assertTrue(jdbc.getTestAction("batchExecute") instanceof BatchExecute);
+    assertTrue(jdbc.getTestAction("compareQuery") instanceof CompareQuery);
+    assertNotNull(first.getId());
+    assertNotEquals(first.getId(), second.getId());
+  }
+
+
+  /**
+   * Test of getTestAction method, of class JDBC, with an unknown action.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testGetTestActionUnknown()
+  {
+    jdbc.getTestAction("unknown");
   }
 
 }
@@ -0,0 +1,415 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class RowComparatorTest
+{
+
+  /**
+   * Rows in memory, each row a comma separated text
+   */
+  private static class Rows implements RowReader
+  {
+
+    private final String[][] rows;
+    private int rowNumber = 0;
+
+
+    Rows(String... rows)
+    {
+      this.rows = new String[rows.length][];
+
+      for(int index = 0; index < rows.length; index++)
+      {
+        this.rows[index] = rows[index].split(",", -1);
+
+        for(int column = 0; column < this.rows[index].length; column++)
+        {
+          if(this.rows[index][column].isEmpty())
+          {
+            this.rows[index][column] = null;
+          }
+        }
+      }
+    }
+
+
+    @Override
+    public boolean next()
+    {
+      return (rowNumber < rows.length ? ++rowNumber > 0 : false);
+    }
+
+
+    @Override
+    public int getColumnCount()
+    {
+      return (rows.length == 0 ? 2 : rows[0].length);
+    }
+
+
+    @Override
+    public String getValue(int column)
+    {
+      return rows[rowNumber - 1][column - 1];
+    }
+
+
+    @Override
+    public long getRowNumber()
+    {
+      return rowNumber;
+    }
+
+
+    @Override
+    public void close()
+    {
+    }
+
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator.
+   */
+  @Test
+  public void testCompareSortedEqual() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    rowComparator.setKeyTypes(RowComparator.KeyType.NUMBER);
+
+    assertTrue(rowComparator.compareSorted(new Rows("1,a", "2,", "10,c"),
+                                           new Rows("1,a", "2,", "10,c")));
+    assertEquals(3, rowComparator.getExpectedRows());
+    assertEquals(3, rowComparator.getActualRows());
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with missing,
+   * unexpected and different rows.
+   */
+  @Test
+  public void testCompareSortedMismatches() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    assertFalse(rowComparator.compareSorted(new Rows("1,a", "2,b", "4,d", "5,e"),
+                                            new Rows("1,a", "3,c", "4,x", "5,")));
+
+    ArrayList<RowComparator.Mismatch> mismatches = rowComparator.getMismatches();
+
+    assertEquals(4, mismatches.size());
+    assertMismatch(mismatches.get(0), 2, 0);
+    assertMismatch(mismatches.get(1), 0, 2);
+    assertMismatch(mismatches.get(2), 3, 3);
+    assertMismatch(mismatches.get(3), 4, 4);
+    assertTrue(mismatches.get(2).getDescription().contains("column 2 expected 'd', actual 'x'"));
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, stopping at the
+   * maximum number of mismatches.
+   */
+  @Test
+  public void testCompareSortedMaxMismatches() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 2);
+
+    assertFalse(rowComparator.compareSorted(new Rows("1,a", "2,b", "3,c", "4,d"),
+                                            new Rows("1,x", "2,x", "3,x", "4,x")));
+    assertEquals(2, rowComparator.getMismatches().size());
+    assertEquals(3, rowComparator.getActualRows());
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with multiple key
+   * columns.
+   */
+  @Test
+  public void testCompareSortedMultipleKeys() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      2, 1
+    }, 10);
+
+    assertFalse(rowComparator.compareSorted(new Rows("2,a,x", "1,b,y", "2,b,z"),
+                                            new Rows("2,a,x", "2,b,z")));
+    assertEquals(1, rowComparator.getMismatches().size());
+    assertMismatch(rowComparator.getMismatches().get(0), 2, 0);
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with unsorted rows.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testCompareSortedUnsorted() throws Exception
+  {
+    new RowComparator(new int[]
+    {
+      1
+    }, 10).compareSorted(new Rows("1,a", "3,c", "2,b"), new Rows("1,a", "3,c", "2,b"));
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with mixed-case
+   * text keys.
+   */
+  @Test
+  public void testCompareSortedMixedCaseKeys() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    try
+    {
+      rowComparator.compareSorted(new Rows("apple,1", "Banana,2", "cherry,3"),
+                                  new Rows("apple,1", "Banana,2", "cherry,3"));
+      fail("Rows are not sorted by their binary value");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+
+    rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+    rowComparator.setCollation(String.CASE_INSENSITIVE_ORDER);
+
+    assertFalse(rowComparator.compareSorted(new Rows("apple,1", "Banana,2", "cherry,3"),
+                                            new Rows("apple,1", "BANANA,2", "Cherry,3",
+                                                     "date,4")));
+    assertEquals(3, rowComparator.getMismatches().size());
+    assertMismatch(rowComparator.getMismatches().get(2), 0, 4);
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with null keys
+   * sorted last.
+   */
+  @Test
+  public void testCompareSortedNullsLast() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+    rowComparator.setNullsFirst(false);
+
+    assertTrue(rowComparator.compareSorted(new Rows("a,1", "b,2", ",3"),
+                                           new Rows("a,1", "b,2", ",3")));
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with numbers and
+   * text in a text key column.
+   */
+  @Test
+  public void testCompareSortedTextKeyType() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    // The column type is decided once, so numbers in a text column are text
+    assertTrue(rowComparator.compareSorted(new Rows("10,a", "9,b", "x,c"),
+                                           new Rows("10,a", "9,b", "x,c")));
+
+    rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+    rowComparator.setKeyTypes(RowComparator.KeyType.NUMBER);
+
+    try
+    {
+      rowComparator.compareSorted(new Rows("9,b", "10,a", "x,c"),
+                                  new Rows("9,b", "10,a", "x,c"));
+      fail("Text in a numeric key column");
+    }
+    catch(InvalidParameterException eX)
+    {
+      assertTrue(eX.getMessage().contains("'x'"));
+    }
+  }
+
+
+  /**
+   * Test of compareSorted method, of class RowComparator, with a different
+   * number of columns.
+   */
+  @Test
+  public void testCompareColumnCount() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    assertFalse(rowComparator.compareSorted(new Rows("1,a"), new Rows("1,a,b")));
+    assertEquals(1, rowComparator.getMismatches().size());
+  }
+
+
+  /**
+   * Test of compareHashed method, of class RowComparator.
+   */
+  @Test
+  public void testCompareHashedEqual() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    assertTrue(rowComparator.compareHashed(new Rows("3,c", "1,a", "2,b", "1,a"),
+                                           new Rows("1,a", "1,a", "2,b", "3,c")));
+  }
+
+
+  /**
+   * Test of compareHashed method, of class RowComparator, with missing and
+   * unexpected rows.
+   */
+  @Test
+  public void testCompareHashedMismatches() throws Exception
+  {
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    assertFalse(rowComparator.compareHashed(new Rows("1,a", "2,b", "1,a", "4,d", "5,e"),
+                                            new Rows("5,e", "1,a", "3,c", "2,b")));
+
+    ArrayList<RowComparator.Mismatch> mismatches = rowComparator.getMismatches();
+
+    assertEquals(3, mismatches.size());
+    assertMismatch(mismatches.get(0), 0, 3);
+    // Missing rows in the order of the expected data set
+    assertMismatch(mismatches.get(1), 1, 0);
+    assertMismatch(mismatches.get(2), 4, 0);
+  }
+
+
+  /**
+   * Test of compareHashed method, of class RowComparator, with many rows.
+   */
+  @Test
+  public void testCompareHashedLarge() throws Exception
+  {
+    String[] expected = new String[20000];
+    String[] actual = new String[expected.length];
+
+    for(int index = 0; index < expected.length; index++)
+    {
+      expected[index] = index + ",value " + index;
+      actual[expected.length - index - 1] = expected[index];
+    }
+
+    actual[100] = "100,changed";
+
+    RowComparator rowComparator = new RowComparator(new int[]
+    {
+      1
+    }, 10);
+
+    assertFalse(rowComparator.compareHashed(new Rows(expected), new Rows(actual)));
+    assertEquals(2, rowComparator.getMismatches().size());
+    assertMismatch(rowComparator.getMismatches().get(1), expected.length - 100, 0);
+  }
+
+
+  /**
+   * Test of hash method, of class RowHash.
+   */
+  @Test
+  public void testRowHash() throws Exception
+  {
+    Rows rows = new Rows("ab,c", "a,bc", ",abc", "abc,", "ab,c");
+    long[] hashes = new long[5];
+
+    for(int index = 0; rows.next(); index++)
+    {
+      hashes[index] = RowHash.hash(rows);
+    }
+
+    assertEquals(hashes[0], hashes[4]);
+
+    for(int first = 0; first < 4; first++)
+    {
+      for(int second = first + 1; second < 4; second++)
+      {
+        assertTrue(hashes[first] != hashes[second]);
+      }
+    }
+  }
+
+
+  /**
+   * Check the row positions of {@link mismatch}
+   *
+   * @param mismatch
+   * @param expectedRow
+   * @param actualRow
+   */
+  private static void assertMismatch(RowComparator.Mismatch mismatch, long expectedRow,
+                                     long actualRow)
+  {
+    assertEquals(mismatch.toString(), expectedRow, mismatch.getExpectedRow());
+    assertEquals(mismatch.toString(), actualRow, mismatch.getActualRow());
+  }
+
+}
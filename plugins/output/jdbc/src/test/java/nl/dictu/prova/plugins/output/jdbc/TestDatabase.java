@@ -0,0 +1,80 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+
+/**
+ * In-memory H2 databases for the tests. Every database has its own name, so
+ * tests running in parallel don't share tables.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestDatabase
+{
+
+  private final static AtomicInteger lastDatabase = new AtomicInteger();
+
+
+  /**
+   * Return the url of a new, empty database
+   *
+   * @return
+   */
+  public static String createUrl()
+  {
+    return "jdbc:h2:mem:prova" + lastDatabase.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+  }
+
+
+  /**
+   * Configure {@link datasource} in {@link testRunner} with a new database
+   * containing table 'person' with three rows
+   *
+   * @param testRunner
+   * @param datasource
+   *
+   * @return The url of the database
+   *
+   * @throws SQLException
+   */
+  public static String configure(TestRunner testRunner, String datasource) throws SQLException
+  {
+    String url = createUrl();
+
+    testRunner.setProperty(JDBCConfig.PROVA_PLUGINS_JDBC_DATASOURCE_PREFIX + datasource
+                           + JDBCConfig.DATASOURCE_URL, url);
+
+    try(Connection connection = DriverManager.getConnection(url);
+        Statement statement = connection.createStatement())
+    {
+      statement.execute("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50))");
+      statement.execute("INSERT INTO person VALUES (1, 'Alice'), (2, 'Bob'), (3, 'Carol')");
+    }
+
+    return url;
+  }
+
+}
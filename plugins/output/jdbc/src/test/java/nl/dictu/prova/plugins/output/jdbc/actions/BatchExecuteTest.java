@@ -0,0 +1,280 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.TestDatabase;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BatchExecuteTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private String url;
+  private JDBC jdbc;
+  private TestCase testCase;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    Prova prova = new Prova();
+    url = TestDatabase.configure(prova, JDBC.DEFAULT_DATASOURCE);
+
+    jdbc = new JDBC();
+    jdbc.init(prova);
+
+    testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    jdbc.tearDown(testCase);
+    jdbc.shutDown();
+  }
+
+
+  /**
+   * Write a data file with persons {@link first} up to and including
+   * {@link last}
+   *
+   * @param first
+   * @param last
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File writePersons(int first, int last) throws Exception
+  {
+    File dataFile = folder.newFile();
+
+    try(BufferedWriter writer = Files.newBufferedWriter(dataFile.toPath(),
+                                                        StandardCharsets.UTF_8))
+    {
+      writer.write("id,name\n");
+
+      for(int id = first; id <= last; id++)
+      {
+        writer.write(id + ",Person " + id + "\n");
+      }
+    }
+
+    return dataFile;
+  }
+
+
+  /**
+   * Create an action of {@link testCase} inserting the persons of
+   * {@link dataFile}
+   *
+   * @param dataFile
+   *
+   * @return
+   */
+  private TestAction createAction(File dataFile)
+  {
+    TestAction action = new BatchExecute(1, jdbc);
+    action.setAttribute(BatchExecute.ATTR_SQL, "INSERT INTO person (id, name) VALUES (?, ?)");
+    action.setAttribute(BatchExecute.ATTR_DATA_FILE, dataFile.getAbsolutePath());
+    action.setAttribute(BatchExecute.ATTR_BATCH_SIZE, "1000");
+    testCase.addTestAction(action);
+
+    return action;
+  }
+
+
+  /**
+   * Return the number of persons in the database
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private int countPersons() throws Exception
+  {
+    try(Connection connection = DriverManager.getConnection(url);
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM person"))
+    {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class BatchExecute.
+   */
+  @Test
+  public void testExecute() throws Exception
+  {
+    TestAction action = createAction(writePersons(10, 25009));
+    action.setAttribute(BatchExecute.ATTR_ROWS, "25000");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+    assertEquals(25003, countPersons());
+    assertTrue(jdbc.getContext(testCase).getConnection(JDBC.DEFAULT_DATASOURCE).getConnection().
+            getAutoCommit());
+  }
+
+
+  /**
+   * Test of execute method, of class BatchExecute, with an unexpected number
+   * of rows.
+   */
+  @Test
+  public void testExecuteWrongRows() throws Exception
+  {
+    TestAction action = createAction(writePersons(10, 19));
+    action.setAttribute(BatchExecute.ATTR_ROWS, "5");
+
+    assertEquals(TestStatus.FAILED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class BatchExecute, with a failing batch.
+   */
+  @Test
+  public void testExecuteFailingBatch() throws Exception
+  {
+    // Person 3 exists, so the third batch fails
+    TestAction action = createAction(writePersons(-1999, 2500));
+
+    assertEquals(TestStatus.FAILED, action.execute());
+    assertEquals(2003, countPersons());
+  }
+
+
+  /**
+   * Test of execute method, of class BatchExecute, with a failing batch in a
+   * transaction started by the test case.
+   */
+  @Test
+  public void testExecuteFailingBatchInTransaction() throws Exception
+  {
+    Connection connection = jdbc.getContext(testCase).getConnection(JDBC.DEFAULT_DATASOURCE).
+            getConnection();
+
+    connection.setAutoCommit(false);
+
+    try(Statement statement = connection.createStatement())
+    {
+      statement.executeUpdate("INSERT INTO person (id, name) VALUES (100000, 'Pending')");
+    }
+
+    // Person 3 exists, so the third batch fails
+    TestAction action = createAction(writePersons(-1999, 2500));
+
+    assertEquals(TestStatus.FAILED, action.execute());
+    assertFalse(connection.getAutoCommit());
+
+    // Nothing committed, the pending insert and the first two batches are kept
+    assertEquals(3, countPersons());
+
+    try(Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM person"))
+    {
+      resultSet.next();
+      assertEquals(2004, resultSet.getInt(1));
+    }
+
+    connection.rollback();
+
+    try(Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM person"))
+    {
+      resultSet.next();
+      assertEquals(3, resultSet.getInt(1));
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class BatchExecute, with null values.
+   */
+  @Test
+  public void testExecuteNullValues() throws Exception
+  {
+    File dataFile = folder.newFile();
+    Files.write(dataFile.toPath(), "id,name\n10,\n11,\"\"\n".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(TestStatus.PASSED, createAction(dataFile).execute());
+
+    try(Connection connection = DriverManager.getConnection(url);
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+                "SELECT name FROM person WHERE id >= 10 ORDER BY id"))
+    {
+      assertTrue(resultSet.next());
+      assertNull(resultSet.getString(1));
+      assertTrue(resultSet.next());
+      assertEquals("", resultSet.getString(1));
+    }
+  }
+
+
+  /**
+   * Test of isValid method, of class BatchExecute.
+   */
+  @Test
+  public void testIsValid()
+  {
+    TestAction action = new BatchExecute(1, jdbc);
+    action.setAttribute(BatchExecute.ATTR_SQL, "INSERT INTO person VALUES (?, ?)");
+
+    assertFalse(action.isValid());
+
+    action.setAttribute(BatchExecute.ATTR_DATA_FILE, "persons.csv");
+
+    assertTrue(action.isValid());
+  }
+
+}
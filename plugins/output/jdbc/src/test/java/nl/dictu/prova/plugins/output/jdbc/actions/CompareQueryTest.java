@@ -0,0 +1,270 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.PooledConnection;
+import nl.dictu.prova.plugins.output.jdbc.TestDatabase;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CompareQueryTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private JDBC jdbc;
+  private TestCase testCase;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    Prova prova = new Prova();
+    TestDatabase.configure(prova, JDBC.DEFAULT_DATASOURCE);
+
+    try(Connection connection = DriverManager.getConnection(TestDatabase.configure(prova,
+                                                                                    "other"));
+        Statement statement = connection.createStatement())
+    {
+      statement.execute("CREATE TABLE numbers AS SELECT X AS id, 'row ' || X AS name "
+                        + "FROM SYSTEM_RANGE(1, 50000)");
+      statement.execute("CREATE TABLE changed AS SELECT * FROM numbers");
+      statement.execute("UPDATE changed SET name = 'other' WHERE id IN (10, 20000)");
+      statement.execute("DELETE FROM changed WHERE id = 30000");
+      statement.execute("CREATE TABLE fruit (name VARCHAR(20))");
+      statement.execute("INSERT INTO fruit VALUES ('cherry'), (NULL), ('apple'), ('Banana')");
+    }
+
+    jdbc = new JDBC();
+    jdbc.init(prova);
+
+    testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    jdbc.tearDown(testCase);
+    jdbc.shutDown();
+  }
+
+
+  /**
+   * Create an action of {@link testCase} comparing {@link sql} with
+   * {@link expectedSql} on datasource 'other'
+   *
+   * @param sql
+   * @param expectedSql
+   *
+   * @return
+   */
+  private TestAction createAction(String sql, String expectedSql)
+  {
+    TestAction action = new CompareQuery(1, jdbc);
+    action.setAttribute(CompareQuery.ATTR_DATABASE, "other");
+    action.setAttribute(CompareQuery.ATTR_SQL, sql);
+    action.setAttribute(CompareQuery.ATTR_EXPECTED_SQL, expectedSql);
+    action.setAttribute(CompareQuery.ATTR_FETCH_SIZE, "500");
+    testCase.addTestAction(action);
+
+    return action;
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery.
+   */
+  @Test
+  public void testExecute()
+  {
+    assertEquals(TestStatus.PASSED, createAction("SELECT id, name FROM numbers ORDER BY id",
+                                                 "SELECT * FROM numbers ORDER BY id").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, with mixed-case text keys
+   * sorted case insensitive with nulls last.
+   */
+  @Test
+  public void testExecuteCollation()
+  {
+    String sql = "SELECT name FROM fruit ORDER BY LOWER(name) NULLS LAST";
+    String expectedSql = "SELECT name FROM fruit ORDER BY UPPER(name) NULLS LAST";
+
+    // Not sorted by the binary value with nulls first
+    assertEquals(TestStatus.FAILED, createAction(sql, expectedSql).execute());
+
+    TestAction action = createAction(sql, expectedSql);
+    action.setAttribute(CompareQuery.ATTR_COLLATION, "nocase");
+    action.setAttribute(CompareQuery.ATTR_NULLS, "last");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+
+    action = createAction(sql, expectedSql);
+    action.setAttribute(CompareQuery.ATTR_COLLATION, "en");
+    action.setAttribute(CompareQuery.ATTR_NULLS, "last");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, comparing a query with
+   * itself.
+   */
+  @Test
+  public void testExecuteSameQuery()
+  {
+    assertEquals(TestStatus.FAILED, createAction("SELECT * FROM numbers ORDER BY id",
+                                                 "SELECT * FROM numbers ORDER BY id").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, with differences.
+   */
+  @Test
+  public void testExecuteMismatches()
+  {
+    assertEquals(TestStatus.FAILED, createAction("SELECT * FROM changed ORDER BY id",
+                                                 "SELECT * FROM numbers ORDER BY id").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, with rows in any order.
+   */
+  @Test
+  public void testExecuteHash()
+  {
+    TestAction action = createAction("SELECT * FROM numbers ORDER BY id DESC",
+                                     "SELECT * FROM numbers");
+    action.setAttribute(CompareQuery.ATTR_MODE, CompareQuery.MODE_HASH);
+
+    assertEquals(TestStatus.PASSED, action.execute());
+
+    action = createAction("SELECT * FROM changed ORDER BY id DESC", "SELECT * FROM numbers");
+    action.setAttribute(CompareQuery.ATTR_MODE, CompareQuery.MODE_HASH);
+
+    assertEquals(TestStatus.FAILED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, leaving the fetch size of
+   * the cached statements unchanged.
+   */
+  @Test
+  public void testExecuteRestoresFetchSize() throws Exception
+  {
+    String sql = "SELECT id, name FROM numbers ORDER BY id";
+    String expectedSql = "SELECT * FROM numbers ORDER BY id";
+    PooledConnection connection = jdbc.getContext(testCase).getConnection("other");
+    int fetchSize = connection.prepareStatement(sql).getFetchSize();
+
+    assertEquals(TestStatus.PASSED, createAction(sql, expectedSql).execute());
+
+    assertEquals(fetchSize, connection.prepareStatement(sql).getFetchSize());
+    assertEquals(fetchSize, connection.prepareStatement(expectedSql).getFetchSize());
+    assertEquals(3, connection.getHits());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, with the expected data set
+   * on another datasource.
+   */
+  @Test
+  public void testExecuteExpectedDatabase()
+  {
+    TestAction action = createAction("SELECT id, name FROM numbers WHERE id <= 3 ORDER BY id",
+                                     "SELECT id, name FROM person ORDER BY id");
+    action.setAttribute(CompareQuery.ATTR_EXPECTED_DATABASE, JDBC.DEFAULT_DATASOURCE);
+
+    assertEquals(TestStatus.FAILED, action.execute());
+
+    action = createAction("SELECT id, name FROM person ORDER BY id",
+                          "SELECT id, name FROM person ORDER BY id");
+    action.setAttribute(CompareQuery.ATTR_EXPECTED_DATABASE, JDBC.DEFAULT_DATASOURCE);
+
+    assertEquals(TestStatus.PASSED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class CompareQuery, with an expected CSV file.
+   */
+  @Test
+  public void testExecuteExpectedFile() throws Exception
+  {
+    File expected = folder.newFile("expected.csv");
+    Files.write(expected.toPath(), "ID,NAME\n1,Alice\n2,Bob\n3,Carol\n".getBytes(
+                StandardCharsets.UTF_8));
+
+    TestAction action = new CompareQuery(1, jdbc);
+    action.setAttribute(CompareQuery.ATTR_SQL, "SELECT id, name FROM person ORDER BY id");
+    action.setAttribute(CompareQuery.ATTR_EXPECTED_FILE, expected.getAbsolutePath());
+    testCase.addTestAction(action);
+
+    assertEquals(TestStatus.PASSED, action.execute());
+  }
+
+
+  /**
+   * Test of isValid method, of class CompareQuery.
+   */
+  @Test
+  public void testIsValid()
+  {
+    TestAction action = createAction("SELECT 1", "SELECT 1");
+
+    assertTrue(action.isValid());
+
+    action.setAttribute(CompareQuery.ATTR_EXPECTED_FILE, "expected.csv");
+
+    assertFalse(action.isValid());
+  }
+
+}
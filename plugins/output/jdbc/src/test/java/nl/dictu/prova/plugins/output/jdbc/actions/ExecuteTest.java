@@ -0,0 +1,150 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.TestDatabase;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ExecuteTest
+{
+
+  private JDBC jdbc;
+  private TestCase testCase;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    Prova prova = new Prova();
+    TestDatabase.configure(prova, JDBC.DEFAULT_DATASOURCE);
+    TestDatabase.configure(prova, "other");
+
+    jdbc = new JDBC();
+    jdbc.init(prova);
+
+    testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    jdbc.tearDown(testCase);
+    jdbc.shutDown();
+  }
+
+
+  /**
+   * Create an action of {@link testCase} executing {@link sql}
+   *
+   * @param sql
+   *
+   * @return
+   */
+  private TestAction createAction(String sql)
+  {
+    TestAction action = new Execute(1, jdbc);
+    action.setAttribute(Execute.ATTR_SQL, sql);
+    testCase.addTestAction(action);
+
+    return action;
+  }
+
+
+  /**
+   * Test of execute method, of class Execute.
+   */
+  @Test
+  public void testExecute()
+  {
+    TestAction action = createAction("UPDATE person SET name = ? WHERE id > ?");
+    action.setAttribute(Execute.ATTR_PARAMETER_PREFIX + 1, "Dave");
+    action.setAttribute(Execute.ATTR_PARAMETER_PREFIX + 2, "1");
+    action.setAttribute(Execute.ATTR_ROWS, "2");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Execute, with an unexpected number of
+   * rows.
+   */
+  @Test
+  public void testExecuteWrongRows()
+  {
+    TestAction action = createAction("DELETE FROM person");
+    action.setAttribute(Execute.ATTR_ROWS, "1");
+
+    assertEquals(TestStatus.FAILED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Execute, with an invalid statement.
+   */
+  @Test
+  public void testExecuteInvalidSql()
+  {
+    assertEquals(TestStatus.FAILED, createAction("DELETE FROM unknown").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Execute, on the datasource of the test
+   * case header.
+   */
+  @Test
+  public void testExecuteOnHeaderDatabase()
+  {
+    testCase.setHeader(JDBC.HEADER_DATABASE, "other");
+    createAction("DELETE FROM person").execute();
+
+    assertEquals(1, jdbc.getConnectionPool("other").getLeases());
+    assertEquals(0, jdbc.getConnectionPool(JDBC.DEFAULT_DATASOURCE).getLeases());
+  }
+
+
+  /**
+   * Test of isValid method, of class Execute.
+   */
+  @Test
+  public void testIsValid()
+  {
+    assertFalse(new Execute(1, jdbc).isValid());
+    assertTrue(createAction("SELECT 1").isValid());
+  }
+
+}
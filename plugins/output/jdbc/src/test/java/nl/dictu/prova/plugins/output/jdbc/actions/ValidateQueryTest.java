@@ -0,0 +1,163 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.jdbc.actions;
+
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.jdbc.JDBC;
+import nl.dictu.prova.plugins.output.jdbc.TestDatabase;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ValidateQueryTest
+{
+
+  private JDBC jdbc;
+  private TestCase testCase;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    Prova prova = new Prova();
+    TestDatabase.configure(prova, JDBC.DEFAULT_DATASOURCE);
+
+    jdbc = new JDBC();
+    jdbc.init(prova);
+
+    testCase = new TestCase("test");
+    jdbc.setUp(testCase);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    jdbc.tearDown(testCase);
+    jdbc.shutDown();
+  }
+
+
+  /**
+   * Create an action of {@link testCase} validating {@link sql}
+   *
+   * @param sql
+   *
+   * @return
+   */
+  private TestAction createAction(String sql)
+  {
+    TestAction action = new ValidateQuery(1, jdbc);
+    action.setAttribute(ValidateQuery.ATTR_SQL, sql);
+    testCase.addTestAction(action);
+
+    return action;
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateQuery.
+   */
+  @Test
+  public void testExecute()
+  {
+    TestAction action = createAction("SELECT name FROM person WHERE id = ?");
+    action.setAttribute(ValidateQuery.ATTR_PARAMETER_PREFIX + 1, "2");
+    action.setAttribute(ValidateQuery.ATTR_EXPECTED, "Bob");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateQuery, with an unexpected value.
+   */
+  @Test
+  public void testExecuteWrongValue()
+  {
+    TestAction action = createAction("SELECT name FROM person ORDER BY id");
+    action.setAttribute(ValidateQuery.ATTR_EXPECTED, "Bob");
+
+    assertEquals(TestStatus.FAILED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateQuery, counting rows.
+   */
+  @Test
+  public void testExecuteRows()
+  {
+    TestAction action = createAction("SELECT * FROM person");
+    action.setAttribute(ValidateQuery.ATTR_ROWS, "3");
+
+    assertEquals(TestStatus.PASSED, action.execute());
+
+    action = createAction("SELECT * FROM person WHERE id > 5");
+    action.setAttribute(ValidateQuery.ATTR_ROWS, "1");
+
+    assertEquals(TestStatus.FAILED, action.execute());
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateQuery, reusing the prepared
+   * statement.
+   */
+  @Test
+  public void testExecuteReusesStatement() throws Exception
+  {
+    for(String id : new String[]
+    {
+      "1", "3"
+    })
+    {
+      TestAction action = new ValidateQuery(Integer.valueOf(id), jdbc);
+      action.setAttribute(ValidateQuery.ATTR_SQL, "SELECT COUNT(*) FROM person WHERE id = ?");
+      action.setAttribute(ValidateQuery.ATTR_PARAMETER_PREFIX + 1, id);
+      action.setAttribute(ValidateQuery.ATTR_EXPECTED, "1");
+      testCase.addTestAction(action);
+
+      assertEquals(TestStatus.PASSED, action.execute());
+    }
+
+    assertEquals(1, jdbc.getContext(testCase).getConnection(JDBC.DEFAULT_DATASOURCE).getHits());
+  }
+
+
+  /**
+   * Test of isValid method, of class ValidateQuery.
+   */
+  @Test
+  public void testIsValid()
+  {
+    assertFalse(createAction("SELECT 1").isValid());
+  }
+
+}
@@ -0,0 +1,295 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Explicit waits for the Selenium actions. A condition is polled until it
+ * holds, starting with short intervals which grow to at most
+ * {@value #MAX_POLL_INTERVAL}ms, so ready elements are found right away and
+ * slow pages aren't polled too often. Missing, stale and not yet usable
+ * elements are retried until the timeout expires.
+ * <p>
+ * The time of every wait is recorded, see {@link #getWaits()} and the other
+ * statistics.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ElementWait
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ElementWait.class.getName());
+
+  /**
+   * Default maximum wait in milliseconds
+   */
+  public final static long DEFAULT_TIMEOUT = 10000;
+
+  /**
+   * Milliseconds before the first retry
+   */
+  public final static long FIRST_POLL_INTERVAL = 25;
+
+  /**
+   * Maximum milliseconds between two retries
+   */
+  public final static long MAX_POLL_INTERVAL = 500;
+
+  private final static String DOM_STATE =
+          "return document.readyState + ':' + document.getElementsByTagName('*').length;";
+
+  private final long timeout;
+
+  private final AtomicLong waits = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong totalWaitTime = new AtomicLong();
+  private final AtomicLong maxWaitTime = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param timeout Maximum wait in milliseconds
+   *
+   * @throws InvalidParameterException
+   */
+  public ElementWait(long timeout) throws InvalidParameterException
+  {
+    if(timeout < 0)
+    {
+      throw new InvalidParameterException("Invalid timeout (" + timeout + ")");
+    }
+
+    this.timeout = timeout;
+  }
+
+
+  /**
+   * Wait until {@link condition} returns a value other than null or false
+   *
+   * @param <T>
+   * @param webDriver
+   * @param condition
+   *
+   * @return The value returned by the condition
+   *
+   * @throws TimeoutException     The condition didn't hold within the timeout
+   * @throws InterruptedException
+   */
+  public <T> T until(WebDriver webDriver, Function<WebDriver, T> condition) throws
+          TimeoutException, InterruptedException
+  {
+    return until(webDriver, condition, timeout);
+  }
+
+
+  /**
+   * Wait at most {@link maxWait} milliseconds until {@link condition} returns a
+   * value other than null or false
+   *
+   * @param <T>
+   * @param webDriver
+   * @param condition
+   * @param maxWait
+   *
+   * @return The value returned by the condition
+   *
+   * @throws TimeoutException     The condition didn't hold within the timeout
+   * @throws InterruptedException
+   */
+  public <T> T until(WebDriver webDriver, Function<WebDriver, T> condition, long maxWait) throws
+          TimeoutException, InterruptedException
+  {
+    long startTime = System.nanoTime();
+    long deadline = startTime + maxWait * 1000000;
+    long pollInterval = FIRST_POLL_INTERVAL;
+    WebDriverException lastException = null;
+
+    try
+    {
+      while(true)
+      {
+        try
+        {
+          T result = condition.apply(webDriver);
+
+          if(result != null && !Boolean.FALSE.equals(result))
+          {
+            return result;
+          }
+        }
+        catch(NotFoundException | StaleElementReferenceException | InvalidElementStateException eX)
+        {
+          lastException = eX;
+        }
+
+        long remaining = deadline - System.nanoTime();
+
+        if(remaining <= 0)
+        {
+          timeouts.incrementAndGet();
+          throw new TimeoutException("Condition not met within " + maxWait + "ms",
+                                     lastException);
+        }
+
+        Thread.sleep(Math.min(pollInterval, (remaining + 999999) / 1000000));
+        pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL);
+      }
+    }
+    finally
+    {
+      record((System.nanoTime() - startTime) / 1000000);
+    }
+  }
+
+
+  /**
+   * Wait at most {@link maxWait} milliseconds until the page is loaded and its
+   * number of elements stopped changing. Browsers without JavaScript are
+   * always stable.
+   *
+   * @param webDriver
+   * @param maxWait
+   *
+   * @return False when the page wasn't stable within {@link maxWait}
+   *
+   * @throws InterruptedException
+   */
+  public boolean untilDomStable(WebDriver webDriver, long maxWait) throws InterruptedException
+  {
+    if( !(webDriver instanceof JavascriptExecutor))
+    {
+      return true;
+    }
+
+    String[] lastState = new String[1];
+
+    try
+    {
+      until(webDriver, (driver) ->
+      {
+        String state = String.valueOf(((JavascriptExecutor) driver).executeScript(DOM_STATE));
+        boolean stable = state.startsWith("complete:") && state.equals(lastState[0]);
+
+        lastState[0] = state;
+
+        return stable;
+      }, maxWait);
+
+      return true;
+    }
+    catch(TimeoutException eX)
+    {
+      LOGGER.debug("Page not stable within {}ms ({})", maxWait, lastState[0]);
+      return false;
+    }
+    catch(WebDriverException | UnsupportedOperationException eX)
+    {
+      // No page loaded or no JavaScript, nothing to wait for
+      return true;
+    }
+  }
+
+
+  /**
+   * Return the maximum wait in milliseconds
+   *
+   * @return
+   */
+  public long getTimeout()
+  {
+    return timeout;
+  }
+
+
+  /**
+   * Return the number of waits
+   *
+   * @return
+   */
+  public long getWaits()
+  {
+    return waits.get();
+  }
+
+
+  /**
+   * Return the number of waits which timed out
+   *
+   * @return
+   */
+  public long getTimeouts()
+  {
+    return timeouts.get();
+  }
+
+
+  /**
+   * Return the total time of all waits in milliseconds
+   *
+   * @return
+   */
+  public long getTotalWaitTime()
+  {
+    return totalWaitTime.get();
+  }
+
+
+  /**
+   * Return the longest wait in milliseconds
+   *
+   * @return
+   */
+  public long getMaxWaitTime()
+  {
+    return maxWaitTime.get();
+  }
+
+
+  /**
+   * Record a wait of {@link waitTime} milliseconds
+   *
+   * @param waitTime
+   */
+  private void record(long waitTime)
+  {
+    waits.incrementAndGet();
+    totalWaitTime.addAndGet(waitTime);
+    maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Waited {}ms", waitTime);
+    }
+  }
+
+}
@@ -0,0 +1,171 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import nl.dictu.prova.util.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+/**
+ * Validated locators shared by all test cases of the {@link Selenium}
+ * plug-in. Test cases tend to use the same XPaths and CSS selectors many
+ * times, so each expression is validated and turned into a locator once.
+ * Invalid XPaths are rejected immediately instead of after waiting for an
+ * element which can never be found.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LocatorCache
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(LocatorCache.class.
+          getName());
+
+  /**
+   * Maximum number of locators to remember
+   */
+  public final static int MAX_SIZE = 10000;
+
+  private final ConcurrentHashMap<String, By> xPaths = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, By> cssSelectors = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+
+  /**
+   * Return the locator of {@link xPath}
+   *
+   * @param xPath
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The XPath is not valid
+   */
+  public By getXpath(String xPath) throws InvalidParameterException
+  {
+    By locator = xPaths.get(xPath == null ? "" : xPath);
+
+    if(locator != null)
+    {
+      hits.incrementAndGet();
+      return locator;
+    }
+
+    if( !Validator.isValidXpath(xPath))
+    {
+      throw new InvalidParameterException("Invalid XPath '" + xPath + "'");
+    }
+
+    return add(xPaths, xPath, By.xpath(xPath));
+  }
+
+
+  /**
+   * Return the locator of CSS selector {@link cssSelector}
+   *
+   * @param cssSelector
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The selector is empty
+   */
+  public By getCssSelector(String cssSelector) throws InvalidParameterException
+  {
+    By locator = cssSelectors.get(cssSelector == null ? "" : cssSelector);
+
+    if(locator != null)
+    {
+      hits.incrementAndGet();
+      return locator;
+    }
+
+    if(cssSelector == null || cssSelector.trim().isEmpty())
+    {
+      throw new InvalidParameterException("Invalid CSS selector '" + cssSelector + "'");
+    }
+
+    return add(cssSelectors, cssSelector, By.cssSelector(cssSelector));
+  }
+
+
+  /**
+   * Return the number of locators found in the cache
+   *
+   * @return
+   */
+  public long getHits()
+  {
+    return hits.get();
+  }
+
+
+  /**
+   * Return the number of locators created
+   *
+   * @return
+   */
+  public long getMisses()
+  {
+    return misses.get();
+  }
+
+
+  /**
+   * Return the number of cached locators
+   *
+   * @return
+   */
+  public int getSize()
+  {
+    return xPaths.size() + cssSelectors.size();
+  }
+
+
+  /**
+   * Add {@link locator} for {@link expression} to {@link locators}
+   *
+   * @param locators
+   * @param expression
+   * @param locator
+   *
+   * @return The cached locator
+   */
+  private By add(ConcurrentHashMap<String, By> locators, String expression, By locator)
+  {
+    misses.incrementAndGet();
+
+    if(getSize() >= MAX_SIZE)
+    {
+      LOGGER.debug("Locator cache full, clear it");
+      xPaths.clear();
+      cssSelectors.clear();
+    }
+
+    By cached = locators.putIfAbsent(expression, locator);
+
+    return (cached == null ? locator : cached);
+  }
+
+}
@@ -0,0 +1,530 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Encodes and writes screenshots in the background, so taking a screenshot
+ * only costs the test thread the capture itself. At most a fixed number of
+ * screenshots is pending; taking more screenshots blocks until one is
+ * written, so a slow disk can't fill the memory.
+ * <p>
+ * Screenshots are written as PNG as received from the browser, or re-encoded
+ * to another format supported by ImageIO, e.g. 'jpg'. Identical screenshots
+ * are encoded once; duplicates are linked to, or copied from, the first file.
+ * Files are synced to disk before they are reported as written. Written files
+ * are remembered until they are released, e.g. when their test case is torn
+ * down.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ScreenshotWriter implements AutoCloseable
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ScreenshotWriter.class.
+          getName());
+
+  /**
+   * Format of the screenshots taken by the browser
+   */
+  public final static String FORMAT_PNG = "png";
+
+  /**
+   * Default maximum number of pending screenshots
+   */
+  public final static int DEFAULT_QUEUE_SIZE = 16;
+
+  /**
+   * Default quality of lossy formats, between 0 and 1
+   */
+  public final static float DEFAULT_QUALITY = 0.8f;
+
+  private final static int THREADS = 2;
+
+  private final String format;
+  private final float quality;
+  private final Semaphore queue;
+  private final ExecutorService executorService;
+
+  private final ConcurrentHashMap<String, CompletableFuture<File>> screenshots =
+          new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Path, String> hashes = new ConcurrentHashMap<>();
+
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong duplicates = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param format    Format to write the screenshots in
+   * @param quality   Quality of lossy formats, between 0 and 1
+   * @param queueSize Maximum number of pending screenshots
+   *
+   * @throws InvalidParameterException
+   */
+  public ScreenshotWriter(String format, float quality, int queueSize) throws
+          InvalidParameterException
+  {
+    if(format == null || !ImageIO.getImageWritersByFormatName(format.trim()).hasNext())
+    {
+      throw new InvalidParameterException("Unsupported screenshot format '" + format + "'");
+    }
+
+    if(quality < 0 || quality > 1)
+    {
+      throw new InvalidParameterException("Invalid screenshot quality (" + quality + ")");
+    }
+
+    if(queueSize < 1)
+    {
+      throw new InvalidParameterException("Invalid screenshot queue size (" + queueSize + ")");
+    }
+
+    AtomicInteger threadNumber = new AtomicInteger();
+
+    this.format = format.trim().toLowerCase();
+    this.quality = quality;
+    this.queue = new Semaphore(queueSize);
+    this.executorService = Executors.newFixedThreadPool(THREADS, (runnable) ->
+                                                {
+                                                  Thread thread = new Thread(runnable,
+                                                                             "Screenshot-"
+                                                                             + threadNumber.
+                                                                             incrementAndGet());
+                                                  thread.setDaemon(true);
+                                                  return thread;
+                                                });
+  }
+
+
+  /**
+   * Return the format the screenshots are written in
+   *
+   * @return
+   */
+  public String getFormat()
+  {
+    return format;
+  }
+
+
+  /**
+   * Return the file a screenshot for {@link fileName} is written to. The
+   * extension is changed to the format when it's re-encoded.
+   *
+   * @param fileName
+   *
+   * @return
+   */
+  public File getFile(String fileName)
+  {
+    File file = new File(fileName).getAbsoluteFile();
+
+    if(FORMAT_PNG.equals(format) || file.getName().toLowerCase().endsWith("." + format))
+    {
+      return file;
+    }
+
+    String name = file.getName();
+    int extension = name.lastIndexOf('.');
+
+    return new File(file.getParentFile(), (extension > 0 ? name.substring(0, extension) : name)
+                                          + "." + format);
+  }
+
+
+  /**
+   * Write the PNG {@link screenshot} to {@link file} in the background. Blocks
+   * while the maximum number of screenshots is pending.
+   *
+   * @param screenshot
+   * @param file
+   *
+   * @return Future completed with the file once it's written
+   *
+   * @throws InterruptedException
+   */
+  public CompletableFuture<File> write(byte[] screenshot, File file) throws InterruptedException
+  {
+    queue.acquire();
+
+    try
+    {
+      String hash = hash(screenshot);
+      CompletableFuture<File> result = new CompletableFuture<>();
+      CompletableFuture<File> first = screenshots.putIfAbsent(hash, result);
+
+      if(first == null)
+      {
+        // A failed screenshot can't be linked to, so it's forgotten at once
+        result.whenComplete((writtenFile, eX) ->
+        {
+          if(eX != null)
+          {
+            screenshots.remove(hash, result);
+          }
+        });
+        executorService.execute(() -> complete(result, () -> writeFile(encode(screenshot), file,
+                                                                       hash)));
+      }
+      else
+      {
+        first.whenCompleteAsync((firstFile, eX) -> complete(result, () ->
+                            {
+                              // The first file may have failed or been overwritten since
+                              if(eX == null && hash.equals(hashes.get(firstFile.toPath())))
+                              {
+                                duplicates.incrementAndGet();
+                                return linkFile(firstFile, file, hash);
+                              }
+
+                              return writeFile(encode(screenshot), file, hash);
+                            }), executorService);
+      }
+
+      return result.whenComplete((writtenFile, eX) -> queue.release());
+    }
+    catch(RuntimeException eX)
+    {
+      queue.release();
+      throw eX;
+    }
+  }
+
+
+  /**
+   * Forget the screenshot written to {@link file}, so later identical
+   * screenshots are no longer linked to it. Call this once the file is written
+   * and no longer needed as a source for duplicates, e.g. when its test case
+   * is torn down; otherwise every screenshot stays in memory.
+   *
+   * @param file
+   */
+  public void release(File file)
+  {
+    Path path = file.toPath();
+    String hash = hashes.remove(path);
+
+    if(hash != null)
+    {
+      screenshots.computeIfPresent(hash, (key, first) ->
+                           first.isDone() && !first.isCompletedExceptionally()
+                           && path.equals(first.join().toPath()) ? null : first);
+    }
+  }
+
+
+  /**
+   * Return the number of distinct screenshots remembered to find duplicates
+   *
+   * @return
+   */
+  public int getRemembered()
+  {
+    return screenshots.size();
+  }
+
+
+  /**
+   * Return the number of screenshots encoded and written
+   *
+   * @return
+   */
+  public long getWritten()
+  {
+    return written.get();
+  }
+
+
+  /**
+   * Return the number of screenshots identical to a previous one
+   *
+   * @return
+   */
+  public long getDuplicates()
+  {
+    return duplicates.get();
+  }
+
+
+  /**
+   * Write the pending screenshots and stop the background threads
+   */
+  @Override
+  public void close()
+  {
+    executorService.shutdown();
+
+    try
+    {
+      if( !executorService.awaitTermination(1, TimeUnit.MINUTES))
+      {
+        LOGGER.error("Not all screenshots written");
+      }
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+    }
+
+    LOGGER.debug("Screenshots: {} written, {} duplicates", written.get(), duplicates.get());
+  }
+
+
+  /**
+   * Complete {@link result} with the file written by {@link fileWriter}
+   *
+   * @param result
+   * @param fileWriter
+   */
+  private void complete(CompletableFuture<File> result, FileWriter fileWriter)
+  {
+    try
+    {
+      result.complete(fileWriter.write());
+    }
+    catch(Exception eX)
+    {
+      result.completeExceptionally(eX);
+    }
+  }
+
+
+  /**
+   * Encode {@link screenshot} in the configured format
+   *
+   * @param screenshot
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private byte[] encode(byte[] screenshot) throws IOException
+  {
+    if(FORMAT_PNG.equals(format))
+    {
+      return screenshot;
+    }
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+
+    if(image == null)
+    {
+      throw new IOException("Screenshot is not a valid image");
+    }
+
+    // Formats like JPEG don't support transparency
+    if(image.getColorModel().hasAlpha())
+    {
+      BufferedImage opaqueImage = new BufferedImage(image.getWidth(), image.getHeight(),
+                                                    BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = opaqueImage.createGraphics();
+      graphics.drawImage(image, 0, 0, Color.WHITE, null);
+      graphics.dispose();
+      image = opaqueImage;
+    }
+
+    Iterator<ImageWriter> imageWriters = ImageIO.getImageWritersByFormatName(format);
+    ImageWriter imageWriter = imageWriters.next();
+    ByteArrayOutputStream output = new ByteArrayOutputStream(screenshot.length);
+
+    try(ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output))
+    {
+      ImageWriteParam writeParam = imageWriter.getDefaultWriteParam();
+
+      if(writeParam.canWriteCompressed())
+      {
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        if(writeParam.getCompressionType() == null)
+        {
+          writeParam.setCompressionType(writeParam.getCompressionTypes()[0]);
+        }
+        writeParam.setCompressionQuality(quality);
+      }
+
+      imageWriter.setOutput(imageOutput);
+      imageWriter.write(null, new IIOImage(image, null, null), writeParam);
+    }
+    finally
+    {
+      imageWriter.dispose();
+    }
+
+    return output.toByteArray();
+  }
+
+
+  /**
+   * Write {@link data} to {@link file} and sync it to disk. The data is
+   * written to a temporary file first, so {@link file} is never incomplete.
+   *
+   * @param data
+   * @param file
+   * @param hash Hash of the screenshot
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private File writeFile(byte[] data, File file, String hash) throws IOException
+  {
+    Path target = file.toPath();
+    Files.createDirectories(target.getParent());
+
+    Path temporary = Files.createTempFile(target.getParent(), ".screenshot", ".tmp");
+
+    try
+    {
+      try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE))
+      {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        while(buffer.hasRemaining())
+        {
+          channel.write(buffer);
+        }
+
+        channel.force(true);
+      }
+
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+    }
+    finally
+    {
+      Files.deleteIfExists(temporary);
+    }
+
+    hashes.put(target, hash);
+    written.incrementAndGet();
+
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Screenshot written to '{}'", file);
+    }
+
+    return file;
+  }
+
+
+  /**
+   * Make {@link file} a link to, or a copy of, the identical {@link source}
+   *
+   * @param source
+   * @param file
+   * @param hash   Hash of the screenshot
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private File linkFile(File source, File file, String hash) throws IOException
+  {
+    Path target = file.toPath();
+
+    if(target.equals(source.toPath()))
+    {
+      return file;
+    }
+
+    Files.createDirectories(target.getParent());
+    Files.deleteIfExists(target);
+
+    try
+    {
+      Files.createLink(target, source.toPath());
+      hashes.put(target, hash);
+    }
+    catch(FileSystemException | UnsupportedOperationException eX)
+    {
+      writeFile(Files.readAllBytes(source.toPath()), file, hash);
+    }
+
+    return file;
+  }
+
+
+  /**
+   * Return the hash of the content of {@link screenshot}
+   *
+   * @param screenshot
+   *
+   * @return
+   */
+  private static String hash(byte[] screenshot)
+  {
+    try
+    {
+      return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(
+              screenshot));
+    }
+    catch(NoSuchAlgorithmException eX)
+    {
+      throw new IllegalStateException("SHA-256 not available", eX);
+    }
+  }
+
+
+  /**
+   * Writes a file and returns it
+   */
+  @FunctionalInterface
+  private interface FileWriter
+  {
+
+    File write() throws Exception;
+  }
+
+}
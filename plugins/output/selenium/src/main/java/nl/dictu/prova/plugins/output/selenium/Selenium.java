@@ -20,15 +20,36 @@
 package nl.dictu.prova.plugins.output.selenium;
 
 import java.security.InvalidParameterException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import nl.dictu.prova.TestRunner;
 import nl.dictu.prova.TestType;
 import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.plugins.output.OutputPlugin;
+import nl.dictu.prova.plugins.output.selenium.actions.CaptureScreen;
+import nl.dictu.prova.plugins.output.selenium.actions.Click;
+import nl.dictu.prova.plugins.output.selenium.actions.Navigate;
+import nl.dictu.prova.plugins.output.selenium.actions.Select;
+import nl.dictu.prova.plugins.output.selenium.actions.SelectDropDown;
+import nl.dictu.prova.plugins.output.selenium.actions.SendKeys;
+import nl.dictu.prova.plugins.output.selenium.actions.SetText;
+import nl.dictu.prova.plugins.output.selenium.actions.Sleep;
+import nl.dictu.prova.plugins.output.selenium.actions.SwitchFrame;
+import nl.dictu.prova.plugins.output.selenium.actions.ValidateElement;
+import nl.dictu.prova.plugins.output.selenium.actions.ValidateText;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
 
 /**
+ * Output plug-in executing web test cases with Selenium WebDriver. Every test
+ * case leases a browser session from a {@link WebDriverPool} during its setup
+ * and returns it during its teardown. The session is kept in a
+ * {@link SeleniumContext} per test case, so test cases can be executed in
+ * parallel with at most {@link SeleniumConfig#PROVA_PLUGINS_SELENIUM_MAX_BROWSERS}
+ * browsers.
  *
  * @author Sjoerd Boerhout
  */
@@ -38,61 +59,324 @@ public class Selenium implements OutputPlugin
   protected final static Logger LOGGER = LogManager.getLogger(Selenium.class.
           getName());
 
+  /**
+   * Test case header which allows consecutive 'SetText' and 'ValidateText'
+   * actions to be executed in the browser with a single script: 'true' or
+   * 'false' (default)
+   */
+  public final static String HEADER_BATCH_ACTIONS = "batchActions";
+
+  private final static int DEFAULT_MAX_BROWSERS = 1;
+  private final static long DEFAULT_LEASE_TIMEOUT = 300000;
+
   private TestRunner testRunner;
+  private WebDriverPool webDriverPool;
+  private ElementWait elementWait;
+  private ScreenshotWriter screenshotWriter;
+  private final LocatorCache locatorCache = new LocatorCache();
+  private long leaseTimeout;
+  private boolean sleepUntilReady;
+
+  private final ConcurrentHashMap<TestCase, SeleniumContext> contexts =
+          new ConcurrentHashMap<>();
+  private final AtomicInteger lastActionId = new AtomicInteger();
 
 
   @Override
   public void init(TestRunner testRunner) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testRunner == null)
+    {
+      throw new InvalidParameterException("Test runner can not be null");
+    }
+
+    this.testRunner = testRunner;
+
+    String browser = getProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_BROWSER, "htmlunit");
+    int maxBrowsers = Integer.parseInt(getProperty(
+            SeleniumConfig.PROVA_PLUGINS_SELENIUM_MAX_BROWSERS,
+            String.valueOf(DEFAULT_MAX_BROWSERS)));
+    String webLimit = SeleniumConfig.PROVA_EXEC_MAX_PARALLEL_PREFIX + TestType.WEB.name().
+            toLowerCase();
+
+    leaseTimeout = Long.parseLong(getProperty(
+            SeleniumConfig.PROVA_PLUGINS_SELENIUM_LEASE_TIMEOUT,
+            String.valueOf(DEFAULT_LEASE_TIMEOUT)));
+    webDriverPool = new WebDriverPool(WebDriverFactory.getInstance(browser), maxBrowsers);
+    elementWait = new ElementWait(Long.parseLong(getProperty(
+            SeleniumConfig.PROVA_PLUGINS_SELENIUM_WAIT_TIMEOUT,
+            String.valueOf(ElementWait.DEFAULT_TIMEOUT))));
+    sleepUntilReady = Boolean.parseBoolean(getProperty(
+            SeleniumConfig.PROVA_PLUGINS_SELENIUM_SLEEP_UNTIL_READY, "false"));
+    screenshotWriter = new ScreenshotWriter(
+            getProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_SCREENSHOT_FORMAT,
+                        ScreenshotWriter.FORMAT_PNG),
+            Float.parseFloat(getProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_SCREENSHOT_QUALITY,
+                                         String.valueOf(ScreenshotWriter.DEFAULT_QUALITY))),
+            Integer.parseInt(getProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_SCREENSHOT_QUEUE,
+                                         String.valueOf(ScreenshotWriter.DEFAULT_QUEUE_SIZE))));
+
+    // Don't start more web test cases than there are browsers
+    if( !testRunner.hasProperty(webLimit))
+    {
+      testRunner.setProperty(webLimit, String.valueOf(maxBrowsers));
+    }
+
+    LOGGER.debug("Selenium initialized (browser: {}, max browsers: {})", browser, maxBrowsers);
   }
 
 
   @Override
   public void shutDown()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(webDriverPool != null)
+    {
+      webDriverPool.close();
+    }
+
+    if(screenshotWriter != null)
+    {
+      screenshotWriter.close();
+      LOGGER.info("Screenshots: {} written, {} duplicates", screenshotWriter.getWritten(),
+                  screenshotWriter.getDuplicates());
+    }
+
+    if(elementWait != null)
+    {
+      LOGGER.info("Waits: {} ({} timed out), total {}ms, max {}ms", elementWait.getWaits(),
+                  elementWait.getTimeouts(), elementWait.getTotalWaitTime(),
+                  elementWait.getMaxWaitTime());
+    }
+
+    LOGGER.info("Locators: {} cached, {} hits, {} misses", locatorCache.getSize(),
+                locatorCache.getHits(), locatorCache.getMisses());
   }
 
 
   @Override
   public String getName()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "Selenium";
   }
 
 
   @Override
   public TestType[] getTestType()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new TestType[]
+    {
+      TestType.WEB
+    };
   }
 
 
   @Override
-  public void setUp(TestCase tc)
+  public void setUp(TestCase testCase)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    try
+    {
+      contexts.put(testCase, new SeleniumContext(testCase, webDriverPool.lease(leaseTimeout)));
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a browser", eX);
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("No browser for test case '" + testCase.getId() + "': "
+                                      + eX.getMessage(), eX);
+    }
   }
 
 
   @Override
-  public void tearDown(TestCase tc)
+  public void tearDown(TestCase testCase)
+  {
+    SeleniumContext context = contexts.remove(testCase);
+
+    if(context != null)
+    {
+      boolean written;
+
+      try
+      {
+        // Result files must be written before the test case is reported
+        written = context.waitForResultFiles();
+      }
+      finally
+      {
+        webDriverPool.release(context.getWebDriver());
+      }
+
+      // Written screenshots are no longer a source for duplicates
+      if(screenshotWriter != null)
+      {
+        context.getScreenshots().forEach(screenshotWriter::release);
+      }
+
+      if( !written)
+      {
+        throw new IllegalStateException("Result files of test case '" + testCase.getId()
+                                        + "' not written");
+      }
+    }
+  }
+
+
+  /**
+   * Return the context of {@link testCase}, which exists between its setup
+   * and teardown
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws NoSuchElementException
+   */
+  public SeleniumContext getContext(TestCase testCase) throws NoSuchElementException
+  {
+    SeleniumContext context = (testCase == null ? null : contexts.get(testCase));
+
+    if(context == null)
+    {
+      throw new NoSuchElementException("No browser session for test case '"
+                                       + (testCase == null ? "null" : testCase.getId()) + "'");
+    }
+
+    return context;
+  }
+
+
+  /**
+   * Return the browser session leased by {@link testCase}
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws NoSuchElementException
+   */
+  public WebDriver getWebDriver(TestCase testCase) throws NoSuchElementException
+  {
+    return getContext(testCase).getWebDriver();
+  }
+
+
+  /**
+   * Return the explicit waits used by the actions
+   *
+   * @return
+   */
+  public ElementWait getElementWait()
+  {
+    return elementWait;
+  }
+
+
+  /**
+   * Return the writer of the screenshots
+   *
+   * @return
+   */
+  public ScreenshotWriter getScreenshotWriter()
+  {
+    return screenshotWriter;
+  }
+
+
+  /**
+   * Return the locators shared by all test cases
+   *
+   * @return
+   */
+  public LocatorCache getLocatorCache()
+  {
+    return locatorCache;
+  }
+
+
+  /**
+   * Check if 'Sleep' actions wait until the page is ready instead of sleeping
+   *
+   * @return
+   */
+  public boolean isSleepUntilReady()
+  {
+    return sleepUntilReady;
+  }
+
+
+  /**
+   * Return the pool with browser sessions
+   *
+   * @return
+   */
+  public WebDriverPool getWebDriverPool()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return webDriverPool;
   }
 
 
   @Override
-  public TestAction getTestAction(String string) throws
+  public TestAction getTestAction(String actionName) throws
           InvalidParameterException
   {
-    /*
-     * Factory functions that returns an instance of the requested action.
-     * All actions extend nl.dictu.prova.framework.TestAction.
-     */
+    Integer id = lastActionId.incrementAndGet();
 
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    switch(actionName == null ? "" : actionName.trim().toLowerCase())
+    {
+      case "capturescreen":
+        return new CaptureScreen(id, this);
+
+      case "click":
+        return new Click(id, this);
+
+      case "navigate":
+        return new Navigate(id, this);
+
+      case "select":
+        return new Select(id, this);
+
+      case "selectdropdown":
+        return new SelectDropDown(id, this);
+
+      case "sendkeys":
+        return new SendKeys(id, this);
+
+      case "settext":
+        return new SetText(id, this);
+
+      case "sleep":
+        return new Sleep(id, this);
+
+      case "switchframe":
+        return new SwitchFrame(id, this);
+
+      case "validateelement":
+        return new ValidateElement(id, this);
+
+      case "validatetext":
+        return new ValidateText(id, this);
+
+      default:
+        throw new InvalidParameterException("Unknown action '" + actionName + "'");
+    }
+  }
+
+
+  /**
+   * Return property {@link key} of the test runner or {@link defaultValue}
+   * when it isn't set
+   *
+   * @param key
+   * @param defaultValue
+   *
+   * @return
+   */
+  private String getProperty(String key, String defaultValue)
+  {
+    return (testRunner.hasProperty(key) ? testRunner.getProperty(key) : defaultValue);
   }
 
 }
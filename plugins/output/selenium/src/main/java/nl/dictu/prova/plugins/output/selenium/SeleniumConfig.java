@@ -0,0 +1,92 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import nl.dictu.prova.Config;
+
+/**
+ * Configuration options of the Selenium output plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class SeleniumConfig extends Config
+{
+
+  /**
+   * Browser used for the test cases: 'htmlunit' (default), 'firefox',
+   * 'chrome', 'ie', 'edge' or 'safari'
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_BROWSER =
+          "prova.plugins.output.selenium.browser";
+
+  /**
+   * Maximum number of browsers open at the same time, which is also the
+   * maximum number of web test cases executed at the same time. The sessions
+   * are kept open and reused by the test cases. Defaults to 1.
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_MAX_BROWSERS =
+          "prova.plugins.output.selenium.maxBrowsers";
+
+  /**
+   * Maximum time in milliseconds a test case waits for a free browser
+   * session. Defaults to 300000 (5 minutes).
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_LEASE_TIMEOUT =
+          "prova.plugins.output.selenium.leaseTimeout";
+
+
+  /**
+   * Maximum time in milliseconds an action waits until its element is ready
+   * or its validation holds. Defaults to 10000.
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_WAIT_TIMEOUT =
+          "prova.plugins.output.selenium.waitTimeout";
+
+  /**
+   * Let 'Sleep' actions wait until the page is loaded and stable instead of
+   * sleeping, with the configured sleep time as maximum: 'true' or 'false'
+   * (default).
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_SLEEP_UNTIL_READY =
+          "prova.plugins.output.selenium.sleepUntilReady";
+
+
+  /**
+   * Format of the screenshots, e.g. 'png' (default) or 'jpg'. Other formats,
+   * like 'webp', require an ImageIO plug-in on the class path.
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_SCREENSHOT_FORMAT =
+          "prova.plugins.output.selenium.screenshotFormat";
+
+  /**
+   * Quality of screenshots in a lossy format, between 0 and 1. Defaults to
+   * 0.8.
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_SCREENSHOT_QUALITY =
+          "prova.plugins.output.selenium.screenshotQuality";
+
+  /**
+   * Maximum number of screenshots waiting to be written before taking a
+   * screenshot blocks. Defaults to 16.
+   */
+  public final static String PROVA_PLUGINS_SELENIUM_SCREENSHOT_QUEUE =
+          "prova.plugins.output.selenium.screenshotQueue";
+
+}
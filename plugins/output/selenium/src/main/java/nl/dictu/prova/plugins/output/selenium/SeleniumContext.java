@@ -0,0 +1,272 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * State of a single test case executed by the {@link Selenium} plug-in. Each
+ * test case running in parallel has its own context with its own browser
+ * session, so actions of different test cases never share state.
+ * <p>
+ * Elements found on the current page are remembered, so subsequent actions on
+ * the same element don't have to look it up again. Actions clear them when
+ * they leave the page and drop stale elements.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class SeleniumContext
+{
+
+  private final TestCase testCase;
+  private final WebDriver webDriver;
+  private final HashMap<By, WebElement> webElements = new HashMap<>();
+  private final HashSet<TestAction> executedActions = new HashSet<>();
+  private final LinkedList<Map.Entry<CompletableFuture<?>, Consumer<Throwable>>> resultFiles =
+          new LinkedList<>();
+  private final LinkedList<File> screenshots = new LinkedList<>();
+  private Map<TestAction, List<TestAction>> batches = null;
+
+
+  /**
+   * Constructor
+   *
+   * @param testCase
+   * @param webDriver Browser session leased by the test case
+   */
+  public SeleniumContext(TestCase testCase, WebDriver webDriver)
+  {
+    this.testCase = testCase;
+    this.webDriver = webDriver;
+  }
+
+
+  /**
+   * Return the test case of this context
+   *
+   * @return
+   */
+  public TestCase getTestCase()
+  {
+    return testCase;
+  }
+
+
+  /**
+   * Return the browser session of the test case
+   *
+   * @return
+   */
+  public WebDriver getWebDriver()
+  {
+    return webDriver;
+  }
+
+
+  /**
+   * Check if the test case allows executing consecutive actions in a batch
+   *
+   * @return
+   */
+  public boolean isBatchEnabled()
+  {
+    return testCase.hasHeader(Selenium.HEADER_BATCH_ACTIONS)
+           && Boolean.parseBoolean(testCase.getHeader(Selenium.HEADER_BATCH_ACTIONS));
+  }
+
+
+  /**
+   * Return the batch of actions starting with {@link testAction}. The batches
+   * of the test case are created once by {@link batchFactory}.
+   *
+   * @param testAction
+   * @param batchFactory Returns the batch starting with each action of a test
+   *                     case
+   *
+   * @return The batch or an empty list
+   */
+  public List<TestAction> getBatch(TestAction testAction, Function<TestCase, Map<TestAction,
+                                                                   List<TestAction>>> batchFactory)
+  {
+    if(batches == null)
+    {
+      batches = batchFactory.apply(testCase);
+    }
+
+    return batches.getOrDefault(testAction, Collections.emptyList());
+  }
+
+
+  /**
+   * Register {@link testAction} as executed in a batch started by a previous
+   * action
+   *
+   * @param testAction
+   */
+  public void addExecutedAction(TestAction testAction)
+  {
+    executedActions.add(testAction);
+  }
+
+
+  /**
+   * Check if {@link testAction} was executed in a batch and forget it
+   *
+   * @param testAction
+   *
+   * @return
+   */
+  public boolean removeExecutedAction(TestAction testAction)
+  {
+    return executedActions.remove(testAction);
+  }
+
+
+  /**
+   * Register a result file which is written in the background. When writing
+   * fails {@link onFailure} is called with the cause by
+   * {@link #waitForResultFiles}, after all actions of the test case are
+   * executed.
+   *
+   * @param resultFile
+   * @param onFailure
+   */
+  public void addResultFile(CompletableFuture<?> resultFile, Consumer<Throwable> onFailure)
+  {
+    resultFiles.add(new AbstractMap.SimpleImmutableEntry<>(resultFile, onFailure));
+  }
+
+
+  /**
+   * Wait until all result files of the test case are written and report the
+   * failures to the actions which registered the files
+   *
+   * @return False when a result file wasn't written
+   */
+  public boolean waitForResultFiles()
+  {
+    boolean written = true;
+
+    while( !resultFiles.isEmpty())
+    {
+      Map.Entry<CompletableFuture<?>, Consumer<Throwable>> resultFile = resultFiles.poll();
+
+      try
+      {
+        resultFile.getKey().get();
+      }
+      catch(InterruptedException eX)
+      {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      catch(ExecutionException eX)
+      {
+        resultFile.getValue().accept(eX.getCause());
+        written = false;
+      }
+    }
+
+    return written;
+  }
+
+
+  /**
+   * Register {@link screenshot} as written by the screenshot writer of the
+   * plug-in for this test case, to be released at teardown
+   *
+   * @param screenshot
+   */
+  public void addScreenshot(File screenshot)
+  {
+    screenshots.add(screenshot);
+  }
+
+
+  /**
+   * Return the screenshots written for this test case
+   *
+   * @return
+   */
+  public LinkedList<File> getScreenshots()
+  {
+    return screenshots;
+  }
+
+
+  /**
+   * Find the element identified by {@link locator} on the current page
+   *
+   * @param locator
+   *
+   * @return
+   *
+   * @throws org.openqa.selenium.NoSuchElementException
+   */
+  public WebElement findElement(By locator)
+  {
+    WebElement webElement = webElements.get(locator);
+
+    if(webElement == null)
+    {
+      webElement = webDriver.findElement(locator);
+      webElements.put(locator, webElement);
+    }
+
+    return webElement;
+  }
+
+
+  /**
+   * Forget the element identified by {@link locator}, e.g. because it's stale
+   *
+   * @param locator
+   */
+  public void removeElement(By locator)
+  {
+    webElements.remove(locator);
+  }
+
+
+  /**
+   * Forget all elements, e.g. because the current page or frame changes
+   */
+  public void clearElements()
+  {
+    webElements.clear();
+  }
+
+}
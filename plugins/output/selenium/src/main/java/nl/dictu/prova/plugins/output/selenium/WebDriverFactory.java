@@ -0,0 +1,85 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.Callable;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.safari.SafariDriver;
+
+/**
+ * Factory for new browser sessions
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WebDriverFactory
+{
+
+  /**
+   * Private constructor
+   */
+  private WebDriverFactory()
+  {
+  }
+
+
+  /**
+   * Return a factory for sessions of {@link browser}
+   *
+   * @param browser
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public static Callable<WebDriver> getInstance(String browser) throws
+          InvalidParameterException
+  {
+    switch(browser == null ? "" : browser.trim().toLowerCase())
+    {
+      case "htmlunit":
+        return () -> new HtmlUnitDriver(true);
+
+      case "firefox":
+        return FirefoxDriver::new;
+
+      case "chrome":
+        return ChromeDriver::new;
+
+      case "ie":
+        return InternetExplorerDriver::new;
+
+      case "edge":
+        return EdgeDriver::new;
+
+      case "safari":
+        return SafariDriver::new;
+
+      default:
+        throw new InvalidParameterException("Unsupported browser '" + browser + "'");
+    }
+  }
+
+}
@@ -0,0 +1,551 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Pool of browser sessions shared by the test cases. Starting a browser
+ * takes seconds, so a session is leased by a test case and reset when it is
+ * released: cookies and storage are cleared, extra windows are closed and
+ * the browser navigates to 'about:blank'. Sessions failing the reset or the
+ * health check at the next lease are quit and replaced by a new session.
+ * <p>
+ * The browser only clears cookies and storage of the current page, so the
+ * origins visited during a lease are registered with {@link #visit} and each
+ * of them is opened and cleared at the reset.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WebDriverPool
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WebDriverPool.class.getName());
+
+  private final static String BLANK_PAGE = "about:blank";
+  private final static String CLEAR_STORAGE =
+          "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch(e) {}";
+
+  private final Callable<WebDriver> webDriverFactory;
+  private final int maxSize;
+
+  // Most recently released session first, so the other sessions may time out
+  private final ArrayDeque<WebDriver> idleSessions = new ArrayDeque<>();
+  private int sessions = 0;
+  private boolean closed = false;
+
+  // Origins visited per leased session, each session is used by one thread
+  private final ConcurrentHashMap<WebDriver, LinkedHashSet<String>> visitedOrigins =
+          new ConcurrentHashMap<>();
+
+  private final AtomicLong leases = new AtomicLong();
+  private final AtomicLong reuses = new AtomicLong();
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong recycled = new AtomicLong();
+  private final AtomicLong totalLeaseWait = new AtomicLong();
+  private final AtomicLong maxLeaseWait = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param webDriverFactory Creates a new browser session
+   * @param maxSize          Maximum number of open sessions
+   *
+   * @throws InvalidParameterException
+   */
+  public WebDriverPool(Callable<WebDriver> webDriverFactory, int maxSize) throws
+          InvalidParameterException
+  {
+    if(webDriverFactory == null || maxSize < 1)
+    {
+      throw new InvalidParameterException("Invalid factory or size for the pool (" + maxSize
+                                          + ")");
+    }
+
+    this.webDriverFactory = webDriverFactory;
+    this.maxSize = maxSize;
+  }
+
+
+  /**
+   * Lease a session. Waits at most {@link timeout} milliseconds for a free
+   * session when all sessions are in use.
+   *
+   * @param timeout
+   *
+   * @return
+   *
+   * @throws TimeoutException     No session became available in time
+   * @throws InterruptedException
+   * @throws Exception            Starting a new session failed
+   */
+  public WebDriver lease(long timeout) throws Exception
+  {
+    long startTime = System.nanoTime();
+    WebDriver webDriver = null;
+
+    synchronized(this)
+    {
+      long end = System.currentTimeMillis() + timeout;
+
+      while(webDriver == null)
+      {
+        if(closed)
+        {
+          throw new IllegalStateException("Pool is closed");
+        }
+
+        if( !idleSessions.isEmpty())
+        {
+          webDriver = idleSessions.pop();
+          break;
+        }
+
+        if(sessions < maxSize)
+        {
+          // Reserve a place for a new session, it is started outside the lock
+          sessions++;
+          break;
+        }
+
+        long remaining = end - System.currentTimeMillis();
+
+        if(remaining <= 0)
+        {
+          throw new TimeoutException("No browser session available within " + timeout + "ms");
+        }
+
+        wait(remaining);
+      }
+    }
+
+    long leaseWait = (System.nanoTime() - startTime) / 1000000;
+
+    totalLeaseWait.addAndGet(leaseWait);
+    maxLeaseWait.accumulateAndGet(leaseWait, Math::max);
+    leases.incrementAndGet();
+
+    if(webDriver != null && !isHealthy(webDriver))
+    {
+      LOGGER.warn("Browser session failed the health check, start a new session");
+      quit(webDriver);
+      recycled.incrementAndGet();
+      webDriver = null;
+    }
+
+    if(webDriver != null)
+    {
+      reuses.incrementAndGet();
+      return webDriver;
+    }
+
+    try
+    {
+      webDriver = webDriverFactory.call();
+      created.incrementAndGet();
+
+      LOGGER.debug("New browser session started ({} of {})", sessions, maxSize);
+
+      return webDriver;
+    }
+    catch(Exception eX)
+    {
+      removeSession();
+      throw eX;
+    }
+  }
+
+
+  /**
+   * Register {@link url} as visited by the leased {@link webDriver}, so the
+   * cookies and storage of its origin are cleared when the session is
+   * released
+   *
+   * @param webDriver
+   * @param url
+   */
+  public void visit(WebDriver webDriver, String url)
+  {
+    String origin = getOrigin(url);
+
+    if(webDriver != null && origin != null)
+    {
+      visitedOrigins.computeIfAbsent(webDriver, (key) -> new LinkedHashSet<>()).add(origin);
+    }
+  }
+
+
+  /**
+   * Reset {@link webDriver} and return it to the pool. Sessions which can't
+   * be reset are quit.
+   *
+   * @param webDriver
+   */
+  public void release(WebDriver webDriver)
+  {
+    if(webDriver == null)
+    {
+      return;
+    }
+
+    boolean reset = reset(webDriver);
+
+    synchronized(this)
+    {
+      if(reset && !closed)
+      {
+        idleSessions.push(webDriver);
+        notifyAll();
+        return;
+      }
+    }
+
+    if( !reset)
+    {
+      LOGGER.warn("Reset of browser session failed, session is recycled");
+      recycled.incrementAndGet();
+    }
+
+    quit(webDriver);
+    removeSession();
+  }
+
+
+  /**
+   * Quit a broken session instead of returning it to the pool
+   *
+   * @param webDriver
+   */
+  public void invalidate(WebDriver webDriver)
+  {
+    if(webDriver == null)
+    {
+      return;
+    }
+
+    visitedOrigins.remove(webDriver);
+    recycled.incrementAndGet();
+    quit(webDriver);
+    removeSession();
+  }
+
+
+  /**
+   * Quit all idle sessions and stop leasing. Leased sessions are quit when
+   * they are released.
+   */
+  public void close()
+  {
+    ArrayDeque<WebDriver> webDrivers;
+
+    synchronized(this)
+    {
+      closed = true;
+      webDrivers = new ArrayDeque<>(idleSessions);
+      idleSessions.clear();
+      notifyAll();
+    }
+
+    for(WebDriver webDriver : webDrivers)
+    {
+      quit(webDriver);
+      removeSession();
+    }
+
+    LOGGER.info("Browser sessions: {} started, {} leases ({} reused, {} recycled), "
+                + "lease wait: average {}ms, max {}ms", getCreated(), getLeases(), getReuses(),
+                getRecycled(), getAverageLeaseWait(), getMaxLeaseWait());
+  }
+
+
+  /**
+   * Return the number of open sessions, leased and idle
+   *
+   * @return
+   */
+  public synchronized int getSize()
+  {
+    return sessions;
+  }
+
+
+  /**
+   * Return the number of idle sessions
+   *
+   * @return
+   */
+  public synchronized int getIdle()
+  {
+    return idleSessions.size();
+  }
+
+
+  /**
+   * Return the number of leases
+   *
+   * @return
+   */
+  public long getLeases()
+  {
+    return leases.get();
+  }
+
+
+  /**
+   * Return the number of leases served by an already open session
+   *
+   * @return
+   */
+  public long getReuses()
+  {
+    return reuses.get();
+  }
+
+
+  /**
+   * Return the number of started sessions
+   *
+   * @return
+   */
+  public long getCreated()
+  {
+    return created.get();
+  }
+
+
+  /**
+   * Return the number of sessions quit because they were broken
+   *
+   * @return
+   */
+  public long getRecycled()
+  {
+    return recycled.get();
+  }
+
+
+  /**
+   * Return the average time in milliseconds a lease waited for a session
+   *
+   * @return
+   */
+  public long getAverageLeaseWait()
+  {
+    long count = leases.get();
+
+    return (count == 0 ? 0 : totalLeaseWait.get() / count);
+  }
+
+
+  /**
+   * Return the longest time in milliseconds a lease waited for a session
+   *
+   * @return
+   */
+  public long getMaxLeaseWait()
+  {
+    return maxLeaseWait.get();
+  }
+
+
+  /**
+   * Free the place of a quit session for a new one
+   */
+  private synchronized void removeSession()
+  {
+    sessions--;
+    notifyAll();
+  }
+
+
+  /**
+   * Check if the browser of {@link webDriver} still responds
+   *
+   * @param webDriver
+   *
+   * @return
+   */
+  private boolean isHealthy(WebDriver webDriver)
+  {
+    try
+    {
+      return webDriver.getWindowHandle() != null;
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.debug("Health check failed: {}", eX.getMessage());
+      return false;
+    }
+  }
+
+
+  /**
+   * Remove all state of the previous test case from {@link webDriver}
+   *
+   * @param webDriver
+   *
+   * @return False when the session couldn't be reset
+   */
+  private boolean reset(WebDriver webDriver)
+  {
+    LinkedHashSet<String> origins = visitedOrigins.remove(webDriver);
+
+    try
+    {
+      String firstWindow = null;
+
+      for(String windowHandle : webDriver.getWindowHandles())
+      {
+        if(firstWindow == null)
+        {
+          firstWindow = windowHandle;
+          continue;
+        }
+
+        webDriver.switchTo().window(windowHandle).close();
+      }
+
+      if(firstWindow != null)
+      {
+        webDriver.switchTo().window(firstWindow);
+      }
+
+      String currentOrigin = getOrigin(webDriver.getCurrentUrl());
+
+      webDriver.manage().deleteAllCookies();
+      clearStorage(webDriver);
+
+      if(origins != null)
+      {
+        origins.remove(currentOrigin);
+
+        // Cookies and storage are only accessible from a page of their origin
+        for(String origin : origins)
+        {
+          webDriver.get(origin + "/");
+          webDriver.manage().deleteAllCookies();
+          clearStorage(webDriver);
+        }
+      }
+
+      webDriver.get(BLANK_PAGE);
+
+      return true;
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.debug("Reset failed: {}", eX.getMessage());
+      return false;
+    }
+  }
+
+
+  /**
+   * Clear the local and session storage of the current page. Only web pages
+   * have storage.
+   *
+   * @param webDriver
+   */
+  private void clearStorage(WebDriver webDriver)
+  {
+    String currentUrl = webDriver.getCurrentUrl();
+
+    if( !(webDriver instanceof JavascriptExecutor) || currentUrl == null || !currentUrl.
+            startsWith("http"))
+    {
+      return;
+    }
+
+    try
+    {
+      ((JavascriptExecutor) webDriver).executeScript(CLEAR_STORAGE);
+    }
+    catch(UnsupportedOperationException eX)
+    {
+      // Browser without JavaScript, so without storage
+    }
+  }
+
+
+  /**
+   * Return the origin of {@link url}, e.g. 'https://example.com:8443', or
+   * null if it's not a web page
+   *
+   * @param url
+   *
+   * @return
+   */
+  private static String getOrigin(String url)
+  {
+    if(url == null || !url.startsWith("http"))
+    {
+      return null;
+    }
+
+    try
+    {
+      URI uri = new URI(url);
+
+      if(uri.getHost() == null)
+      {
+        return null;
+      }
+
+      return uri.getScheme().toLowerCase() + "://" + uri.getHost().toLowerCase()
+             + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+    catch(URISyntaxException eX)
+    {
+      return null;
+    }
+  }
+
+
+  /**
+   * Quit {@link webDriver}, ignoring errors of a broken browser
+   *
+   * @param webDriver
+   */
+  private void quit(WebDriver webDriver)
+  {
+    try
+    {
+      webDriver.quit();
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.debug("Quit of browser session failed: {}", eX.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,237 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Executes a sequence of consecutive batchable actions of a test case with a
+ * single script in the browser, instead of a browser command per element.
+ * The script executes the actions in order and stops at the first action it
+ * can't handle, e.g. because the element is missing or the text differs. That
+ * action and the ones following it are executed one by one as usual, so they
+ * still wait for their element and report their own status.
+ * <p>
+ * Text is entered by setting the value and firing 'input' and 'change'
+ * events, so no key events are fired. Like {@link SetText} it requires the
+ * element to be displayed and enabled.
+ * <p>
+ * The batches of a test case are determined once, when the first action is
+ * executed, and kept in its {@link SeleniumContext}.
+ *
+ * @author Sjoerd Boerhout
+ */
+class ActionBatch
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ActionBatch.class.
+          getName());
+
+  /**
+   * Command to replace the text of an input element
+   */
+  final static String COMMAND_SET = "set";
+
+  /**
+   * Command to validate the text of an element
+   */
+  final static String COMMAND_VALIDATE = "validate";
+
+  private final static String SCRIPT =
+          "var commands = arguments[0];\n"
+          + "function displayed(element) {\n"
+          + "  for(var parent = element; parent && parent.nodeType == 1; parent = parent.parentNode) {\n"
+          + "    if(window.getComputedStyle(parent).display == 'none') return false;\n"
+          + "  }\n"
+          + "  var style = window.getComputedStyle(element);\n"
+          + "  if(style.visibility == 'hidden' || style.visibility == 'collapse') return false;\n"
+          + "  return !!(element.offsetWidth || element.offsetHeight || element.getClientRects().length);\n"
+          + "}\n"
+          + "for(var i = 0; i < commands.length; i++) {\n"
+          + "  var command = commands[i], element = null;\n"
+          + "  if(command[1] == 'xpath') {\n"
+          + "    element = document.evaluate(command[2], document, null, 9, null).singleNodeValue;\n"
+          + "  } else {\n"
+          + "    element = document.querySelector(command[2]);\n"
+          + "  }\n"
+          + "  if(!element || !element.tagName) return i;\n"
+          + "  var tagName = element.tagName.toLowerCase();\n"
+          + "  var input = (tagName == 'input' || tagName == 'textarea');\n"
+          + "  if(command[0] == 'set') {\n"
+          + "    if(!input || element.disabled || element.readOnly || element.type == 'hidden') return i;\n"
+          + "    if(!displayed(element) || (element.matches && element.matches(':disabled'))) return i;\n"
+          + "    element.value = command[3];\n"
+          + "    var names = ['input', 'change'];\n"
+          + "    for(var j = 0; j < names.length; j++) {\n"
+          + "      var event = document.createEvent('HTMLEvents');\n"
+          + "      event.initEvent(names[j], true, true);\n"
+          + "      element.dispatchEvent(event);\n"
+          + "    }\n"
+          + "  } else {\n"
+          + "    var text = input ? element.value\n"
+          + "        : String(element.innerText !== undefined ? element.innerText : element.textContent)\n"
+          + "            .replace(/\\s+/g, ' ').replace(/^ | $/g, '');\n"
+          + "    if(text != command[3]) return i;\n"
+          + "  }\n"
+          + "}\n"
+          + "return commands.length;";
+
+  private final LinkedList<SeleniumAction> actions = new LinkedList<>();
+  private final List<List<String>> commands = new ArrayList<>();
+
+
+  /**
+   * Constructor
+   *
+   * @param batch Consecutive batchable actions, as created by
+   *              {@link #createBatches}
+   */
+  ActionBatch(List<TestAction> batch)
+  {
+    for(TestAction testAction : batch)
+    {
+      SeleniumAction action = (SeleniumAction) testAction;
+
+      actions.add(action);
+      commands.add(action.getBatchCommand());
+    }
+  }
+
+
+  /**
+   * Return the batch starting with each batchable action of {@link testCase}:
+   * the action and the batchable actions directly following it. Actions
+   * without a following batchable action have no batch.
+   *
+   * @param testCase
+   *
+   * @return
+   */
+  static Map<TestAction, List<TestAction>> createBatches(TestCase testCase)
+  {
+    HashMap<TestAction, List<TestAction>> batches = new HashMap<>();
+
+    for(List<TestAction> testActions : Arrays.asList(testCase.getSetUpActions(),
+                                                     testCase.getTestActions(),
+                                                     testCase.getTearDownActions()))
+    {
+      ArrayList<TestAction> sequence = new ArrayList<>();
+
+      for(TestAction testAction : testActions)
+      {
+        if(testAction instanceof SeleniumAction && ((SeleniumAction) testAction).
+                getBatchCommand() != null)
+        {
+          sequence.add(testAction);
+          continue;
+        }
+
+        addBatches(batches, sequence);
+        sequence = new ArrayList<>();
+      }
+
+      addBatches(batches, sequence);
+    }
+
+    return batches;
+  }
+
+
+  /**
+   * Return the number of actions in this batch
+   *
+   * @return
+   */
+  int size()
+  {
+    return actions.size();
+  }
+
+
+  /**
+   * Execute the batch in the browser session of {@link context}. The actions
+   * which were executed, except the first, are registered in the context so
+   * they are not executed again.
+   *
+   * @param context
+   *
+   * @return True if the first action was executed
+   */
+  boolean execute(SeleniumContext context)
+  {
+    if( !(context.getWebDriver() instanceof JavascriptExecutor))
+    {
+      return false;
+    }
+
+    int executed;
+
+    try
+    {
+      Object result = ((JavascriptExecutor) context.getWebDriver()).executeScript(SCRIPT,
+                                                                                  commands);
+      executed = (result instanceof Number ? ((Number) result).intValue() : 0);
+    }
+    catch(WebDriverException | UnsupportedOperationException eX)
+    {
+      LOGGER.debug("Batch of {} actions not executed: {}", actions.size(), eX.getMessage());
+      return false;
+    }
+
+    LOGGER.debug("Executed {} of {} actions in one batch", executed, actions.size());
+
+    for(int i = 1; i < executed; i++)
+    {
+      context.addExecutedAction(actions.get(i));
+    }
+
+    return executed > 0;
+  }
+
+
+  /**
+   * Add the batch starting with each action of {@link sequence} to
+   * {@link batches}
+   *
+   * @param batches
+   * @param sequence Consecutive batchable actions
+   */
+  private static void addBatches(Map<TestAction, List<TestAction>> batches,
+                                 List<TestAction> sequence)
+  {
+    for(int i = 0; i + 1 < sequence.size(); i++)
+    {
+      batches.put(sequence.get(i), sequence.subList(i, sequence.size()));
+    }
+  }
+
+}
@@ -19,49 +19,80 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.io.File;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.ScreenshotWriter;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
 
 /**
+ * Save a screenshot of the browser as the result file of this action. The
+ * screenshot is written by the {@link ScreenshotWriter} of the plug-in. When
+ * writing fails the action and its test case fail when the test case is torn
+ * down.
  *
  * @author Sjoerd Boerhout
  */
-public class CaptureScreen extends TestAction
+public class CaptureScreen extends SeleniumAction
 {
 
-  private final static Logger LOGGER = LogManager.getLogger(
-          CaptureScreen.class.getName());
+  private final static Logger LOGGER = LogManager.getLogger(CaptureScreen.class.
+          getName());
+
+  /**
+   * Name of the file to save the screenshot in
+   */
+  public final static String ATTR_FILE_NAME = "fileName";
 
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public CaptureScreen()
+  public CaptureScreen(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    if( !(context.getWebDriver() instanceof TakesScreenshot))
+    {
+      throw new UnsupportedOperationException("Browser can't take screenshots");
+    }
 
+    ScreenshotWriter screenshotWriter = getSelenium().getScreenshotWriter();
+    byte[] screenshot = ((TakesScreenshot) context.getWebDriver()).getScreenshotAs(
+            OutputType.BYTES);
+    File file = screenshotWriter.getFile(getAttribute(ATTR_FILE_NAME));
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    // Encoding and writing is done in the background, the result file is
+    // attached once it's on disk. A failure fails this action at teardown.
+    context.addScreenshot(file);
+    context.addResultFile(screenshotWriter.write(screenshot, file)
+            .thenAccept(this::setResultFile), (eX) ->
+                          {
+                            LOGGER.error("Screenshot of action '{}' not written: {}", this,
+                                         eX.getMessage());
+                            updateStatus(TestStatus.FAILED);
+                          });
+
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasAttribute(ATTR_FILE_NAME);
   }
 
 }
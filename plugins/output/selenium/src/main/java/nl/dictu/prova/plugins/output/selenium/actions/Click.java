@@ -19,16 +19,18 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Click on the element identified by its XPath
  *
  * @author Sjoerd Boerhout
  */
-public class Click extends TestAction
+public class Click extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Click.class.
@@ -37,31 +39,29 @@ public class Click extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Click()
+  public Click(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
-
+    waitForElement(context).click();
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator();
   }
 
 }
@@ -0,0 +1,81 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
+import nl.dictu.prova.plugins.output.selenium.WebDriverPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Open a URL in the browser
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Navigate extends SeleniumAction
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(Navigate.class.
+          getName());
+
+  /**
+   * URL to open
+   */
+  public final static String ATTR_URL = "url";
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param selenium
+   */
+  public Navigate(Integer id, Selenium selenium)
+  {
+    super(LOGGER, id, selenium);
+  }
+
+
+  @Override
+  protected TestStatus execute(SeleniumContext context) throws Exception
+  {
+    WebDriverPool webDriverPool = getSelenium().getWebDriverPool();
+    String url = getAttribute(ATTR_URL);
+
+    context.clearElements();
+    webDriverPool.visit(context.getWebDriver(), url);
+    context.getWebDriver().get(url);
+
+    // The page may have redirected to another origin
+    webDriverPool.visit(context.getWebDriver(), context.getWebDriver().getCurrentUrl());
+
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return hasAttribute(ATTR_URL);
+  }
+
+}
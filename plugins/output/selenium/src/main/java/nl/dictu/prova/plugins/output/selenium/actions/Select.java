@@ -19,16 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Select or deselect a check box or radio button. The element is selected
+ * unless attribute 'value' is 'false'.
  *
  * @author Sjoerd Boerhout
  */
-public class Select extends TestAction
+public class Select extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Select.class.
@@ -37,31 +41,35 @@ public class Select extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Select()
+  public Select(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    WebElement webElement = waitForElement(context);
+    boolean select = !hasAttribute(ATTR_VALUE) || Boolean.parseBoolean(getAttribute(ATTR_VALUE));
 
+    if(webElement.isSelected() != select)
+    {
+      webElement.click();
+    }
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator();
   }
 
 }
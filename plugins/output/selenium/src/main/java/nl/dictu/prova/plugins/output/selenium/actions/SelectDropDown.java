@@ -19,49 +19,59 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Select the option with the visible text 'value' of a drop down list
  *
  * @author Sjoerd Boerhout
  */
-public class SelectDropDown extends TestAction
+public class SelectDropDown extends SeleniumAction
 {
 
-  private final static Logger LOGGER = LogManager.getLogger(
-          SelectDropDown.class.getName());
+  private final static Logger LOGGER = LogManager.getLogger(SelectDropDown.class.
+          getName());
 
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SelectDropDown()
+  public SelectDropDown(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    String value = getAttribute(ATTR_VALUE);
+    org.openqa.selenium.support.ui.Select dropDown =
+            new org.openqa.selenium.support.ui.Select(waitForElement(context));
 
+    // Options are often filled after the drop down itself is shown
+    getSelenium().getElementWait().until(context.getWebDriver(), (webDriver) ->
+                                         dropDown.getOptions().stream().anyMatch(
+                                                 (option) -> value.trim().equals(option.getText()
+                                                         .trim())));
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    dropDown.selectByVisibleText(value);
+
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator() && hasAttribute(ATTR_VALUE);
   }
 
 }
@@ -0,0 +1,321 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Base class of the Selenium actions. An action only holds its attributes; the
+ * browser session is taken from the {@link SeleniumContext} of the test case
+ * it belongs to, so the same plug-in serves test cases running in parallel.
+ *
+ * @author Sjoerd Boerhout
+ */
+public abstract class SeleniumAction extends TestAction
+{
+
+  /**
+   * XPath of the element the action applies to
+   */
+  public final static String ATTR_XPATH = "xpath";
+
+  /**
+   * CSS selector of the element the action applies to, alternative to
+   * {@link #ATTR_XPATH}
+   */
+  public final static String ATTR_CSS = "css";
+
+  /**
+   * Text to enter or to validate
+   */
+  public final static String ATTR_TEXT = "text";
+
+  /**
+   * Value to select or to validate
+   */
+  public final static String ATTR_VALUE = "value";
+
+  private final Logger logger;
+  private final Selenium selenium;
+
+
+  /**
+   * Constructor
+   *
+   * @param logger
+   * @param id
+   * @param selenium Plug-in providing the context of the test case
+   *
+   * @throws InvalidParameterException
+   */
+  protected SeleniumAction(Logger logger, Integer id, Selenium selenium) throws
+          InvalidParameterException
+  {
+    super(logger, id);
+
+    if(selenium == null)
+    {
+      throw new InvalidParameterException("Selenium plug-in can not be null");
+    }
+
+    this.logger = logger;
+    this.selenium = selenium;
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    TestStatus testStatus;
+
+    startExecution();
+
+    try
+    {
+      if( !isValid())
+      {
+        throw new InvalidParameterException("Invalid attributes for action " + this);
+      }
+
+      SeleniumContext context = selenium.getContext(getParent());
+
+      testStatus = executeInBatch(context) ? TestStatus.PASSED : execute(context);
+    }
+    catch(Exception eX)
+    {
+      logger.error("Action '{}' failed: {}", this, eX.getMessage());
+      testStatus = TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
+
+    return updateStatus(testStatus);
+  }
+
+
+  /**
+   * Execute this action in the browser session of {@link context}
+   *
+   * @param context
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  protected abstract TestStatus execute(SeleniumContext context) throws Exception;
+
+
+  /**
+   * Return the command to execute this action in a batch with the actions
+   * following it, or null if it can't be batched
+   *
+   * @return
+   */
+  protected List<String> getBatchCommand()
+  {
+    return null;
+  }
+
+
+  /**
+   * Create the batch command {@link command} for the element of this action
+   *
+   * @param command
+   * @param text
+   *
+   * @return The command or null if the attributes are not valid
+   */
+  List<String> createBatchCommand(String command, String text)
+  {
+    try
+    {
+      if( !isValid())
+      {
+        return null;
+      }
+
+      getLocator();
+    }
+    catch(InvalidParameterException eX)
+    {
+      return null;
+    }
+
+    return hasAttribute(ATTR_XPATH)
+           ? Arrays.asList(command, ATTR_XPATH, getAttribute(ATTR_XPATH), text)
+           : Arrays.asList(command, ATTR_CSS, getAttribute(ATTR_CSS), text);
+  }
+
+
+  /**
+   * Check if this action was, or now is, executed in a batch with other
+   * actions. Only done when enabled by the test case.
+   *
+   * @param context
+   *
+   * @return
+   */
+  private boolean executeInBatch(SeleniumContext context)
+  {
+    if(context.removeExecutedAction(this))
+    {
+      logger.debug("Action '{}' executed in batch", this);
+      return true;
+    }
+
+    if( !context.isBatchEnabled())
+    {
+      return false;
+    }
+
+    List<TestAction> batch = context.getBatch(this, ActionBatch::createBatches);
+
+    return !batch.isEmpty() && new ActionBatch(batch).execute(context);
+  }
+
+
+  /**
+   * Return the plug-in of this action
+   *
+   * @return
+   */
+  protected Selenium getSelenium()
+  {
+    return selenium;
+  }
+
+
+  /**
+   * Check if the element of this action is identified by attribute
+   * {@link #ATTR_XPATH} or {@link #ATTR_CSS}
+   *
+   * @return
+   */
+  protected boolean hasLocator()
+  {
+    return hasAttribute(ATTR_XPATH) || hasAttribute(ATTR_CSS);
+  }
+
+
+  /**
+   * Return the locator of the element identified by attribute
+   * {@link #ATTR_XPATH} or {@link #ATTR_CSS}
+   *
+   * @return
+   *
+   * @throws InvalidParameterException The XPath or selector is not valid
+   */
+  protected By getLocator() throws InvalidParameterException
+  {
+    if(hasAttribute(ATTR_XPATH))
+    {
+      return selenium.getLocatorCache().getXpath(getAttribute(ATTR_XPATH));
+    }
+
+    return selenium.getLocatorCache().getCssSelector(getAttribute(ATTR_CSS));
+  }
+
+
+  /**
+   * Find the element of this action on the current page
+   *
+   * @param context
+   *
+   * @return
+   */
+  protected WebElement findElement(SeleniumContext context)
+  {
+    return context.findElement(getLocator());
+  }
+
+
+  /**
+   * Wait until the element of this action is displayed and enabled
+   *
+   * @param context
+   *
+   * @return
+   *
+   * @throws TimeoutException     The element wasn't ready in time
+   * @throws InterruptedException
+   */
+  protected WebElement waitForElement(SeleniumContext context) throws TimeoutException,
+                                                                      InterruptedException
+  {
+    return waitForElement(context, (webElement) ->
+                          (webElement.isDisplayed() && webElement.isEnabled()) ? webElement
+                          : null);
+  }
+
+
+  /**
+   * Wait until {@link condition} holds for the element of this action. Stale
+   * elements are looked up again.
+   *
+   * @param <T>
+   * @param context
+   * @param condition
+   *
+   * @return The value returned by the condition
+   *
+   * @throws TimeoutException     The condition didn't hold in time
+   * @throws InterruptedException
+   */
+  protected <T> T waitForElement(SeleniumContext context, Function<WebElement, T> condition)
+          throws TimeoutException, InterruptedException
+  {
+    By locator = getLocator();
+
+    return selenium.getElementWait().until(context.getWebDriver(), (webDriver) ->
+                                   {
+                                     try
+                                     {
+                                       return condition.apply(context.findElement(locator));
+                                     }
+                                     catch(StaleElementReferenceException eX)
+                                     {
+                                       context.removeElement(locator);
+                                       throw eX;
+                                     }
+                                   });
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(" + getId() + ") " + getAttributes();
+  }
+
+}
@@ -19,16 +19,18 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Send keys to an element without clearing it first
  *
  * @author Sjoerd Boerhout
  */
-public class SendKeys extends TestAction
+public class SendKeys extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SendKeys.class.
@@ -37,31 +39,29 @@ public class SendKeys extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SendKeys()
+  public SendKeys(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
-
+    waitForElement(context).sendKeys(getAttribute(ATTR_TEXT));
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator() && hasAttribute(ATTR_TEXT);
   }
 
 }
@@ -19,16 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.util.List;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Replace the text of an input element
  *
  * @author Sjoerd Boerhout
  */
-public class SetText extends TestAction
+public class SetText extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SetText.class.
@@ -37,31 +41,39 @@ public class SetText extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SetText()
+  public SetText(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    WebElement webElement = waitForElement(context);
+
+    webElement.clear();
+    webElement.sendKeys(getAttribute(ATTR_TEXT));
+
+    return TestStatus.PASSED;
   }
 
 
   @Override
-  public String toString()
+  protected List<String> getBatchCommand()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return createBatchCommand(ActionBatch.COMMAND_SET, getAttribute(ATTR_TEXT));
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator() && hasAttribute(ATTR_TEXT);
   }
 
 }
@@ -19,49 +19,67 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Wait a number of milliseconds
  *
  * @author Sjoerd Boerhout
  */
-public class Sleep extends TestAction
+public class Sleep extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Sleep.class.
           getName());
 
+  /**
+   * Number of milliseconds to wait
+   */
+  public final static String ATTR_MILLISECONDS = "ms";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Sleep()
+  public Sleep(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    long milliseconds = Long.parseLong(getAttribute(ATTR_MILLISECONDS));
 
+    if(getSelenium().isSleepUntilReady())
+    {
+      // Continue as soon as the page is ready, at the latest after the given time
+      if( !getSelenium().getElementWait().untilDomStable(context.getWebDriver(), milliseconds))
+      {
+        LOGGER.debug("Page not stable after {}ms", milliseconds);
+      }
+    }
+    else
+    {
+      Thread.sleep(milliseconds);
+    }
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasAttribute(ATTR_MILLISECONDS);
   }
 
 }
@@ -19,16 +19,19 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Switch to the frame identified by its XPath, or back to the page when no
+ * XPath is set
  *
  * @author Sjoerd Boerhout
  */
-public class SwitchFrame extends TestAction
+public class SwitchFrame extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SwitchFrame.class.
@@ -37,31 +40,39 @@ public class SwitchFrame extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SwitchFrame()
+  public SwitchFrame(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    if(hasLocator())
+    {
+      context.getWebDriver().switchTo().frame(findElement(context));
+    }
+    else
+    {
+      context.getWebDriver().switchTo().defaultContent();
+    }
 
+    // Elements found outside the new frame can't be used in it
+    context.clearElements();
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return true;
   }
 
 }
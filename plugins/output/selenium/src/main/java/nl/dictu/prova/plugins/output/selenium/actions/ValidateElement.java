@@ -19,49 +19,75 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 
 /**
+ * Validate that an element is present, or absent when attribute 'value' is
+ * 'false'
  *
  * @author Sjoerd Boerhout
  */
-public class ValidateElement extends TestAction
+public class ValidateElement extends SeleniumAction
 {
 
-  private final static Logger LOGGER = LogManager.getLogger(
-          ValidateElement.class.getName());
+  private final static Logger LOGGER = LogManager.getLogger(ValidateElement.class.
+          getName());
 
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public ValidateElement()
+  public ValidateElement(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
-  }
+    boolean expected = !hasAttribute(ATTR_VALUE) || Boolean.parseBoolean(getAttribute(ATTR_VALUE));
+    By locator = getLocator();
 
+    try
+    {
+      // Elements may be added or removed by the page after loading
+      if(expected)
+      {
+        // Touch the element to detect a stale one
+        waitForElement(context, (webElement) -> webElement.getTagName() != null);
+      }
+      else
+      {
+        context.removeElement(locator);
+        getSelenium().getElementWait().until(context.getWebDriver(), (webDriver) ->
+                                             webDriver.findElements(locator).isEmpty());
+      }
+    }
+    catch(TimeoutException eX)
+    {
+      LOGGER.info("Element '{}' is {}", locator,
+                  expected ? "not present" : "present");
+      return TestStatus.FAILED;
+    }
 
-  @Override
-  public String toString()
-  {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return TestStatus.PASSED;
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator();
   }
 
 }
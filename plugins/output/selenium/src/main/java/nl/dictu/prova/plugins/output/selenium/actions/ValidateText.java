@@ -19,16 +19,22 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.util.List;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Validate the text of an element. The value is validated for input
+ * elements.
  *
  * @author Sjoerd Boerhout
  */
-public class ValidateText extends TestAction
+public class ValidateText extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(ValidateText.class.
@@ -37,31 +43,70 @@ public class ValidateText extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public ValidateText()
+  public ValidateText(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  protected TestStatus execute(SeleniumContext context) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    String expected = getAttribute(ATTR_TEXT);
+
+    try
+    {
+      // The text may still be filled in by the page
+      waitForElement(context, (webElement) -> expected.equals(getText(webElement)));
+    }
+    catch(TimeoutException eX)
+    {
+      LOGGER.info("Text of '{}' is '{}' instead of '{}'", getLocator(),
+                  getText(findElement(context)), expected);
+      return TestStatus.FAILED;
+    }
+
+    return TestStatus.PASSED;
   }
 
 
   @Override
-  public String toString()
+  protected List<String> getBatchCommand()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return createBatchCommand(ActionBatch.COMMAND_VALIDATE, getAttribute(ATTR_TEXT));
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasLocator() && hasAttribute(ATTR_TEXT);
+  }
+
+  /**
+   * Return the visible text of {@link webElement}, or its value for input
+   * elements
+   *
+   * @param webElement
+   *
+   * @return
+   */
+  static String getText(WebElement webElement)
+  {
+    String tagName = webElement.getTagName();
+
+    if("input".equalsIgnoreCase(tagName) || "textarea".equalsIgnoreCase(tagName))
+    {
+      String value = webElement.getAttribute("value");
+
+      return (value == null ? "" : value);
+    }
+
+    return webElement.getText();
   }
 
 }
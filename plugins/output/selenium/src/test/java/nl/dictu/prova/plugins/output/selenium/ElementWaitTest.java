@@ -0,0 +1,140 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ElementWaitTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private HtmlUnitDriver webDriver;
+
+
+  @Before
+  public void setUp()
+  {
+    webDriver = new HtmlUnitDriver(true);
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    webDriver.quit();
+  }
+
+
+  /**
+   * Test of until method, of class ElementWait, with a condition which holds
+   * after a few polls.
+   */
+  @Test
+  public void testUntil() throws Exception
+  {
+    ElementWait elementWait = new ElementWait(5000);
+    AtomicInteger polls = new AtomicInteger();
+
+    assertEquals("Found", elementWait.until(webDriver, (driver) ->
+                                            {
+                                              if(polls.incrementAndGet() < 3)
+                                              {
+                                                throw new NoSuchElementException("Not yet");
+                                              }
+
+                                              return "Found";
+                                            }));
+    assertEquals(3, polls.get());
+    assertEquals(1, elementWait.getWaits());
+    assertEquals(0, elementWait.getTimeouts());
+    assertTrue(elementWait.getMaxWaitTime() < 5000);
+  }
+
+
+  /**
+   * Test of until method, of class ElementWait, with a condition which never
+   * holds.
+   */
+  @Test
+  public void testUntilTimeout() throws Exception
+  {
+    ElementWait elementWait = new ElementWait(200);
+    long startTime = System.currentTimeMillis();
+
+    try
+    {
+      elementWait.until(webDriver, (driver) -> false);
+      fail("Timeout expected");
+    }
+    catch(TimeoutException eX)
+    {
+      assertTrue(System.currentTimeMillis() - startTime >= 200);
+      assertEquals(1, elementWait.getTimeouts());
+      assertTrue(elementWait.getTotalWaitTime() >= 200);
+    }
+  }
+
+
+  /**
+   * Test of untilDomStable method, of class ElementWait.
+   */
+  @Test
+  public void testUntilDomStable() throws Exception
+  {
+    File page = folder.newFile("page.html");
+    Files.write(page.toPath(), "<html><body><p>Prova</p></body></html>".getBytes(
+                StandardCharsets.UTF_8));
+    webDriver.get(page.toURI().toString());
+
+    assertTrue(new ElementWait(0).untilDomStable(webDriver, 5000));
+  }
+
+
+  /**
+   * Test of constructor, of class ElementWait, with an invalid timeout.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testInvalidTimeout()
+  {
+    new ElementWait(-1);
+  }
+
+}
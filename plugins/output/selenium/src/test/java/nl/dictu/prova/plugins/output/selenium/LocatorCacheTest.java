@@ -0,0 +1,87 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LocatorCacheTest
+{
+
+  /**
+   * Test of getXpath method, of class LocatorCache.
+   */
+  @Test
+  public void testGetXpath()
+  {
+    LocatorCache locatorCache = new LocatorCache();
+    By locator = locatorCache.getXpath("//div[@id='prova']");
+
+    assertEquals(By.xpath("//div[@id='prova']"), locator);
+    assertSame(locator, locatorCache.getXpath("//div[@id='prova']"));
+    assertEquals(1, locatorCache.getHits());
+    assertEquals(1, locatorCache.getMisses());
+    assertEquals(1, locatorCache.getSize());
+  }
+
+
+  /**
+   * Test of getXpath method, of class LocatorCache, with an invalid XPath.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testGetXpathInvalid()
+  {
+    new LocatorCache().getXpath("//div[@id='prova'");
+  }
+
+
+  /**
+   * Test of getCssSelector method, of class LocatorCache.
+   */
+  @Test
+  public void testGetCssSelector()
+  {
+    LocatorCache locatorCache = new LocatorCache();
+    By locator = locatorCache.getCssSelector("div#prova");
+
+    assertEquals(By.cssSelector("div#prova"), locator);
+    assertSame(locator, locatorCache.getCssSelector("div#prova"));
+    assertEquals(1, locatorCache.getHits());
+  }
+
+
+  /**
+   * Test of getCssSelector method, of class LocatorCache, with an empty
+   * selector.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testGetCssSelectorInvalid()
+  {
+    new LocatorCache().getCssSelector(" ");
+  }
+
+}
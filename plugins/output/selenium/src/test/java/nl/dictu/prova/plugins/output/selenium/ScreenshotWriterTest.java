@@ -0,0 +1,213 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ScreenshotWriterTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Test of write method, of class ScreenshotWriter, keeping the PNG format.
+   */
+  @Test
+  public void testWrite() throws Exception
+  {
+    byte[] screenshot = createScreenshot(0xff0000);
+
+    try(ScreenshotWriter screenshotWriter = new ScreenshotWriter("png", 0.8f, 4))
+    {
+      File file = screenshotWriter.getFile(folder.getRoot() + "/screens/screen.png");
+
+      assertEquals(file, screenshotWriter.write(screenshot, file).get(5, TimeUnit.SECONDS));
+      assertArrayEquals(screenshot, Files.readAllBytes(file.toPath()));
+      assertEquals(1, screenshotWriter.getWritten());
+    }
+  }
+
+
+  /**
+   * Test of write method, of class ScreenshotWriter, re-encoding to JPEG.
+   */
+  @Test
+  public void testWriteJpeg() throws Exception
+  {
+    try(ScreenshotWriter screenshotWriter = new ScreenshotWriter("jpg", 0.5f, 4))
+    {
+      File file = screenshotWriter.getFile(folder.getRoot() + "/screen.png");
+
+      assertTrue(file.getName().endsWith("screen.jpg"));
+
+      screenshotWriter.write(createScreenshot(0x00ff00), file).get(5, TimeUnit.SECONDS);
+
+      BufferedImage image = ImageIO.read(file);
+      assertNotNull(image);
+      assertEquals(200, image.getWidth());
+    }
+  }
+
+
+  /**
+   * Test of write method, of class ScreenshotWriter, with identical
+   * screenshots.
+   */
+  @Test
+  public void testWriteDuplicates() throws Exception
+  {
+    byte[] screenshot = createScreenshot(0x0000ff);
+
+    try(ScreenshotWriter screenshotWriter = new ScreenshotWriter("png", 0.8f, 4))
+    {
+      CompletableFuture<File> first = screenshotWriter.write(screenshot, new File(folder.
+                                                             getRoot(), "first.png"));
+      CompletableFuture<File> second = screenshotWriter.write(screenshot.clone(), new File(
+                                                              folder.getRoot(), "second.png"));
+      CompletableFuture<File> other = screenshotWriter.write(createScreenshot(0xffffff),
+                                                             new File(folder.getRoot(),
+                                                                      "other.png"));
+
+      assertArrayEquals(screenshot, Files.readAllBytes(second.get(5, TimeUnit.SECONDS).toPath()));
+      assertArrayEquals(screenshot, Files.readAllBytes(first.get(5, TimeUnit.SECONDS).toPath()));
+      other.get(5, TimeUnit.SECONDS);
+
+      assertEquals(2, screenshotWriter.getWritten());
+      assertEquals(1, screenshotWriter.getDuplicates());
+    }
+  }
+
+
+  /**
+   * Test of release method, of class ScreenshotWriter.
+   */
+  @Test
+  public void testRelease() throws Exception
+  {
+    byte[] screenshot = createScreenshot(0xff00ff);
+
+    try(ScreenshotWriter screenshotWriter = new ScreenshotWriter("png", 0.8f, 4))
+    {
+      File first = screenshotWriter.write(screenshot, new File(folder.getRoot(), "first.png")).
+              get(5, TimeUnit.SECONDS);
+      File second = screenshotWriter.write(screenshot.clone(), new File(folder.getRoot(),
+                                                                        "second.png")).
+              get(5, TimeUnit.SECONDS);
+
+      assertEquals(1, screenshotWriter.getRemembered());
+
+      screenshotWriter.release(first);
+      screenshotWriter.release(second);
+
+      assertEquals(0, screenshotWriter.getRemembered());
+
+      // Not linked to the released screenshot
+      screenshotWriter.write(screenshot.clone(), new File(folder.getRoot(), "third.png")).get(5,
+                                                                                     TimeUnit.SECONDS);
+
+      assertEquals(2, screenshotWriter.getWritten());
+      assertEquals(1, screenshotWriter.getDuplicates());
+      assertEquals(1, screenshotWriter.getRemembered());
+    }
+  }
+
+
+  /**
+   * Test of write method, of class ScreenshotWriter, with more screenshots
+   * than the queue can hold.
+   */
+  @Test
+  public void testWriteQueue() throws Exception
+  {
+    try(ScreenshotWriter screenshotWriter = new ScreenshotWriter("png", 0.8f, 1))
+    {
+      CompletableFuture<?>[] files = new CompletableFuture<?>[10];
+
+      for(int i = 0; i < files.length; i++)
+      {
+        files[i] = screenshotWriter.write(createScreenshot(i), new File(folder.getRoot(),
+                                                                        "screen" + i + ".png"));
+      }
+
+      CompletableFuture.allOf(files).get(5, TimeUnit.SECONDS);
+
+      assertEquals(10, screenshotWriter.getWritten());
+    }
+  }
+
+
+  /**
+   * Test of constructor, of class ScreenshotWriter, with an unknown format.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testUnsupportedFormat()
+  {
+    new ScreenshotWriter("unknown", 0.8f, 4);
+  }
+
+
+  /**
+   * Create a PNG of a single color
+   *
+   * @param rgb
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private static byte[] createScreenshot(int rgb) throws Exception
+  {
+    BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+
+    for(int x = 0; x < image.getWidth(); x++)
+    {
+      for(int y = 0; y < image.getHeight(); y++)
+      {
+        image.setRGB(x, y, 0xff000000 | rgb);
+      }
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", output);
+
+    return output.toByteArray();
+  }
+
+}
@@ -19,11 +19,40 @@
  */
 package nl.dictu.prova.plugins.output.selenium;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.actions.Click;
+import nl.dictu.prova.plugins.output.selenium.actions.Navigate;
+import nl.dictu.prova.plugins.output.selenium.actions.SeleniumAction;
+import nl.dictu.prova.plugins.output.selenium.actions.Sleep;
+import nl.dictu.prova.plugins.output.selenium.actions.ValidateText;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +61,11 @@ import org.junit.Test;
 public class SeleninumTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Selenium selenium;
+
   public SeleninumTest()
   {
   }
@@ -50,14 +84,21 @@ public class SeleninumTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    TestRunner testRunner = new Prova();
+    testRunner.setProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_BROWSER, "htmlunit");
+    testRunner.setProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_MAX_BROWSERS, "2");
+
+    selenium = new Selenium();
+    selenium.init(testRunner);
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.shutDown();
   }
 
 
@@ -67,6 +108,8 @@ public class SeleninumTest
   @Test
   public void testInit() throws Exception
   {
+    assertNotNull(selenium.getWebDriverPool());
+    assertEquals(0, selenium.getWebDriverPool().getSize());
   }
 
 
@@ -76,6 +119,13 @@ public class SeleninumTest
   @Test
   public void testShutDown()
   {
+    TestCase testCase = new TestCase("tc");
+
+    selenium.setUp(testCase);
+    selenium.tearDown(testCase);
+    selenium.shutDown();
+
+    assertEquals(0, selenium.getWebDriverPool().getSize());
   }
 
 
@@ -85,6 +135,7 @@ public class SeleninumTest
   @Test
   public void testGetName()
   {
+    assertEquals("Selenium", selenium.getName());
   }
 
 
@@ -94,6 +145,7 @@ public class SeleninumTest
   @Test
   public void testGetTestType()
   {
+    assertArrayEquals(new TestType[]{TestType.WEB}, selenium.getTestType());
   }
 
 
@@ -103,6 +155,17 @@ public class SeleninumTest
   @Test
   public void testSetUp()
   {
+    TestCase first = new TestCase("first");
+    TestCase second = new TestCase("second");
+
+    selenium.setUp(first);
+    selenium.setUp(second);
+
+    assertNotNull(selenium.getWebDriver(first));
+    assertEquals(2, selenium.getWebDriverPool().getSize());
+
+    selenium.tearDown(first);
+    selenium.tearDown(second);
   }
 
 
@@ -112,6 +175,27 @@ public class SeleninumTest
   @Test
   public void testTearDown()
   {
+    TestCase first = new TestCase("first");
+    TestCase second = new TestCase("second");
+
+    selenium.setUp(first);
+    Object webDriver = selenium.getWebDriver(first);
+    selenium.tearDown(first);
+
+    selenium.setUp(second);
+    assertSame(webDriver, selenium.getWebDriver(second));
+    selenium.tearDown(second);
+
+    try
+    {
+      selenium.getWebDriver(second);
+    }
+    catch(NoSuchElementException eX)
+    {
+      return;
+    }
+
+    throw new AssertionError("Browser session should be released");
   }
 
 
@@ -121,6 +205,101 @@ public class SeleninumTest
   @Test
   public void testGetTestAction()
   {
+    TestAction first = selenium.getTestAction("Click");
+    TestAction second = selenium.getTestAction("validateText");
+
+    assertTrue(first instanceof Click);
+    assertTrue(second instanceof ValidateText);
+    assertNotEquals(first.getId(), second.getId());
+
+    try
+    {
+      selenium.getTestAction("unknown");
+      fail("Unknown action should be rejected");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+  }
+
+
+  /**
+   * Test of parallel test cases, of class Seleninum.
+   */
+  @Test(timeout = 120000)
+  public void testParallelTestCases() throws Exception
+  {
+    File page = folder.newFile("form.html");
+    Files.write(page.toPath(), "<html><body><input id='name' type='text'/></body></html>".
+                getBytes(StandardCharsets.UTF_8));
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    ArrayList<Future<TestStatus>> results = new ArrayList<>();
+
+    for(int i = 0; i < 8; i++)
+    {
+      TestCase testCase = new TestCase("tc" + i);
+
+      addAction(testCase, "Navigate", Navigate.ATTR_URL, page.toURI().toString());
+      addAction(testCase, "SetText", SeleniumAction.ATTR_XPATH, "//input[@id='name']",
+                SeleniumAction.ATTR_TEXT, testCase.getId());
+      addAction(testCase, "Sleep", Sleep.ATTR_MILLISECONDS, "20");
+      addAction(testCase, "ValidateText", SeleniumAction.ATTR_XPATH, "//input[@id='name']",
+                SeleniumAction.ATTR_TEXT, testCase.getId());
+
+      results.add(executorService.submit(() ->
+      {
+        selenium.setUp(testCase);
+
+        try
+        {
+          for(TestAction testAction : testCase.getTestActions())
+          {
+            if(testAction.execute() != TestStatus.PASSED)
+            {
+              return TestStatus.FAILED;
+            }
+          }
+
+          return TestStatus.PASSED;
+        }
+        finally
+        {
+          selenium.tearDown(testCase);
+        }
+      }));
+    }
+
+    for(Future<TestStatus> result : results)
+    {
+      assertEquals(TestStatus.PASSED, result.get());
+    }
+
+    executorService.shutdown();
+
+    assertEquals(2, selenium.getWebDriverPool().getCreated());
+    assertEquals(8, selenium.getWebDriverPool().getLeases());
+  }
+
+
+  /**
+   * Add action {@link name} with the given attributes to {@link testCase}
+   *
+   * @param testCase
+   * @param name
+   * @param attributes
+   */
+  private void addAction(TestCase testCase, String name, String... attributes)
+  {
+    TestAction testAction = selenium.getTestAction(name);
+
+    for(int i = 0; i + 1 < attributes.length; i += 2)
+    {
+      testAction.setAttribute(attributes[i], attributes[i + 1]);
+    }
+
+    testCase.addTestAction(testAction);
   }
 
 }
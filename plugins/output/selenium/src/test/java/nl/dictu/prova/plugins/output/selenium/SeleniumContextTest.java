@@ -0,0 +1,156 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import nl.dictu.prova.framework.TestCase;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class SeleniumContextTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private HtmlUnitDriver webDriver;
+  private SeleniumContext context;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    webDriver = new HtmlUnitDriver(true);
+    context = new SeleniumContext(new TestCase("Context"), webDriver);
+
+    open();
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    webDriver.quit();
+  }
+
+
+  /**
+   * Test of findElement method, of class SeleniumContext.
+   */
+  @Test
+  public void testFindElement() throws Exception
+  {
+    By locator = By.id("text");
+    WebElement webElement = context.findElement(locator);
+
+    assertSame(webElement, context.findElement(locator));
+
+    context.removeElement(locator);
+    assertNotSame(webElement, context.findElement(locator));
+  }
+
+
+  /**
+   * Test of clearElements method, of class SeleniumContext, after loading
+   * another page.
+   */
+  @Test
+  public void testClearElements() throws Exception
+  {
+    By locator = By.id("text");
+    WebElement webElement = context.findElement(locator);
+
+    open();
+
+    try
+    {
+      context.findElement(locator).getText();
+    }
+    catch(StaleElementReferenceException eX)
+    {
+      // Expected, the element belongs to the previous page
+    }
+
+    context.clearElements();
+    assertNotSame(webElement, context.findElement(locator));
+    context.findElement(locator).getText();
+  }
+
+
+  /**
+   * Test of waitForResultFiles method, of class SeleniumContext, with a result
+   * file which couldn't be written.
+   */
+  @Test
+  public void testWaitForResultFiles() throws Exception
+  {
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    CompletableFuture<Void> failed = new CompletableFuture<>();
+    IOException ioException = new IOException("Disk full");
+
+    context.addResultFile(CompletableFuture.completedFuture(null), failure::set);
+    assertTrue(context.waitForResultFiles());
+
+    failed.completeExceptionally(ioException);
+    context.addResultFile(failed, failure::set);
+    assertFalse(context.waitForResultFiles());
+    assertEquals(ioException, failure.get());
+
+    // Result files are only waited for once
+    assertTrue(context.waitForResultFiles());
+  }
+
+
+  /**
+   * Open a new page with a single element
+   *
+   * @throws Exception
+   */
+  private void open() throws Exception
+  {
+    File page = File.createTempFile("page", ".html", folder.getRoot());
+    Files.write(page.toPath(), "<html><body><p id='text'>Prova</p></body></html>".getBytes(
+                StandardCharsets.UTF_8));
+
+    webDriver.get(page.toURI().toString());
+  }
+
+}
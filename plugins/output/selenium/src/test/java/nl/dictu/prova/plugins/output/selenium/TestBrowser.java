@@ -0,0 +1,152 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.output.selenium.actions.Navigate;
+
+/**
+ * Test case with a HtmlUnit browser showing a local page, for testing the
+ * Selenium actions
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestBrowser implements AutoCloseable
+{
+
+  /**
+   * Wait timeout in milliseconds of the test browsers
+   */
+  public final static long WAIT_TIMEOUT = 1000;
+
+  private final Selenium selenium = new Selenium();
+  private final TestCase testCase;
+
+
+  /**
+   * Constructor. Writes {@link html} to a file in {@link folder} and opens it
+   * with the plug-in configured by the properties given as name/value pairs.
+   * Elements are waited for at most {@value #WAIT_TIMEOUT}ms by default.
+   *
+   * @param folder
+   * @param html
+   * @param properties
+   *
+   * @throws Exception
+   */
+  public TestBrowser(File folder, String html, String... properties) throws Exception
+  {
+    TestRunner testRunner = new Prova();
+    testRunner.setProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_BROWSER, "htmlunit");
+    testRunner.setProperty(SeleniumConfig.PROVA_PLUGINS_SELENIUM_WAIT_TIMEOUT,
+                           String.valueOf(WAIT_TIMEOUT));
+
+    for(int i = 0; i + 1 < properties.length; i += 2)
+    {
+      testRunner.setProperty(properties[i], properties[i + 1]);
+    }
+
+    selenium.init(testRunner);
+
+    testCase = new TestCase(folder.getPath());
+    selenium.setUp(testCase);
+
+    open(folder, html);
+  }
+
+
+  /**
+   * Write {@link html} to a file in {@link folder} and open it
+   *
+   * @param folder
+   * @param html
+   *
+   * @throws IOException
+   */
+  public final void open(File folder, String html) throws IOException
+  {
+    File page = File.createTempFile("page", ".html", folder);
+    Files.write(page.toPath(), html.getBytes(StandardCharsets.UTF_8));
+
+    action("Navigate", Navigate.ATTR_URL, page.toURI().toString()).execute();
+  }
+
+
+  /**
+   * Create action {@link name} of this test case with the attributes given as
+   * name/value pairs
+   *
+   * @param name
+   * @param attributes
+   *
+   * @return
+   */
+  public TestAction action(String name, String... attributes)
+  {
+    TestAction testAction = selenium.getTestAction(name);
+
+    for(int i = 0; i + 1 < attributes.length; i += 2)
+    {
+      testAction.setAttribute(attributes[i], attributes[i + 1]);
+    }
+
+    testCase.addTestAction(testAction);
+
+    return testAction;
+  }
+
+
+  /**
+   * Return the plug-in
+   *
+   * @return
+   */
+  public Selenium getSelenium()
+  {
+    return selenium;
+  }
+
+
+  /**
+   * Return the test case
+   *
+   * @return
+   */
+  public TestCase getTestCase()
+  {
+    return testCase;
+  }
+
+
+  @Override
+  public void close()
+  {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
+  }
+
+}
@@ -0,0 +1,262 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.concurrent.TimeoutException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WebDriverPoolTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final WebDriverPool webDriverPool = new WebDriverPool(WebDriverFactory.getInstance(
+          "htmlunit"), 1);
+
+
+  @After
+  public void tearDown()
+  {
+    webDriverPool.close();
+  }
+
+
+  /**
+   * Test of lease method, of class WebDriverPool.
+   */
+  @Test
+  public void testLeaseReusesSession() throws Exception
+  {
+    WebDriver webDriver = webDriverPool.lease(1000);
+    webDriverPool.release(webDriver);
+
+    assertSame(webDriver, webDriverPool.lease(1000));
+    assertEquals(1, webDriverPool.getCreated());
+    assertEquals(2, webDriverPool.getLeases());
+    assertEquals(1, webDriverPool.getReuses());
+    assertEquals(1, webDriverPool.getSize());
+  }
+
+
+  /**
+   * Test of release method, of class WebDriverPool.
+   */
+  @Test
+  public void testReleaseResetsSession() throws Exception
+  {
+    File page = folder.newFile("page.html");
+    Files.write(page.toPath(), "<html><body><p id='text'>Prova</p></body></html>".getBytes(
+                StandardCharsets.UTF_8));
+
+    WebDriver webDriver = webDriverPool.lease(1000);
+    webDriver.get(page.toURI().toString());
+    webDriverPool.release(webDriver);
+
+    assertEquals("about:blank", webDriverPool.lease(1000).getCurrentUrl());
+    assertEquals(0, webDriverPool.getRecycled());
+  }
+
+
+  /**
+   * Test of release method, of class WebDriverPool, clearing the cookies and
+   * storage of every visited origin.
+   */
+  @Test
+  public void testReleaseClearsVisitedOrigins() throws Exception
+  {
+    // The test browser only opens local files, so the calls to a browser are recorded
+    LinkedList<String> calls = new LinkedList<>();
+    WebDriverPool recordingPool = new WebDriverPool(() -> createRecordingDriver(calls), 1);
+
+    try
+    {
+      WebDriver webDriver = recordingPool.lease(1000);
+
+      recordingPool.visit(webDriver, "http://one.example.com/login?user=test");
+      recordingPool.visit(webDriver, "https://two.example.com:8443/");
+      recordingPool.visit(webDriver, "http://ONE.example.com/home");
+      recordingPool.visit(webDriver, "file:///tmp/page.html");
+      webDriver.get("https://two.example.com:8443/page");
+      calls.clear();
+
+      recordingPool.release(webDriver);
+
+      assertEquals(Arrays.asList("deleteAllCookies", "executeScript",
+                                 "get http://one.example.com/", "deleteAllCookies",
+                                 "executeScript", "get about:blank"), calls);
+
+      // The visited origins are forgotten after the reset
+      calls.clear();
+      recordingPool.release(recordingPool.lease(1000));
+
+      assertEquals(Arrays.asList("deleteAllCookies", "get about:blank"), calls);
+      assertEquals(0, recordingPool.getRecycled());
+    }
+    finally
+    {
+      recordingPool.close();
+    }
+  }
+
+
+  /**
+   * Test of lease method, of class WebDriverPool.
+   */
+  @Test
+  public void testLeaseWaitsForFreeSession() throws Exception
+  {
+    WebDriver webDriver = webDriverPool.lease(1000);
+
+    try
+    {
+      webDriverPool.lease(50);
+      fail("Lease should time out");
+    }
+    catch(TimeoutException eX)
+    {
+      // Expected
+    }
+
+    Thread thread = new Thread(() ->
+    {
+      try
+      {
+        Thread.sleep(200);
+      }
+      catch(InterruptedException eX)
+      {
+        Thread.currentThread().interrupt();
+      }
+
+      webDriverPool.release(webDriver);
+    });
+
+    thread.start();
+
+    assertSame(webDriver, webDriverPool.lease(10000));
+    assertTrue(webDriverPool.getMaxLeaseWait() >= 100);
+    thread.join();
+  }
+
+
+  /**
+   * Test of invalidate method, of class WebDriverPool.
+   */
+  @Test
+  public void testBrokenSessionRecycled() throws Exception
+  {
+    WebDriver webDriver = webDriverPool.lease(1000);
+    webDriverPool.invalidate(webDriver);
+
+    assertEquals(0, webDriverPool.getSize());
+    assertNotSame(webDriver, webDriverPool.lease(1000));
+    assertEquals(1, webDriverPool.getRecycled());
+    assertEquals(2, webDriverPool.getCreated());
+  }
+
+
+  /**
+   * Create a browser recording the navigation and reset calls in
+   * {@link calls}
+   *
+   * @param calls
+   *
+   * @return
+   */
+  private static WebDriver createRecordingDriver(LinkedList<String> calls)
+  {
+    String[] currentUrl = new String[]
+    {
+      "about:blank"
+    };
+
+    WebDriver.Options options = (WebDriver.Options) Proxy.newProxyInstance(
+            WebDriver.class.getClassLoader(), new Class<?>[]
+            {
+              WebDriver.Options.class
+            }, (proxy, method, args) ->
+            {
+              calls.add(method.getName());
+              return null;
+            });
+
+    return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]
+                                      {
+                                        WebDriver.class, JavascriptExecutor.class
+                                      }, (proxy, method, args) ->
+                                      {
+                                        switch(method.getName())
+                                        {
+                                          case "get":
+                                            currentUrl[0] = (String) args[0];
+                                            calls.add("get " + args[0]);
+                                            return null;
+                                          case "getCurrentUrl":
+                                            return currentUrl[0];
+                                          case "getWindowHandle":
+                                            return "window";
+                                          case "getWindowHandles":
+                                            return Collections.singleton("window");
+                                          case "manage":
+                                            return options;
+                                          case "switchTo":
+                                            return Proxy.newProxyInstance(
+                                                    WebDriver.class.getClassLoader(),
+                                                    new Class<?>[]
+                                                    {
+                                                      WebDriver.TargetLocator.class
+                                                    }, (locator, locatorMethod, locatorArgs) ->
+                                                    proxy);
+                                          case "executeScript":
+                                            calls.add("executeScript");
+                                            return null;
+                                          case "hashCode":
+                                            return System.identityHashCode(proxy);
+                                          case "equals":
+                                            return proxy == args[0];
+                                          default:
+                                            return null;
+                                        }
+                                      });
+  }
+
+}
@@ -0,0 +1,205 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.SeleniumContext;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ActionBatchTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><form><input id='first' onchange=\"document.getElementById('changed').innerHTML = this.value\"/><input id='last'/><textarea id='remarks'></textarea><input id='hidden' style='display: none'/><fieldset disabled><input id='disabled'/></fieldset></form><p id='changed'></p><p id='text'> Prova  test </p></body></html>");
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    browser.close();
+  }
+
+
+  /**
+   * Test of execute method, of class ActionBatch, with consecutive batchable
+   * actions.
+   */
+  @Test
+  public void testExecute() throws Exception
+  {
+    SeleniumAction first = (SeleniumAction) browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                                           "//input[@id='first']",
+                                                           SeleniumAction.ATTR_TEXT, "Sjoerd");
+    TestAction last = browser.action("SetText", SeleniumAction.ATTR_CSS, "input#last",
+                                     SeleniumAction.ATTR_TEXT, "Boerhout");
+    TestAction validate = browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                         "//p[@id='text']", SeleniumAction.ATTR_TEXT,
+                                         "Prova test");
+    browser.action("Click", SeleniumAction.ATTR_XPATH, "//input[@id='last']");
+
+    SeleniumContext context = browser.getSelenium().getContext(browser.getTestCase());
+    ActionBatch actionBatch = new ActionBatch(context.getBatch(first,
+                                                               ActionBatch::createBatches));
+
+    assertEquals(3, actionBatch.size());
+    assertTrue(actionBatch.execute(context));
+    assertTrue(context.removeExecutedAction(last));
+    assertTrue(context.removeExecutedAction(validate));
+
+    assertEquals("Sjoerd", context.getWebDriver().findElement(By.id("first")).getAttribute(
+                 "value"));
+    assertEquals("Boerhout", context.getWebDriver().findElement(By.id("last")).getAttribute(
+                 "value"));
+    assertEquals("Sjoerd", context.getWebDriver().findElement(By.id("changed")).getText());
+  }
+
+
+  /**
+   * Test of execute method, of class ActionBatch, stopping at an action the
+   * script can't handle.
+   */
+  @Test
+  public void testExecutePartially() throws Exception
+  {
+    SeleniumAction first = (SeleniumAction) browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                                           "//input[@id='first']",
+                                                           SeleniumAction.ATTR_TEXT, "Sjoerd");
+    TestAction unknown = browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                        "//input[@id='unknown']", SeleniumAction.ATTR_TEXT,
+                                        "Boerhout");
+    TestAction remarks = browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                        "//textarea[@id='remarks']", SeleniumAction.ATTR_TEXT,
+                                        "Prova");
+
+    SeleniumContext context = browser.getSelenium().getContext(browser.getTestCase());
+
+    assertTrue(new ActionBatch(context.getBatch(first, ActionBatch::createBatches)).execute(
+            context));
+    assertFalse(context.removeExecutedAction(unknown));
+    assertFalse(context.removeExecutedAction(remarks));
+    assertEquals("", context.getWebDriver().findElement(By.id("remarks")).getAttribute("value"));
+  }
+
+
+  /**
+   * Test of execute method, of class ActionBatch, stopping at elements which
+   * aren't displayed or enabled.
+   */
+  @Test
+  public void testExecuteHiddenAndDisabled() throws Exception
+  {
+    SeleniumAction first = (SeleniumAction) browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                                           "//input[@id='first']",
+                                                           SeleniumAction.ATTR_TEXT, "Sjoerd");
+    SeleniumAction hidden = (SeleniumAction) browser.action("SetText", SeleniumAction.ATTR_CSS,
+                                                            "input#hidden",
+                                                            SeleniumAction.ATTR_TEXT, "Prova");
+    TestAction disabled = browser.action("SetText", SeleniumAction.ATTR_CSS, "input#disabled",
+                                         SeleniumAction.ATTR_TEXT, "Prova");
+
+    SeleniumContext context = browser.getSelenium().getContext(browser.getTestCase());
+
+    assertTrue(new ActionBatch(context.getBatch(first, ActionBatch::createBatches)).execute(
+            context));
+    assertFalse(context.removeExecutedAction(hidden));
+    assertFalse(new ActionBatch(context.getBatch(hidden, ActionBatch::createBatches)).execute(
+            context));
+    assertFalse(context.removeExecutedAction(disabled));
+    assertEquals("", context.getWebDriver().findElement(By.id("hidden")).getAttribute("value"));
+    assertEquals("", context.getWebDriver().findElement(By.id("disabled")).getAttribute("value"));
+  }
+
+
+  /**
+   * Test of createBatches method, of class ActionBatch.
+   */
+  @Test
+  public void testCreateBatches() throws Exception
+  {
+    TestAction first = browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                      "//input[@id='first']", SeleniumAction.ATTR_TEXT, "Sjoerd");
+    TestAction last = browser.action("SetText", SeleniumAction.ATTR_CSS, "input#last",
+                                     SeleniumAction.ATTR_TEXT, "Boerhout");
+    TestAction click = browser.action("Click", SeleniumAction.ATTR_XPATH, "//input[@id='last']");
+    TestAction single = browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                       "//p[@id='text']", SeleniumAction.ATTR_TEXT, "Prova test");
+
+    Map<TestAction, List<TestAction>> batches = ActionBatch.createBatches(browser.getTestCase());
+
+    assertEquals(Arrays.asList(first, last), batches.get(first));
+    assertFalse(batches.containsKey(last));
+    assertFalse(batches.containsKey(click));
+    assertFalse(batches.containsKey(single));
+  }
+
+
+  /**
+   * Test of the execution of batched actions through the test case header.
+   */
+  @Test
+  public void testExecuteActions() throws Exception
+  {
+    browser.getTestCase().setHeader(Selenium.HEADER_BATCH_ACTIONS, "true");
+
+    TestAction first = browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                      "//input[@id='first']", SeleniumAction.ATTR_TEXT, "Sjoerd");
+    TestAction last = browser.action("SetText", SeleniumAction.ATTR_XPATH, "//input[@id='last']",
+                                     SeleniumAction.ATTR_TEXT, "Boerhout");
+    TestAction valid = browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                      "//input[@id='last']", SeleniumAction.ATTR_TEXT, "Boerhout");
+    TestAction invalid = browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                        "//input[@id='first']", SeleniumAction.ATTR_TEXT,
+                                        "Boerhout");
+
+    assertEquals(TestStatus.PASSED, first.execute());
+    assertEquals(TestStatus.PASSED, last.execute());
+    assertEquals(TestStatus.PASSED, valid.execute());
+    assertEquals(TestStatus.FAILED, invalid.execute());
+    assertEquals(TestStatus.PASSED, last.getStatus());
+  }
+
+}
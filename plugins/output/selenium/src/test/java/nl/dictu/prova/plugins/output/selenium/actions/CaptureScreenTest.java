@@ -19,11 +19,18 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +39,12 @@ import org.junit.Test;
 public class CaptureScreenTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public CaptureScreenTest()
   {
   }
@@ -50,14 +63,16 @@ public class CaptureScreenTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +80,13 @@ public class CaptureScreenTest
    * Test of execute method, of class CaptureScreen.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    // HtmlUnit can't take screenshots
+    assertEquals(TestStatus.FAILED, browser.action("CaptureScreen", CaptureScreen.ATTR_FILE_NAME,
+                                                   folder.getRoot().getPath() + "/screen.png").
+                 execute());
+    assertFalse(browser.action("CaptureScreen").isValid());
   }
 
 
@@ -76,6 +96,7 @@ public class CaptureScreenTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("CaptureScreen", CaptureScreen.ATTR_FILE_NAME, "screen.png").toString().startsWith("CaptureScreen("));
   }
 
 }
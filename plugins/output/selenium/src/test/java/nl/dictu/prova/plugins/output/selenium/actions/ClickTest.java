@@ -19,11 +19,17 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +38,12 @@ import org.junit.Test;
 public class ClickTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public ClickTest()
   {
   }
@@ -50,14 +62,16 @@ public class ClickTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><button id='button' onclick=\"document.getElementById('text').innerHTML='Clicked'\">Click</button><p id='text'>Prova</p></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +79,33 @@ public class ClickTest
    * Test of execute method, of class Click.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    assertEquals(TestStatus.PASSED, browser.action("Click", SeleniumAction.ATTR_XPATH,
+                                                   "//button[@id='button']").execute());
+    assertEquals(TestStatus.PASSED, browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']", SeleniumAction.ATTR_TEXT,
+                                                   "Clicked").execute());
+    assertEquals(TestStatus.FAILED, browser.action("Click", SeleniumAction.ATTR_XPATH,
+                                                   "//button[@id='unknown']").execute());
+    assertEquals(TestStatus.FAILED, browser.action("Click", SeleniumAction.ATTR_XPATH,
+                                                   "//button[@id='button'").execute());
+    assertEquals(TestStatus.PASSED, browser.action("Click", SeleniumAction.ATTR_CSS,
+                                                   "button#button").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Click, with a button which is added by
+   * the page after loading.
+   */
+  @Test
+  public void testExecuteDelayed() throws Exception
+  {
+    browser.open(folder.getRoot(), "<html><body onload=\"setTimeout(function() { document.body.innerHTML = '<button id=\\'button\\'>Click</button>'; }, 200)\"></body></html>");
+
+    assertEquals(TestStatus.PASSED, browser.action("Click", SeleniumAction.ATTR_XPATH,
+                                                   "//button[@id='button']").execute());
   }
 
 
@@ -76,6 +115,7 @@ public class ClickTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("Click", SeleniumAction.ATTR_XPATH, "//button").toString().startsWith("Click("));
   }
 
 }
@@ -19,11 +19,18 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
 
 /**
  *
@@ -32,6 +39,12 @@ import org.junit.Test;
 public class SelectDropDownTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public SelectDropDownTest()
   {
   }
@@ -50,14 +63,16 @@ public class SelectDropDownTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><select id='list'><option>One</option><option>Two</option></select></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +80,17 @@ public class SelectDropDownTest
    * Test of execute method, of class SelectDropDown.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    assertEquals(TestStatus.PASSED, browser.action("SelectDropDown", SeleniumAction.ATTR_XPATH,
+                                                   "//select[@id='list']",
+                                                   SeleniumAction.ATTR_VALUE, "Two").execute());
+    assertEquals("Two", new org.openqa.selenium.support.ui.Select(browser.getSelenium()
+            .getWebDriver(browser.getTestCase()).findElement(By.id("list")))
+            .getFirstSelectedOption().getText());
+    assertEquals(TestStatus.FAILED, browser.action("SelectDropDown", SeleniumAction.ATTR_XPATH,
+                                                   "//select[@id='list']",
+                                                   SeleniumAction.ATTR_VALUE, "Three").execute());
   }
 
 
@@ -76,6 +100,7 @@ public class SelectDropDownTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("SelectDropDown", SeleniumAction.ATTR_XPATH, "//select", SeleniumAction.ATTR_VALUE, "Two").toString().startsWith("SelectDropDown("));
   }
 
 }
@@ -19,11 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
 
 /**
  *
@@ -32,6 +41,12 @@ import org.junit.Test;
 public class SelectTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public SelectTest()
   {
   }
@@ -50,14 +65,16 @@ public class SelectTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><input id='check' type='checkbox'/></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +82,21 @@ public class SelectTest
    * Test of execute method, of class Select.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    WebElement checkBox = browser.getSelenium().getWebDriver(browser.getTestCase()).findElement(
+            By.id("check"));
+
+    assertEquals(TestStatus.PASSED, browser.action("Select", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='check']").execute());
+    assertTrue(checkBox.isSelected());
+    assertEquals(TestStatus.PASSED, browser.action("Select", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='check']").execute());
+    assertTrue(checkBox.isSelected());
+    assertEquals(TestStatus.PASSED, browser.action("Select", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='check']",
+                                                   SeleniumAction.ATTR_VALUE, "false").execute());
+    assertFalse(checkBox.isSelected());
   }
 
 
@@ -76,6 +106,7 @@ public class SelectTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("Select", SeleniumAction.ATTR_XPATH, "//input").toString().startsWith("Select("));
   }
 
 }
@@ -19,11 +19,17 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +38,12 @@ import org.junit.Test;
 public class SetTextTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public SetTextTest()
   {
   }
@@ -50,14 +62,16 @@ public class SetTextTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><input id='name' type='text' value='Old'/></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +79,16 @@ public class SetTextTest
    * Test of execute method, of class SetText.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    assertEquals(TestStatus.PASSED, browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='name']", SeleniumAction.ATTR_TEXT,
+                                                   "New").execute());
+    assertEquals(TestStatus.PASSED, browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='name']", SeleniumAction.ATTR_TEXT,
+                                                   "New").execute());
+    assertEquals(TestStatus.FAILED, browser.action("SetText", SeleniumAction.ATTR_XPATH,
+                                                   "//input[@id='name']").execute());
   }
 
 
@@ -76,6 +98,7 @@ public class SetTextTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("SetText", SeleniumAction.ATTR_XPATH, "//input", SeleniumAction.ATTR_TEXT, "New").toString().startsWith("SetText("));
   }
 
 }
@@ -19,11 +19,18 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.SeleniumConfig;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +39,12 @@ import org.junit.Test;
 public class SleepTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public SleepTest()
   {
   }
@@ -50,14 +63,16 @@ public class SleepTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +80,33 @@ public class SleepTest
    * Test of execute method, of class Sleep.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
+  {
+    long startTime = System.currentTimeMillis();
+
+    assertEquals(TestStatus.PASSED, browser.action("Sleep", Sleep.ATTR_MILLISECONDS, "50").
+                 execute());
+    assertTrue(System.currentTimeMillis() - startTime >= 50);
+    assertEquals(TestStatus.FAILED, browser.action("Sleep").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Sleep, waiting until the page is ready.
+   */
+  @Test
+  public void testExecuteUntilReady() throws Exception
   {
+    try(TestBrowser readyBrowser = new TestBrowser(folder.getRoot(), "<html><body/></html>",
+                                                   SeleniumConfig.PROVA_PLUGINS_SELENIUM_SLEEP_UNTIL_READY,
+                                                   "true"))
+    {
+      long startTime = System.currentTimeMillis();
+
+      assertEquals(TestStatus.PASSED, readyBrowser.action("Sleep", Sleep.ATTR_MILLISECONDS,
+                                                          "5000").execute());
+      assertTrue(System.currentTimeMillis() - startTime < 5000);
+    }
   }
 
 
@@ -76,6 +116,7 @@ public class SleepTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("Sleep", Sleep.ATTR_MILLISECONDS, "50").toString().startsWith("Sleep("));
   }
 
 }
@@ -19,11 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +41,12 @@ import org.junit.Test;
 public class SwitchFrameTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public SwitchFrameTest()
   {
   }
@@ -50,14 +65,16 @@ public class SwitchFrameTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +82,23 @@ public class SwitchFrameTest
    * Test of execute method, of class SwitchFrame.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    File frame = folder.newFile("frame.html");
+    Files.write(frame.toPath(), "<html><body><p id='text'>Frame</p></body></html>".getBytes(
+                StandardCharsets.UTF_8));
+    browser.open(folder.getRoot(), "<html><body><p id='text'>Page</p><iframe src='"
+                                   + frame.getName() + "'></iframe></body></html>");
+
+    assertEquals(TestStatus.PASSED, browser.action("SwitchFrame", SeleniumAction.ATTR_XPATH,
+                                                   "//iframe").execute());
+    assertEquals(TestStatus.PASSED, browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']", SeleniumAction.ATTR_TEXT,
+                                                   "Frame").execute());
+    assertEquals(TestStatus.PASSED, browser.action("SwitchFrame").execute());
+    assertEquals(TestStatus.PASSED, browser.action("ValidateText", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']", SeleniumAction.ATTR_TEXT,
+                                                   "Page").execute());
   }
 
 
@@ -76,6 +108,7 @@ public class SwitchFrameTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("SwitchFrame").toString().startsWith("SwitchFrame("));
   }
 
 }
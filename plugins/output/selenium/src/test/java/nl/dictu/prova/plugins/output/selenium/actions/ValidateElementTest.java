@@ -19,11 +19,17 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.TestBrowser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +38,12 @@ import org.junit.Test;
 public class ValidateElementTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestBrowser browser;
+
+
   public ValidateElementTest()
   {
   }
@@ -50,14 +62,16 @@ public class ValidateElementTest
 
 
   @Before
-  public void setUp()
+  public void setUp() throws Exception
   {
+    browser = new TestBrowser(folder.getRoot(), "<html><body><p id='text'>Prova</p></body></html>");
   }
 
 
   @After
   public void tearDown()
   {
+    browser.close();
   }
 
 
@@ -65,8 +79,31 @@ public class ValidateElementTest
    * Test of execute method, of class ValidateElement.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    assertEquals(TestStatus.PASSED, browser.action("ValidateElement", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']").execute());
+    assertEquals(TestStatus.FAILED, browser.action("ValidateElement", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']", SeleniumAction.ATTR_VALUE,
+                                                   "false").execute());
+    assertEquals(TestStatus.PASSED, browser.action("ValidateElement", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='unknown']",
+                                                   SeleniumAction.ATTR_VALUE, "false").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateElement, with an element which is
+   * removed by the page after loading.
+   */
+  @Test
+  public void testExecuteDelayed() throws Exception
+  {
+    browser.open(folder.getRoot(), "<html><body onload=\"setTimeout(function() { document.body.innerHTML = ''; }, 200)\"><p id='text'>Prova</p></body></html>");
+
+    assertEquals(TestStatus.PASSED, browser.action("ValidateElement", SeleniumAction.ATTR_XPATH,
+                                                   "//p[@id='text']", SeleniumAction.ATTR_VALUE,
+                                                   "false").execute());
   }
 
 
@@ -76,6 +113,7 @@ public class ValidateElementTest
   @Test
   public void testToString()
   {
+    assertTrue(browser.action("ValidateElement", SeleniumAction.ATTR_XPATH, "//p").toString().startsWith("ValidateElement("));
   }
 
 }
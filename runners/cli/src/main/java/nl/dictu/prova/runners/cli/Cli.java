@@ -19,12 +19,29 @@
  */
 package nl.dictu.prova.runners.cli;
 
+import java.io.File;
+import java.nio.file.Paths;
 import java.util.Properties;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
 import nl.dictu.prova.runners.ProvaRunner;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Start and control Prova from the command line. With the option '--watch'
+ * Prova keeps running and executes the test cases affected by changes in the
+ * test root (see {@link WatchMode}). With '--daemon' Prova keeps the
+ * plug-ins initialized and accepts runs from clients started with '--submit'
+ * (see {@link Daemon}).
  *
  * @author Sjoerd Boerhout
  */
@@ -34,6 +51,54 @@ public class Cli extends ProvaRunner
   private final static Logger LOGGER = LogManager.getLogger(
           Cli.class.getName());
 
+  /**
+   * Root directory of the test scripts
+   */
+  public final static String PROVA_CLI_TEST_ROOT = "prova.cli.testRoot";
+
+  /**
+   * Name of the project
+   */
+  public final static String PROVA_CLI_PROJECT = "prova.cli.project";
+
+  /**
+   * Comma separated labels to filter the test cases
+   */
+  public final static String PROVA_CLI_LABELS = "prova.cli.labels";
+
+  /**
+   * Keep running and execute the test cases affected by changes
+   */
+  public final static String PROVA_CLI_WATCH = "prova.cli.watch";
+
+  /**
+   * Start a daemon accepting jobs
+   */
+  public final static String PROVA_CLI_DAEMON = "prova.cli.daemon";
+
+  /**
+   * Submit the run as job to a running daemon
+   */
+  public final static String PROVA_CLI_SUBMIT = "prova.cli.submit";
+
+  /**
+   * Port of the daemon. Defaults to {@link Daemon#DEFAULT_PORT}.
+   */
+  public final static String PROVA_CLI_PORT = "prova.cli.port";
+
+  /**
+   * File the daemon writes the token for its clients to. Defaults to
+   * '.prova/daemon-{port}.token' in the home directory of the user.
+   */
+  public final static String PROVA_CLI_TOKEN_FILE = "prova.cli.tokenFile";
+
+  /**
+   * Only print the help
+   */
+  public final static String PROVA_CLI_HELP = "prova.cli.help";
+
+  private Options options;
+
 
   /**
    * Program entry point
@@ -42,23 +107,27 @@ public class Cli extends ProvaRunner
    */
   public static void main(String[] args)
   {
-    System.out.println("Hello world! I am Prova, the testing framework!");
-    System.out.println("Active log level: " + LOGGER.getLevel().name());
-
-    LOGGER.fatal("FATAL");
-    LOGGER.error("ERROR");
-    LOGGER.warn("WARN");
-    LOGGER.info("INFO");
-    LOGGER.debug("DEBUG");
-    LOGGER.trace("TRACE");
+    try
+    {
+      Cli cli = new Cli();
+
+      cli.init(args);
+      cli.setUp();
+      cli.execute();
+    }
+    catch(Exception eX)
+    {
+      LOGGER.fatal("Prova failed: {}", eX.getMessage());
+      System.exit(1);
+    }
   }
 
 
   /**
-   * Private constructor
+   * Constructor
    * <p>
    */
-  private Cli()
+  Cli()
   {
     super(LOGGER);
   }
@@ -76,17 +145,60 @@ public class Cli extends ProvaRunner
     super.init();
 
     LOGGER.debug("init with args " + args.length);
+
+    configureCliArguments();
+
+    properties.putAll(parseCliOptions(args));
+    properties.putAll(parseCliArguments(args));
   }
 
 
   /**
-   * Setup this ProvaRunner
+   * Setup this ProvaRunner: initialize the input plug-ins with the test root
+   * and filters. Without watch mode the test suites are loaded as well.
    *
    * @throws Exception
    */
   public void setUp() throws Exception
   {
+    if(properties.containsKey(PROVA_CLI_HELP) || properties.containsKey(PROVA_CLI_SUBMIT))
+    {
+      return;
+    }
+
+    if(testRunner == null)
+    {
+      testRunner = new Prova();
+    }
+
+    for(String key : properties.stringPropertyNames())
+    {
+      testRunner.setProperty(key, properties.getProperty(key));
+    }
+
+    if(properties.containsKey(PROVA_CLI_DAEMON))
+    {
+      // The daemon initializes the plug-ins and loads the test suites per job
+      return;
+    }
+
+    for(InputPlugin inputPlugin : testRunner.getInputPlugins())
+    {
+      inputPlugin.init(testRunner);
+      inputPlugin.setTestRoot(properties.getProperty(PROVA_CLI_TEST_ROOT, "."),
+                              properties.getProperty(PROVA_CLI_PROJECT, ""));
+
+      if(properties.containsKey(PROVA_CLI_LABELS))
+      {
+        inputPlugin.setTestCaseFilter(properties.getProperty(PROVA_CLI_LABELS).split(","));
+      }
 
+      if( !isWatchMode())
+      {
+        testRunner.addTestSuite(inputPlugin.setUp(new TestSuite(inputPlugin.getName())),
+                                inputPlugin);
+      }
+    }
   }
 
 
@@ -97,7 +209,157 @@ public class Cli extends ProvaRunner
    */
   public void execute() throws Exception
   {
+    if(properties.containsKey(PROVA_CLI_HELP))
+    {
+      printHelp();
+      return;
+    }
+
+    if(properties.containsKey(PROVA_CLI_SUBMIT))
+    {
+      submit();
+      return;
+    }
+
+    if(properties.containsKey(PROVA_CLI_DAEMON))
+    {
+      Daemon daemon = new Daemon(testRunner, getTokenFile());
+
+      daemon.start(getPort());
+      Runtime.getRuntime().addShutdownHook(new Thread(() ->
+      {
+        try
+        {
+          daemon.stop();
+        }
+        catch(Exception eX)
+        {
+          LOGGER.error("Stopping the daemon failed: {}", eX.getMessage());
+        }
+      }));
+      daemon.join();
+      return;
+    }
+
+    if( !isWatchMode())
+    {
+      testRunner.start();
+      testRunner.join();
+      return;
+    }
+
+    if(testRunner.getInputPlugins().isEmpty())
+    {
+      LOGGER.error("Watch mode requires an input plug-in");
+      return;
+    }
+
+    new WatchMode(testRunner, testRunner.getInputPlugins().getFirst(),
+                  Paths.get(properties.getProperty(PROVA_CLI_TEST_ROOT, "."))).run();
+  }
+
+
+  /**
+   * Submit the test root and filters as job to the daemon and print the
+   * results until the job is finished
+   *
+   * @throws Exception
+   */
+  private void submit() throws Exception
+  {
+    Properties jobProperties = new Properties();
+    DaemonClient daemonClient = new DaemonClient(getPort(), getTokenFile());
+
+    // The daemon runs in its own working directory
+    jobProperties.setProperty(PROVA_CLI_TEST_ROOT, Paths.get(properties.getProperty(
+                              PROVA_CLI_TEST_ROOT, ".")).toAbsolutePath().normalize().toString());
+
+    for(String key : new String[]{PROVA_CLI_PROJECT, PROVA_CLI_LABELS})
+    {
+      if(properties.containsKey(key))
+      {
+        jobProperties.setProperty(key, properties.getProperty(key));
+      }
+    }
+
+    String id = daemonClient.submit(jobProperties);
+
+    System.out.println("Job " + id + " queued");
+
+    Job.Status status = daemonClient.follow(id, System.out::println);
+
+    System.out.println("Job " + id + " finished with status " + status);
+
+    if(status != Job.Status.PASSED)
+    {
+      throw new IllegalStateException("Job " + id + " finished with status " + status);
+    }
+  }
+
+
+  /**
+   * Return the port of the daemon
+   *
+   * @return
+   *
+   * @throws NumberFormatException
+   */
+  private int getPort() throws NumberFormatException
+  {
+    return Integer.parseInt(properties.getProperty(PROVA_CLI_PORT, String.valueOf(
+                                                   Daemon.DEFAULT_PORT)));
+  }
 
+
+  /**
+   * Return the token file of the daemon
+   *
+   * @return
+   *
+   * @throws NumberFormatException
+   */
+  private File getTokenFile() throws NumberFormatException
+  {
+    if(properties.containsKey(PROVA_CLI_TOKEN_FILE))
+    {
+      return new File(properties.getProperty(PROVA_CLI_TOKEN_FILE));
+    }
+
+    return Paths.get(System.getProperty("user.home"), ".prova", "daemon-" + getPort()
+                                                               + ".token").toFile();
+  }
+
+
+  /**
+   * Set the test runner to use instead of a new instance of {@link Prova}
+   *
+   * @param testRunner
+   */
+  void setTestRunner(TestRunner testRunner)
+  {
+    this.testRunner = testRunner;
+  }
+
+
+  /**
+   * Check if watch mode is requested
+   *
+   * @return
+   */
+  boolean isWatchMode()
+  {
+    return Boolean.parseBoolean(properties.getProperty(PROVA_CLI_WATCH, "false"));
+  }
+
+
+  /**
+   * Return the properties set on the command line
+   *
+   * @return
+   */
+  Properties getProperties()
+  {
+    return properties;
   }
 
 
@@ -107,19 +369,50 @@ public class Cli extends ProvaRunner
    */
   private void configureCliArguments()
   {
+    options = new Options();
+
+    options.addOption(Option.builder("r").longOpt("root").hasArg().argName("dir")
+            .desc("Root directory of the test scripts").build());
+    options.addOption(Option.builder("p").longOpt("project").hasArg().argName("name")
+            .desc("Name of the project").build());
+    options.addOption(Option.builder("l").longOpt("labels").hasArg().argName("labels")
+            .desc("Comma separated labels to filter the test cases").build());
+    options.addOption(Option.builder("w").longOpt("watch")
+            .desc("Keep running and execute the test cases affected by changes").build());
+    options.addOption(Option.builder("d").longOpt("daemon")
+            .desc("Start a daemon accepting runs from clients on the local host").build());
+    options.addOption(Option.builder("s").longOpt("submit")
+            .desc("Submit the run to a running daemon and print the results").build());
+    options.addOption(Option.builder().longOpt("port").hasArg().argName("port")
+            .desc("Port of the daemon (default: " + Daemon.DEFAULT_PORT + ")").build());
+    options.addOption(Option.builder().longOpt("token-file").hasArg().argName("file")
+            .desc("Token file of the daemon (default: ~/.prova/daemon-{port}.token)").build());
+    options.addOption(Option.builder("h").longOpt("help")
+            .desc("Print this help").build());
   }
 
 
   /**
-   * Parse all arguments supplied on the command line by the user
+   * Parse all arguments supplied on the command line by the user. The first
+   * argument is the test root when not set as option.
    *
    * @param args
    *
    * @return
+   *
+   * @throws ParseException
    */
-  private Properties parseCliArguments(String[] args)
+  private Properties parseCliArguments(String[] args) throws ParseException
   {
-    return null;
+    Properties cliArguments = new Properties();
+    CommandLine commandLine = new DefaultParser().parse(options, args);
+
+    if( !commandLine.hasOption("r") && !commandLine.getArgList().isEmpty())
+    {
+      cliArguments.setProperty(PROVA_CLI_TEST_ROOT, commandLine.getArgList().get(0));
+    }
+
+    return cliArguments;
   }
 
 
@@ -129,10 +422,60 @@ public class Cli extends ProvaRunner
    * @param args
    *
    * @return
+   *
+   * @throws ParseException
    */
-  private Properties parseCliOptions(String[] args)
+  private Properties parseCliOptions(String[] args) throws ParseException
   {
-    return null;
+    Properties cliOptions = new Properties();
+    CommandLine commandLine = new DefaultParser().parse(options, args);
+
+    if(commandLine.hasOption("r"))
+    {
+      cliOptions.setProperty(PROVA_CLI_TEST_ROOT, commandLine.getOptionValue("r"));
+    }
+
+    if(commandLine.hasOption("p"))
+    {
+      cliOptions.setProperty(PROVA_CLI_PROJECT, commandLine.getOptionValue("p"));
+    }
+
+    if(commandLine.hasOption("l"))
+    {
+      cliOptions.setProperty(PROVA_CLI_LABELS, commandLine.getOptionValue("l"));
+    }
+
+    if(commandLine.hasOption("w"))
+    {
+      cliOptions.setProperty(PROVA_CLI_WATCH, "true");
+    }
+
+    if(commandLine.hasOption("d"))
+    {
+      cliOptions.setProperty(PROVA_CLI_DAEMON, "true");
+    }
+
+    if(commandLine.hasOption("s"))
+    {
+      cliOptions.setProperty(PROVA_CLI_SUBMIT, "true");
+    }
+
+    if(commandLine.hasOption("port"))
+    {
+      cliOptions.setProperty(PROVA_CLI_PORT, commandLine.getOptionValue("port"));
+    }
+
+    if(commandLine.hasOption("token-file"))
+    {
+      cliOptions.setProperty(PROVA_CLI_TOKEN_FILE, commandLine.getOptionValue("token-file"));
+    }
+
+    if(commandLine.hasOption("h"))
+    {
+      cliOptions.setProperty(PROVA_CLI_HELP, "true");
+    }
+
+    return cliOptions;
   }
 
 
@@ -141,7 +484,7 @@ public class Cli extends ProvaRunner
    */
   private void printHelp()
   {
-
+    new HelpFormatter().printHelp("prova [options] [test root]", options);
   }
 
 }
@@ -0,0 +1,655 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.execution.ExecutionEngine;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import nl.dictu.prova.plugins.reporting.ReportingPlugin;
+import nl.dictu.prova.runners.ProvaRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Long-lived Prova process. The plug-ins are initialized once at start-up and
+ * test runs are requested as jobs over HTTP on the loopback interface. Jobs
+ * are queued and executed one at a time.
+ * <p>
+ * At start-up the daemon writes a random token to a file only readable by
+ * the user. Every request must carry it in an 'Authorization: Bearer' header,
+ * so other users and processes can't queue runs. Requests with an 'Origin'
+ * header are sent by a browser and are rejected. A job only selects the test
+ * root, project and labels; it can't change the settings of the daemon.
+ * <p>
+ * - POST /jobs with the job properties in the body queues a job and returns
+ * its id
+ * - GET /jobs returns the id and status of the known jobs
+ * - GET /jobs/{id} returns the status of a job
+ * - GET /jobs/{id}/results streams the results of a job until it is finished
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Daemon extends ProvaRunner
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(Daemon.class.getName());
+
+  /**
+   * Default port of the daemon
+   */
+  public final static int DEFAULT_PORT = 7050;
+
+  /**
+   * Path of the job API
+   */
+  public final static String PATH_JOBS = "/jobs";
+
+  /**
+   * Last path element to request the results of a job
+   */
+  public final static String PATH_RESULTS = "results";
+
+  /**
+   * Prefix of the token in the 'Authorization' header
+   */
+  public final static String TOKEN_PREFIX = "Bearer ";
+
+  /**
+   * Properties a job may set
+   */
+  public final static List<String> JOB_PROPERTIES = Arrays.asList(Cli.PROVA_CLI_TEST_ROOT,
+                                                                  Cli.PROVA_CLI_PROJECT,
+                                                                  Cli.PROVA_CLI_LABELS);
+
+  /**
+   * Maximum number of finished jobs kept for the clients
+   */
+  private final static int MAX_FINISHED_JOBS = 100;
+
+  private final static long RESULT_POLL_TIME = 1000;
+
+  private final JobReportingPlugin jobReportingPlugin = new JobReportingPlugin();
+  private final LinkedHashMap<String, Job> jobs = new LinkedHashMap<>();
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  private final File tokenFile;
+  private byte[] token;
+
+  private long lastJobId = 0;
+  private ExecutorService jobExecutor;
+  private ExecutorService requestExecutor;
+  private HttpServer httpServer;
+
+
+  /**
+   * Constructor
+   *
+   * @param testRunner Test runner with all plug-ins registered
+   * @param tokenFile  File the token for the clients is written to
+   */
+  public Daemon(TestRunner testRunner, File tokenFile)
+  {
+    super(LOGGER);
+
+    this.testRunner = testRunner;
+    this.tokenFile = tokenFile;
+  }
+
+
+  /**
+   * Initialize all plug-ins and start accepting jobs on {@link port} of the
+   * loopback interface. Port 0 selects a free port.
+   *
+   * @param port
+   *
+   * @return The port the daemon listens on
+   *
+   * @throws Exception
+   */
+  public int start(int port) throws Exception
+  {
+    super.init();
+
+    for(InputPlugin inputPlugin : testRunner.getInputPlugins())
+    {
+      inputPlugin.init(testRunner);
+    }
+
+    for(OutputPlugin outputPlugin : testRunner.getOutputPlugins())
+    {
+      outputPlugin.init(testRunner);
+    }
+
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.init(testRunner);
+    }
+
+    testRunner.addReportingPlugin(jobReportingPlugin);
+
+    String newToken = createToken();
+
+    writeToken(tokenFile, newToken);
+    token = newToken.getBytes(StandardCharsets.UTF_8);
+
+    jobExecutor = Executors.newSingleThreadExecutor((runnable) -> new Thread(runnable,
+                                                                               "Prova daemon"));
+    requestExecutor = Executors.newCachedThreadPool((runnable) ->
+    {
+      Thread thread = new Thread(runnable, "Prova daemon request");
+      thread.setDaemon(true);
+
+      return thread;
+    });
+
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                                   0);
+    httpServer.createContext(PATH_JOBS, this::handle);
+    httpServer.setExecutor(requestExecutor);
+    httpServer.start();
+
+    LOGGER.info("Daemon accepting jobs on {}", httpServer.getAddress());
+
+    return httpServer.getAddress().getPort();
+  }
+
+
+  /**
+   * Stop accepting jobs, cancel the queued jobs and shut down all plug-ins
+   *
+   * @throws Exception
+   */
+  public void stop() throws Exception
+  {
+    if(httpServer == null || stopped.getCount() == 0)
+    {
+      return;
+    }
+
+    LOGGER.info("Stop daemon");
+
+    httpServer.stop(0);
+    jobExecutor.shutdownNow();
+    requestExecutor.shutdownNow();
+    Files.deleteIfExists(tokenFile.toPath());
+
+    for(InputPlugin inputPlugin : testRunner.getInputPlugins())
+    {
+      inputPlugin.shutDown();
+    }
+
+    for(OutputPlugin outputPlugin : testRunner.getOutputPlugins())
+    {
+      outputPlugin.shutDown();
+    }
+
+    for(ReportingPlugin reportingPlugin : testRunner.getReportingPlugins())
+    {
+      reportingPlugin.shutDown();
+    }
+
+    stopped.countDown();
+  }
+
+
+  /**
+   * Wait until the daemon is stopped
+   *
+   * @throws InterruptedException
+   */
+  public void join() throws InterruptedException
+  {
+    stopped.await();
+  }
+
+
+  /**
+   * Queue a job with {@link properties}
+   *
+   * @param properties Properties of {@link #JOB_PROPERTIES}
+   *
+   * @return
+   *
+   * @throws IllegalArgumentException A property is not a job property
+   */
+  public Job submit(Properties properties) throws IllegalArgumentException
+  {
+    for(String key : properties.stringPropertyNames())
+    {
+      if( !JOB_PROPERTIES.contains(key))
+      {
+        throw new IllegalArgumentException("Property '" + key + "' can't be set by a job");
+      }
+    }
+
+    Job job;
+
+    synchronized(jobs)
+    {
+      job = new Job(String.valueOf(++lastJobId), properties);
+      jobs.put(job.getId(), job);
+      removeFinishedJobs();
+    }
+
+    LOGGER.info("Queue job '{}' ({})", job.getId(), properties);
+
+    jobExecutor.execute(() -> run(job));
+
+    return job;
+  }
+
+
+  /**
+   * Return the job with {@link id}
+   *
+   * @param id
+   *
+   * @return
+   *
+   * @throws NoSuchElementException
+   */
+  public Job getJob(String id) throws NoSuchElementException
+  {
+    synchronized(jobs)
+    {
+      Job job = jobs.get(id);
+
+      if(job == null)
+      {
+        throw new NoSuchElementException("No job with id '" + id + "' found!");
+      }
+
+      return job;
+    }
+  }
+
+
+  /**
+   * Return all known jobs in the order of submission
+   *
+   * @return
+   */
+  public List<Job> getJobs()
+  {
+    synchronized(jobs)
+    {
+      return new ArrayList<>(jobs.values());
+    }
+  }
+
+
+  /**
+   * Run {@link job} and publish its results
+   *
+   * @param job
+   */
+  private void run(Job job)
+  {
+    Exception error = null;
+
+    LOGGER.info("Start job '{}'", job.getId());
+
+    job.start();
+    jobReportingPlugin.setJob(job);
+
+    try
+    {
+      execute(job);
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Job '{}' failed: {}", job.getId(), eX.getMessage());
+      error = eX;
+    }
+    finally
+    {
+      jobReportingPlugin.setJob(null);
+      job.finish(error);
+    }
+
+    LOGGER.info("Job '{}' finished with status '{}'", job.getId(), job.getStatus());
+  }
+
+
+  /**
+   * Load the test suites of {@link job} with the initialized input plug-ins
+   * and execute them. The properties of the job are passed to the input
+   * plug-ins only, so a job doesn't affect the next jobs.
+   *
+   * @param job
+   *
+   * @throws Exception
+   */
+  private void execute(Job job) throws Exception
+  {
+    Properties jobProperties = job.getProperties();
+    String labels = jobProperties.getProperty(Cli.PROVA_CLI_LABELS);
+    TestSuite testSuite = new TestSuite("Job " + job.getId());
+    HashMap<TestCase, InputPlugin> testCaseInputPlugins = new HashMap<>();
+
+    for(InputPlugin inputPlugin : testRunner.getInputPlugins())
+    {
+      inputPlugin.setTestRoot(jobProperties.getProperty(Cli.PROVA_CLI_TEST_ROOT, "."),
+                              jobProperties.getProperty(Cli.PROVA_CLI_PROJECT, ""));
+      inputPlugin.setTestCaseFilter(labels == null ? new String[0] : labels.split(","));
+
+      TestSuite inputTestSuite = inputPlugin.setUp(new TestSuite(inputPlugin.getName()));
+
+      testSuite.addTestSuite(inputTestSuite);
+      addInputPlugin(inputTestSuite, inputPlugin, testCaseInputPlugins);
+    }
+
+    new ExecutionEngine(testRunner, testCaseInputPlugins).execute(testSuite);
+  }
+
+
+  /**
+   * Register {@link inputPlugin} as the input plug-in of all test cases in
+   * {@link testSuite} and its sub-test suites
+   *
+   * @param testSuite
+   * @param inputPlugin
+   * @param testCaseInputPlugins
+   */
+  private void addInputPlugin(TestSuite testSuite, InputPlugin inputPlugin,
+                              HashMap<TestCase, InputPlugin> testCaseInputPlugins)
+  {
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      testCaseInputPlugins.put(testCase, inputPlugin);
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      addInputPlugin(subTestSuite, inputPlugin, testCaseInputPlugins);
+    }
+  }
+
+
+  /**
+   * Forget the oldest finished jobs when there are too many
+   */
+  private void removeFinishedJobs()
+  {
+    int finished = 0;
+
+    for(Job job : jobs.values())
+    {
+      finished += job.getStatus().isFinished() ? 1 : 0;
+    }
+
+    Iterator<Job> iterator = jobs.values().iterator();
+
+    while(finished > MAX_FINISHED_JOBS && iterator.hasNext())
+    {
+      if(iterator.next().getStatus().isFinished())
+      {
+        iterator.remove();
+        finished--;
+      }
+    }
+  }
+
+
+  /**
+   * Handle a request on the job API
+   *
+   * @param httpExchange
+   *
+   * @throws IOException
+   */
+  private void handle(HttpExchange httpExchange) throws IOException
+  {
+    String method = httpExchange.getRequestMethod();
+    String[] path = httpExchange.getRequestURI().getPath().substring(PATH_JOBS.length())
+            .replaceAll("^/+|/+$", "").split("/+");
+
+    try
+    {
+      if(httpExchange.getRequestHeaders().containsKey("Origin"))
+      {
+        LOGGER.warn("Rejected request from origin '{}'", httpExchange.getRequestHeaders().
+                    getFirst("Origin"));
+        send(httpExchange, 403, "Requests from browsers are not accepted");
+      }
+      else if( !hasToken(httpExchange))
+      {
+        LOGGER.warn("Rejected request without valid token: {} {}", method, httpExchange.
+                    getRequestURI());
+        send(httpExchange, 401, "Missing or invalid token");
+      }
+      else if(path[0].isEmpty() && "POST".equals(method))
+      {
+        Properties jobProperties = new Properties();
+        jobProperties.load(new InputStreamReader(httpExchange.getRequestBody(),
+                                                 StandardCharsets.UTF_8));
+
+        send(httpExchange, 202, submit(jobProperties).getId());
+      }
+      else if(path[0].isEmpty() && "GET".equals(method))
+      {
+        StringBuilder list = new StringBuilder();
+
+        for(Job job : getJobs())
+        {
+          list.append(job.getId()).append(Job.RESULT_SEPARATOR).append(job.getStatus()).append(
+                  '\n');
+        }
+
+        send(httpExchange, 200, list.toString());
+      }
+      else if(path.length == 1 && "GET".equals(method))
+      {
+        send(httpExchange, 200, getJob(path[0]).getStatus().name());
+      }
+      else if(path.length == 2 && PATH_RESULTS.equals(path[1]) && "GET".equals(method))
+      {
+        sendResults(httpExchange, getJob(path[0]));
+      }
+      else
+      {
+        send(httpExchange, 404, "Unknown request: " + method + " "
+                                + httpExchange.getRequestURI());
+      }
+    }
+    catch(NoSuchElementException eX)
+    {
+      send(httpExchange, 404, eX.getMessage());
+    }
+    catch(IllegalArgumentException eX)
+    {
+      send(httpExchange, 400, eX.getMessage());
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+    }
+    finally
+    {
+      httpExchange.close();
+    }
+  }
+
+
+  /**
+   * Check if the request carries the token of the daemon
+   *
+   * @param httpExchange
+   *
+   * @return
+   */
+  private boolean hasToken(HttpExchange httpExchange)
+  {
+    String authorization = httpExchange.getRequestHeaders().getFirst("Authorization");
+
+    return authorization != null && authorization.startsWith(TOKEN_PREFIX)
+           && MessageDigest.isEqual(token, authorization.substring(TOKEN_PREFIX.length()).
+                                    trim().getBytes(StandardCharsets.UTF_8));
+  }
+
+
+  /**
+   * Create a random token
+   *
+   * @return
+   */
+  private static String createToken()
+  {
+    byte[] bytes = new byte[32];
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+    new SecureRandom().nextBytes(bytes);
+
+    for(byte b : bytes)
+    {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+
+    return hex.toString();
+  }
+
+
+  /**
+   * Write {@link token} to a new {@link tokenFile} only readable and writable
+   * by the user
+   *
+   * @param tokenFile
+   * @param token
+   *
+   * @throws IOException
+   */
+  private static void writeToken(File tokenFile, String token) throws IOException
+  {
+    Path path = tokenFile.toPath().toAbsolutePath();
+
+    Files.createDirectories(path.getParent());
+    Files.deleteIfExists(path);
+
+    if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"))
+    {
+      Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.
+              fromString("rw-------")));
+    }
+    else
+    {
+      File file = Files.createFile(path).toFile();
+
+      file.setReadable(false, false);
+      file.setWritable(false, false);
+      file.setReadable(true, true);
+      file.setWritable(true, true);
+    }
+
+    Files.write(path, token.getBytes(StandardCharsets.UTF_8));
+
+    LOGGER.debug("Token written to '{}'", path);
+  }
+
+
+  /**
+   * Send {@link message} as plain text response
+   *
+   * @param httpExchange
+   * @param status
+   * @param message
+   *
+   * @throws IOException
+   */
+  private void send(HttpExchange httpExchange, int status, String message) throws IOException
+  {
+    byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+
+    httpExchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+    httpExchange.sendResponseHeaders(status, body.length);
+
+    try(OutputStream outputStream = httpExchange.getResponseBody())
+    {
+      outputStream.write(body);
+    }
+  }
+
+
+  /**
+   * Stream the results of {@link job} as soon as they are available until the
+   * job is finished
+   *
+   * @param httpExchange
+   * @param job
+   *
+   * @throws IOException
+   * @throws InterruptedException
+   */
+  private void sendResults(HttpExchange httpExchange, Job job) throws IOException,
+                                                                     InterruptedException
+  {
+    httpExchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+    httpExchange.sendResponseHeaders(200, 0);
+
+    try(Writer writer = new OutputStreamWriter(httpExchange.getResponseBody(),
+                                               StandardCharsets.UTF_8))
+    {
+      int sent = 0;
+      boolean finished = false;
+
+      while( !finished)
+      {
+        for(String result : job.waitForResults(sent, RESULT_POLL_TIME))
+        {
+          writer.write(result + "\n");
+          finished = result.startsWith(Job.RESULT_JOB + Job.RESULT_SEPARATOR);
+          sent++;
+        }
+
+        writer.flush();
+      }
+    }
+  }
+
+}
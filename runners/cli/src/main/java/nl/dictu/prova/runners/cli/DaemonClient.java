@@ -0,0 +1,233 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Client for the job API of a {@link Daemon} on the local host. Requests are
+ * authorized with the token the daemon wrote to its token file.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DaemonClient
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(DaemonClient.class.getName());
+
+  private final String baseUrl;
+  private final String token;
+
+
+  /**
+   * Constructor
+   *
+   * @param port      Port of the daemon
+   * @param tokenFile Token file of the daemon
+   *
+   * @throws IOException The token file can't be read
+   */
+  public DaemonClient(int port, File tokenFile) throws IOException
+  {
+    this.baseUrl = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port
+                   + Daemon.PATH_JOBS;
+
+    try
+    {
+      this.token = new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8).
+              trim();
+    }
+    catch(IOException eX)
+    {
+      throw new IOException("Token file '" + tokenFile + "' of the daemon can't be read, is the"
+                            + " daemon running?", eX);
+    }
+  }
+
+
+  /**
+   * Queue a job with {@link properties}
+   *
+   * @param properties
+   *
+   * @return Id of the job
+   *
+   * @throws IOException
+   */
+  public String submit(Properties properties) throws IOException
+  {
+    HttpURLConnection connection = open(baseUrl);
+
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setRequestProperty("Content-Type", "text/plain; charset=UTF-8");
+
+    try(Writer writer = new OutputStreamWriter(connection.getOutputStream(),
+                                               StandardCharsets.UTF_8))
+    {
+      properties.store(writer, null);
+    }
+
+    String id = readLine(connection);
+
+    LOGGER.debug("Job '{}' queued", id);
+
+    return id;
+  }
+
+
+  /**
+   * Return the status of job {@link id}
+   *
+   * @param id
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public Job.Status getStatus(String id) throws IOException
+  {
+    return Job.Status.valueOf(readLine(open(baseUrl + "/" + id)));
+  }
+
+
+  /**
+   * Pass the results of job {@link id} to {@link results} as soon as they are
+   * available and wait until the job is finished
+   *
+   * @param id
+   * @param results
+   *
+   * @return Final status of the job
+   *
+   * @throws IOException
+   */
+  public Job.Status follow(String id, Consumer<String> results) throws IOException
+  {
+    HttpURLConnection connection = open(baseUrl + "/" + id + "/" + Daemon.PATH_RESULTS);
+
+    checkResponse(connection);
+
+    try(BufferedReader reader = new BufferedReader(new InputStreamReader(connection.
+            getInputStream(), StandardCharsets.UTF_8)))
+    {
+      String line;
+
+      while((line = reader.readLine()) != null)
+      {
+        if(line.startsWith(Job.RESULT_JOB + Job.RESULT_SEPARATOR))
+        {
+          return Job.Status.valueOf(line.substring(Job.RESULT_JOB.length()
+                                                   + Job.RESULT_SEPARATOR.length()));
+        }
+
+        results.accept(line);
+      }
+    }
+
+    throw new IOException("Results of job '" + id + "' ended unexpectedly");
+  }
+
+
+  /**
+   * Open a connection to {@link url} with the token of the daemon
+   *
+   * @param url
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private HttpURLConnection open(String url) throws IOException
+  {
+    HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+
+    connection.setRequestProperty("Authorization", Daemon.TOKEN_PREFIX + token);
+
+    return connection;
+  }
+
+
+  /**
+   * Read the first line of the response
+   *
+   * @param connection
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private String readLine(HttpURLConnection connection) throws IOException
+  {
+    checkResponse(connection);
+
+    try(BufferedReader reader = new BufferedReader(new InputStreamReader(connection.
+            getInputStream(), StandardCharsets.UTF_8)))
+    {
+      String line = reader.readLine();
+
+      return (line == null ? "" : line.trim());
+    }
+  }
+
+
+  /**
+   * Throw an exception with the message of the daemon when the request failed
+   *
+   * @param connection
+   *
+   * @throws IOException
+   */
+  private void checkResponse(HttpURLConnection connection) throws IOException
+  {
+    int status = connection.getResponseCode();
+
+    if(status >= 300)
+    {
+      String message = connection.getResponseMessage();
+
+      if(connection.getErrorStream() != null)
+      {
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(connection.
+                getErrorStream(), StandardCharsets.UTF_8)))
+        {
+          message = reader.readLine();
+        }
+      }
+
+      throw new IOException("Request to the daemon failed (" + status + "): " + message);
+    }
+  }
+
+}
@@ -0,0 +1,217 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+
+/**
+ * A test run requested from the {@link Daemon}. The results are collected as
+ * lines of text, one per finished test case, so clients can follow them while
+ * the job is running. The last line is '{@value #RESULT_JOB}' followed by the
+ * final status of the job.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Job
+{
+
+  /**
+   * First field of the last result line of a job
+   */
+  public final static String RESULT_JOB = "JOB";
+
+  /**
+   * Separator of the fields in a result line
+   */
+  public final static String RESULT_SEPARATOR = "\t";
+
+  /**
+   * Status of a job
+   */
+  public enum Status
+  {
+    QUEUED,
+    RUNNING,
+    PASSED,
+    FAILED,
+    ERROR;
+
+
+    /**
+     * Check if a job with this status is finished
+     *
+     * @return
+     */
+    public boolean isFinished()
+    {
+      return (this != QUEUED && this != RUNNING);
+    }
+
+  }
+
+  private final String id;
+  private final Properties properties;
+  private final ArrayList<String> results = new ArrayList<>();
+
+  private Status status = Status.QUEUED;
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @param properties Test root, filters and other properties of the run
+   */
+  public Job(String id, Properties properties)
+  {
+    this.id = id;
+    this.properties = properties;
+  }
+
+
+  /**
+   * Return the id of this job
+   *
+   * @return
+   */
+  public String getId()
+  {
+    return id;
+  }
+
+
+  /**
+   * Return the properties of the requested run
+   *
+   * @return
+   */
+  public Properties getProperties()
+  {
+    return properties;
+  }
+
+
+  /**
+   * Return the current status of this job
+   *
+   * @return
+   */
+  public synchronized Status getStatus()
+  {
+    return status;
+  }
+
+
+  /**
+   * Mark this job as running
+   */
+  public synchronized void start()
+  {
+    status = Status.RUNNING;
+  }
+
+
+  /**
+   * Add the result of a finished test case. A test case which didn't pass
+   * fails the job.
+   *
+   * @param testCase
+   */
+  public synchronized void addResult(TestCase testCase)
+  {
+    if(testCase.getTestCaseStatus() != TestStatus.PASSED)
+    {
+      status = Status.FAILED;
+    }
+
+    addLine(testCase.getTestCaseStatus().name() + RESULT_SEPARATOR + testCase.getId());
+  }
+
+
+  /**
+   * Finish this job. The status is 'ERROR' when {@link error} isn't null.
+   *
+   * @param error
+   */
+  public synchronized void finish(Exception error)
+  {
+    if(error != null)
+    {
+      status = Status.ERROR;
+      addLine(Status.ERROR.name() + RESULT_SEPARATOR + error.getMessage());
+    }
+    else if(status != Status.FAILED)
+    {
+      status = Status.PASSED;
+    }
+
+    addLine(RESULT_JOB + RESULT_SEPARATOR + status.name());
+  }
+
+
+  /**
+   * Wait at most {@link timeout} milliseconds for results after the first
+   * {@link from} results. Returns the new results, which is an empty list
+   * when the timeout expired.
+   *
+   * @param from
+   * @param timeout
+   *
+   * @return
+   *
+   * @throws InterruptedException
+   */
+  public synchronized List<String> waitForResults(int from, long timeout) throws
+          InterruptedException
+  {
+    long end = System.currentTimeMillis() + timeout;
+
+    while(results.size() <= from && !status.isFinished())
+    {
+      long remaining = end - System.currentTimeMillis();
+
+      if(remaining <= 0)
+      {
+        break;
+      }
+
+      wait(remaining);
+    }
+
+    return new ArrayList<>(results.subList(Math.min(from, results.size()), results.size()));
+  }
+
+
+  /**
+   * Add a result line and wake up the waiting clients
+   *
+   * @param line
+   */
+  private void addLine(String line)
+  {
+    results.add(line);
+    notifyAll();
+  }
+
+}
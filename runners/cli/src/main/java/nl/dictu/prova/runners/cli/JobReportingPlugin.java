@@ -0,0 +1,161 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.reporting.ReportingPlugin;
+
+/**
+ * Reporting plug-in of the {@link Daemon} which adds the result of every
+ * reported test case to the running job
+ *
+ * @author Sjoerd Boerhout
+ */
+public class JobReportingPlugin implements ReportingPlugin
+{
+
+  private volatile Job job;
+
+
+  /**
+   * Set the job receiving the results, or null when no job is running
+   *
+   * @param job
+   */
+  public void setJob(Job job)
+  {
+    this.job = job;
+  }
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+  }
+
+
+  @Override
+  public String setOutputLocation(String newOutputLocation) throws IllegalArgumentException
+  {
+    return newOutputLocation;
+  }
+
+
+  @Override
+  public String setProjectName(String projectName) throws IllegalArgumentException
+  {
+    return projectName;
+  }
+
+
+  @Override
+  public void setUp() throws Exception
+  {
+  }
+
+
+  @Override
+  public void shutDown() throws Exception
+  {
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Daemon jobs";
+  }
+
+
+  @Override
+  public void logStartTestSuite(TestSuite testSuite)
+  {
+  }
+
+
+  @Override
+  public void logStartTestCase(TestCase testCase)
+  {
+  }
+
+
+  @Override
+  public void logSetupAction(TestAction setUpAction)
+  {
+  }
+
+
+  @Override
+  public void logTestAction(TestAction testAction)
+  {
+  }
+
+
+  @Override
+  public void logTearDownAction(TestAction tearDownAction)
+  {
+  }
+
+
+  @Override
+  public void logEndTestCase(TestCase testCase)
+  {
+    Job currentJob = job;
+
+    if(currentJob != null)
+    {
+      currentJob.addResult(testCase);
+    }
+  }
+
+
+  @Override
+  public void logEndTestSuite(TestSuite testSuite)
+  {
+  }
+
+
+  @Override
+  public void logTestRunSummary(TestSuite testSuite)
+  {
+  }
+
+
+  @Override
+  public void logMessage(String message, TestSuite testSuite)
+  {
+  }
+
+
+  @Override
+  public void logMessage(String message, TestCase testCase)
+  {
+  }
+
+
+  @Override
+  public void logMessage(String message, TestAction testAction)
+  {
+  }
+
+}
@@ -0,0 +1,193 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches a test root and all its sub directories for created, changed and
+ * deleted files. New sub directories are watched as soon as they appear.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestRootWatcher implements Closeable
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestRootWatcher.class.
+          getName());
+
+  private final Path root;
+  private final WatchService watchService;
+  private final HashMap<WatchKey, Path> directories = new HashMap<>();
+
+
+  /**
+   * Constructor. Starts watching {@link root}.
+   *
+   * @param root
+   *
+   * @throws IOException
+   */
+  public TestRootWatcher(Path root) throws IOException
+  {
+    this.root = root.toAbsolutePath().normalize();
+    this.watchService = this.root.getFileSystem().newWatchService();
+
+    register(this.root, null);
+  }
+
+
+  /**
+   * Wait until files change and return the changed paths as soon as no more
+   * changes are reported for {@link quietPeriod} milliseconds. Editors often
+   * save a file in several steps, these are reported as a single change.
+   * When changes were lost the test root itself is returned.
+   *
+   * @param quietPeriod
+   *
+   * @return Sorted absolute paths of the changed files and directories
+   *
+   * @throws InterruptedException
+   * @throws IOException
+   */
+  public TreeSet<Path> waitForChanges(long quietPeriod) throws InterruptedException, IOException
+  {
+    TreeSet<Path> changes = new TreeSet<>();
+    WatchKey watchKey = watchService.take();
+
+    while(watchKey != null)
+    {
+      handleEvents(watchKey, changes);
+      watchKey = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    LOGGER.debug("Changes in '{}': {}", root, changes);
+
+    return changes;
+  }
+
+
+  /**
+   * Stop watching
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException
+  {
+    watchService.close();
+  }
+
+
+  /**
+   * Collect the changes reported by {@link watchKey}
+   *
+   * @param watchKey
+   * @param changes
+   *
+   * @throws IOException
+   */
+  private void handleEvents(WatchKey watchKey, TreeSet<Path> changes) throws IOException
+  {
+    Path directory = directories.get(watchKey);
+
+    for(WatchEvent<?> watchEvent : watchKey.pollEvents())
+    {
+      if(watchEvent.kind() == StandardWatchEventKinds.OVERFLOW || directory == null)
+      {
+        LOGGER.warn("Changes in '{}' lost, handle the complete test root", root);
+        changes.add(root);
+        continue;
+      }
+
+      Path path = directory.resolve((Path) watchEvent.context());
+
+      changes.add(path);
+
+      if(watchEvent.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+      {
+        // Files created before the directory was registered are reported too
+        register(path, changes);
+      }
+    }
+
+    if( !watchKey.reset())
+    {
+      directories.remove(watchKey);
+    }
+  }
+
+
+  /**
+   * Watch {@link directory} and all its sub directories. When
+   * {@link changes} isn't null all files found are added to it.
+   *
+   * @param directory
+   * @param changes
+   *
+   * @throws IOException
+   */
+  private void register(Path directory, TreeSet<Path> changes) throws IOException
+  {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+                     {
+                       @Override
+                       public FileVisitResult preVisitDirectory(Path dir,
+                                                                BasicFileAttributes attrs)
+                               throws IOException
+                       {
+                         directories.put(dir.register(watchService,
+                                                      StandardWatchEventKinds.ENTRY_CREATE,
+                                                      StandardWatchEventKinds.ENTRY_DELETE,
+                                                      StandardWatchEventKinds.ENTRY_MODIFY),
+                                         dir);
+                         return FileVisitResult.CONTINUE;
+                       }
+
+
+                       @Override
+                       public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                       {
+                         if(changes != null)
+                         {
+                           changes.add(file);
+                         }
+
+                         return FileVisitResult.CONTINUE;
+                       }
+                     });
+  }
+
+}
@@ -0,0 +1,271 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.execution.DependencyGraph;
+import nl.dictu.prova.execution.ExecutionEngine;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps Prova running and executes the test cases affected by changes in the
+ * test root. All test cases are executed once at the start. After every
+ * change the structure is read again by the input plug-in and only the
+ * affected test cases are executed, in their own test suites:
+ * <p>
+ * - New test cases and test cases of which the script changed
+ * - Test cases depending on them
+ * - The prerequisites of these test cases, to be able to execute them
+ * <p>
+ * Reading the structure again should be cheap: input plug-ins are expected to
+ * only parse new and changed scripts (like the MS Excel plug-in does).
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WatchMode
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WatchMode.class.
+          getName());
+
+  /**
+   * Milliseconds without changes before the changes are handled
+   */
+  public final static long QUIET_PERIOD = 500;
+
+  private final TestRunner testRunner;
+  private final InputPlugin inputPlugin;
+  private final Path testRoot;
+  private final HashSet<String> knownTestCases = new HashSet<>();
+
+
+  /**
+   * Constructor
+   *
+   * @param testRunner
+   * @param inputPlugin Input plug-in with the test root and filters already set
+   * @param testRoot Directory to watch
+   */
+  public WatchMode(TestRunner testRunner, InputPlugin inputPlugin, Path testRoot)
+  {
+    this.testRunner = testRunner;
+    this.inputPlugin = inputPlugin;
+    this.testRoot = testRoot.toAbsolutePath().normalize();
+  }
+
+
+  /**
+   * Execute all test cases and keep executing the affected test cases after
+   * every change until the thread is interrupted
+   *
+   * @throws Exception
+   */
+  public void run() throws Exception
+  {
+    try(TestRootWatcher testRootWatcher = new TestRootWatcher(testRoot))
+    {
+      execute(getAffectedTestCases(new TreeSet<>()));
+
+      while( !Thread.currentThread().isInterrupted())
+      {
+        LOGGER.info("Watching '{}' for changes", testRoot);
+
+        TestSuite affected = getAffectedTestCases(testRootWatcher.waitForChanges(QUIET_PERIOD));
+
+        if(affected.numberOfTestCases(true) == 0)
+        {
+          LOGGER.info("No test cases affected by the changes");
+          continue;
+        }
+
+        execute(affected);
+      }
+    }
+    catch(InterruptedException eX)
+    {
+      LOGGER.info("Stopped watching '{}'", testRoot);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+
+  /**
+   * Read the structure again and select the test cases affected by
+   * {@link changes}. All test cases are affected the first time.
+   *
+   * @param changes Absolute paths of changed files and directories
+   *
+   * @return The structure of the input plug-in with only the affected test
+   *         cases and the test suites containing them
+   *
+   * @throws Exception
+   */
+  public TestSuite getAffectedTestCases(Set<Path> changes) throws Exception
+  {
+    TestSuite testSuite = inputPlugin.setUp(new TestSuite(inputPlugin.getName()));
+    DependencyGraph dependencyGraph = new DependencyGraph(testSuite);
+    HashSet<TestCase> affected = new HashSet<>();
+
+    for(TestCase testCase : dependencyGraph.getTestCases())
+    {
+      if(knownTestCases.add(testCase.getId()) || isChanged(testCase, changes))
+      {
+        affected.add(testCase);
+      }
+    }
+
+    addRelated(affected, dependencyGraph, true);
+    addRelated(affected, dependencyGraph, false);
+    removeUnaffected(testSuite, affected);
+
+    LOGGER.debug("{} of {} test cases affected", testSuite.numberOfTestCases(true),
+                 dependencyGraph.getTestCases().size());
+
+    return testSuite;
+  }
+
+
+  /**
+   * Execute all test cases of {@link testSuite} and its sub-test suites
+   *
+   * @param testSuite
+   *
+   * @throws Exception
+   */
+  private void execute(TestSuite testSuite) throws Exception
+  {
+    HashMap<TestCase, InputPlugin> inputPlugins = new HashMap<>();
+
+    for(TestCase testCase : new DependencyGraph(testSuite).getTestCases())
+    {
+      inputPlugins.put(testCase, inputPlugin);
+    }
+
+    new ExecutionEngine(testRunner, inputPlugins).execute(testSuite);
+  }
+
+
+  /**
+   * Remove the test cases which aren't in {@link affected} from
+   * {@link testSuite} and its sub-test suites, and the test suites left
+   * without test cases
+   *
+   * @param testSuite
+   * @param affected
+   */
+  private void removeUnaffected(TestSuite testSuite, HashSet<TestCase> affected)
+  {
+    for(TestCase testCase : new ArrayList<>(testSuite.getTestCases().values()))
+    {
+      if( !affected.contains(testCase))
+      {
+        testSuite.removeTestCase(testCase.getId());
+      }
+    }
+
+    for(TestSuite subTestSuite : new ArrayList<>(testSuite.getTestSuites().values()))
+    {
+      removeUnaffected(subTestSuite, affected);
+
+      if(subTestSuite.numberOfTestCases(true) == 0)
+      {
+        testSuite.removeTestSuite(subTestSuite.getId());
+      }
+    }
+  }
+
+
+  /**
+   * Add all (indirect) dependents or prerequisites of the test cases in
+   * {@link testCases}
+   *
+   * @param testCases
+   * @param dependencyGraph
+   * @param dependents True for dependents, false for prerequisites
+   */
+  private void addRelated(HashSet<TestCase> testCases, DependencyGraph dependencyGraph,
+                          boolean dependents)
+  {
+    ArrayDeque<TestCase> todo = new ArrayDeque<>(testCases);
+
+    while( !todo.isEmpty())
+    {
+      TestCase testCase = todo.poll();
+
+      for(TestCase related : dependents ? dependencyGraph.getDependents(testCase)
+                                        : dependencyGraph.getPrerequisites(testCase))
+      {
+        if(testCases.add(related))
+        {
+          todo.add(related);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Check if the script of {@link testCase} is one of {@link changes} or is
+   * located in one of them. Test cases of which the id isn't a path are never
+   * changed.
+   *
+   * @param testCase
+   * @param changes
+   *
+   * @return
+   */
+  private boolean isChanged(TestCase testCase, Set<Path> changes)
+  {
+    Path script;
+
+    try
+    {
+      script = Paths.get(testCase.getId()).toAbsolutePath().normalize();
+    }
+    catch(InvalidPathException eX)
+    {
+      return false;
+    }
+
+    for(Path change : changes)
+    {
+      if(script.startsWith(change))
+      {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+}
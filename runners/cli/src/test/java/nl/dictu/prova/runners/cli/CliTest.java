@@ -19,11 +19,18 @@
  */
 package nl.dictu.prova.runners.cli;
 
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -32,6 +39,9 @@ import org.junit.Test;
 public class CliTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   public CliTest()
   {
   }
@@ -67,6 +77,7 @@ public class CliTest
   @Test
   public void testMain()
   {
+    Cli.main(new String[]{"--help"});
   }
 
 
@@ -76,6 +87,17 @@ public class CliTest
   @Test
   public void testInit() throws Exception
   {
+    Cli cli = new Cli();
+    cli.init(new String[]{"-l", "smoke,regression", "--watch", "tests"});
+
+    assertEquals("tests", cli.getProperties().getProperty(Cli.PROVA_CLI_TEST_ROOT));
+    assertEquals("smoke,regression", cli.getProperties().getProperty(Cli.PROVA_CLI_LABELS));
+    assertTrue(cli.isWatchMode());
+
+    cli.init(new String[]{"--root", "scripts"});
+
+    assertEquals("scripts", cli.getProperties().getProperty(Cli.PROVA_CLI_TEST_ROOT));
+    assertFalse(cli.isWatchMode());
   }
 
 
@@ -85,6 +107,18 @@ public class CliTest
   @Test
   public void testSetUp() throws Exception
   {
+    TestRunner testRunner = new Prova();
+    DirectoryInputPlugin inputPlugin = new DirectoryInputPlugin();
+    testRunner.addInputPlugin(inputPlugin);
+
+    Cli cli = new Cli();
+    cli.setTestRunner(testRunner);
+    cli.init(new String[]{"-r", folder.getRoot().getPath()});
+    inputPlugin.setTestRoot(folder.getRoot().getPath(), "");
+    inputPlugin.write("a.txt", "");
+    cli.setUp();
+
+    assertEquals(folder.getRoot().getPath(), testRunner.getProperty(Cli.PROVA_CLI_TEST_ROOT));
   }
 
 
@@ -94,6 +128,19 @@ public class CliTest
   @Test
   public void testExecute() throws Exception
   {
+    TestRunner testRunner = new Prova();
+    DirectoryInputPlugin inputPlugin = new DirectoryInputPlugin();
+    testRunner.addInputPlugin(inputPlugin);
+    inputPlugin.setTestRoot(folder.getRoot().getPath(), "");
+    inputPlugin.write("a.txt", "");
+
+    Cli cli = new Cli();
+    cli.setTestRunner(testRunner);
+    cli.init(new String[]{folder.getRoot().getPath()});
+    cli.setUp();
+    cli.execute();
+
+    assertEquals(1, inputPlugin.getLoads("a.txt"));
   }
 
 }
@@ -0,0 +1,275 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Properties;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DaemonTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TestRunner testRunner;
+  private DirectoryInputPlugin inputPlugin;
+  private Daemon daemon;
+  private DaemonClient daemonClient;
+  private File tokenFile;
+  private int port;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    testRunner = new Prova();
+
+    inputPlugin = new DirectoryInputPlugin();
+    testRunner.addInputPlugin(inputPlugin);
+
+    tokenFile = new File(folder.getRoot(), "token/daemon.token");
+    daemon = new Daemon(testRunner, tokenFile);
+    port = daemon.start(0);
+    daemonClient = new DaemonClient(port, tokenFile);
+
+    inputPlugin.setTestRoot(folder.getRoot().getPath(), "");
+  }
+
+
+  @After
+  public void tearDown() throws Exception
+  {
+    daemon.stop();
+  }
+
+
+  /**
+   * Test of submit method, of class Daemon.
+   */
+  @Test(timeout = 30000)
+  public void testJobsShareInitializedPlugins() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "a.txt");
+
+    String first = daemonClient.submit(getJobProperties());
+    String second = daemonClient.submit(getJobProperties());
+
+    ArrayList<String> results = new ArrayList<>();
+
+    assertEquals(Job.Status.PASSED, daemonClient.follow(first, results::add));
+    assertEquals(Job.Status.PASSED, daemonClient.follow(second, results::add));
+    assertEquals(Job.Status.PASSED, daemonClient.getStatus(second));
+
+    assertEquals(4, results.size());
+    assertTrue(results.get(0).startsWith("PASSED\t"));
+    assertEquals(2, inputPlugin.getLoads("b.txt"));
+    assertEquals(1, inputPlugin.getInits());
+    assertEquals(2, daemon.getJobs().size());
+  }
+
+
+  /**
+   * Test of submit method, of class Daemon.
+   */
+  @Test(timeout = 30000)
+  public void testJobWithError() throws Exception
+  {
+    inputPlugin.write("a.txt", "unknown.txt");
+
+    ArrayList<String> results = new ArrayList<>();
+
+    assertEquals(Job.Status.ERROR, daemonClient.follow(daemonClient.submit(getJobProperties()),
+                                                       results::add));
+    assertEquals(1, results.size());
+    assertTrue(results.get(0).startsWith("ERROR\t"));
+  }
+
+
+  /**
+   * Test of getJob method, of class Daemon.
+   */
+  @Test(expected = IOException.class)
+  public void testUnknownJob() throws Exception
+  {
+    daemonClient.getStatus("42");
+  }
+
+
+  /**
+   * Test of submit method, of class Daemon, with a property of the test
+   * runner.
+   */
+  @Test(timeout = 30000)
+  public void testJobCanNotChangeSettings() throws Exception
+  {
+    String key = "prova.plugins.output.jdbc.datasource.default.url";
+    Properties properties = getJobProperties();
+    properties.setProperty(key, "jdbc:h2:mem:other");
+
+    try
+    {
+      daemonClient.submit(properties);
+      fail("Job with a runner property should be rejected");
+    }
+    catch(IOException eX)
+    {
+      assertTrue(eX.getMessage(), eX.getMessage().contains("(400)"));
+    }
+
+    try
+    {
+      daemon.submit(properties);
+      fail("Job with a runner property should be rejected");
+    }
+    catch(IllegalArgumentException eX)
+    {
+      // Expected
+    }
+
+    assertFalse(testRunner.hasProperty(key));
+    assertTrue(daemon.getJobs().isEmpty());
+  }
+
+
+  /**
+   * Test of the token check of class Daemon.
+   */
+  @Test
+  public void testRequestWithoutToken() throws Exception
+  {
+    assertEquals(401, request(null).getResponseCode());
+    assertEquals(401, request("wrong").getResponseCode());
+    assertEquals(200, request(new String(Files.readAllBytes(tokenFile.toPath()),
+                                         StandardCharsets.UTF_8)).getResponseCode());
+  }
+
+
+  /**
+   * Test of the origin check of class Daemon. The Origin header is sent over
+   * a socket, HttpURLConnection drops it.
+   */
+  @Test
+  public void testRequestWithOrigin() throws Exception
+  {
+    String token = new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8);
+
+    try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), port))
+    {
+      socket.getOutputStream().write(("GET " + Daemon.PATH_JOBS + " HTTP/1.1\r\n"
+                                      + "Host: localhost\r\n"
+                                      + "Authorization: " + Daemon.TOKEN_PREFIX + token + "\r\n"
+                                      + "Origin: http://example.com\r\n"
+                                      + "Connection: close\r\n\r\n").getBytes(
+                                              StandardCharsets.US_ASCII));
+
+      BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                       StandardCharsets.US_ASCII));
+
+      assertTrue(reader.readLine().contains(" 403 "));
+    }
+  }
+
+
+  /**
+   * Test of the token file of class Daemon.
+   */
+  @Test
+  public void testTokenFile() throws Exception
+  {
+    assertEquals(64, Files.readAllBytes(tokenFile.toPath()).length);
+
+    if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"))
+    {
+      assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(
+                   tokenFile.toPath())));
+    }
+
+    daemon.stop();
+
+    assertFalse(tokenFile.exists());
+  }
+
+
+  /**
+   * Send a request for the list of jobs
+   *
+   * @param token Token to send, or null
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  private HttpURLConnection request(String token) throws IOException
+  {
+    HttpURLConnection connection = (HttpURLConnection) new URL(
+            "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port
+            + Daemon.PATH_JOBS).openConnection();
+
+    if(token != null)
+    {
+      connection.setRequestProperty("Authorization", Daemon.TOKEN_PREFIX + token);
+    }
+
+    return connection;
+  }
+
+
+  /**
+   * Return the properties of a job for the test root
+   *
+   * @return
+   */
+  private Properties getJobProperties()
+  {
+    Properties properties = new Properties();
+    properties.setProperty(Cli.PROVA_CLI_TEST_ROOT, folder.getRoot().getPath());
+
+    return properties;
+  }
+
+}
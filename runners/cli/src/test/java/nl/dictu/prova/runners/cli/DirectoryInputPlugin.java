@@ -0,0 +1,206 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.execution.DependencyGraph;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+
+/**
+ * Input plug-in for tests. Every '.txt' file in the test root is a test case
+ * with its absolute path as id. Every sub directory is a test suite. The
+ * content of a file is the comma separated list of file names it depends on,
+ * relative to the test root.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DirectoryInputPlugin implements InputPlugin
+{
+
+  private File testRoot;
+  private final ConcurrentHashMap<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+  private final AtomicInteger inits = new AtomicInteger();
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+    inits.incrementAndGet();
+  }
+
+
+  @Override
+  public String setTestRoot(String newTestRoot, String projectName) throws
+          IllegalArgumentException
+  {
+    testRoot = new File(newTestRoot).getAbsoluteFile();
+
+    return testRoot.getPath();
+  }
+
+
+  @Override
+  public String setTestCaseFilter(String[] labels) throws NullPointerException
+  {
+    return String.join(",", labels);
+  }
+
+
+  @Override
+  public TestSuite setUp(TestSuite testSuite) throws NullPointerException
+  {
+    return addDirectory(testSuite, testRoot);
+  }
+
+
+  /**
+   * Add the test cases in {@link directory} to {@link testSuite}, and a test
+   * suite for each sub directory
+   *
+   * @param testSuite
+   * @param directory
+   *
+   * @return
+   */
+  private TestSuite addDirectory(TestSuite testSuite, File directory)
+  {
+    File[] files = directory.listFiles((dir, name) -> name.endsWith(".txt"));
+
+    Arrays.sort(files);
+
+    for(File file : files)
+    {
+      TestCase testCase = new TestCase(file.getPath());
+      testCase.setTestType(TestType.SHELL);
+
+      try
+      {
+        String dependsOn = new String(Files.readAllBytes(file.toPath()),
+                                      StandardCharsets.UTF_8).trim();
+
+        if( !dependsOn.isEmpty())
+        {
+          testCase.setHeader(DependencyGraph.HEADER_DEPENDS_ON, new File(testRoot, dependsOn).
+                             getPath());
+        }
+      }
+      catch(IOException eX)
+      {
+        throw new IllegalStateException(eX);
+      }
+
+      testSuite.addTestCase(testCase);
+    }
+
+    File[] directories = directory.listFiles(File::isDirectory);
+
+    Arrays.sort(directories);
+
+    for(File subDirectory : directories)
+    {
+      TestSuite subTestSuite = new TestSuite(subDirectory.getPath());
+
+      testSuite.addTestSuite(addDirectory(subTestSuite, subDirectory));
+    }
+
+    return testSuite;
+  }
+
+
+  @Override
+  public TestCase loadTestCase(TestCase testCase) throws NullPointerException
+  {
+    loads.computeIfAbsent(new File(testCase.getId()).getName(), (key) -> new AtomicInteger()).
+            incrementAndGet();
+
+    return testCase;
+  }
+
+
+  @Override
+  public void shutDown()
+  {
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Directory";
+  }
+
+
+  /**
+   * Return the number of times this plug-in is initialized
+   *
+   * @return
+   */
+  public int getInits()
+  {
+    return inits.get();
+  }
+
+
+  /**
+   * Return the number of times the test case in file {@link name} is loaded
+   *
+   * @param name
+   *
+   * @return
+   */
+  public int getLoads(String name)
+  {
+    AtomicInteger count = loads.get(name);
+
+    return (count == null ? 0 : count.get());
+  }
+
+
+  /**
+   * Write a test case file in the test root
+   *
+   * @param name
+   * @param dependsOn
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public Path write(String name, String dependsOn) throws IOException
+  {
+    File file = new File(testRoot, name);
+
+    Files.createDirectories(file.getParentFile().toPath());
+
+    return Files.write(file.toPath(), dependsOn.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
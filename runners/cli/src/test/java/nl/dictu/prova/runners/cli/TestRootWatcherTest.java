@@ -0,0 +1,86 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeSet;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestRootWatcherTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Test of waitForChanges method, of class TestRootWatcher.
+   */
+  @Test(timeout = 30000)
+  public void testWaitForChangedFile() throws Exception
+  {
+    File file = folder.newFile("test.txt");
+
+    try(TestRootWatcher testRootWatcher = new TestRootWatcher(folder.getRoot().toPath()))
+    {
+      Files.write(file.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+      TreeSet<Path> changes = testRootWatcher.waitForChanges(200);
+
+      assertTrue(changes.contains(file.toPath().toAbsolutePath()));
+    }
+  }
+
+
+  /**
+   * Test of waitForChanges method, of class TestRootWatcher.
+   */
+  @Test(timeout = 30000)
+  public void testWaitForNewDirectory() throws Exception
+  {
+    try(TestRootWatcher testRootWatcher = new TestRootWatcher(folder.getRoot().toPath()))
+    {
+      File directory = folder.newFolder("suite");
+      Path file = Files.write(new File(directory, "test.txt").toPath(), "new".getBytes(
+                              StandardCharsets.UTF_8));
+
+      TreeSet<Path> changes = new TreeSet<>();
+
+      // The file is either found when the directory is registered or reported
+      while( !changes.contains(file.toAbsolutePath()))
+      {
+        changes.addAll(testRootWatcher.waitForChanges(200));
+      }
+
+      assertTrue(changes.contains(directory.toPath().toAbsolutePath()));
+    }
+  }
+
+}
@@ -0,0 +1,204 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.runners.cli;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.TreeSet;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.framework.TestSuite;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WatchModeTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private DirectoryInputPlugin inputPlugin;
+  private WatchMode watchMode;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    inputPlugin = new DirectoryInputPlugin();
+    inputPlugin.setTestRoot(folder.getRoot().getPath(), "");
+
+    watchMode = new WatchMode(new Prova(), inputPlugin, folder.getRoot().toPath());
+  }
+
+
+  /**
+   * Test of getAffectedTestCases method, of class WatchMode.
+   */
+  @Test
+  public void testAllTestCasesAffectedAtStart() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "");
+
+    assertEquals(2, watchMode.getAffectedTestCases(Collections.emptySet()).numberOfTestCases());
+    assertEquals(0, watchMode.getAffectedTestCases(Collections.emptySet()).numberOfTestCases());
+  }
+
+
+  /**
+   * Test of getAffectedTestCases method, of class WatchMode.
+   */
+  @Test
+  public void testChangedAndNewTestCases() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "");
+    inputPlugin.write("c.txt", "");
+    watchMode.getAffectedTestCases(Collections.emptySet());
+
+    TreeSet<Path> changes = new TreeSet<>();
+    changes.add(inputPlugin.write("b.txt", ""));
+    changes.add(inputPlugin.write("d.txt", ""));
+
+    TestSuite testSuite = watchMode.getAffectedTestCases(changes);
+
+    assertEquals(2, testSuite.numberOfTestCases());
+    assertTrue(testSuite.getTestCases().containsKey(changes.first().toString()));
+    assertTrue(testSuite.getTestCases().containsKey(changes.last().toString()));
+  }
+
+
+  /**
+   * Test of getAffectedTestCases method, of class WatchMode.
+   */
+  @Test
+  public void testDependentsAndPrerequisitesAffected() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "a.txt");
+    inputPlugin.write("c.txt", "b.txt");
+    inputPlugin.write("d.txt", "");
+    watchMode.getAffectedTestCases(Collections.emptySet());
+
+    TreeSet<Path> changes = new TreeSet<>();
+    changes.add(inputPlugin.write("b.txt", "a.txt"));
+
+    TestSuite testSuite = watchMode.getAffectedTestCases(changes);
+
+    assertEquals(3, testSuite.numberOfTestCases());
+  }
+
+
+  /**
+   * Test of getAffectedTestCases method, of class WatchMode.
+   */
+  @Test
+  public void testChangedDirectory() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "");
+    watchMode.getAffectedTestCases(Collections.emptySet());
+
+    TreeSet<Path> changes = new TreeSet<>();
+    changes.add(folder.getRoot().toPath().toAbsolutePath());
+
+    assertEquals(2, watchMode.getAffectedTestCases(changes).numberOfTestCases());
+  }
+
+
+  /**
+   * Test of getAffectedTestCases method, of class WatchMode, with test cases
+   * in sub directories.
+   */
+  @Test
+  public void testAffectedTestCasesKeepTheirTestSuites() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("sub/b.txt", "");
+    inputPlugin.write("sub/c.txt", "");
+    inputPlugin.write("other/d.txt", "");
+    watchMode.getAffectedTestCases(Collections.emptySet());
+
+    TreeSet<Path> changes = new TreeSet<>();
+    changes.add(inputPlugin.write("sub/c.txt", ""));
+
+    TestSuite testSuite = watchMode.getAffectedTestCases(changes);
+
+    assertEquals(0, testSuite.numberOfTestCases());
+    assertEquals(1, testSuite.numberOfTestSuites());
+    assertEquals(1, testSuite.numberOfTestCases(true));
+
+    TestSuite sub = testSuite.getTestSuites().values().iterator().next();
+
+    assertEquals(new File(folder.getRoot(), "sub").getPath(), sub.getId());
+    assertTrue(sub.getTestCases().containsKey(changes.first().toString()));
+  }
+
+
+  /**
+   * Test of run method, of class WatchMode.
+   */
+  @Test(timeout = 30000)
+  public void testRunExecutesChangedTestCases() throws Exception
+  {
+    inputPlugin.write("a.txt", "");
+    inputPlugin.write("b.txt", "");
+
+    Thread thread = new Thread(() ->
+    {
+      try
+      {
+        watchMode.run();
+      }
+      catch(Exception eX)
+      {
+        throw new IllegalStateException(eX);
+      }
+    });
+
+    thread.start();
+
+    while(inputPlugin.getLoads("b.txt") < 1)
+    {
+      Thread.sleep(50);
+    }
+
+    inputPlugin.write("b.txt", " ");
+
+    while(inputPlugin.getLoads("b.txt") < 2)
+    {
+      Thread.sleep(50);
+    }
+
+    thread.interrupt();
+    thread.join();
+
+    assertEquals(1, inputPlugin.getLoads("a.txt"));
+  }
+
+}